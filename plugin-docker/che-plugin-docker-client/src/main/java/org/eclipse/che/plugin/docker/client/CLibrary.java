@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.sun.jna.Library;
+import com.sun.jna.Pointer;
 import com.sun.jna.Structure;
 import com.sun.jna.ptr.LongByReference;
 
@@ -73,4 +74,22 @@ public interface CLibrary extends Library {
 
     int O_RDONLY = 0x00;
     int O_WRONLY = 0x01;
+
+    int EFD_NONBLOCK = 0x800; // Defined in 'sys/eventfd.h'
+
+    // Defined in 'sys/epoll.h', see http://man7.org/linux/man-pages/man7/epoll.7.html
+    int EPOLL_CLOEXEC = 0x80000;
+    int EPOLL_CTL_ADD = 1;
+    int EPOLL_CTL_DEL = 2;
+    int EPOLLIN       = 0x001;
+
+    int epoll_create1(int flags);
+
+    /**
+     * Event is passed as raw memory since layout of 'struct epoll_event' depends on architecture,
+     * it is packed on x86 and x86_64.
+     */
+    int epoll_ctl(int epfd, int op, int fd, Pointer event);
+
+    int epoll_wait(int epfd, Pointer events, int maxevents, int timeout);
 }
@@ -11,6 +11,9 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
 import com.sun.jna.ptr.LongByReference;
 
 import org.eclipse.che.api.core.util.SystemInfo;
@@ -18,6 +21,7 @@ import org.eclipse.che.commons.lang.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -27,23 +31,41 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
  * Docker container OOM detector based on cgroup usage
  *
+ * <p>All containers are watched by one thread. Eventfd of each container is registered in one epoll instance, so number of
+ * threads doesn't grow with number of containers. If cgroup notification API can't be used for container (e.g. native library
+ * isn't available or eventfd registration fails) value of 'memory.failcnt' of such containers is checked periodically by the same
+ * thread.
+ *
  * @author Alexander Garagatyi
  */
 public class CgroupOOMDetector implements DockerOOMDetector {
     private static final Logger LOG = LoggerFactory.getLogger(CgroupOOMDetector.class);
 
-    private final Map<String, OOMDetector> oomDetectors;
-    private final URI                      dockerDaemonUri;
-    private final DockerConnector          dockerConnector;
-    private final ExecutorService          executor;
+    private static final long DEFAULT_POLLING_PERIOD_MS = 5000;
+    private static final int  MAX_EVENTS                = 64;
+    // 'struct epoll_event' is packed on x86 and x86_64
+    private static final int  EPOLL_EVENT_SIZE          = Platform.isIntel() ? 12 : 16;
+    private static final int  EPOLL_EVENT_DATA_OFFSET   = Platform.isIntel() ? 4 : 8;
+
+    private final Map<String, Watch>  watches;
+    private final Map<Integer, Watch> eventWatches;
+    private final URI                 dockerDaemonUri;
+    private final DockerConnector     dockerConnector;
+    private final String              containersCgroupMount;
+    private final boolean             systemdCgroups;
+    private final CLibrary            cLib;
+    private final long                pollingPeriodMs;
+    private final ThreadFactory       threadFactory;
+
+    private volatile int epfd = -1;
+    private Thread       watcher;
 
     @Inject
     public CgroupOOMDetector(DockerConnectorConfiguration connectorConfiguration, DockerConnector dockerConnector) {
@@ -51,43 +73,81 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     }
 
     public CgroupOOMDetector(URI dockerDaemonUri, DockerConnector dockerConnector) {
+        this(dockerDaemonUri, dockerConnector, cgroupMount, systemd, loadCLibrary(), DEFAULT_POLLING_PERIOD_MS);
+    }
+
+    CgroupOOMDetector(URI dockerDaemonUri,
+                      DockerConnector dockerConnector,
+                      String containersCgroupMount,
+                      boolean systemdCgroups,
+                      CLibrary cLib,
+                      long pollingPeriodMs) {
         this.dockerDaemonUri = dockerDaemonUri;
         this.dockerConnector = dockerConnector;
-        this.oomDetectors = new ConcurrentHashMap<>();
-        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
-                                                                                .setDaemon(true)
-                                                                                .build());
+        this.containersCgroupMount = containersCgroupMount;
+        this.systemdCgroups = systemdCgroups;
+        this.cLib = cLib;
+        this.pollingPeriodMs = pollingPeriodMs;
+        this.watches = new ConcurrentHashMap<>();
+        this.eventWatches = new ConcurrentHashMap<>();
+        this.threadFactory = new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
+                                                       .setDaemon(true)
+                                                       .build();
     }
 
     @Override
     public void stopDetection(String container) {
-        final OOMDetector oomDetector = oomDetectors.remove(container);
-        if (oomDetector != null) {
-            oomDetector.stop();
+        final Watch watch = watches.remove(container);
+        if (watch != null) {
+            watch.close();
         }
     }
 
     @Override
     public void startDetection(String container, MessageProcessor<LogMessage> containerLogProcessor) {
         if (needStartOOMDetector(container)) {
-            if (cgroupMount == null) {
+            if (containersCgroupMount == null) {
                 LOG.warn("System doesn't support OOM events");
                 return;
             }
             try {
                 final long memory = dockerConnector.inspectContainer(container).getConfig().getHostConfig().getMemory();
-                OOMDetector oomDetector = new OOMDetector(container, containerLogProcessor, memory);
-                oomDetectors.putIfAbsent(container, oomDetector);
-                oomDetector = oomDetectors.get(container);
-                oomDetector.start();
+                ensureWatcherStarted();
+                final Watch watch = new Watch(container, containerLogProcessor, memory);
+                if (watches.putIfAbsent(container, watch) == null) {
+                    watch.start();
+                }
             } catch (IOException e) {
                 LOG.error(e.getLocalizedMessage(), e);
             }
         }
     }
 
+    /** Stops detection for all containers and stops watcher thread. */
+    @PreDestroy
+    public synchronized void stop() {
+        for (String container : watches.keySet()) {
+            stopDetection(container);
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+            epfd = -1;
+        }
+    }
+
+    /** Returns number of containers which are watched with cgroup notification API. */
+    public int getEventWatchedCount() {
+        return eventWatches.size();
+    }
+
+    /** Returns number of containers which are watched with periodical check of 'memory.failcnt'. */
+    public int getPolledCount() {
+        return watches.size() - eventWatches.size();
+    }
+
     private boolean needStartOOMDetector(String container) {
-        if (! oomDetectors.containsKey(container)) {
+        if (! watches.containsKey(container)) {
             if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
                 return true;
             }
@@ -101,6 +161,63 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         return false;
     }
 
+    private synchronized void ensureWatcherStarted() {
+        if (watcher != null) {
+            return;
+        }
+        if (cLib != null && (epfd = cLib.epoll_create1(CLibrary.EPOLL_CLOEXEC)) == -1) {
+            LOG.warn("Unable create epoll instance, error code {}. OOM of containers will be detected by polling of cgroup memory.failcnt",
+                     Native.getLastError());
+        }
+        watcher = threadFactory.newThread(this::watchContainers);
+        watcher.start();
+    }
+
+    private void watchContainers() {
+        final int epollFd = epfd;
+        final Memory events = epollFd == -1 ? null : new Memory(MAX_EVENTS * EPOLL_EVENT_SIZE);
+        long lastPolling = System.currentTimeMillis();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (events != null) {
+                    final int ready = cLib.epoll_wait(epollFd, events, MAX_EVENTS, (int)pollingPeriodMs);
+                    for (int i = 0; i < ready; i++) {
+                        final Watch watch = eventWatches.get((int)events.getLong(i * EPOLL_EVENT_SIZE + EPOLL_EVENT_DATA_OFFSET));
+                        if (watch != null) {
+                            watch.onEvent();
+                        }
+                    }
+                } else {
+                    Thread.sleep(pollingPeriodMs);
+                }
+                final long now = System.currentTimeMillis();
+                if (now - lastPolling >= pollingPeriodMs) {
+                    lastPolling = now;
+                    for (Watch watch : watches.values()) {
+                        if (!watch.isEventDriven()) {
+                            watch.poll();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+        if (events != null) {
+            cLib.close(epollFd);
+        }
+    }
+
+    private static CLibrary loadCLibrary() {
+        try {
+            return getCLibrary();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
     /*
      * Need detect OOM errors and notify users about them. Without such notification if application is killed by oom-killer client often can
      * see message "Killed" and there is no any why to see why. Unfortunately for now docker doesn't provide clear mechanism how to control
@@ -162,117 +279,172 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     }
 
     /**
-     * Detects OOM with cgroup notification mechanism.
+     * Detects OOM of one container with cgroup notification mechanism or with polling of 'memory.failcnt' if notification can't
+     * be registered.
      * <p/>
      * https://access.redhat.com/documentation/en-US/Red_Hat_Enterprise_Linux/6/html/Resource_Management_Guide/sec-Using_the_Notification_API.html
      */
-    private class OOMDetector implements Runnable {
+    private class Watch {
         private final String                       container;
         private final MessageProcessor<LogMessage> containerLogProcessor;
         private final long                         memory;
-        private final CLibrary                     cLib;
         private final String                       containerCgroup;
 
-        private volatile boolean stopped = false;
-        private boolean started = false;
+        private int     efd   = -1;
+        private int     oomfd = -1;
+        /** Value of 'memory.failcnt' when detection is started, -1 until it is read successfully. */
+        private long    failCount = -1;
+        private boolean closed;
 
-        OOMDetector(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
+        Watch(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
             this.container = container;
             this.containerLogProcessor = containerLogProcessor;
             this.memory = memory;
-            cLib = getCLibrary();
 
-            if (systemd) {
-                containerCgroup = cgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
+            if (systemdCgroups) {
+                containerCgroup = containersCgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
             } else {
-                containerCgroup = cgroupMount + "/memory/docker/" + container + "/";
+                containerCgroup = containersCgroupMount + "/memory/docker/" + container + "/";
             }
         }
 
-        @Override
-        public void run() {
-            final String cf = containerCgroup + "cgroup.event_control";
-            final String oomf = containerCgroup + "memory.oom_control";
-            int efd = -1;
-            int oomfd = -1;
-            try {
-                if ((efd = cLib.eventfd(0, 1)) == -1) {
-                    LOG.error("Unable create a file descriptor for event notification");
+        synchronized void start() {
+            if (closed) {
+                return;
+            }
+            if (epfd != -1 && registerEventFd()) {
+                eventWatches.put(efd, this);
+                final Memory event = new Memory(EPOLL_EVENT_SIZE);
+                event.clear();
+                event.setInt(0, CLibrary.EPOLLIN);
+                event.setLong(EPOLL_EVENT_DATA_OFFSET, efd);
+                if (cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_ADD, efd, event) == 0) {
                     return;
                 }
-                int cfd;
-                if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
-                    LOG.error("Unable open event control file '{}' for write", cf);
-                    return;
+                LOG.warn("Unable add event file descriptor of container '{}' to epoll, error code {}", container, Native.getLastError());
+                eventWatches.remove(efd);
+                closeFds();
+            }
+            failCount = readCgroupValue("memory.failcnt");
+        }
+
+        synchronized boolean isEventDriven() {
+            return efd != -1;
+        }
+
+        /** Called by watcher thread when OOM event is received or cgroup of container is removed. */
+        synchronized void onEvent() {
+            if (closed || cLib.eventfd_read(efd, new LongByReference()) != 0) {
+                return;
+            }
+            if (readCgroupValue("memory.failcnt") > 0) {
+                LOG.warn("OOM event received for container '{}'", container);
+                report();
+            }
+            stopDetection(container);
+        }
+
+        /** Called by watcher thread periodically if cgroup notification isn't available for container. */
+        synchronized void poll() {
+            if (closed) {
+                return;
+            }
+            final long current = readCgroupValue("memory.failcnt");
+            if (current == -1) {
+                if (!Files.isDirectory(Paths.get(containerCgroup))) {
+                    // cgroup is removed together with container
+                    stopDetection(container);
                 }
+            } else if (failCount == -1) {
+                // cgroup wasn't readable when detection was started, count failures since the first successful read
+                failCount = current;
+            } else if (current > failCount) {
+                LOG.warn("Memory limit of container '{}' is reached", container);
+                report();
+                stopDetection(container);
+            }
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (efd != -1) {
+                eventWatches.remove(efd);
+                cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_DEL, efd, null);
+                closeFds();
+            }
+        }
+
+        private boolean registerEventFd() {
+            final String cf = containerCgroup + "cgroup.event_control";
+            final String oomf = containerCgroup + "memory.oom_control";
+            if ((efd = cLib.eventfd(0, CLibrary.EFD_NONBLOCK)) == -1) {
+                LOG.warn("Unable create a file descriptor for event notification");
+                return false;
+            }
+            int cfd;
+            if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
+                LOG.warn("Unable open event control file '{}' for write", cf);
+                closeFds();
+                return false;
+            }
+            try {
                 if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
-                    LOG.error("Unable open OOM event file '{}' for read", oomf);
-                    return;
+                    LOG.warn("Unable open OOM event file '{}' for read", oomf);
+                    closeFds();
+                    return false;
                 }
                 final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
                 if (cLib.write(cfd, data, data.length) != data.length) {
-                    LOG.error("Unable write event control data to file '{}'", cf);
-                    return;
-                }
-                if (cLib.close(cfd) == -1) {
-                    LOG.error("Error closing of event control file '{}'", cf);
-                    return;
-                }
-                final LongByReference eventHolder = new LongByReference();
-                if (cLib.eventfd_read(efd, eventHolder) == 0) {
-                    if (stopped) {
-                        return;
-                    }
-                    LOG.warn("OOM event received for container '{}'", container);
-                    if (readCgroupValue("memory.failcnt") > 0) {
-                        try {
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] The processes in this machine need more RAM. This machine started with " +
-                                                                         Size.toHumanSize(memory)));
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
-                                                                         " the workspace RAM limit in the user dashboard."));
-                        } catch (/*IOException*/ Exception e) {
-                            LOG.warn(e.getMessage(), e);
-                        }
-                    }
+                    LOG.warn("Unable write event control data to file '{}'", cf);
+                    closeFds();
+                    return false;
                 }
+                return true;
             } finally {
-                if (!stopped) {
-                    stopDetection(container);
+                if (cLib.close(cfd) == -1) {
+                    LOG.warn("Error closing of event control file '{}'", cf);
                 }
-                close(oomfd);
-                close(efd);
             }
         }
 
-        private void close(int fd) {
-            if (fd != -1) {
-                cLib.close(fd);
+        private void closeFds() {
+            if (oomfd != -1) {
+                cLib.close(oomfd);
+                oomfd = -1;
+            }
+            if (efd != -1) {
+                cLib.close(efd);
+                efd = -1;
+            }
+        }
+
+        private void report() {
+            try {
+                containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                             "[ERROR] The processes in this machine need more RAM. This machine started with " +
+                                                             Size.toHumanSize(memory)));
+                containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                             "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
+                                                             " the workspace RAM limit in the user dashboard."));
+            } catch (/*IOException*/ Exception e) {
+                LOG.warn(e.getMessage(), e);
             }
         }
 
+        /** Returns value of cgroup file or -1 if file can't be read. */
         long readCgroupValue(String cgroupFile) {
             final String failCntf = containerCgroup + cgroupFile;
             try (BufferedReader reader = Files.newBufferedReader(Paths.get(failCntf), Charset.forName("UTF-8"))) {
                 return Long.parseLong(reader.readLine().trim());
             } catch (IOException e) {
-                LOG.warn("Unable read content of file '{}'", failCntf);
-            } catch (NumberFormatException e) {
+                LOG.debug("Unable read content of file '{}'", failCntf);
+            } catch (NumberFormatException | NullPointerException e) {
                 LOG.error("Unable parse content of file '{}'", failCntf);
             }
-            return 0;
-        }
-
-        synchronized void start() {
-            if (!started) {
-                started = true;
-                executor.execute(this);
-            }
-        }
-
-        void stop() {
-            stopped = true;
+            return -1;
         }
     }
 }
@@ -18,7 +18,6 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.commons.json.JsonHelper;
 import org.eclipse.che.commons.json.JsonNameConvention;
-import org.eclipse.che.commons.json.JsonParseException;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
@@ -57,6 +56,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.file.Files;
@@ -65,9 +65,12 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import static com.google.common.net.UrlEscapers.urlPathSegmentEscaper;
 import static javax.ws.rs.core.Response.Status.CREATED;
@@ -90,6 +93,8 @@ public class DockerConnector {
     private final InitialAuthConfig       initialAuthConfig;
     private final ExecutorService         executor;
     private final DockerConnectionFactory connectionFactory;
+    private final boolean                 buildContextStreaming;
+    private final boolean                 buildContextGzip;
 
     @Inject
     public DockerConnector(DockerConnectorConfiguration connectorConfiguration, 
@@ -97,6 +102,8 @@ public class DockerConnector {
         this.dockerDaemonUri = connectorConfiguration.getDockerDaemonUri();
         this.initialAuthConfig = connectorConfiguration.getAuthConfigs();
         this.connectionFactory = connectionFactory;
+        this.buildContextStreaming = connectorConfiguration.isBuildContextStreaming();
+        this.buildContextGzip = connectorConfiguration.isBuildContextGzip();
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
                                                          .setNameFormat("DockerApiConnector-%d")
                                                          .setDaemon(true)
@@ -119,8 +126,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), org.eclipse.che.plugin.docker.client.json.SystemInfo.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -140,8 +145,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), Version.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -161,8 +164,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), Image[].class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -188,6 +189,9 @@ public class DockerConnector {
                              AuthConfigs authConfigs,
                              boolean doForcePull,
                              File... files) throws IOException, InterruptedException {
+        if (buildContextStreaming) {
+            return doBuildImage(repository, files, progressMonitor, dockerDaemonUri, authConfigs, doForcePull);
+        }
         final File tar = Files.createTempFile(null, ".tar").toFile();
         try {
             createTarArchive(tar, files);
@@ -244,8 +248,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ImageInfo.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -401,8 +403,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerExitStatus.class).getStatusCode();
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -428,8 +428,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerInfo.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -446,6 +444,23 @@ public class DockerConnector {
      * @throws java.io.IOException
      */
     public void attachContainer(String container, MessageProcessor<LogMessage> containerLogsProcessor, boolean stream) throws IOException {
+        attachContainer(container, toLineProcessor(containerLogsProcessor), stream);
+    }
+
+    /**
+     * Attaches to the container with specified id. Unlike {@link #attachContainer(String, MessageProcessor, boolean)} lines of logs
+     * are passed to the processor without creating objects per line.
+     *
+     * @param container
+     *         id of container
+     * @param containerLogsProcessor
+     *         output for container logs
+     * @param stream
+     *         if {@code true} then get 'live' stream from container. Typically need to run this method in separate thread, if {@code
+     *         stream} is {@code true} since this method blocks until container is running.
+     * @throws java.io.IOException
+     */
+    public void attachContainer(String container, LogLineProcessor containerLogsProcessor, boolean stream) throws IOException {
         final List<Pair<String, ?>> headers = new ArrayList<>(2);
         headers.add(Pair.of("Content-Type", MediaType.TEXT_PLAIN));
         headers.add(Pair.of("Content-Length", 0));
@@ -464,7 +479,7 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             try (InputStream responseStream = response.getInputStream()) {
-                new LogMessagePumper(responseStream, containerLogsProcessor).start();
+                new LogStreamDecoder(responseStream).decode(containerLogsProcessor);
             }
         }
     }
@@ -541,12 +556,23 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return new Exec(cmd, parseResponseStreamAndClose(response.getInputStream(), ExecCreated.class).getId());
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
     public void startExec(String execId, MessageProcessor<LogMessage> execOutputProcessor) throws IOException {
+        startExec(execId, toLineProcessor(execOutputProcessor));
+    }
+
+    /**
+     * Starts exec. Unlike {@link #startExec(String, MessageProcessor)} lines of output are passed to the processor without creating
+     * objects per line.
+     *
+     * @param execId
+     *         id of exec
+     * @param execOutputProcessor
+     *         output of exec or {@code null} if exec should be started detached
+     */
+    public void startExec(String execId, LogLineProcessor execOutputProcessor) throws IOException {
         final ExecStart execStart = new ExecStart().withDetach(execOutputProcessor == null);
         final String entity = JsonHelper.toJson(execStart, FIRST_LETTER_LOWERCASE);
         final List<Pair<String, ?>> headers = new ArrayList<>(2);
@@ -567,7 +593,7 @@ public class DockerConnector {
             }
             if (status != NO_CONTENT.getStatusCode() && execOutputProcessor != null) {
                 try (InputStream responseStream = response.getInputStream()) {
-                    new LogMessagePumper(responseStream, execOutputProcessor).start();
+                    new LogStreamDecoder(responseStream).decode(execOutputProcessor);
                 }
             }
         }
@@ -620,8 +646,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerProcesses.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         } finally {
             connection.close();
         }
@@ -640,17 +664,21 @@ public class DockerConnector {
      * @apiNote this method implements 1.20 docker API and requires docker not less than 1.8.0 version
      */
     public InputStream getResource(String container, String sourcePath) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path("/containers/" + container + "/archive")
-                                                            .query("path", sourcePath)) {
+        final DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                             .method("GET")
+                                                             .path("/containers/" + container + "/archive")
+                                                             .query("path", sourcePath);
+        try {
             final DockerResponse response = connection.request();
             final int status = response.getStatus();
             if (status != OK.getStatusCode()) {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
-
+            // connection is closed when returned stream is closed
             return new CloseConnectionInputStream(response.getInputStream(), connection);
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
         }
     }
 
@@ -776,13 +804,8 @@ public class DockerConnector {
                                   URI dockerDaemonUri,
                                   AuthConfigs authConfigs,
                                   boolean doForcePull) throws IOException, InterruptedException {
-        if (authConfigs == null) {
-            authConfigs = initialAuthConfig.getAuthConfigs();
-        }
-        final List<Pair<String, ?>> headers = new ArrayList<>(3);
-        headers.add(Pair.of("Content-Type", "application/x-compressed-tar"));
+        final List<Pair<String, ?>> headers = getBuildHeaders(authConfigs, "application/x-compressed-tar");
         headers.add(Pair.of("Content-Length", tar.length()));
-        headers.add(Pair.of("X-Registry-Config", Base64.encodeBase64String(JsonHelper.toJson(authConfigs).getBytes())));
 
         try (InputStream tarInput = new FileInputStream(tar);
              DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
@@ -792,57 +815,110 @@ public class DockerConnector {
                                                             .query("pull", doForcePull)
                                                             .headers(headers)
                                                             .entity(tarInput)) {
-            if (repository != null) {
-                connection.query("t", repository);
-            }
-            final DockerResponse response = connection.request();
-            final int status = response.getStatus();
-            if (OK.getStatusCode() != status) {
-                throw new DockerException(getDockerExceptionMessage(response), status);
-            }
-            try (InputStream responseStream = response.getInputStream()) {
-                JsonMessageReader<ProgressStatus> progressReader = new JsonMessageReader<>(responseStream, ProgressStatus.class);
+            return build(connection, repository, progressMonitor);
+        }
+    }
 
-                final ValueHolder<IOException> errorHolder = new ValueHolder<>();
-                final ValueHolder<String> imageIdHolder = new ValueHolder<>();
-                // Here do some trick to be able interrupt build process. Basically for now it is not possible interrupt docker daemon while
-                // it's building images but here we need just be able to close connection to the unix socket. Thread is blocking while read
-                // from the socket stream so need one more thread that is able to close socket. In this way we can release thread that is
-                // blocking on i/o.
-                final Runnable runnable = new Runnable() {
-                    @Override
-                    public void run() {
-                        try {
-                            ProgressStatus progressStatus;
-                            while ((progressStatus = progressReader.next()) != null) {
-                                final String buildImageId = getBuildImageId(progressStatus);
-                                if (buildImageId != null) {
-                                    imageIdHolder.set(buildImageId);
-                                }
-                                progressMonitor.updateProgress(progressStatus);
-                            }
-                        } catch (IOException e) {
-                            errorHolder.set(e);
-                        }
-                        synchronized (this) {
-                            notify();
+    /**
+     * Builds new docker image from specified files that are archived while they are sent to docker daemon.
+     * Unlike {@link #doBuildImage(String, File, ProgressMonitor, URI, AuthConfigs, boolean)} it doesn't need temporary
+     * tar archive, so docker daemon starts receiving of build context immediately.
+     *
+     * @param repository
+     *         full repository name to be applied to newly created image
+     * @param files
+     *         files that are needed for creation docker images (e.g. file of directories used in ADD instruction in Dockerfile), one of
+     *         them must be Dockerfile.
+     * @param progressMonitor
+     *         ProgressMonitor for images creation process
+     * @param dockerDaemonUri
+     *         Uri for remote access to docker API
+     * @param authConfigs
+     *         Authentication configuration for private registries. Can be null.
+     * @return image id
+     * @throws IOException
+     * @throws InterruptedException
+     *         if build process was interrupted
+     */
+    protected String doBuildImage(String repository,
+                                  File[] files,
+                                  final ProgressMonitor progressMonitor,
+                                  URI dockerDaemonUri,
+                                  AuthConfigs authConfigs,
+                                  boolean doForcePull) throws IOException, InterruptedException {
+        final String contentType = buildContextGzip ? "application/x-compressed-tar" : "application/x-tar";
+        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .method("POST")
+                                                            .path("/build")
+                                                            .query("rm", 1)
+                                                            .query("pull", doForcePull)
+                                                            .headers(getBuildHeaders(authConfigs, contentType))
+                                                            .entity(output -> writeTarArchive(output, files))) {
+            return build(connection, repository, progressMonitor);
+        }
+    }
+
+    private List<Pair<String, ?>> getBuildHeaders(AuthConfigs authConfigs, String contentType) {
+        if (authConfigs == null) {
+            authConfigs = initialAuthConfig.getAuthConfigs();
+        }
+        final List<Pair<String, ?>> headers = new ArrayList<>(3);
+        headers.add(Pair.of("Content-Type", contentType));
+        headers.add(Pair.of("X-Registry-Config", Base64.encodeBase64String(JsonHelper.toJson(authConfigs).getBytes())));
+        return headers;
+    }
+
+    private String build(DockerConnection connection,
+                         String repository,
+                         final ProgressMonitor progressMonitor) throws IOException, InterruptedException {
+        if (repository != null) {
+            connection.query("t", repository);
+        }
+        final DockerResponse response = connection.request();
+        final int status = response.getStatus();
+        if (OK.getStatusCode() != status) {
+            throw new DockerException(getDockerExceptionMessage(response), status);
+        }
+        try (InputStream responseStream = response.getInputStream()) {
+            JsonMessageReader<ProgressStatus> progressReader = new JsonMessageReader<>(responseStream, ProgressStatus.class);
+
+            final ValueHolder<IOException> errorHolder = new ValueHolder<>();
+            final ValueHolder<String> imageIdHolder = new ValueHolder<>();
+            // Here do some trick to be able interrupt build process. Basically for now it is not possible interrupt docker daemon while
+            // it's building images but here we need just be able to close connection to the unix socket. Thread is blocking while read
+            // from the socket stream so need one more thread that is able to close socket. In this way we can release thread that is
+            // blocking on i/o. Waiting on the future doesn't miss completion of reading which may happen before waiting starts.
+            final Future<?> reading = executor.submit(() -> {
+                try {
+                    ProgressStatus progressStatus;
+                    while ((progressStatus = progressReader.next()) != null) {
+                        final String buildImageId = getBuildImageId(progressStatus);
+                        if (buildImageId != null) {
+                            imageIdHolder.set(buildImageId);
                         }
+                        progressMonitor.updateProgress(progressStatus);
                     }
-                };
-                executor.execute(runnable);
-                // noinspection SynchronizationOnLocalVariableOrMethodParameter
-                synchronized (runnable) {
-                    runnable.wait();
-                }
-                final IOException ioe = errorHolder.get();
-                if (ioe != null) {
-                    throw ioe;
-                }
-                if (imageIdHolder.get() == null) {
-                    throw new IOException("Docker image build failed");
+                } catch (IOException e) {
+                    errorHolder.set(e);
                 }
-                return imageIdHolder.get();
+            });
+            try {
+                reading.get();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause().getLocalizedMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                // connection is closed on exit from this method, it releases reading thread
+                reading.cancel(true);
+                throw e;
             }
+            final IOException ioe = errorHolder.get();
+            if (ioe != null) {
+                throw ioe;
+            }
+            if (imageIdHolder.get() == null) {
+                throw new IOException("Docker image build failed");
+            }
+            return imageIdHolder.get();
         }
     }
 
@@ -914,30 +990,28 @@ public class DockerConnector {
                 // Here do some trick to be able interrupt push process. Basically for now it is not possible interrupt docker daemon while
                 // it's pushing images but here we need just be able to close connection to the unix socket. Thread is blocking while read
                 // from the socket stream so need one more thread that is able to close socket. In this way we can release thread that is
-                // blocking on i/o.
-                final Runnable runnable = new Runnable() {
-                    @Override
-                    public void run() {
-                        try {
-                            ProgressStatus progressStatus;
-                            while ((progressStatus = progressReader.next()) != null && exceptionHolder.get() == null) {
-                                progressMonitor.updateProgress(progressStatus);
-                                if (progressStatus.getError() != null) {
-                                    exceptionHolder.set(progressStatus.getError());
-                                }
+                // blocking on i/o. Waiting on the future doesn't miss completion of reading which may happen before waiting starts.
+                final Future<?> reading = executor.submit(() -> {
+                    try {
+                        ProgressStatus progressStatus;
+                        while ((progressStatus = progressReader.next()) != null && exceptionHolder.get() == null) {
+                            progressMonitor.updateProgress(progressStatus);
+                            if (progressStatus.getError() != null) {
+                                exceptionHolder.set(progressStatus.getError());
                             }
-                        } catch (IOException e) {
-                            errorHolder.set(e);
-                        }
-                        synchronized (this) {
-                            notify();
                         }
+                    } catch (IOException e) {
+                        errorHolder.set(e);
                     }
-                };
-                executor.execute(runnable);
-                // noinspection SynchronizationOnLocalVariableOrMethodParameter
-                synchronized (runnable) {
-                    runnable.wait();
+                });
+                try {
+                    reading.get();
+                } catch (ExecutionException e) {
+                    throw new IOException(e.getCause().getLocalizedMessage(), e.getCause());
+                } catch (InterruptedException e) {
+                    // connection is closed on exit from this method, it releases reading thread
+                    reading.cancel(true);
+                    throw e;
                 }
                 if (exceptionHolder.get() != null) {
                     throw new DockerException(exceptionHolder.get(), 500);
@@ -984,8 +1058,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerCommited.class).getId();
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -1071,8 +1143,6 @@ public class DockerConnector {
                 throw new DockerException(getDockerExceptionMessage(response), status);
             }
             return parseResponseStreamAndClose(response.getInputStream(), ContainerCreated.class);
-        } catch (JsonParseException e) {
-            throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -1116,12 +1186,9 @@ public class DockerConnector {
         return null;
     }
 
-    private <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException, JsonParseException {
+    private <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException {
         try (InputStream responseStream = inputStream) {
-            return JsonHelper.fromJson(responseStream,
-                                       clazz,
-                                       null,
-                                       FIRST_LETTER_LOWERCASE);
+            return JsonResponseParser.parse(responseStream, clazz);
         }
     }
 
@@ -1151,4 +1218,15 @@ public class DockerConnector {
     private void createTarArchive(File tar, File... files) throws IOException {
         TarUtils.tarFiles(tar, 0, files);
     }
+
+    /** Adapts processor of log messages to processor of lines, content of each line is copied into new message. */
+    private static LogLineProcessor toLineProcessor(MessageProcessor<LogMessage> processor) {
+        return processor == null ? null : (type, line) -> processor.process(new LogMessage(type, line.toString()));
+    }
+
+    private void writeTarArchive(OutputStream output, File... files) throws IOException {
+        try (OutputStream tarOutput = buildContextGzip ? new GZIPOutputStream(output, 8192) : output) {
+            TarUtils.tarFiles(tarOutput, 0, files);
+        }
+    }
 }
@@ -95,6 +95,17 @@ public class DockerConnectorConfiguration {
                                                                   + separatorChar + "default";
 
 
+    /**
+     * Property used to define whether build context is sent to docker daemon while it is archived, without creation of temporary tar
+     * file.
+     */
+    public static final String BUILD_CONTEXT_STREAMING_PROPERTY = "docker.build.context_streaming";
+
+    /**
+     * Property used to define whether build context that is sent to docker daemon while it is archived should be compressed with gzip.
+     */
+    public static final String BUILD_CONTEXT_GZIP_PROPERTY = "docker.build.context_gzip";
+
     private static final Logger LOG = LoggerFactory.getLogger(DockerConnectorConfiguration.class);
 
     @Inject(optional = true)
@@ -105,6 +116,14 @@ public class DockerConnectorConfiguration {
     @Named("docker.client.certificates_folder")
     private String dockerCertificatesDirectoryPath = dockerMachineCertsDirectoryPath();
 
+    @Inject(optional = true)
+    @Named(BUILD_CONTEXT_STREAMING_PROPERTY)
+    private boolean buildContextStreaming = true;
+
+    @Inject(optional = true)
+    @Named(BUILD_CONTEXT_GZIP_PROPERTY)
+    private boolean buildContextGzip = false;
+
     /**
      * Helper used to resolve ip address of the docker host ip from a docker container.
      */
@@ -175,6 +194,20 @@ public class DockerConnectorConfiguration {
         return authConfigs;
     }
 
+    /**
+     * Whether build context is sent to docker daemon while it is archived, without creation of temporary tar file
+     */
+    public boolean isBuildContextStreaming() {
+        return buildContextStreaming;
+    }
+
+    /**
+     * Whether build context that is sent to docker daemon while it is archived is compressed with gzip
+     */
+    public boolean isBuildContextGzip() {
+        return buildContextGzip;
+    }
+
     /**
      * Gets certificates for connection to encrypted docker API
      *
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads events stream of docker daemon once and dispatches events to subscribers.
+ *
+ * <p>Subscribers of container events are indexed by container id, so dispatching of event doesn't depend on number of
+ * subscribers of other containers. When events stream is broken it is reopened starting from the time of the last received
+ * event, events that were already dispatched are not dispatched twice.
+ */
+@Singleton
+public class DockerEventBus {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerEventBus.class);
+
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DockerConnector                                          docker;
+    private final ConcurrentHashMap<String, List<MessageProcessor<Event>>> containerSubscribers;
+    private final List<MessageProcessor<Event>>                            subscribers;
+    private final ExecutorService                                          executor;
+    private final AtomicLong                                               receivedEvents;
+    private final AtomicLong                                               dispatchedEvents;
+    private final AtomicLong                                               reconnects;
+
+    /* Accessed from events reading thread only */
+    private long             lastEventTime;
+    /** Keys of events received in the second of the last event. */
+    private Multiset<String> lastSecondEvents;
+    /** Keys of events which docker is expected to send again after the stream is reopened. */
+    private Multiset<String> replayedEvents;
+
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+    private volatile long startTime;
+
+    @Inject
+    public DockerEventBus(DockerConnector docker) {
+        this.docker = docker;
+        this.containerSubscribers = new ConcurrentHashMap<>();
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.receivedEvents = new AtomicLong();
+        this.dispatchedEvents = new AtomicLong();
+        this.reconnects = new AtomicLong();
+        this.lastSecondEvents = HashMultiset.create();
+        this.replayedEvents = HashMultiset.create();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("DockerEventBus-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    /**
+     * Subscribes to events of specified container.
+     *
+     * @param containerId
+     *         full id of container
+     * @param subscriber
+     *         processor of container events, it is called from events reading thread and should not block
+     */
+    public void subscribe(String containerId, MessageProcessor<Event> subscriber) {
+        containerSubscribers.computeIfAbsent(containerId, key -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Unsubscribes from events of specified container.
+     */
+    public void unsubscribe(String containerId, MessageProcessor<Event> subscriber) {
+        containerSubscribers.computeIfPresent(containerId, (key, containerProcessors) -> {
+            containerProcessors.remove(subscriber);
+            return containerProcessors.isEmpty() ? null : containerProcessors;
+        });
+    }
+
+    /**
+     * Subscribes to all events of docker daemon.
+     *
+     * @param subscriber
+     *         processor of events, it is called from events reading thread and should not block
+     */
+    public void subscribe(MessageProcessor<Event> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Unsubscribes from all events of docker daemon.
+     */
+    public void unsubscribe(MessageProcessor<Event> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /** Returns number of events received from docker daemon. */
+    public long getReceivedEvents() {
+        return receivedEvents.get();
+    }
+
+    /** Returns number of events delivered to subscribers. */
+    public long getDispatchedEvents() {
+        return dispatchedEvents.get();
+    }
+
+    /** Returns number of received events per second since start of the bus. */
+    public double getThroughput() {
+        final long elapsed = System.currentTimeMillis() - startTime;
+        return startTime == 0 || elapsed == 0 ? 0 : receivedEvents.get() * 1000D / elapsed;
+    }
+
+    /** Returns number of times events stream was reopened. */
+    public long getReconnects() {
+        return reconnects.get();
+    }
+
+    /** Returns delay between creation of the last event and its dispatching in milliseconds. */
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    /** Returns maximal delay between creation of event and its dispatching in milliseconds. */
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        startTime = System.currentTimeMillis();
+        executor.execute(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                onStreamOpened();
+                try {
+                    docker.getEvents(lastEventTime, 0, null, this::dispatch);
+                } catch (IOException e) {
+                    // usually connection timeout
+                    LOG.debug(e.getLocalizedMessage(), e);
+                    try {
+                        // don't flood docker daemon when it is not available
+                        Thread.sleep(RECONNECT_DELAY_MS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                reconnects.incrementAndGet();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void dispatch(Event event) {
+        receivedEvents.incrementAndGet();
+        if (!isNew(event)) {
+            return;
+        }
+        final long eventTimeMs = event.getTimeNano() != 0 ? TimeUnit.NANOSECONDS.toMillis(event.getTimeNano())
+                                                         : TimeUnit.SECONDS.toMillis(event.getTime());
+        final long lag = eventTimeMs == 0 ? 0 : System.currentTimeMillis() - eventTimeMs;
+        lastLagMs = lag;
+        if (lag > maxLagMs) {
+            maxLagMs = lag;
+        }
+        for (MessageProcessor<Event> subscriber : subscribers) {
+            process(subscriber, event);
+        }
+        if (event.getId() != null) {
+            final List<MessageProcessor<Event>> containerProcessors = containerSubscribers.get(event.getId());
+            if (containerProcessors != null) {
+                for (MessageProcessor<Event> subscriber : containerProcessors) {
+                    process(subscriber, event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called before events stream is opened. Stream is opened since the second of the last received event,
+     * so docker sends events of that second again.
+     */
+    void onStreamOpened() {
+        replayedEvents = HashMultiset.create(lastSecondEvents);
+    }
+
+    /**
+     * Docker sends events that were created in the same second as the last received event again
+     * when stream is reopened, such events are filtered out here. Events of the same container with the same
+     * status may occur several times in one second, so each received event filters out only one replayed event.
+     */
+    private boolean isNew(Event event) {
+        if (event.getTime() > lastEventTime) {
+            lastEventTime = event.getTime();
+            lastSecondEvents.clear();
+            replayedEvents.clear();
+        } else if (event.getTime() < lastEventTime) {
+            return false;
+        }
+        // time in nanoseconds isn't sent by older versions of docker
+        final String key = event.getTimeNano() != 0 ? event.getId() + ':' + event.getStatus() + ':' + event.getTimeNano()
+                                                    : event.getId() + ':' + event.getStatus();
+        if (replayedEvents.remove(key)) {
+            return false;
+        }
+        lastSecondEvents.add(key);
+        return true;
+    }
+
+    private void process(MessageProcessor<Event> subscriber, Event event) {
+        try {
+            subscriber.process(event);
+            dispatchedEvents.incrementAndGet();
+        } catch (RuntimeException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+}
@@ -13,28 +13,30 @@ package org.eclipse.che.plugin.docker.client;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonStreamParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Docker daemon sends chunked data in response. One chunk isn't always one JSON object so need to read full chunk at once to be able
  * restore JSON object. This reader merges (if needs) few chunks until get full JSON object that we can parse.
  * Parameter of this class is class where JSON message should be parsed.
  *
+ * <p>Messages are bound directly from the token stream, without building of intermediate JSON tree for each message.
+ *
  * @author Alexander Garagatyi
  */
 public class JsonMessageReader<T> {
     private static final Gson GSON = new Gson();
 
-    private final JsonStreamParser streamParser;
-    private final Class<T>         messageClass;
-    private final PushbackReader   reader;
-
-    private boolean firstRead = true;
+    private final JsonReader reader;
+    private final Class<T>   messageClass;
 
     /**
      * @param source source of messages in JSON format
@@ -43,9 +45,9 @@ public class JsonMessageReader<T> {
      *                     we can't get parameter class of current class.
      */
     public JsonMessageReader(InputStream source, Class<T> messageClass) {
-        // we need to push back only 1 char, read more further
-        this.reader = new PushbackReader(new InputStreamReader(source), 1);
-        this.streamParser = new JsonStreamParser(reader);
+        this.reader = new JsonReader(new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8)));
+        // stream contains sequence of top level JSON objects
+        this.reader.setLenient(true);
         this.messageClass = messageClass;
     }
 
@@ -56,22 +58,16 @@ public class JsonMessageReader<T> {
      * @throws IOException if error occurs on reading stream
      */
     public T next() throws IOException {
-        // on first read we check if this stream is empty with reading of the first byte of stream
-        // if so we do not call JsonStreamParser.hasNext() because it will throw exception
-        // if not we return read byte to stream using PushbackInputStream
-        if (firstRead) {
-            int firstChar = reader.read();
-            if (firstChar == -1) {
+        try {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
                 return null;
-            } else {
-                reader.unread(firstChar);
-                firstRead = false;
             }
+        } catch (EOFException e) {
+            // stream is empty
+            return null;
         }
         try {
-            if (streamParser.hasNext()) {
-                return GSON.fromJson(streamParser.next(), messageClass);
-            }
+            return GSON.fromJson(reader, messageClass);
         } catch (JsonIOException e) {
             throw new IOException(e);
         } catch (JsonParseException ignore) {
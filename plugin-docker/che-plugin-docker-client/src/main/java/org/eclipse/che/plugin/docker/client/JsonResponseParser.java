@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binds JSON responses of docker API to objects of {@code org.eclipse.che.plugin.docker.client.json} package.
+ *
+ * <p>Response is read as UTF-8 and bound directly from the token stream, without building of intermediate JSON tree.
+ * Docker uses uppercase in first letter in names of json objects, e.g. {"Id":"123"} instead of {"id":"123"},
+ * fields are matched in the same way as {@link DockerConnector#FIRST_LETTER_LOWERCASE} does.
+ * Types of values are converted leniently, e.g. boolean value may be bound to int field, because different versions
+ * of docker API use different types for some fields.
+ */
+class JsonResponseParser {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Gson GSON =
+            new GsonBuilder().setFieldNamingStrategy(field -> DockerConnector.FIRST_LETTER_LOWERCASE.toJsonName(field.getName()))
+                             .registerTypeAdapter(int.class, new LenientIntAdapter())
+                             .registerTypeAdapter(Integer.class, new LenientIntAdapter())
+                             .registerTypeAdapter(long.class, new LenientLongAdapter())
+                             .registerTypeAdapter(Long.class, new LenientLongAdapter())
+                             .registerTypeAdapter(boolean.class, new LenientBooleanAdapter())
+                             .registerTypeAdapter(Boolean.class, new LenientBooleanAdapter())
+                             .registerTypeAdapter(String.class, new LenientStringAdapter())
+                             .create();
+
+    private JsonResponseParser() {
+    }
+
+    /**
+     * Reads JSON object from stream and binds it to instance of specified class. Stream isn't closed.
+     *
+     * @throws IOException
+     *         if stream can't be read or it doesn't contain valid JSON
+     */
+    static <T> T parse(InputStream inputStream, Class<T> clazz) throws IOException {
+        final JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                                                                    BUFFER_SIZE));
+        try {
+            return GSON.fromJson(reader, clazz);
+        } catch (JsonParseException e) {
+            throw new IOException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static class LenientIntAdapter extends TypeAdapter<Integer> {
+        @Override
+        public Integer read(JsonReader in) throws IOException {
+            switch (in.peek()) {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BOOLEAN:
+                    return in.nextBoolean() ? 1 : 0;
+                default:
+                    return in.nextInt();
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, Integer value) throws IOException {
+            out.value(value);
+        }
+    }
+
+    private static class LenientLongAdapter extends TypeAdapter<Long> {
+        @Override
+        public Long read(JsonReader in) throws IOException {
+            switch (in.peek()) {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BOOLEAN:
+                    return in.nextBoolean() ? 1L : 0L;
+                default:
+                    return in.nextLong();
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, Long value) throws IOException {
+            out.value(value);
+        }
+    }
+
+    private static class LenientBooleanAdapter extends TypeAdapter<Boolean> {
+        @Override
+        public Boolean read(JsonReader in) throws IOException {
+            switch (in.peek()) {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case NUMBER:
+                    return in.nextLong() != 0;
+                case STRING:
+                    return Boolean.parseBoolean(in.nextString());
+                default:
+                    return in.nextBoolean();
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, Boolean value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.value(value.booleanValue());
+            }
+        }
+    }
+
+    /** Reads any value as string, arrays and objects are represented by their JSON. */
+    private static class LenientStringAdapter extends TypeAdapter<String> {
+        @Override
+        public String read(JsonReader in) throws IOException {
+            final JsonToken token = in.peek();
+            switch (token) {
+                case NULL:
+                    in.nextNull();
+                    return null;
+                case BOOLEAN:
+                    return Boolean.toString(in.nextBoolean());
+                case BEGIN_ARRAY:
+                case BEGIN_OBJECT:
+                    final JsonElement element = TypeAdapters.JSON_ELEMENT.read(in);
+                    return element.toString();
+                default:
+                    return in.nextString();
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+    }
+}
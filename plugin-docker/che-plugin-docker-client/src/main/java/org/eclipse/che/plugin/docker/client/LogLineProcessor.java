@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+/**
+ * Receives lines decoded by {@link LogStreamDecoder}.
+ */
+public interface LogLineProcessor {
+    /**
+     * Processes one line of log.
+     *
+     * @param type
+     *         type of stream the line belongs to
+     * @param line
+     *         content of line, this view is reused for the next lines so it must be copied (e.g. with {@code toString()})
+     *         if content is needed after this method returns
+     */
+    void process(LogMessage.Type type, CharSequence line);
+}
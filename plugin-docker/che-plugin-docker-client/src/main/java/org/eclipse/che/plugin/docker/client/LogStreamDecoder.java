@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decodes multiplexed stream of docker attach and exec API into lines.
+ *
+ * <p>Each frame of stream starts with 8 bytes header that contains type of stream and length of payload.
+ * Payload is decoded as UTF-8, multi-byte sequences split between frames or reads are joined.
+ * Line ends with LF or CR, CR is included into the line, LF isn't. Lines longer than {@link #MAX_LINE_LENGTH} bytes
+ * are split, but never inside of a multi-byte character.
+ *
+ * <p>Bytes are read with buffers taken from a shared pool, characters of line are decoded into array that is reused for all lines,
+ * so decoding doesn't allocate memory per line. Consumer gets view of the line which is valid only during call of
+ * {@link LogLineProcessor#process(LogMessage.Type, CharSequence)}.
+ */
+public class LogStreamDecoder {
+    private static final Logger LOG = LoggerFactory.getLogger(LogStreamDecoder.class);
+
+    static final int MAX_LINE_LENGTH = 1024;
+
+    private static final int  STREAM_HEADER_LENGTH = 8;
+    private static final int  BUFFER_SIZE          = 8192;
+    private static final int  POOL_SIZE            = 32;
+    private static final char REPLACEMENT_CHAR     = '\uFFFD';
+
+    private static final BlockingQueue<ByteBuffer> BUFFERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final InputStream source;
+    private final char[]      lineChars;
+    private final CharBuffer  line;
+
+    private LogMessage.Type type;
+    private int             lineLength;
+    private int             lineBytes;
+    private int             codePoint;
+    private int             pendingBytes;
+
+    public LogStreamDecoder(InputStream source) {
+        this.source = source;
+        // line never contains more chars than bytes, few chars are reserved for the last multi-byte char and <CR>
+        this.lineChars = new char[MAX_LINE_LENGTH + 4];
+        this.line = CharBuffer.wrap(lineChars);
+        this.type = LogMessage.Type.DOCKER;
+    }
+
+    /**
+     * Reads stream until its end and passes decoded lines to the processor.
+     *
+     * @throws IOException
+     *         if error occurs on reading of stream
+     */
+    public void decode(LogLineProcessor processor) throws IOException {
+        final ByteBuffer buffer = acquireBuffer();
+        try {
+            final byte[] bytes = buffer.array();
+            int position = 0;
+            int limit = 0;
+            int remaining = 0;
+            for (; ; ) {
+                if (remaining == 0) {
+                    if (limit - position < STREAM_HEADER_LENGTH) {
+                        System.arraycopy(bytes, position, bytes, 0, limit - position);
+                        limit -= position;
+                        position = 0;
+                        limit = fill(bytes, limit, STREAM_HEADER_LENGTH);
+                        if (limit < STREAM_HEADER_LENGTH) {
+                            if (limit != 0) {
+                                LOG.debug("Invalid stream, can't read header. Header of each frame must contain 8 bytes but got {}", limit);
+                            }
+                            break;
+                        }
+                    }
+                    type = getLogMessageType(bytes[position]);
+                    remaining = getPayloadLength(bytes, position);
+                    position += STREAM_HEADER_LENGTH;
+                } else {
+                    if (position == limit) {
+                        position = 0;
+                        limit = source.read(bytes, 0, bytes.length);
+                        if (limit == -1) {
+                            break;
+                        }
+                    }
+                    final int end = position + Math.min(remaining, limit - position);
+                    decode(bytes, position, end, processor);
+                    remaining -= end - position;
+                    position = end;
+                }
+            }
+            if (pendingBytes > 0) {
+                append(REPLACEMENT_CHAR);
+                pendingBytes = 0;
+            }
+            if (lineLength > 0) {
+                emitLine(processor);
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Reads from stream until buffer contains at least {@code min} bytes or stream is over.
+     *
+     * @return number of bytes in buffer
+     */
+    private int fill(byte[] bytes, int limit, int min) throws IOException {
+        while (limit < min) {
+            final int r = source.read(bytes, limit, bytes.length - limit);
+            if (r == -1) {
+                break;
+            }
+            limit += r;
+        }
+        return limit;
+    }
+
+    private void decode(byte[] bytes, int from, int to, LogLineProcessor processor) {
+        for (int i = from; i < to; i++) {
+            final int b = bytes[i];
+            if (pendingBytes > 0) {
+                if ((b & 0xC0) == 0x80) {
+                    codePoint = (codePoint << 6) | (b & 0x3F);
+                    lineBytes++;
+                    if (--pendingBytes == 0) {
+                        if (Character.isValidCodePoint(codePoint) && !isSurrogate(codePoint)) {
+                            appendCodePoint(codePoint);
+                        } else {
+                            append(REPLACEMENT_CHAR);
+                        }
+                        splitLongLine(processor);
+                    }
+                    continue;
+                }
+                // malformed sequence, current byte is decoded from scratch
+                pendingBytes = 0;
+                append(REPLACEMENT_CHAR);
+            }
+            if (b == '\n') {
+                emitLine(processor);
+            } else if (b == '\r') {
+                // include <CR> char in log message
+                append('\r');
+                emitLine(processor);
+            } else {
+                lineBytes++;
+                if (b >= 0) {
+                    append((char)b);
+                } else if ((b & 0xE0) == 0xC0) {
+                    codePoint = b & 0x1F;
+                    pendingBytes = 1;
+                } else if ((b & 0xF0) == 0xE0) {
+                    codePoint = b & 0x0F;
+                    pendingBytes = 2;
+                } else if ((b & 0xF8) == 0xF0) {
+                    codePoint = b & 0x07;
+                    pendingBytes = 3;
+                } else {
+                    append(REPLACEMENT_CHAR);
+                }
+                splitLongLine(processor);
+            }
+        }
+    }
+
+    private void splitLongLine(LogLineProcessor processor) {
+        if (pendingBytes == 0 && lineBytes >= MAX_LINE_LENGTH) {
+            emitLine(processor);
+        }
+    }
+
+    private boolean isSurrogate(int codePoint) {
+        return codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE;
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (Character.isBmpCodePoint(codePoint)) {
+            append((char)codePoint);
+        } else {
+            append(Character.highSurrogate(codePoint));
+            append(Character.lowSurrogate(codePoint));
+        }
+    }
+
+    private void append(char c) {
+        lineChars[lineLength++] = c;
+    }
+
+    private void emitLine(LogLineProcessor processor) {
+        line.limit(lineLength);
+        line.position(0);
+        processor.process(type, line);
+        lineLength = 0;
+        lineBytes = 0;
+    }
+
+    private int getPayloadLength(byte[] header, int offset) {
+        return (header[offset + 7] & 0xFF)
+               + ((header[offset + 6] & 0xFF) << 8)
+               + ((header[offset + 5] & 0xFF) << 16)
+               + ((header[offset + 4] & 0xFF) << 24);
+    }
+
+    private LogMessage.Type getLogMessageType(byte streamType) {
+        switch (streamType) {
+            case 0:
+                return LogMessage.Type.STDIN;
+            case 1:
+                return LogMessage.Type.STDOUT;
+            case 2:
+                return LogMessage.Type.STDERR;
+            default:
+                throw new IllegalArgumentException(String.format("Invalid docker stream type %d", streamType));
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        final ByteBuffer buffer = BUFFERS.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        BUFFERS.offer(buffer);
+    }
+}
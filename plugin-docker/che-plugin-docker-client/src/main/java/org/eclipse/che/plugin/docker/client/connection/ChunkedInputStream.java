@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -34,7 +35,7 @@ public class ChunkedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -57,47 +58,46 @@ public class ChunkedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     @Override
-    public synchronized int available() {
-        return (chunkSize - chunkPos);
+    public synchronized int available() throws IOException {
+        return Math.min(input.available(), chunkSize - chunkPos);
+    }
+
+    /**
+     * Skips the rest of chunks if they may be read from the underlying stream without blocking.
+     *
+     * @return {@code true} if the last chunk is read, {@code false} otherwise
+     */
+    synchronized boolean skipAvailable() throws IOException {
+        final byte[] buf = new byte[1024];
+        while (!eof) {
+            if (input.available() <= 0) {
+                return false;
+            }
+            doRead(buf, 0, buf.length);
+        }
+        return true;
     }
 
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
         }
-        if (chunkSize == 0) {
-            chunkPos = 0;
-            for (; ; ) {
-                int i = input.read();
-                if (i < 0) {
-                    throw new IOException("Can't read size of chunk");
-                }
-                if (i == '\n') {
-                    break;
-                }
-                chunkSizeBuf.append((char)i);
-            }
-
-            int l = chunkSizeBuf.length();
-            int endSize = 0;
-            while (endSize < l && Character.digit(chunkSizeBuf.charAt(endSize), 16) != -1) {
-                endSize++;
-            }
-            try {
-                chunkSize = Integer.parseInt(chunkSizeBuf.substring(0, endSize), 16);
-            } catch (NumberFormatException e) {
-                throw new IOException("Invalid chunk size");
-            }
-            chunkSizeBuf.setLength(0);
+        if (chunkPos == chunkSize) {
+            readChunkSize();
             if (chunkSize == 0) {
+                skipTrailer();
                 eof = true;
+                return -1;
             }
         }
-        final int n = input.read(b, 0, Math.min(len - off, chunkSize - chunkPos));
+        final int n = input.read(b, off, Math.min(len, chunkSize - chunkPos));
+        if (n == -1) {
+            throw new EOFException("Unexpected end of chunked stream");
+        }
         chunkPos += n;
         if (chunkPos == chunkSize) {
             if ('\r' != input.read()) { // skip '\r'
@@ -106,12 +106,45 @@ public class ChunkedInputStream extends InputStream {
             if ('\n' != input.read()) { // skip '\n'
                 throw new IOException("LF character is missing");
             }
-            chunkSize = 0;
-            chunkPos = 0;
-        }
-        if (eof) {
-            return -1;
         }
         return n;
     }
+
+    private void readChunkSize() throws IOException {
+        readLine();
+        int l = chunkSizeBuf.length();
+        int endSize = 0;
+        while (endSize < l && Character.digit(chunkSizeBuf.charAt(endSize), 16) != -1) {
+            endSize++;
+        }
+        try {
+            chunkSize = Integer.parseInt(chunkSizeBuf.substring(0, endSize), 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid chunk size");
+        }
+        chunkPos = 0;
+    }
+
+    // Trailer is a sequence of header fields followed by empty line, usually docker sends just empty line.
+    private void skipTrailer() throws IOException {
+        do {
+            readLine();
+        } while (chunkSizeBuf.length() > 0);
+    }
+
+    private void readLine() throws IOException {
+        chunkSizeBuf.setLength(0);
+        for (; ; ) {
+            int i = input.read();
+            if (i < 0) {
+                throw new IOException("Can't read size of chunk");
+            }
+            if (i == '\n') {
+                break;
+            }
+            if (i != '\r') {
+                chunkSizeBuf.append((char)i);
+            }
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes body of HTTP request with chunked transfer encoding.
+ * Closing of this stream writes the last chunk but doesn't close the underlying stream.
+ */
+class ChunkedOutputStream extends OutputStream {
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private static final byte[] CRLF       = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final OutputStream output;
+    private final byte[]       buffer;
+
+    private int     count;
+    private boolean finished;
+
+    ChunkedOutputStream(OutputStream output) {
+        this(output, DEFAULT_CHUNK_SIZE);
+    }
+
+    ChunkedOutputStream(OutputStream output, int chunkSize) {
+        this.output = output;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        if (count == buffer.length) {
+            writeChunk();
+        }
+        buffer[count++] = (byte)b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotFinished();
+        if (len >= buffer.length) {
+            // large data is sent as is without copying to buffer
+            writeChunk();
+            writeChunk(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            writeChunk();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            writeChunk();
+        }
+        output.flush();
+    }
+
+    /** Writes buffered data and the last chunk. Underlying stream stays open. */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            writeChunk();
+            output.write(LAST_CHUNK);
+            output.flush();
+            finished = true;
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        if (count > 0) {
+            writeChunk(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            // zero length chunk means end of body
+            return;
+        }
+        output.write(Integer.toHexString(len).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+        output.write(b, off, len);
+        output.write(CRLF);
+    }
+
+    private void ensureNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Stream is closed");
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import com.google.common.base.Strings;
 import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.commons.lang.Pair;
@@ -18,6 +19,9 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -81,8 +85,23 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Sets entity which is produced while request is sent. Entity is sent with chunked transfer encoding,
+     * so its length doesn't have to be known before sending.
+     */
+    public DockerConnection entity(ContentWriter entity) {
+        this.entity = new ChunkedEntity(entity);
+        return this;
+    }
+
     public DockerResponse request() throws IOException {
-        return request(method, path, query.toString(), headers, entity);
+        List<Pair<String, ?>> requestHeaders = headers;
+        if (entity instanceof ChunkedEntity) {
+            requestHeaders = new ArrayList<>(headers.size() + 1);
+            requestHeaders.addAll(headers);
+            requestHeaders.add(Pair.of("Transfer-Encoding", "chunked"));
+        }
+        return request(method, path, query.toString(), requestHeaders, entity);
     }
 
     protected abstract DockerResponse request(String method,
@@ -93,6 +112,41 @@ public abstract class DockerConnection implements Closeable {
 
     public abstract void close();
 
+    /**
+     * Writes request line and headers of HTTP/1.1 request and flushes them to the {@code output}.
+     */
+    static void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+            throws IOException {
+        final Writer writer = new OutputStreamWriter(output);
+        writer.write(method);
+        writer.write(' ');
+        writer.write(path);
+        if (!Strings.isNullOrEmpty(query)) {
+            writer.write("?");
+            writer.write(query);
+        }
+        writer.write(" HTTP/1.1\r\n");
+        for (Pair<String, ?> header : headers) {
+            writer.write(header.first);
+            writer.write(": ");
+            writer.write(String.valueOf(header.second));
+            writer.write("\r\n");
+        }
+        writer.write("\r\n");
+        writer.flush();
+    }
+
+    /**
+     * Writes content of request body.
+     */
+    public interface ContentWriter {
+        /**
+         * Writes content to the output. Can be called once again if request has to be repeated,
+         * e.g. when connection taken from pool turns out to be closed by docker daemon.
+         */
+        void writeTo(OutputStream output) throws IOException;
+    }
+
     static abstract class Entity<T> {
         final T entity;
 
@@ -142,4 +196,22 @@ public abstract class DockerConnection implements Closeable {
             output.flush();
         }
     }
+
+    static class ChunkedEntity extends Entity<ContentWriter> {
+        ChunkedEntity(ContentWriter entity) {
+            super(entity);
+        }
+
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            try (ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output)) {
+                entity.writeTo(chunkedOutput);
+            }
+        }
+
+        /** Writes content without chunked encoding, for connections which encode body themselves. */
+        void writeContentTo(OutputStream output) throws IOException {
+            entity.writeTo(output);
+        }
+    }
 }
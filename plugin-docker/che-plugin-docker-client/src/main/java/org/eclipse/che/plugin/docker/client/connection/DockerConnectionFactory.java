@@ -10,25 +10,45 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * If connection pool is enabled connections to the same docker daemon share pool of keep-alive connections, see
+ * {@link DockerConnectionPool}.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
-    public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
-    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_TIMEOUT_MS_PROPERTY              = "docker.connection.tcp.connection_timeout_ms";
+    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY         = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_POOL_ENABLED_PROPERTY            = "docker.connection.pool.enabled";
+    public static final String CONNECTION_POOL_MAX_IDLE_PROPERTY           = "docker.connection.pool.max_idle";
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT_MS_PROPERTY    = "docker.connection.pool.idle_timeout_ms";
+    public static final String CONNECTION_POOL_MAX_ACTIVE_PROPERTY         = "docker.connection.pool.max_active";
+    public static final String CONNECTION_POOL_ACQUIRE_TIMEOUT_MS_PROPERTY = "docker.connection.pool.acquire_timeout_ms";
+
+    private static final String UNIX_SOCKET_HOST = "docker";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,18 +58,126 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_ENABLED_PROPERTY)
+    private boolean connectionPoolEnabled = true;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_MAX_IDLE_PROPERTY)
+    private int connectionPoolMaxIdle = 20;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long connectionPoolIdleTimeoutMs = 30000;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_MAX_ACTIVE_PROPERTY)
+    private int connectionPoolMaxActive = 200;
+
+    @Inject(optional = true)
+    @Named(CONNECTION_POOL_ACQUIRE_TIMEOUT_MS_PROPERTY)
+    private long connectionPoolAcquireTimeoutMs = 60000;
+
+    private final DockerCertificates                       dockerCertificates;
+    private final ConcurrentMap<URI, DockerConnectionPool> pools;
+
+    private ScheduledExecutorService evictor;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.pools = new ConcurrentHashMap<>();
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
+        if (connectionPoolEnabled) {
+            return new KeepAliveConnection(getConnectionPool(dockerDaemonUri));
+        }
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
             return new UnixSocketConnection(dockerDaemonUri.getPath());
         } else {
             return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
         }
     }
+
+    /**
+     * Gets pool of keep-alive connections to the specified docker daemon, creates new pool if there is no one yet.
+     *
+     * @throws IllegalArgumentException
+     *         if docker daemon URI has unsupported scheme
+     */
+    public DockerConnectionPool getConnectionPool(URI dockerDaemonUri) {
+        DockerConnectionPool pool = pools.get(dockerDaemonUri);
+        if (pool == null) {
+            final DockerConnectionPool newPool = createPool(dockerDaemonUri);
+            pool = pools.putIfAbsent(dockerDaemonUri, newPool);
+            if (pool == null) {
+                pool = newPool;
+                scheduleEviction();
+            }
+        }
+        return pool;
+    }
+
+    /** Returns all pools of keep-alive connections, e.g. to get their statistics. */
+    public Collection<DockerConnectionPool> getConnectionPools() {
+        return Collections.unmodifiableCollection(pools.values());
+    }
+
+    @PreDestroy
+    public synchronized void closeConnectionPools() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        for (DockerConnectionPool pool : pools.values()) {
+            pool.close();
+        }
+    }
+
+    private DockerConnectionPool createPool(URI dockerDaemonUri) {
+        if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
+            final String socketPath = dockerDaemonUri.getPath();
+            return new DockerConnectionPool(dockerDaemonUri,
+                                            UNIX_SOCKET_HOST,
+                                            () -> new UnixDockerSocket(socketPath),
+                                            connectionPoolMaxIdle,
+                                            connectionPoolIdleTimeoutMs,
+                                            connectionPoolMaxActive,
+                                            connectionPoolAcquireTimeoutMs);
+        }
+        if ("https".equals(dockerDaemonUri.getScheme())) {
+            if (dockerCertificates == null) {
+                throw new IllegalArgumentException("Certificates are required for https connection.");
+            }
+        } else if (!("http".equals(dockerDaemonUri.getScheme()))) {
+            throw new IllegalArgumentException(String.format("Invalid URL '%s', only http and https protocols are supported.",
+                                                             dockerDaemonUri));
+        }
+        final String host = dockerDaemonUri.getPort() == -1 ? dockerDaemonUri.getHost()
+                                                            : dockerDaemonUri.getHost() + ':' + dockerDaemonUri.getPort();
+        return new DockerConnectionPool(dockerDaemonUri,
+                                        host,
+                                        () -> new TcpDockerSocket(dockerDaemonUri,
+                                                                  dockerCertificates,
+                                                                  connectionTimeoutMs,
+                                                                  connectionReadTimeoutMs),
+                                        connectionPoolMaxIdle,
+                                        connectionPoolIdleTimeoutMs,
+                                        connectionPoolMaxActive,
+                                        connectionPoolAcquireTimeoutMs);
+    }
+
+    private synchronized void scheduleEviction() {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("DockerConnectionPoolEvictor")
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+            final long period = Math.max(connectionPoolIdleTimeoutMs / 2, 1000);
+            evictor.scheduleWithFixedDelay(() -> {
+                for (DockerConnectionPool pool : pools.values()) {
+                    pool.evictIdle();
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
 }
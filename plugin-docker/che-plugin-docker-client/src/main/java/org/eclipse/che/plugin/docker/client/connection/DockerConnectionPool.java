@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of keep-alive connections to one docker daemon.
+ *
+ * <p>Pool limits number of active connections, request waits for a free connection when the limit is reached and fails if
+ * none is returned to the pool within acquire timeout. Some docker API calls (e.g. events, attach, logs) hold connection for
+ * a long time, so the limit must be high enough for all of them and the other calls.
+ * Idle connections are reused in LIFO order and closed when they are not used longer than idle timeout.
+ */
+public class DockerConnectionPool {
+    /** Opens new transport level connections to docker daemon. */
+    interface SocketProvider {
+        DockerSocket open() throws IOException;
+    }
+
+    private final URI                 dockerDaemonUri;
+    private final String              host;
+    private final SocketProvider      socketProvider;
+    private final int                 maxIdle;
+    private final long                idleTimeoutMs;
+    private final Semaphore           permits;
+    private final long                acquireTimeoutMs;
+    private final Deque<DockerSocket> idle;
+    private final AtomicInteger       active;
+    private final AtomicLong          hits;
+    private final AtomicLong          misses;
+    private final AtomicLong          evictions;
+    private final AtomicLong          waits;
+
+    private boolean closed;
+
+    DockerConnectionPool(URI dockerDaemonUri, String host, SocketProvider socketProvider, int maxIdle, long idleTimeoutMs) {
+        this(dockerDaemonUri, host, socketProvider, maxIdle, idleTimeoutMs, Integer.MAX_VALUE, 0);
+    }
+
+    DockerConnectionPool(URI dockerDaemonUri,
+                         String host,
+                         SocketProvider socketProvider,
+                         int maxIdle,
+                         long idleTimeoutMs,
+                         int maxActive,
+                         long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxActive, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.dockerDaemonUri = dockerDaemonUri;
+        this.host = host;
+        this.socketProvider = socketProvider;
+        this.maxIdle = maxIdle;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>(maxIdle);
+        this.active = new AtomicInteger();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.waits = new AtomicLong();
+    }
+
+    public URI getDockerDaemonUri() {
+        return dockerDaemonUri;
+    }
+
+    /** Number of requests that reused idle connection. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Number of requests that had to open new connection. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Number of idle connections that were closed because of idle timeout. */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** Number of requests that waited for a connection because all connections allowed by the pool were in use. */
+    public long getWaits() {
+        return waits.get();
+    }
+
+    /** Number of connections that are currently used by requests. */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /** Number of open connections that wait for the next request. */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /** Value of {@code Host} header of requests to docker daemon. */
+    String getHost() {
+        return host;
+    }
+
+    /**
+     * Gets idle connection or opens new one if there is no idle connections.
+     * Caller must return connection with {@link #release(DockerSocket)} or {@link #discard(DockerSocket)}.
+     *
+     * @throws IOException
+     *         if pool is closed, if all connections allowed by the pool are in use longer than acquire timeout
+     *         or if new connection can't be opened
+     */
+    DockerSocket acquire() throws IOException {
+        acquirePermit();
+        DockerSocket socket;
+        try {
+            evictIdle();
+            synchronized (idle) {
+                if (closed) {
+                    throw new IOException(String.format("Connection pool to '%s' is closed", dockerDaemonUri));
+                }
+                socket = idle.pollFirst();
+            }
+            if (socket == null) {
+                misses.incrementAndGet();
+                socket = socketProvider.open();
+            } else {
+                hits.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        active.incrementAndGet();
+        socket.markAcquired();
+        return socket;
+    }
+
+    /** Returns connection that is ready for the next request to the pool. */
+    void release(DockerSocket socket) {
+        active.decrementAndGet();
+        socket.markReleased();
+        synchronized (idle) {
+            if (!closed && idle.size() < maxIdle) {
+                idle.addFirst(socket);
+                permits.release();
+                return;
+            }
+        }
+        socket.close();
+        permits.release();
+    }
+
+    /** Closes connection that can't be reused. */
+    void discard(DockerSocket socket) {
+        active.decrementAndGet();
+        socket.close();
+        permits.release();
+    }
+
+    private void acquirePermit() throws IOException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        waits.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException(String.format("Timeout waiting for connection to '%s', all %d connections are in use",
+                                                    dockerDaemonUri, active.get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.format("Interrupted while waiting for connection to '%s'", dockerDaemonUri), e);
+        }
+    }
+
+    /**
+     * Closes connections that are idle longer than idle timeout.
+     *
+     * @return number of closed connections
+     */
+    public int evictIdle() {
+        final long now = System.currentTimeMillis();
+        final List<DockerSocket> expired = new ArrayList<>();
+        synchronized (idle) {
+            // the oldest connections are at the tail of deque
+            for (Iterator<DockerSocket> it = idle.descendingIterator(); it.hasNext(); ) {
+                final DockerSocket socket = it.next();
+                if (!isExpired(socket, now)) {
+                    break;
+                }
+                it.remove();
+                expired.add(socket);
+            }
+        }
+        for (DockerSocket socket : expired) {
+            socket.close();
+        }
+        evictions.addAndGet(expired.size());
+        return expired.size();
+    }
+
+    /** Closes all idle connections. Connections that are currently in use are closed when they are returned to the pool. */
+    public void close() {
+        final List<DockerSocket> toClose;
+        synchronized (idle) {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (DockerSocket socket : toClose) {
+            socket.close();
+        }
+    }
+
+    private boolean isExpired(DockerSocket socket, long now) {
+        return now - socket.getLastUsed() > idleTimeoutMs;
+    }
+
+    @Override
+    public String toString() {
+        return "DockerConnectionPool{" +
+               "dockerDaemonUri=" + dockerDaemonUri +
+               ", hits=" + hits +
+               ", misses=" + misses +
+               ", evictions=" + evictions +
+               ", waits=" + waits +
+               ", active=" + active +
+               ", idle=" + getIdleCount() +
+               '}';
+    }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Transport level connection to docker daemon which may be kept open and reused for several HTTP/1.1 requests.
+ *
+ * <p>Streams returned by implementations are buffered and live as long as the socket, so bytes which were read ahead are not lost
+ * between requests.
+ */
+abstract class DockerSocket implements Closeable {
+    private long lastUsed = System.currentTimeMillis();
+    private int  usages;
+
+    abstract InputStream getInputStream();
+
+    abstract OutputStream getOutputStream();
+
+    @Override
+    public abstract void close();
+
+    /** Returns time in milliseconds when this socket was acquired or released last time. */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /** Returns {@code true} if this socket was used for at least one request before the current one. */
+    boolean isReused() {
+        return usages > 1;
+    }
+
+    void markAcquired() {
+        usages++;
+        lastUsed = System.currentTimeMillis();
+    }
+
+    void markReleased() {
+        lastUsed = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.commons.lang.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * HTTP/1.1 connection to docker API which takes transport connection from {@link DockerConnectionPool}.
+ *
+ * <p>Transport connection is returned to the pool on {@link #close()} if response was read completely, otherwise it is closed.
+ * Responses with body delimited by closing of connection (e.g. attach and exec streams) are never reused. Only idempotent
+ * requests are repeated on a new connection if pooled connection turns out to be closed by docker daemon.
+ *
+ * <p>Requests that hijack connection (attach and exec start) are sent with {@code Connection: close} as {@link TcpConnection}
+ * does, to work around https://github.com/docker/docker/issues/12845. Other requests don't need the workaround and keep
+ * connection open, that is the purpose of the pool.
+ */
+public class KeepAliveConnection extends DockerConnection {
+    private static final Logger LOG = LoggerFactory.getLogger(KeepAliveConnection.class);
+
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "DELETE");
+
+    private final DockerConnectionPool pool;
+
+    private DockerSocket             socket;
+    private UnixSocketDockerResponse response;
+
+    KeepAliveConnection(DockerConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
+            throws IOException {
+        final List<Pair<String, ?>> allHeaders = withHostHeader(headers);
+        if (isHijacking(path)) {
+            allHeaders.add(Pair.of("Connection", "close"));
+        }
+        // content of stream can't be sent twice, requests which change state of docker may not be repeated
+        final boolean canRetry = !(entity instanceof StreamEntity) && IDEMPOTENT_METHODS.contains(method);
+        for (; ; ) {
+            final DockerSocket socket = pool.acquire();
+            boolean sent = false;
+            try {
+                final OutputStream output = socket.getOutputStream();
+                writeHttpHeaders(output, method, path, query, allHeaders);
+                if (entity != null) {
+                    entity.writeTo(output);
+                }
+                sent = true;
+                final UnixSocketDockerResponse response = new UnixSocketDockerResponse(socket.getInputStream());
+                // read status line and headers here to find out whether connection from the pool is still alive
+                response.getStatus();
+                this.socket = socket;
+                this.response = response;
+                return response;
+            } catch (IOException e) {
+                pool.discard(socket);
+                if (!socket.isReused() || !canRetry || !isClosedByDaemon(sent, e)) {
+                    throw e;
+                }
+                // Idle connection was closed by docker daemon, e.g. after restart, so request can't be written or connection is
+                // closed without any byte of response. Each failed attempt discards one pooled connection, so number of attempts
+                // is limited with number of idle connections.
+                LOG.debug("Keep-alive connection to docker daemon {} is broken, retrying request", pool.getDockerDaemonUri());
+            }
+        }
+    }
+
+    /**
+     * Checks whether failure means that pooled connection was closed before the request, but not that daemon is slow or
+     * failed while processing the request.
+     */
+    private static boolean isClosedByDaemon(boolean sent, IOException e) {
+        if (e instanceof SocketTimeoutException) {
+            return false;
+        }
+        return !sent || e instanceof UnixSocketDockerResponse.NoResponseException;
+    }
+
+    @Override
+    public void close() {
+        if (socket == null) {
+            return;
+        }
+        boolean reusable = false;
+        try {
+            reusable = response.isKeepAlive() && response.isCompleted();
+        } catch (IOException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+        }
+        if (reusable) {
+            pool.release(socket);
+        } else {
+            pool.discard(socket);
+        }
+        socket = null;
+        response = null;
+    }
+
+    private List<Pair<String, ?>> withHostHeader(List<Pair<String, ?>> headers) {
+        final List<Pair<String, ?>> result = new ArrayList<>(headers.size() + 2);
+        boolean hasHost = false;
+        for (Pair<String, ?> header : headers) {
+            hasHost |= "Host".equalsIgnoreCase(header.first);
+        }
+        if (!hasHost) {
+            result.add(Pair.of("Host", pool.getHost()));
+        }
+        result.addAll(headers);
+        return result;
+    }
+
+    private static boolean isHijacking(String path) {
+        return path.endsWith("/attach") || (path.startsWith("/exec/") && path.endsWith("/start"));
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -33,7 +34,7 @@ public class LimitedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -56,14 +57,38 @@ public class LimitedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        return Math.min(input.available(), limit - pos);
+    }
+
+    /**
+     * Skips the rest of content if it may be read from the underlying stream without blocking.
+     *
+     * @return {@code true} if the whole content is read, {@code false} otherwise
+     */
+    synchronized boolean skipAvailable() throws IOException {
+        final byte[] buf = new byte[1024];
+        while (pos < limit) {
+            final int available = available();
+            if (available <= 0 || doRead(buf, 0, Math.min(available, buf.length)) == -1) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
-        int n = input.read(b, 0, Math.min(len - off, limit - pos));
+        int n = input.read(b, off, Math.min(len, limit - pos));
+        if (n == -1) {
+            throw new EOFException(String.format("Unexpected end of stream, expected %d bytes but got %d", limit, pos));
+        }
         pos += n;
         return n;
     }
@@ -64,13 +64,24 @@ public class TcpConnection extends DockerConnection {
         connection.setRequestMethod(method);
         // needed to fix bug https://github.com/docker/docker/issues/12845
         connection.setRequestProperty("Connection", "close");
+        final boolean chunked = entity instanceof ChunkedEntity;
         for (Pair<String, ?> header : headers) {
-            connection.setRequestProperty(header.first, String.valueOf(header.second));
+            // HttpURLConnection sets transfer encoding itself
+            if (!chunked || !"Transfer-Encoding".equalsIgnoreCase(header.first)) {
+                connection.setRequestProperty(header.first, String.valueOf(header.second));
+            }
         }
         if (entity != null) {
             connection.setDoOutput(true);
+            if (chunked) {
+                connection.setChunkedStreamingMode(ChunkedOutputStream.DEFAULT_CHUNK_SIZE);
+            }
             try (OutputStream output = connection.getOutputStream()) {
-                entity.writeTo(output);
+                if (chunked) {
+                    ((ChunkedEntity)entity).writeContentTo(output);
+                } else {
+                    entity.writeTo(output);
+                }
             }
         }
         return new TcpDockerResponse(connection);
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.DockerCertificates;
+
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+
+/**
+ * {@link DockerSocket} over plain or TLS TCP connection.
+ */
+class TcpDockerSocket extends DockerSocket {
+    private final Socket       socket;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    TcpDockerSocket(URI dockerDaemonUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) throws IOException {
+        final boolean secure = "https".equals(dockerDaemonUri.getScheme());
+        final String host = dockerDaemonUri.getHost();
+        int port = dockerDaemonUri.getPort();
+        if (port == -1) {
+            port = secure ? 443 : 80;
+        }
+        final Socket plain = new Socket();
+        try {
+            plain.connect(new InetSocketAddress(host, port), connectionTimeoutMs);
+            plain.setSoTimeout(readTimeoutMs);
+            plain.setTcpNoDelay(true);
+            if (secure) {
+                final SSLSocket ssl = (SSLSocket)certificates.getSslContext().getSocketFactory().createSocket(plain, host, port, true);
+                ssl.startHandshake();
+                socket = ssl;
+            } else {
+                socket = plain;
+            }
+            input = new BufferedInputStream(socket.getInputStream());
+            output = new BufferedOutputStream(socket.getOutputStream());
+        } catch (IOException e) {
+            plain.close();
+            throw e;
+        }
+    }
+
+    @Override
+    InputStream getInputStream() {
+        return input;
+    }
+
+    @Override
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
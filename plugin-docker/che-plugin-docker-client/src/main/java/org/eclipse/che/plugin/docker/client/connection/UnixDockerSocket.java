@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * {@link DockerSocket} over unix domain socket.
+ */
+class UnixDockerSocket extends DockerSocket {
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private int fd;
+
+    UnixDockerSocket(String dockerSocketPath) throws IOException {
+        fd = connect(dockerSocketPath);
+        input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+    }
+
+    @Override
+    InputStream getInputStream() {
+        return input;
+    }
+
+    @Override
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (fd != -1) {
+            getCLibrary().close(fd);
+            fd = -1;
+        }
+    }
+
+    /**
+     * Opens connection to the unix socket.
+     *
+     * @return file descriptor of connected socket
+     * @throws ConnectException
+     *         if connection can't be established
+     */
+    static int connect(String dockerSocketPath) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        return fd;
+    }
+}
@@ -10,24 +10,15 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
-import com.google.common.base.Strings;
-
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
@@ -46,7 +37,7 @@ public class UnixSocketConnection extends DockerConnection {
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
             throws IOException {
-        fd = connect();
+        fd = UnixDockerSocket.connect(dockerSocketPath);
         final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
         writeHttpHeaders(output, method, path, query, headers);
         if (entity != null) {
@@ -63,41 +54,6 @@ public class UnixSocketConnection extends DockerConnection {
         }
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        return fd;
-    }
-
-    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
-            throws IOException {
-        final Writer writer = new OutputStreamWriter(output);
-        writer.write(method);
-        writer.write(' ');
-        writer.write(path);
-        if (!Strings.isNullOrEmpty(query)) {
-            writer.write("?");
-            writer.write(query);
-        }
-        writer.write(" HTTP/1.1\r\n");
-        for (Pair<String, ?> header : headers) {
-            writer.write(header.first);
-            writer.write(": ");
-            writer.write(String.valueOf(header.second));
-            writer.write("\r\n");
-        }
-        writer.write("\r\n");
-        writer.flush();
-    }
-
     private InputStream openInputStream(int fd) {
         return new UnixSocketInputStream(fd);
     }
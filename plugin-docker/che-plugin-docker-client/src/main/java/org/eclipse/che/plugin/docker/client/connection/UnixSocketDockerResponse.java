@@ -120,6 +120,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
         for (int i = 0; i < 8; i++) {
             int c = rawData.read();
             if (c == -1) {
+                if (i == 0) {
+                    throw new NoResponseException();
+                }
                 break;
             }
             lineBuf.append((char)c);
@@ -143,6 +146,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        if (status == 204 || status == 304 || status / 100 == 1) {
+            // such responses never have body, see https://tools.ietf.org/html/rfc7230#section-3.3.3
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +160,41 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether this response allows reusing of underlying connection for the next request, i.e. it is HTTP/1.1 response and
+     * docker daemon doesn't ask to close connection.
+     */
+    boolean isKeepAlive() throws IOException {
+        getInputStream();
+        return headersFields[0].startsWith("HTTP/1.1") && !"close".equalsIgnoreCase(getHeader("Connection"));
+    }
+
+    /**
+     * Checks whether whole response is read from the underlying stream, so the stream is positioned at the beginning of the next
+     * response. Rest of the body is skipped if it is available without blocking.
+     */
+    synchronized boolean isCompleted() throws IOException {
+        if (headersFields == null) {
+            return false;
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).skipAvailable();
+        }
+        if (data instanceof ChunkedInputStream) {
+            return ((ChunkedInputStream)data).skipAvailable();
+        }
+        // body is delimited by closing of connection
+        return false;
+    }
+
+    /** Thrown if connection is closed before the first byte of response. */
+    static class NoResponseException extends IOException {
+        NoResponseException() {
+            super("Connection is closed by docker API without response");
+        }
+    }
 }
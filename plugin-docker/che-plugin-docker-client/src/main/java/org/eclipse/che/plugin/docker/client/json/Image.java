@@ -10,14 +10,17 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.json;
 
+import java.util.Arrays;
+
 /** @author andrew00x */
 public class Image {
-    private String repository;
-    private String tag;
-    private String id;
-    private long   created;
-    private long   size;
-    private long   virtualSize;
+    private String   repository;
+    private String   tag;
+    private String   id;
+    private long     created;
+    private long     size;
+    private long     virtualSize;
+    private String[] repoTags;
 
     public String getRepository() {
         return repository;
@@ -67,6 +70,14 @@ public class Image {
         this.virtualSize = virtualSize;
     }
 
+    public String[] getRepoTags() {
+        return repoTags;
+    }
+
+    public void setRepoTags(String[] repoTags) {
+        this.repoTags = repoTags;
+    }
+
     @Override
     public String toString() {
         return "Image{" +
@@ -76,6 +87,7 @@ public class Image {
                ", created=" + created +
                ", size=" + size +
                ", virtualSize=" + virtualSize +
+               ", repoTags=" + Arrays.toString(repoTags) +
                '}';
     }
 }
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class CgroupOOMDetectorTest {
+    private static final int CONTAINERS = 300;
+
+    private Path                          cgroupMount;
+    private CgroupOOMDetector             detector;
+    private Map<String, List<LogMessage>> logs;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cgroupMount = Files.createTempDirectory("cgroup");
+        logs = new ConcurrentHashMap<>();
+        // native library isn't used, so all containers are watched by polling of memory.failcnt
+        detector = new CgroupOOMDetector(URI.create("unix:///var/run/docker.sock"),
+                                         mock(DockerConnector.class, RETURNS_DEEP_STUBS),
+                                         cgroupMount.toString(),
+                                         false,
+                                         null,
+                                         20);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        detector.stop();
+        IoUtil.deleteRecursive(cgroupMount.toFile());
+    }
+
+    @Test
+    public void shouldWatchAllContainersWithOneThread() throws Exception {
+        final Set<Thread> threadsBefore = getDetectorThreads();
+
+        for (int i = 0; i < CONTAINERS; i++) {
+            startDetection("container" + i);
+        }
+
+        final Set<Thread> startedThreads = getDetectorThreads();
+        startedThreads.removeAll(threadsBefore);
+        assertEquals(detector.getPolledCount(), CONTAINERS);
+        assertEquals(startedThreads.size(), 1);
+    }
+
+    @Test
+    public void shouldReportOOMOfContainerWhenMemoryFailCountGrows() throws Exception {
+        for (int i = 0; i < CONTAINERS; i++) {
+            startDetection("container" + i);
+        }
+
+        writeFailCount("container42", 3);
+
+        waitFor(() -> detector.getPolledCount() == CONTAINERS - 1);
+        assertEquals(logs.get("container42").size(), 2);
+        assertTrue(logs.get("container42").get(0).getContent().startsWith("[ERROR] The processes in this machine need more RAM."));
+        assertEquals(logs.values().stream().filter(messages -> !messages.isEmpty()).count(), 1);
+    }
+
+    @Test
+    public void shouldCountMemoryFailuresSinceFirstSuccessfulReadIfFailCountIsUnreadableOnStart() throws Exception {
+        startDetection("container1", false);
+        Thread.sleep(100);
+        writeFailCount("container1", 5);
+        Thread.sleep(100);
+
+        assertEquals(detector.getPolledCount(), 1);
+        assertTrue(logs.get("container1").isEmpty());
+
+        writeFailCount("container1", 6);
+
+        waitFor(() -> detector.getPolledCount() == 0);
+        assertEquals(logs.get("container1").size(), 2);
+    }
+
+    @Test
+    public void shouldStopDetectionWhenCgroupOfContainerIsRemoved() throws Exception {
+        startDetection("container1");
+        startDetection("container2");
+
+        IoUtil.deleteRecursive(cgroupMount.resolve("memory/docker/container1").toFile());
+
+        waitFor(() -> detector.getPolledCount() == 1);
+        assertTrue(logs.get("container1").isEmpty());
+    }
+
+    @Test
+    public void shouldStopDetection() throws Exception {
+        startDetection("container1");
+
+        detector.stopDetection("container1");
+        writeFailCount("container1", 1);
+        Thread.sleep(100);
+
+        assertEquals(detector.getPolledCount(), 0);
+        assertTrue(logs.get("container1").isEmpty());
+    }
+
+    private void startDetection(String container) throws IOException {
+        startDetection(container, true);
+    }
+
+    private void startDetection(String container, boolean writeFailCount) throws IOException {
+        final Path cgroup = Files.createDirectories(cgroupMount.resolve("memory/docker/" + container));
+        Files.write(cgroup.resolve("memory.failcnt"), writeFailCount ? "0\n".getBytes() : new byte[0]);
+        final List<LogMessage> messages = new CopyOnWriteArrayList<>();
+        logs.put(container, messages);
+        detector.startDetection(container, messages::add);
+    }
+
+    private void writeFailCount(String container, long value) throws IOException {
+        Files.write(cgroupMount.resolve("memory/docker/" + container + "/memory.failcnt"), (value + "\n").getBytes());
+    }
+
+    private Set<Thread> getDetectorThreads() {
+        return Thread.getAllStackTraces()
+                     .keySet()
+                     .stream()
+                     .filter(thread -> thread.getName().startsWith("CgroupOOMDetector"))
+                     .collect(Collectors.toSet());
+    }
+
+    private void waitFor(Condition condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.isMet() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.isMet());
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.TarUtils;
+import org.eclipse.che.plugin.docker.client.connection.DockerConnectionFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Checks how build context is sent to docker daemon, uses fake docker daemon that listens on local port.
+ */
+public class DockerConnectorBuildContextTest {
+    private static final int    CONTEXT_FILE_SIZE = 16 * 1024 * 1024;
+    private static final String IMAGE_ID          = "0123456789ab";
+
+    private FakeDockerDaemon daemon;
+    private DockerConnector  dockerConnector;
+    private File             context;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        daemon = new FakeDockerDaemon();
+        daemon.start();
+
+        final DockerConnectorConfiguration configuration = mock(DockerConnectorConfiguration.class);
+        when(configuration.getDockerDaemonUri()).thenReturn(URI.create("http://localhost:" + daemon.getPort()));
+        when(configuration.getAuthConfigs()).thenReturn(new InitialAuthConfig());
+        when(configuration.isBuildContextStreaming()).thenReturn(true);
+        dockerConnector = new DockerConnector(configuration, new DockerConnectionFactory(configuration));
+
+        context = Files.createTempDirectory("context").toFile();
+        Files.write(new File(context, "Dockerfile").toPath(), "FROM busybox\nADD data /data\n".getBytes());
+        final byte[] data = new byte[CONTEXT_FILE_SIZE];
+        new Random().nextBytes(data);
+        Files.write(new File(context, "data").toPath(), data);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        daemon.close();
+        IoUtil.deleteRecursive(context);
+    }
+
+    @Test
+    public void shouldStreamBuildContextWithoutTemporaryArchive() throws Exception {
+        final long tempArchivesBefore = countTempArchives();
+        final long start = System.currentTimeMillis();
+
+        final String imageId = dockerConnector.buildImage("repo", ProgressMonitor.DEV_NULL, null, false, context.listFiles());
+
+        final long buildStartLatency = daemon.firstBodyByteTime - start;
+        final long buildTime = System.currentTimeMillis() - start;
+        assertEquals(imageId, IMAGE_ID);
+        assertEquals(daemon.headers.get("transfer-encoding"), "chunked");
+        assertEquals(daemon.headers.get("content-type"), "application/x-tar");
+        assertNull(daemon.headers.get("content-length"));
+        // no disk space is used for temporary archive
+        assertEquals(daemon.tempArchivesOnFirstByte, tempArchivesBefore);
+        assertTrue(buildStartLatency <= buildTime);
+        assertContextReceived();
+    }
+
+    @Test
+    public void shouldSendBuildContextFromArchive() throws Exception {
+        final File tar = Files.createTempFile("context", ".tar").toFile();
+        try {
+            TarUtils.tarFiles(tar, 0, context.listFiles());
+
+            final String imageId = dockerConnector.buildImage("repo", tar, ProgressMonitor.DEV_NULL, null, false);
+
+            assertEquals(imageId, IMAGE_ID);
+            assertEquals(daemon.headers.get("content-length"), String.valueOf(tar.length()));
+            assertFalse(daemon.headers.containsKey("transfer-encoding"));
+            assertContextReceived();
+        } finally {
+            assertTrue(tar.delete());
+        }
+    }
+
+    private void assertContextReceived() throws IOException {
+        final File received = Files.createTempDirectory("received").toFile();
+        try {
+            TarUtils.untar(new ByteArrayInputStream(daemon.body.toByteArray()), received);
+            assertEquals(new File(received, "data").length(), CONTEXT_FILE_SIZE);
+            assertTrue(new File(received, "Dockerfile").isFile());
+        } finally {
+            IoUtil.deleteRecursive(received);
+        }
+    }
+
+    private static long countTempArchives() {
+        final File[] archives = new File(System.getProperty("java.io.tmpdir")).listFiles((dir, name) -> name.endsWith(".tar"));
+        return archives == null ? 0 : archives.length;
+    }
+
+    /** Accepts one build request, reads its body and responds with successful build output. */
+    private static class FakeDockerDaemon extends Thread {
+        final ServerSocket          serverSocket;
+        final Map<String, String>   headers;
+        final ByteArrayOutputStream body;
+
+        volatile long firstBodyByteTime;
+        volatile long tempArchivesOnFirstByte;
+
+        FakeDockerDaemon() throws IOException {
+            serverSocket = new ServerSocket(0);
+            headers = new HashMap<>();
+            body = new ByteArrayOutputStream();
+            setDaemon(true);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = serverSocket.accept()) {
+                final DataInputStream input = new DataInputStream(socket.getInputStream());
+                String line;
+                while (!(line = readLine(input)).isEmpty()) {
+                    final int colon = line.indexOf(':');
+                    if (colon != -1) {
+                        headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                    }
+                }
+                if ("chunked".equals(headers.get("transfer-encoding"))) {
+                    int chunkSize;
+                    while ((chunkSize = Integer.parseInt(readLine(input), 16)) > 0) {
+                        readBody(input, chunkSize);
+                        readLine(input);
+                    }
+                    readLine(input);
+                } else {
+                    readBody(input, Integer.parseInt(headers.get("content-length")));
+                }
+                final byte[] response = ("{\"stream\":\"Successfully built " + IMAGE_ID + "\\n\"}\n").getBytes(StandardCharsets.UTF_8);
+                final OutputStream output = socket.getOutputStream();
+                output.write(("HTTP/1.1 200 OK\r\n" +
+                              "Content-Type: application/json\r\n" +
+                              "Content-Length: " + response.length + "\r\n" +
+                              "Connection: close\r\n" +
+                              "\r\n").getBytes(StandardCharsets.US_ASCII));
+                output.write(response);
+                output.flush();
+            } catch (IOException ignored) {
+            }
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        private void readBody(InputStream input, int length) throws IOException {
+            if (firstBodyByteTime == 0) {
+                firstBodyByteTime = System.currentTimeMillis();
+                tempArchivesOnFirstByte = countTempArchives();
+            }
+            final byte[] buf = new byte[length];
+            new DataInputStream(input).readFully(buf);
+            body.write(buf);
+        }
+
+        private String readLine(InputStream input) throws IOException {
+            final StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = input.read()) != '\n') {
+                if (c == -1) {
+                    throw new IOException("Unexpected end of stream");
+                }
+                if (c != '\r') {
+                    line.append((char)c);
+                }
+            }
+            return line.toString();
+        }
+    }
+}
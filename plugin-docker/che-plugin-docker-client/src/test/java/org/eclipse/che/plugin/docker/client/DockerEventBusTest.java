@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class DockerEventBusTest {
+    private DockerEventBus bus;
+    private List<Event>    container1Events;
+    private List<Event>    container2Events;
+    private List<Event>    allEvents;
+
+    @BeforeMethod
+    public void setUp() {
+        bus = new DockerEventBus(mock(DockerConnector.class));
+        container1Events = new ArrayList<>();
+        container2Events = new ArrayList<>();
+        allEvents = new ArrayList<>();
+        bus.subscribe("container1", container1Events::add);
+        bus.subscribe("container2", container2Events::add);
+        bus.subscribe(allEvents::add);
+    }
+
+    @Test
+    public void shouldDispatchEventsToSubscribersOfContainer() {
+        final Event die1 = event("container1", "die", 100);
+        final Event die2 = event("container2", "die", 101);
+        final Event die3 = event("container3", "die", 102);
+
+        bus.dispatch(die1);
+        bus.dispatch(die2);
+        bus.dispatch(die3);
+
+        assertEquals(container1Events.size(), 1);
+        assertTrue(container1Events.get(0) == die1);
+        assertEquals(container2Events.size(), 1);
+        assertTrue(container2Events.get(0) == die2);
+        assertEquals(allEvents.size(), 3);
+        assertEquals(bus.getReceivedEvents(), 3);
+        assertEquals(bus.getDispatchedEvents(), 5);
+    }
+
+    @Test
+    public void shouldNotDispatchEventsAgainWhenStreamIsReopened() {
+        bus.dispatch(event("container1", "oom", 100));
+        bus.dispatch(event("container1", "die", 101));
+        // stream is reopened since the time of last event
+        bus.onStreamOpened();
+        bus.dispatch(event("container1", "die", 101));
+        bus.dispatch(event("container1", "destroy", 101));
+
+        assertEquals(container1Events.size(), 3);
+        assertEquals(container1Events.get(2).getStatus(), "destroy");
+        assertEquals(bus.getReceivedEvents(), 4);
+    }
+
+    @Test
+    public void shouldDispatchEqualEventsOfTheSameSecondWithoutTimeInNanoseconds() {
+        bus.dispatch(event("container1", "exec_start", 100));
+        bus.dispatch(event("container1", "exec_start", 100));
+
+        assertEquals(container1Events.size(), 2);
+    }
+
+    @Test
+    public void shouldFilterOutOnlyReplayedOccurrencesOfEqualEventsWhenStreamIsReopened() {
+        bus.dispatch(event("container1", "exec_start", 100));
+        bus.dispatch(event("container1", "exec_start", 100));
+        bus.onStreamOpened();
+        bus.dispatch(event("container1", "exec_start", 100));
+        bus.dispatch(event("container1", "exec_start", 100));
+        bus.dispatch(event("container1", "exec_start", 100));
+
+        assertEquals(container1Events.size(), 3);
+    }
+
+    @Test
+    public void shouldDistinguishEventsOfTheSameSecondByTimeInNanoseconds() {
+        bus.dispatch(event("container1", "exec_start", 100).withTimeNano(100_000_000_001L));
+        bus.onStreamOpened();
+        bus.dispatch(event("container1", "exec_start", 100).withTimeNano(100_000_000_001L));
+        bus.dispatch(event("container1", "exec_start", 100).withTimeNano(100_000_000_002L));
+
+        assertEquals(container1Events.size(), 2);
+    }
+
+    @Test
+    public void shouldNotDispatchEventsAfterUnsubscription() {
+        final MessageProcessor<Event> processor = container1Events::add;
+        bus.subscribe("container1", processor);
+        bus.unsubscribe("container1", processor);
+
+        bus.dispatch(event("container1", "die", 100));
+
+        assertEquals(container1Events.size(), 1);
+    }
+
+    @Test
+    public void shouldDispatchEventToOtherSubscribersIfOneOfThemFails() {
+        bus.subscribe("container1", event -> {
+            throw new IllegalStateException("test");
+        });
+
+        bus.dispatch(event("container1", "die", 100));
+
+        assertEquals(container1Events.size(), 1);
+        assertEquals(allEvents.size(), 1);
+    }
+
+    private Event event(String container, String status, long time) {
+        return new Event().withId(container).withStatus(status).withTime(time);
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.commons.json.JsonHelper;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.json.SystemInfo;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class JsonResponseParserTest {
+
+    @Test
+    public void shouldBindContainerInfo() throws IOException {
+        final String src = "{\"Id\":\"4fa6e0f0c678\",\"Name\":\"/che-machine\"," +
+                           "\"State\":{\"Running\":true,\"Pid\":4242,\"OOMKilled\":false}," +
+                           "\"Config\":{\"Env\":[\"CHE=1\",\"LANG=uk_UA.UTF-8\"],\"Entrypoint\":[\"/bin/sh\",\"-c\"]," +
+                           "\"Labels\":{\"com.example.vendor\":\"Codenvy\"},\"Unknown\":{\"Nested\":[1,2,3]}}," +
+                           "\"NetworkSettings\":{\"Ports\":{\"4401/tcp\":[{\"HostIp\":\"0.0.0.0\",\"HostPort\":\"32768\"}]}}}";
+
+        final ContainerInfo containerInfo = parse(src, ContainerInfo.class);
+
+        assertEquals(containerInfo.getId(), "4fa6e0f0c678");
+        assertEquals(containerInfo.getName(), "/che-machine");
+        assertTrue(containerInfo.getState().isRunning());
+        assertFalse(containerInfo.getState().isOOMKilled());
+        assertEquals(containerInfo.getState().getPid(), 4242);
+        assertEquals(containerInfo.getConfig().getEnv(), new String[] {"CHE=1", "LANG=uk_UA.UTF-8"});
+        assertEquals(containerInfo.getConfig().getEntrypoint(), "[\"/bin/sh\",\"-c\"]");
+        assertEquals(containerInfo.getConfig().getLabels(), singletonMap("com.example.vendor", "Codenvy"));
+        assertEquals(containerInfo.getNetworkSettings().getPorts().get("4401/tcp").get(0).getHostPort(), "32768");
+    }
+
+    @Test
+    public void shouldBindInspectContainerResponseAsJsonHelperDoes() throws Exception {
+        final byte[] src = readResource("/inspect-container.json");
+
+        final ContainerInfo containerInfo = JsonResponseParser.parse(new ByteArrayInputStream(src), ContainerInfo.class);
+
+        final ContainerInfo expected = JsonHelper.fromJson(new ByteArrayInputStream(src),
+                                                           ContainerInfo.class,
+                                                           null,
+                                                           DockerConnector.FIRST_LETTER_LOWERCASE);
+        assertEquals(JsonHelper.toJson(containerInfo), JsonHelper.toJson(expected));
+        assertEquals(containerInfo.getNetworkSettings().getIpAddress(), "172.17.0.2");
+        assertEquals(containerInfo.getNetworkSettings().getIpPrefixLen(), 16);
+        assertEquals(containerInfo.getHostConfig().getMemory(), 1073741824L);
+    }
+
+    @Test
+    public void shouldBindInspectImageResponseAsJsonHelperDoes() throws Exception {
+        final byte[] src = readResource("/inspect-image.json");
+
+        final ImageInfo imageInfo = JsonResponseParser.parse(new ByteArrayInputStream(src), ImageInfo.class);
+
+        final ImageInfo expected = JsonHelper.fromJson(new ByteArrayInputStream(src),
+                                                       ImageInfo.class,
+                                                       null,
+                                                       DockerConnector.FIRST_LETTER_LOWERCASE);
+        assertEquals(JsonHelper.toJson(imageInfo), JsonHelper.toJson(expected));
+        assertEquals(imageInfo.getParent(), "sha256:0d0e64f2b5d6c1c2e3a4b5c6d7e8f9a0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6");
+        assertEquals(imageInfo.getVirtualSize(), 482371923L);
+        assertEquals(imageInfo.getConfig().getWorkingDir(), "/projects");
+    }
+
+    @Test
+    public void shouldConvertBooleanValuesOfNumericFields() throws IOException {
+        final SystemInfo systemInfo = parse("{\"Debug\":true,\"MemoryLimit\":true,\"Name\":\"docker-host\"}", SystemInfo.class);
+
+        assertEquals(systemInfo.getDebug(), 1);
+        assertEquals(systemInfo.getMemoryLimit(), 1L);
+        assertEquals(systemInfo.getName(), "docker-host");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldThrowIOExceptionIfJsonIsIncorrect() throws IOException {
+        parse("{\"Id\":", ContainerInfo.class);
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(name)) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private <T> T parse(String src, Class<T> clazz) throws IOException {
+        return JsonResponseParser.parse(new ByteArrayInputStream(src.getBytes(StandardCharsets.UTF_8)), clazz);
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.base.Strings;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.eclipse.che.plugin.docker.client.LogStreamDecoder.MAX_LINE_LENGTH;
+import static org.testng.Assert.assertEquals;
+
+public class LogStreamDecoderTest {
+    private static final int STDOUT = 1;
+    private static final int STDERR = 2;
+
+    @Test
+    public void shouldSplitPayloadIntoLines() throws Exception {
+        final List<LogMessage> messages = decode(frame(STDOUT, "line1\nline2\n"), frame(STDERR, "error\n"));
+
+        assertEquals(messages.size(), 3);
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, "line1");
+        assertMessage(messages.get(1), LogMessage.Type.STDOUT, "line2");
+        assertMessage(messages.get(2), LogMessage.Type.STDERR, "error");
+    }
+
+    @Test
+    public void shouldIncludeCarriageReturnIntoLine() throws Exception {
+        final List<LogMessage> messages = decode(frame(STDOUT, "progress 1%\rprogress 2%\r"));
+
+        assertEquals(messages.size(), 2);
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, "progress 1%\r");
+        assertMessage(messages.get(1), LogMessage.Type.STDOUT, "progress 2%\r");
+    }
+
+    @Test
+    public void shouldJoinLineSplitBetweenFrames() throws Exception {
+        final List<LogMessage> messages = decode(frame(STDOUT, "first "), frame(STDOUT, "part\nlast line without end"));
+
+        assertEquals(messages.size(), 2);
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, "first part");
+        assertMessage(messages.get(1), LogMessage.Type.STDOUT, "last line without end");
+    }
+
+    @Test
+    public void shouldDecodeMultiByteCharactersSplitBetweenFrames() throws Exception {
+        final byte[] utf8 = "\u043f\u0440\u0438\u0432\u0435\u0442 \uD83D\uDE00\n".getBytes(StandardCharsets.UTF_8);
+
+        final List<LogMessage> messages = decode(frame(STDOUT, Arrays.copyOfRange(utf8, 0, 1)),
+                                                 frame(STDOUT, Arrays.copyOfRange(utf8, 1, 14)),
+                                                 frame(STDOUT, Arrays.copyOfRange(utf8, 14, utf8.length)));
+
+        assertEquals(messages.size(), 1);
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, "\u043f\u0440\u0438\u0432\u0435\u0442 \uD83D\uDE00");
+    }
+
+    @Test
+    public void shouldReplaceMalformedBytes() throws Exception {
+        final List<LogMessage> messages = decode(frame(STDOUT, new byte[]{'a', (byte)0xD0, 'b', (byte)0xFF, '\n'}));
+
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, "a\uFFFDb\uFFFD");
+    }
+
+    @Test
+    public void shouldSplitTooLongLines() throws Exception {
+        final String longLine = Strings.repeat("a", MAX_LINE_LENGTH) + Strings.repeat("b", 10);
+
+        final List<LogMessage> messages = decode(frame(STDOUT, longLine + "\n"));
+
+        assertEquals(messages.size(), 2);
+        assertMessage(messages.get(0), LogMessage.Type.STDOUT, Strings.repeat("a", MAX_LINE_LENGTH));
+        assertMessage(messages.get(1), LogMessage.Type.STDOUT, Strings.repeat("b", 10));
+    }
+
+    @Test
+    public void shouldNotSplitTooLongLineInsideOfMultiByteCharacter() throws Exception {
+        final String longLine = Strings.repeat("a", MAX_LINE_LENGTH - 1) + "\u0436";
+
+        final List<LogMessage> messages = decode(frame(STDOUT, longLine + "\n"));
+
+        assertEquals(messages.get(0).getContent(), longLine);
+    }
+
+    @Test
+    public void shouldDecodeFramesLargerThanReadBuffer() throws Exception {
+        final StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            payload.append("line ").append(i).append('\n');
+        }
+
+        final List<LogMessage> messages = decode(frame(STDOUT, payload.toString()));
+
+        assertEquals(messages.size(), 1000);
+        assertMessage(messages.get(999), LogMessage.Type.STDOUT, "line 999");
+    }
+
+    private List<LogMessage> decode(byte[]... frames) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            stream.write(frame);
+        }
+        final List<LogMessage> messages = new ArrayList<>();
+        new LogStreamDecoder(new ByteArrayInputStream(stream.toByteArray()))
+                .decode((type, line) -> messages.add(new LogMessage(type, line.toString())));
+        return messages;
+    }
+
+    private byte[] frame(int type, String payload) {
+        return frame(type, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] frame(int type, byte[] payload) {
+        final byte[] frame = new byte[8 + payload.length];
+        frame[0] = (byte)type;
+        frame[4] = (byte)(payload.length >> 24);
+        frame[5] = (byte)(payload.length >> 16);
+        frame[6] = (byte)(payload.length >> 8);
+        frame[7] = (byte)payload.length;
+        System.arraycopy(payload, 0, frame, 8, payload.length);
+        return frame;
+    }
+
+    private void assertMessage(LogMessage message, LogMessage.Type type, String content) {
+        assertEquals(message.getType(), type);
+        assertEquals(message.getContent(), content);
+    }
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.CharStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class KeepAliveConnectionTest {
+    private static final String CONTENT_LENGTH_RESPONSE = "HTTP/1.1 200 OK\r\n" +
+                                                          "Content-Type: application/json\r\n" +
+                                                          "Content-Length: 12\r\n" +
+                                                          "\r\n" +
+                                                          "{\"Id\":\"id\"}\n";
+    private static final String CHUNKED_RESPONSE        = "HTTP/1.1 200 OK\r\n" +
+                                                          "Content-Type: application/json\r\n" +
+                                                          "Transfer-Encoding: chunked\r\n" +
+                                                          "\r\n" +
+                                                          "6\r\n{\"Id\":\r\n" +
+                                                          "6\r\n\"id\"}\n\r\n" +
+                                                          "0\r\n" +
+                                                          "\r\n";
+    private static final String NO_CONTENT_RESPONSE     = "HTTP/1.1 204 No Content\r\n" +
+                                                          "\r\n";
+    private static final String RAW_STREAM_RESPONSE     = "HTTP/1.1 200 OK\r\n" +
+                                                          "Content-Type: application/vnd.docker.raw-stream\r\n" +
+                                                          "\r\n" +
+                                                          "raw stream";
+
+    private final List<FakeSocket> opened = new ArrayList<>();
+
+    @Test
+    public void shouldReuseConnectionAfterResponseWithContentLength() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE + CONTENT_LENGTH_RESPONSE);
+
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+
+        assertEquals(pool.getMisses(), 1);
+        assertEquals(pool.getHits(), 1);
+        assertEquals(pool.getIdleCount(), 1);
+        assertEquals(pool.getActiveCount(), 0);
+        assertEquals(opened.size(), 1);
+    }
+
+    @Test
+    public void shouldReuseConnectionAfterChunkedResponse() throws Exception {
+        final DockerConnectionPool pool = createPool(CHUNKED_RESPONSE + NO_CONTENT_RESPONSE + CONTENT_LENGTH_RESPONSE);
+
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+        assertEquals(readBody(pool), "");
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+
+        assertEquals(pool.getMisses(), 1);
+        assertEquals(pool.getHits(), 2);
+    }
+
+    @Test
+    public void shouldSkipUnreadBodyBeforeReturningConnectionToPool() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE + CHUNKED_RESPONSE);
+
+        try (DockerConnection connection = new KeepAliveConnection(pool).method("GET").path("/info")) {
+            assertEquals(connection.request().getStatus(), 200);
+        }
+        try (DockerConnection connection = new KeepAliveConnection(pool).method("GET").path("/info")) {
+            assertEquals(connection.request().getStatus(), 200);
+        }
+
+        assertEquals(pool.getIdleCount(), 1);
+        assertEquals(opened.size(), 1);
+    }
+
+    @Test
+    public void shouldNotReuseConnectionIfBodyIsDelimitedByClosingConnection() throws Exception {
+        final DockerConnectionPool pool = createPool(RAW_STREAM_RESPONSE);
+
+        assertEquals(readBody(pool), "raw stream");
+
+        assertEquals(pool.getIdleCount(), 0);
+        assertEquals(pool.getActiveCount(), 0);
+        assertTrue(opened.get(0).closed);
+    }
+
+    @Test
+    public void shouldRetryRequestIfPooledConnectionIsBroken() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE);
+        readBody(pool);
+
+        // daemon closed connection after the first response, next connection works fine
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+
+        assertEquals(opened.size(), 2);
+        assertTrue(opened.get(0).closed);
+        assertFalse(opened.get(1).closed);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldNotRetryNonIdempotentRequest() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE);
+        readBody(pool);
+
+        try (DockerConnection connection = new KeepAliveConnection(pool).method("POST").path("/containers/id/kill")) {
+            connection.request();
+        } finally {
+            assertEquals(opened.size(), 1);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldNotRetryRequestIfPartOfResponseIsReceived() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE + "HTTP/1.1 500");
+        readBody(pool);
+
+        try {
+            readBody(pool);
+        } finally {
+            assertEquals(opened.size(), 1);
+        }
+    }
+
+    @Test
+    public void shouldEvictIdleConnections() throws Exception {
+        final DockerConnectionPool pool = new DockerConnectionPool(URI.create("unix:///var/run/docker.sock"),
+                                                                   "docker",
+                                                                   () -> open(CONTENT_LENGTH_RESPONSE),
+                                                                   10,
+                                                                   0);
+        readBody(pool);
+        Thread.sleep(10);
+
+        assertEquals(pool.evictIdle(), 1);
+        assertEquals(pool.getIdleCount(), 0);
+        assertEquals(pool.getEvictions(), 1);
+        assertTrue(opened.get(0).closed);
+    }
+
+    @Test
+    public void shouldSendHostHeader() throws Exception {
+        final DockerConnectionPool pool = createPool(CONTENT_LENGTH_RESPONSE);
+
+        readBody(pool);
+
+        assertTrue(opened.get(0).output.toString().startsWith("GET /info HTTP/1.1\r\nHost: docker\r\n"));
+    }
+
+    @Test
+    public void shouldCloseConnectionOfHijackingRequest() throws Exception {
+        final DockerConnectionPool pool = createPool(RAW_STREAM_RESPONSE);
+
+        try (DockerConnection connection = new KeepAliveConnection(pool).method("POST").path("/containers/id/attach")) {
+            connection.request();
+        }
+
+        assertTrue(opened.get(0).output.toString().contains("\r\nConnection: close\r\n"));
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Timeout waiting for connection.*")
+    public void shouldFailIfAllConnectionsAreInUseLongerThanAcquireTimeout() throws Exception {
+        final DockerConnectionPool pool = new DockerConnectionPool(URI.create("unix:///var/run/docker.sock"),
+                                                                   "docker",
+                                                                   () -> open(CONTENT_LENGTH_RESPONSE),
+                                                                   10,
+                                                                   60000,
+                                                                   1,
+                                                                   10);
+        pool.acquire();
+
+        pool.acquire();
+    }
+
+    @Test
+    public void shouldReuseConnectionReturnedByAnotherRequestWhenActiveLimitIsReached() throws Exception {
+        final DockerConnectionPool pool = new DockerConnectionPool(URI.create("unix:///var/run/docker.sock"),
+                                                                   "docker",
+                                                                   () -> open(CONTENT_LENGTH_RESPONSE + CONTENT_LENGTH_RESPONSE),
+                                                                   10,
+                                                                   60000,
+                                                                   1,
+                                                                   10000);
+        final DockerSocket socket = pool.acquire();
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            pool.release(socket);
+        });
+        releaser.start();
+
+        assertEquals(readBody(pool), "{\"Id\":\"id\"}\n");
+        assertEquals(pool.getWaits(), 1);
+        assertEquals(opened.size(), 1);
+    }
+
+    private DockerConnectionPool createPool(String responses) {
+        return new DockerConnectionPool(URI.create("unix:///var/run/docker.sock"),
+                                        "docker",
+                                        () -> open(opened.isEmpty() ? responses : CONTENT_LENGTH_RESPONSE),
+                                        10,
+                                        60000);
+    }
+
+    private FakeSocket open(String responses) {
+        final FakeSocket socket = new FakeSocket(responses);
+        opened.add(socket);
+        return socket;
+    }
+
+    private String readBody(DockerConnectionPool pool) throws IOException {
+        try (DockerConnection connection = new KeepAliveConnection(pool).method("GET").path("/info")) {
+            final DockerResponse response = connection.request();
+            try (InputStream body = response.getInputStream()) {
+                return CharStreams.toString(new InputStreamReader(body));
+            }
+        }
+    }
+
+    private static class FakeSocket extends DockerSocket {
+        final InputStream           input;
+        final ByteArrayOutputStream output;
+
+        boolean closed;
+
+        FakeSocket(String responses) {
+            input = new ByteArrayInputStream(responses.getBytes());
+            output = new ByteArrayOutputStream();
+        }
+
+        @Override
+        InputStream getInputStream() {
+            return input;
+        }
+
+        @Override
+        OutputStream getOutputStream() {
+            return output;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
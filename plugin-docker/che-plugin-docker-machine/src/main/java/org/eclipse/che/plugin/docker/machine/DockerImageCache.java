@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerException;
+import org.eclipse.che.plugin.docker.client.Dockerfile;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of images built from recipes.
+ *
+ * <p>Image is identified by hash of normalized Dockerfile and files of build context, so machines created from the same recipe
+ * share one image instead of building it again. Cached image is tagged as {@value #CACHE_REPOSITORY}:&lt;hash&gt;, machine
+ * specific tags are added on top of it. Because of that removal of machine tag on machine destroy only untags shared image.
+ * Cache tag also allows to find images built before restart of server, they are added into cache on start.
+ *
+ * <p>Size of cached images is limited by {@value #MAX_SIZE_MB_PROPERTY} megabytes, least recently used images that
+ * are not used by any machine are removed when limit is exceeded. Zero value disables cache. Images built from similar
+ * recipes share layers of common base, so size of cache is sum of sizes of distinct layers of cached images rather than
+ * sum of sizes of images.
+ */
+@Singleton
+public class DockerImageCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerImageCache.class);
+
+    public static final String MAX_SIZE_MB_PROPERTY = "machine.docker.image_cache.max_size_mb";
+    public static final String CACHE_REPOSITORY     = "eclipse-che/image-cache";
+
+    private static final String DOCKERFILE  = "Dockerfile";
+    private static final int    NOT_FOUND   = 404;
+    private static final int    BUFFER_SIZE = 8192;
+
+    @Inject(optional = true)
+    @Named(MAX_SIZE_MB_PROPERTY)
+    private long maxSizeMb = 10 * 1024;
+
+    private final DockerConnector                    docker;
+    /** Cached images in access order, key is hash of recipe. */
+    private final LinkedHashMap<String, CachedImage> images;
+    /** Maps machine image name to hash of recipe it was created from. */
+    private final Map<String, String>                machineImages;
+
+    @Inject
+    public DockerImageCache(DockerConnector docker) {
+        this.docker = docker;
+        this.images = new LinkedHashMap<>(16, 0.75f, true);
+        this.machineImages = new HashMap<>();
+    }
+
+    DockerImageCache(DockerConnector docker, long maxSizeMb) {
+        this(docker);
+        this.maxSizeMb = maxSizeMb;
+    }
+
+    public boolean isEnabled() {
+        return maxSizeMb > 0;
+    }
+
+    /**
+     * Adds images tagged with {@value #CACHE_REPOSITORY} repository into cache, so images built before restart of server
+     * are reused and count towards size limit. Images that were created earlier are considered less recently used.
+     */
+    @PostConstruct
+    void loadCachedImages() {
+        if (!isEnabled()) {
+            return;
+        }
+        final Image[] all;
+        try {
+            all = docker.listImages();
+        } catch (IOException e) {
+            LOG.warn("Can't find images cached before restart. {}", e.getLocalizedMessage());
+            return;
+        }
+        Arrays.sort(all, Comparator.comparingLong(Image::getCreated));
+        for (Image image : all) {
+            if (image.getRepoTags() == null) {
+                continue;
+            }
+            for (String repoTag : image.getRepoTags()) {
+                if (!repoTag.startsWith(CACHE_REPOSITORY + ':')) {
+                    continue;
+                }
+                final String key = repoTag.substring(CACHE_REPOSITORY.length() + 1);
+                try {
+                    final Map<String, Long> layers = getLayers(repoTag);
+                    synchronized (this) {
+                        images.putIfAbsent(key, new CachedImage(layers));
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Can't add image {} into cache. {}", repoTag, e.getLocalizedMessage());
+                }
+            }
+        }
+        LOG.info("Found {} images cached before restart, size of cache is {} bytes", getKeys().size(), getSize());
+        evict();
+    }
+
+    /**
+     * Computes hash of recipe.
+     *
+     * <p>Dockerfile is normalized before hashing, so comments, blank lines, indentation and case of instructions don't
+     * affect result. Other files of build context are hashed together with their paths relative to build context root.
+     *
+     * @param dockerfile
+     *         parsed Dockerfile of recipe
+     * @param contextFiles
+     *         files of build context, Dockerfile among them is ignored
+     * @return hex representation of hash
+     * @throws IOException
+     *         if files of build context can't be read
+     */
+    public String computeKey(Dockerfile dockerfile, File... contextFiles) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        hasher.putString(normalize(dockerfile), StandardCharsets.UTF_8);
+        final File[] sorted = contextFiles.clone();
+        Arrays.sort(sorted, Comparator.comparing(File::getName));
+        for (File file : sorted) {
+            if (DOCKERFILE.equals(file.getName())) {
+                continue;
+            }
+            final Path root = file.toPath().getParent();
+            try (Stream<Path> paths = Files.walk(file.toPath())) {
+                for (Path path : paths.sorted().collect(Collectors.toList())) {
+                    hasher.putChar('\0').putString(root.relativize(path).toString(), StandardCharsets.UTF_8);
+                    if (Files.isRegularFile(path)) {
+                        hasher.putLong(Files.size(path));
+                        putContent(hasher, path, buffer);
+                    }
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /** Reads file in chunks, so large files of build context aren't loaded in memory entirely. */
+    private static void putContent(Hasher hasher, Path file, byte[] buffer) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                hasher.putBytes(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Tags cached image built from recipe with the same hash with name of machine image.
+     *
+     * @param key
+     *         hash of recipe
+     * @param machineImage
+     *         name of image of machine
+     * @return {@code true} if image was found and tagged, {@code false} otherwise, so image should be built
+     */
+    public boolean tagCachedImage(String key, String machineImage) {
+        final String cacheImage = getCacheImage(key);
+        final Map<String, Long> layers;
+        try {
+            // checks that image wasn't removed outside
+            layers = getLayers(cacheImage);
+            docker.tag(cacheImage, machineImage, null);
+        } catch (DockerException e) {
+            if (e.getStatus() != NOT_FOUND) {
+                LOG.warn("Can't use cached image {}. {}", cacheImage, e.getLocalizedMessage());
+            }
+            synchronized (this) {
+                images.remove(key);
+            }
+            return false;
+        } catch (IOException e) {
+            LOG.warn("Can't use cached image {}. {}", cacheImage, e.getLocalizedMessage());
+            return false;
+        }
+        LOG.debug("Image {} is reused for machine image {}", cacheImage, machineImage);
+        synchronized (this) {
+            images.computeIfAbsent(key, k -> new CachedImage(layers)).machineImages.add(machineImage);
+            machineImages.put(machineImage, key);
+        }
+        return true;
+    }
+
+    /**
+     * Adds newly built image into cache.
+     *
+     * @param key
+     *         hash of recipe image was built from
+     * @param imageId
+     *         id of built image
+     * @param machineImage
+     *         name of image of machine that uses built image
+     */
+    public void add(String key, String imageId, String machineImage) {
+        final Map<String, Long> layers;
+        try {
+            docker.tag(imageId, CACHE_REPOSITORY, key);
+            layers = getLayers(imageId);
+        } catch (IOException e) {
+            LOG.warn("Can't add image {} into cache. {}", imageId, e.getLocalizedMessage());
+            return;
+        }
+        synchronized (this) {
+            images.computeIfAbsent(key, k -> new CachedImage(layers)).machineImages.add(machineImage);
+            machineImages.put(machineImage, key);
+        }
+        evict();
+    }
+
+    /**
+     * Marks that image isn't used by machine anymore.
+     * Cached image stays on disk until it has to be evicted to fit size limit.
+     *
+     * @param machineImage
+     *         name of image of destroyed machine
+     */
+    public void release(String machineImage) {
+        synchronized (this) {
+            final String key = machineImages.remove(machineImage);
+            if (key == null) {
+                return;
+            }
+            final CachedImage image = images.get(key);
+            if (image != null) {
+                image.machineImages.remove(machineImage);
+            }
+        }
+        evict();
+    }
+
+    /** Returns sum of sizes of distinct layers of cached images in bytes. */
+    synchronized long getSize() {
+        return sizeOf(images.values());
+    }
+
+    synchronized Set<String> getKeys() {
+        return new HashSet<>(images.keySet());
+    }
+
+    /**
+     * Returns Dockerfile with resolved template parameters, without comments, blank lines,
+     * leading and trailing whitespaces and with instructions in upper case.
+     */
+    static String normalize(Dockerfile dockerfile) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        dockerfile.writeDockerfile(content);
+        final StringBuilder normalized = new StringBuilder(content.length());
+        boolean continuation = false;
+        for (String line : content.toString().split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (!continuation) {
+                final int end = line.indexOf(' ');
+                line = end == -1 ? line.toUpperCase(Locale.ENGLISH)
+                                 : line.substring(0, end).toUpperCase(Locale.ENGLISH) + line.substring(end);
+            }
+            continuation = line.endsWith("\\");
+            normalized.append(line).append('\n');
+        }
+        return normalized.toString();
+    }
+
+    private String getCacheImage(String key) {
+        return CACHE_REPOSITORY + ':' + key;
+    }
+
+    /**
+     * Returns sizes of layers of image mapped to their ids. Image is followed by chain of its parents, own size of each
+     * layer is difference between its virtual size and virtual size of parent.
+     */
+    private Map<String, Long> getLayers(String image) throws IOException {
+        final Map<String, Long> layers = new HashMap<>();
+        ImageInfo info = docker.inspectImage(image);
+        String id = info.getId() != null ? info.getId() : image;
+        while (info != null) {
+            final String parent = info.getParent();
+            final ImageInfo parentInfo = parent == null || parent.isEmpty() || layers.containsKey(parent) ? null
+                                                                                                          : docker.inspectImage(parent);
+            final long parentSize = parentInfo == null ? 0 : totalSize(parentInfo);
+            layers.put(id, Math.max(totalSize(info) - parentSize, 0));
+            info = parentInfo;
+            id = parent;
+        }
+        return layers;
+    }
+
+    private static long totalSize(ImageInfo info) {
+        return info.getVirtualSize() > 0 ? info.getVirtualSize() : info.getSize();
+    }
+
+    private static long sizeOf(Collection<CachedImage> cached) {
+        final Map<String, Long> layers = new HashMap<>();
+        for (CachedImage image : cached) {
+            layers.putAll(image.layers);
+        }
+        return layers.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /** Removes least recently used images that aren't used by machines while size of cache exceeds limit. */
+    private void evict() {
+        final List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            final long maxSize = maxSizeMb * 1024 * 1024;
+            // removal of image frees only layers that aren't shared with other cached images, so size is computed again
+            for (Iterator<Map.Entry<String, CachedImage>> it = images.entrySet().iterator(); getSize() > maxSize && it.hasNext(); ) {
+                final Map.Entry<String, CachedImage> entry = it.next();
+                if (entry.getValue().machineImages.isEmpty()) {
+                    evicted.add(entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+        for (String key : evicted) {
+            try {
+                docker.removeImage(getCacheImage(key), false);
+            } catch (IOException e) {
+                LOG.warn("Can't remove cached image {}. {}", getCacheImage(key), e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private static class CachedImage {
+        /** Sizes of layers of image mapped to their ids. */
+        final Map<String, Long> layers;
+        final Set<String>       machineImages;
+
+        CachedImage(Map<String, Long> layers) {
+            this.layers = layers;
+            this.machineImages = new HashSet<>();
+        }
+    }
+}
@@ -56,21 +56,10 @@ import static java.lang.String.format;
 public class DockerInstance extends AbstractInstance {
     private static final Logger LOG = LoggerFactory.getLogger(DockerInstance.class);
 
+    static final String PID_FILE_TEMPLATE = "/tmp/docker-exec-%s.pid";
+
     private static final AtomicInteger pidSequence           = new AtomicInteger(1);
-    private static final String        PID_FILE_TEMPLATE     = "/tmp/docker-exec-%s.pid";
     private static final Pattern       PID_FILE_PATH_PATTERN = Pattern.compile(String.format(PID_FILE_TEMPLATE, "([0-9]+)"));
-    /**
-     * Produces output in form:
-     * <pre>
-     * /some/path/pid_file_template-1.pid
-     * /some/path/pid_file_template-3.pid
-     * /some/path/pid_file_template-14.pid
-     * </pre>
-     * Where each line is full path to pid file of <b>process that is running<b/>
-     */
-    private static final String GET_ALIVE_PROCESSES_COMMAND =
-            format("for pidFile in $(find %s -print 2>/dev/null); do kill -0 \"$(cat ${pidFile})\" 2>/dev/null && echo \"${pidFile}\"; done",
-                   format(PID_FILE_TEMPLATE, "*"));
 
     private final DockerMachineFactory                        dockerMachineFactory;
     private final String                                      container;
@@ -81,6 +70,9 @@ public class DockerInstance extends AbstractInstance {
     private final DockerNode                                  node;
     private final DockerInstanceStopDetector                  dockerInstanceStopDetector;
     private final DockerInstanceProcessesCleaner              processesCleaner;
+    private final DockerProcessesLivenessChecker              livenessChecker;
+    private final DockerImageCache                            imageCache;
+    private final DockerInstanceSnapshotSaver                 snapshotSaver;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
 
     private DockerInstanceMetadata machineMetadata;
@@ -95,7 +87,10 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted DockerNode node,
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
-                          DockerInstanceProcessesCleaner processesCleaner) {
+                          DockerInstanceProcessesCleaner processesCleaner,
+                          DockerProcessesLivenessChecker livenessChecker,
+                          DockerImageCache imageCache,
+                          DockerInstanceSnapshotSaver snapshotSaver) {
         super(machineState);
         this.dockerMachineFactory = dockerMachineFactory;
         this.container = container;
@@ -106,6 +101,9 @@ public class DockerInstance extends AbstractInstance {
         this.node = node;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
         this.processesCleaner = processesCleaner;
+        this.livenessChecker = livenessChecker;
+        this.imageCache = imageCache;
+        this.snapshotSaver = snapshotSaver;
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
     }
@@ -149,9 +147,7 @@ public class DockerInstance extends AbstractInstance {
     public List<InstanceProcess> getProcesses() throws MachineException {
         List<InstanceProcess> processes = new LinkedList<>();
         try {
-            final Exec exec = docker.createExec(container, false, "/bin/bash", "-c", GET_ALIVE_PROCESSES_COMMAND);
-            docker.startExec(exec.getId(), logMessage -> {
-                final String pidFilePath = logMessage.getContent().trim();
+            for (String pidFilePath : livenessChecker.getAlivePidFiles(container)) {
                 final Matcher matcher = PID_FILE_PATH_PATTERN.matcher(pidFilePath);
                 if (matcher.matches()) {
                     final int virtualPid = Integer.parseInt(matcher.group(1));
@@ -162,7 +158,7 @@ public class DockerInstance extends AbstractInstance {
                         LOG.warn("Machine process {} exists in container but missing in processes map", virtualPid);
                     }
                 }
-            });
+            }
             return processes;
         } catch (IOException e) {
             throw new MachineException(e);
@@ -181,29 +177,26 @@ public class DockerInstance extends AbstractInstance {
         return process;
     }
 
+    /**
+     * Saves machine to snapshot.
+     *
+     * <p>Blocks calling thread until snapshot is pushed to registry, progress of push is written to machine logs.
+     * Interruption of calling thread stops saving.
+     */
     @Override
     public InstanceKey saveToSnapshot(String owner) throws MachineException {
         try {
-            final String repository = generateRepository();
             String comment = format("Suspended at %1$ta %1$tb %1$td %1$tT %1$tZ %1$tY", System.currentTimeMillis());
             if (owner != null) {
                 comment = comment + " by " + owner;
             }
-            // !! We SHOULD NOT pause container before commit because all execs will fail
-            // to push image to private registry it should be tagged with registry in repo name
-            // https://docs.docker.com/reference/api/docker_remote_api_v1.16/#push-an-image-on-the-registry
-            docker.commit(container, registry + "/" + repository, null, comment, owner);
-            //TODO fix this workaround. Docker image is not visible after commit when using swarm
-            Thread.sleep(2000);
-
             final ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
-            docker.push(repository, null, registry, currentProgressStatus -> {
+            return snapshotSaver.save(container, registry, generateRepository(), comment, owner, currentProgressStatus -> {
                 try {
                     outputConsumer.writeLine(progressLineFormatter.format(currentProgressStatus));
                 } catch (IOException ignored) {
                 }
             });
-            return new DockerInstanceKey(repository, registry);
         } catch (IOException e) {
             throw new MachineException(e);
         } catch (InterruptedException e) {
@@ -220,6 +213,7 @@ public class DockerInstance extends AbstractInstance {
     public void destroy() throws MachineException {
         machineProcesses.clear();
         processesCleaner.untrackProcesses(getId());
+        livenessChecker.forget(container);
         dockerInstanceStopDetector.stopDetection(container);
         try {
             if (isDev()) {
@@ -234,9 +228,12 @@ public class DockerInstance extends AbstractInstance {
         }
 
         try {
+            // image built from recipe is also tagged by image cache and can be shared with other machines,
+            // in this case only machine specific tag is removed
             docker.removeImage(image, false);
         } catch (IOException ignore) {
         }
+        imageCache.release(image);
     }
 
     @Override
@@ -54,11 +54,16 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.file.Files;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -66,14 +71,24 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 /**
  * Docker implementation of {@link InstanceProvider}
  *
+ * <p>Machines are created synchronously in the thread of caller, so concurrency of creation of machines of environment
+ * is decided by caller. Provider is safe for concurrent callers: machines created from the same snapshot at the same
+ * time share one pull of its image. Durations of creation stages are available from {@link #getStageTimings()}.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class DockerInstanceProvider implements InstanceProvider {
     private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceProvider.class);
 
+    /** Stages of machine creation which durations are measured. */
+    public enum CreationStage {
+        BUILD_IMAGE, PULL_IMAGE, TAG_IMAGE, CREATE_CONTAINER, START_CONTAINER, BIND_WORKSPACE
+    }
+
     private final DockerConnector                  docker;
     private final DockerInstanceStopDetector       dockerInstanceStopDetector;
+    private final DockerImageCache                 imageCache;
     private final WorkspaceFolderPathProvider      workspaceFolderPathProvider;
     private final boolean                          doForcePullOnBuild;
     private final Set<String>                      supportedRecipeTypes;
@@ -88,12 +103,15 @@ public class DockerInstanceProvider implements InstanceProvider {
     private final String[]                         commonMachineEnvVariables;
     private final String[]                         allMachinesExtraHosts;
     private final String                           projectFolderPath;
+    private final Map<String, SharedPull>          pulls;
+    private final Map<CreationStage, StageTiming>  stageTimings;
 
     @Inject
     public DockerInstanceProvider(DockerConnector docker,
                                   DockerConnectorConfiguration dockerConnectorConfiguration,
                                   DockerMachineFactory dockerMachineFactory,
                                   DockerInstanceStopDetector dockerInstanceStopDetector,
+                                  DockerImageCache imageCache,
                                   @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
                                   @Named("machine.docker.machine_servers") Set<ServerConf> allMachinesServers,
                                   @Named("machine.docker.dev_machine.machine_volumes") Set<String> devMachineSystemVolumes,
@@ -109,10 +127,16 @@ public class DockerInstanceProvider implements InstanceProvider {
         this.docker = docker;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+        this.imageCache = imageCache;
         this.workspaceFolderPathProvider = workspaceFolderPathProvider;
         this.doForcePullOnBuild = doForcePullOnBuild;
         this.supportedRecipeTypes = Collections.singleton("Dockerfile");
         this.projectFolderPath = projectFolderPath;
+        this.pulls = new HashMap<>();
+        this.stageTimings = new EnumMap<>(CreationStage.class);
+        for (CreationStage stage : CreationStage.values()) {
+            stageTimings.put(stage, new StageTiming());
+        }
 
         if (SystemInfo.isWindows()) {
             allMachinesSystemVolumes = escapePaths(allMachinesSystemVolumes);
@@ -218,7 +242,9 @@ public class DockerInstanceProvider implements InstanceProvider {
         final String machineContainerName = generateContainerName(machineState.getWorkspaceId(), machineState.getName());
         final String machineImageName = "eclipse-che/" + machineContainerName;
 
+        final long start = System.nanoTime();
         buildImage(dockerfile, creationLogsOutput, machineImageName);
+        recordStage(CreationStage.BUILD_IMAGE, machineState, start);
 
         return createInstance(machineContainerName,
                               machineState,
@@ -231,25 +257,26 @@ public class DockerInstanceProvider implements InstanceProvider {
                                    MachineState machineState,
                                    LineConsumer creationLogsOutput) throws NotFoundException, MachineException {
         final DockerInstanceKey dockerInstanceKey = new DockerInstanceKey(instanceKey);
+        final String machineContainerName = generateContainerName(machineState.getWorkspaceId(), machineState.getName());
+        final String machineImageName = "eclipse-che/" + machineContainerName;
 
+        long start = System.nanoTime();
         pullImage(dockerInstanceKey, creationLogsOutput);
+        recordStage(CreationStage.PULL_IMAGE, machineState, start);
 
-        final String machineContainerName = generateContainerName(machineState.getWorkspaceId(), machineState.getName());
-        final String machineImageName = "eclipse-che/" + machineContainerName;
         final String fullNameOfPulledImage = dockerInstanceKey.getFullName();
+        start = System.nanoTime();
         try {
             // tag image with generated name to allow sysadmin recognize it
             docker.tag(fullNameOfPulledImage, machineImageName, null);
         } catch (IOException e) {
             LOG.error(e.getLocalizedMessage(), e);
             throw new MachineException("Can't create machine from snapshot.");
+        } finally {
+            // remove unneeded tag when all machines that wait for the same image are tagged
+            releasePulledImage(fullNameOfPulledImage);
         }
-        try {
-            // remove unneeded tag
-            docker.removeImage(fullNameOfPulledImage, false);
-        } catch (IOException e) {
-            LOG.error(e.getLocalizedMessage(), e);
-        }
+        recordStage(CreationStage.TAG_IMAGE, machineState, start);
 
         return createInstance(machineContainerName,
                               machineState,
@@ -257,6 +284,23 @@ public class DockerInstanceProvider implements InstanceProvider {
                               creationLogsOutput);
     }
 
+    /**
+     * Returns durations of machine creation stages measured since start of server.
+     */
+    public Map<CreationStage, StageTiming> getStageTimings() {
+        final Map<CreationStage, StageTiming> timings = new EnumMap<>(CreationStage.class);
+        for (Map.Entry<CreationStage, StageTiming> entry : stageTimings.entrySet()) {
+            timings.put(entry.getKey(), entry.getValue().copy());
+        }
+        return timings;
+    }
+
+    private void recordStage(CreationStage stage, MachineState machineState, long startNanos) {
+        final long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        LOG.debug("Stage {} of creation of machine {} took {} ms", stage, machineState.getId(), durationMs);
+        stageTimings.get(stage).add(durationMs);
+    }
+
     private Dockerfile parseRecipe(Recipe recipe) throws InvalidRecipeException {
         final Dockerfile dockerfile = getDockerFile(recipe);
         if (dockerfile.getImages().isEmpty()) {
@@ -288,6 +332,16 @@ public class DockerInstanceProvider implements InstanceProvider {
             final List<File> files = new LinkedList<>();
             //noinspection ConstantConditions
             Collections.addAll(files, workDir.listFiles());
+            final File[] contextFiles = files.toArray(new File[files.size()]);
+            String cacheKey = null;
+            // forced pull of base image may bring its newer version, so image built from the same recipe can't be reused
+            if (imageCache.isEnabled() && !doForcePullOnBuild) {
+                cacheKey = imageCache.computeKey(dockerfile, contextFiles);
+                if (imageCache.tagCachedImage(cacheKey, imageName)) {
+                    creationLogsOutput.writeLine("[DOCKER] Image built from the same recipe is found, build is skipped");
+                    return;
+                }
+            }
             final ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
             final ProgressMonitor progressMonitor = currentProgressStatus -> {
                 try {
@@ -296,11 +350,14 @@ public class DockerInstanceProvider implements InstanceProvider {
                     LOG.error(e.getLocalizedMessage(), e);
                 }
             };
-            docker.buildImage(imageName,
-                              progressMonitor,
-                              null,
-                              doForcePullOnBuild,
-                              files.toArray(new File[files.size()]));
+            final String imageId = docker.buildImage(imageName,
+                                                     progressMonitor,
+                                                     null,
+                                                     doForcePullOnBuild,
+                                                     contextFiles);
+            if (cacheKey != null) {
+                imageCache.add(cacheKey, imageId, imageName);
+            }
         } catch (IOException | InterruptedException e) {
             throw new MachineException(e.getMessage(), e);
         } finally {
@@ -310,27 +367,82 @@ public class DockerInstanceProvider implements InstanceProvider {
         }
     }
 
+    /**
+     * Pulls image of snapshot. If the same image is being pulled for another machine this method waits for that pull.
+     * Each successful call must be followed by {@link #releasePulledImage(String)}.
+     */
     private void pullImage(DockerInstanceKey dockerInstanceKey, final LineConsumer creationLogsOutput) throws MachineException {
         if (dockerInstanceKey.getRepository() == null) {
             throw new MachineException("Machine creation failed. Snapshot state is invalid. Please, contact support.");
         }
+        final String image = dockerInstanceKey.getFullName();
+        final SharedPull pull;
+        final boolean isPulling;
+        synchronized (pulls) {
+            SharedPull existing = pulls.get(image);
+            isPulling = existing == null;
+            if (isPulling) {
+                existing = new SharedPull();
+                pulls.put(image, existing);
+            }
+            existing.users++;
+            pull = existing;
+        }
+        if (isPulling) {
+            try {
+                final ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
+                docker.pull(dockerInstanceKey.getRepository(),
+                            dockerInstanceKey.getTag(),
+                            dockerInstanceKey.getRegistry(),
+                            currentProgressStatus -> {
+                                try {
+                                    creationLogsOutput.writeLine(progressLineFormatter.format(currentProgressStatus));
+                                } catch (IOException e) {
+                                    LOG.error(e.getLocalizedMessage(), e);
+                                }
+                            });
+                pull.result.complete(null);
+            } catch (IOException | InterruptedException e) {
+                pull.result.completeExceptionally(e);
+            }
+        } else {
+            try {
+                creationLogsOutput.writeLine("[DOCKER] Image " + image + " is being pulled for another machine, waiting");
+            } catch (IOException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
         try {
-            final ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
-            docker.pull(dockerInstanceKey.getRepository(),
-                        dockerInstanceKey.getTag(),
-                        dockerInstanceKey.getRegistry(),
-                        currentProgressStatus -> {
-                            try {
-                                creationLogsOutput.writeLine(progressLineFormatter.format(currentProgressStatus));
-                            } catch (IOException e) {
-                                LOG.error(e.getLocalizedMessage(), e);
-                            }
-                        });
-        } catch (IOException | InterruptedException e) {
+            pull.result.get();
+        } catch (ExecutionException e) {
+            releasePulledImage(image);
+            throw new MachineException(e.getCause().getLocalizedMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            releasePulledImage(image);
+            Thread.currentThread().interrupt();
             throw new MachineException(e.getLocalizedMessage(), e);
         }
     }
 
+    /** Removes tag of pulled image when no more machines need it. */
+    private void releasePulledImage(String image) {
+        final SharedPull pull;
+        synchronized (pulls) {
+            pull = pulls.get(image);
+            if (pull == null || --pull.users > 0) {
+                return;
+            }
+            pulls.remove(image);
+        }
+        if (!pull.result.isCompletedExceptionally()) {
+            try {
+                docker.removeImage(image, false);
+            } catch (IOException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
     // TODO rework in accordance with v2 docker registry API
     @Override
     public void removeInstanceSnapshot(InstanceKey instanceKey) throws SnapshotException {
@@ -413,13 +525,19 @@ public class DockerInstanceProvider implements InstanceProvider {
                                                                 .withHostConfig(hostConfig)
                                                                 .withEnv(env);
 
+            long start = System.nanoTime();
             final String containerId = docker.createContainer(config, containerName).getId();
+            recordStage(CreationStage.CREATE_CONTAINER, machineState, start);
 
+            start = System.nanoTime();
             docker.startContainer(containerId, null);
+            recordStage(CreationStage.START_CONTAINER, machineState, start);
 
             final DockerNode node = dockerMachineFactory.createNode(machineState.getWorkspaceId(), containerId);
             if (machineState.isDev()) {
+                start = System.nanoTime();
                 node.bindWorkspace();
+                recordStage(CreationStage.BIND_WORKSPACE, machineState, start);
             }
 
             dockerInstanceStopDetector.startDetection(containerId, machineState.getId());
@@ -450,4 +568,52 @@ public class DockerInstanceProvider implements InstanceProvider {
                     .filter(path -> !Strings.isNullOrEmpty(path))
                     .collect(Collectors.toSet());
     }
+
+    /** Duration statistics of machine creation stage. */
+    public static class StageTiming {
+        private long count;
+        private long totalMs;
+        private long maxMs;
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalMs() {
+            return totalMs;
+        }
+
+        public synchronized long getMaxMs() {
+            return maxMs;
+        }
+
+        public synchronized long getAverageMs() {
+            return count == 0 ? 0 : totalMs / count;
+        }
+
+        synchronized void add(long durationMs) {
+            count++;
+            totalMs += durationMs;
+            maxMs = Math.max(maxMs, durationMs);
+        }
+
+        synchronized StageTiming copy() {
+            final StageTiming copy = new StageTiming();
+            copy.count = count;
+            copy.totalMs = totalMs;
+            copy.maxMs = maxMs;
+            return copy;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "StageTiming{count=" + count + ", totalMs=" + totalMs + ", maxMs=" + maxMs + '}';
+        }
+    }
+
+    /** Pull of image shared by machines created from the same snapshot concurrently. */
+    private static class SharedPull {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        int users;
+    }
 }
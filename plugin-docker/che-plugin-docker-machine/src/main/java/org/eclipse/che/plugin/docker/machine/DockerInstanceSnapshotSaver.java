@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerException;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves containers of {@link DockerInstance} to registry.
+ *
+ * <p>After commit image may be not visible at once (e.g. when docker swarm is used), so saver polls docker until committed
+ * image appears instead of waiting for fixed time. Docker daemon checks each layer of image in registry and doesn't upload
+ * layers registry already has, saver counts bytes of layers that were actually uploaded.
+ *
+ * <p>Saving blocks calling thread until image is pushed. Interruption of calling thread stops saving and closes connection
+ * to docker daemon.
+ */
+@Singleton
+public class DockerInstanceSnapshotSaver {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceSnapshotSaver.class);
+
+    public static final String IMAGE_VISIBILITY_TIMEOUT_MS_PROPERTY = "machine.docker.snapshot.image_visibility_timeout_ms";
+
+    private static final long IMAGE_VISIBILITY_POLL_PERIOD_MS = 100;
+    private static final int  NOT_FOUND                       = 404;
+
+    @Inject(optional = true)
+    @Named(IMAGE_VISIBILITY_TIMEOUT_MS_PROPERTY)
+    private long imageVisibilityTimeoutMs = 10_000;
+
+    private final DockerConnector docker;
+    private final AtomicLong      snapshots;
+    private final AtomicLong      totalLatencyMs;
+    private final AtomicLong      maxLatencyMs;
+    private final AtomicLong      totalBytesPushed;
+
+    private volatile long lastLatencyMs;
+    private volatile long lastBytesPushed;
+
+    @Inject
+    public DockerInstanceSnapshotSaver(DockerConnector docker) {
+        this.docker = docker;
+        this.snapshots = new AtomicLong();
+        this.totalLatencyMs = new AtomicLong();
+        this.maxLatencyMs = new AtomicLong();
+        this.totalBytesPushed = new AtomicLong();
+    }
+
+    /**
+     * Commits container and pushes created image to registry.
+     *
+     * @param container
+     *         id of container to save
+     * @param registry
+     *         registry to push image to
+     * @param repository
+     *         repository of image in registry
+     * @param comment
+     *         commit message
+     * @param author
+     *         author of commit, may be {@code null}
+     * @param progressMonitor
+     *         receives progress of push
+     * @return key of saved snapshot
+     * @throws IOException
+     *         if docker or registry fail to save image
+     * @throws InterruptedException
+     *         if saving was interrupted
+     */
+    public DockerInstanceKey save(String container,
+                                  String registry,
+                                  String repository,
+                                  String comment,
+                                  String author,
+                                  ProgressMonitor progressMonitor) throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        // to push image to private registry it should be tagged with registry in repo name
+        // https://docs.docker.com/reference/api/docker_remote_api_v1.16/#push-an-image-on-the-registry
+        final String image = registry + "/" + repository;
+        // !! We SHOULD NOT pause container before commit because all execs will fail
+        docker.commit(container, image, null, comment, author);
+        waitForImage(image);
+
+        final PushedBytesCounter counter = new PushedBytesCounter(progressMonitor);
+        docker.push(repository, null, registry, counter);
+
+        final long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final long bytesPushed = counter.getPushedBytes();
+        snapshots.incrementAndGet();
+        totalLatencyMs.addAndGet(latencyMs);
+        maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+        totalBytesPushed.addAndGet(bytesPushed);
+        lastLatencyMs = latencyMs;
+        lastBytesPushed = bytesPushed;
+        LOG.debug("Snapshot {} of container {} saved in {} ms, {} bytes pushed, {} layers already were in registry",
+                  image, container, latencyMs, bytesPushed, counter.getExistingLayers());
+        return new DockerInstanceKey(repository, registry);
+    }
+
+    public long getSnapshotsCount() {
+        return snapshots.get();
+    }
+
+    public long getLastLatencyMs() {
+        return lastLatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs.get();
+    }
+
+    public long getAverageLatencyMs() {
+        final long count = snapshots.get();
+        return count == 0 ? 0 : totalLatencyMs.get() / count;
+    }
+
+    public long getLastBytesPushed() {
+        return lastBytesPushed;
+    }
+
+    public long getTotalBytesPushed() {
+        return totalBytesPushed.get();
+    }
+
+    /** Polls docker until image is available. Gives up after timeout, then push reports error if image is still missing. */
+    private void waitForImage(String image) throws IOException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + imageVisibilityTimeoutMs;
+        for (; ; ) {
+            try {
+                docker.inspectImage(image);
+                return;
+            } catch (DockerException e) {
+                if (e.getStatus() != NOT_FOUND) {
+                    throw e;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                LOG.warn("Image {} isn't visible after {} ms since commit", image, imageVisibilityTimeoutMs);
+                return;
+            }
+            Thread.sleep(IMAGE_VISIBILITY_POLL_PERIOD_MS);
+        }
+    }
+
+    /** Counts size of layers that were uploaded to registry by push. */
+    static class PushedBytesCounter implements ProgressMonitor {
+        private final ProgressMonitor   delegate;
+        private final Map<String, Long> layerSizes;
+        private final Set<String>       existingLayers;
+
+        PushedBytesCounter(ProgressMonitor delegate) {
+            this.delegate = delegate;
+            this.layerSizes = new HashMap<>();
+            this.existingLayers = new HashSet<>();
+        }
+
+        @Override
+        public void updateProgress(ProgressStatus currentProgressStatus) {
+            delegate.updateProgress(currentProgressStatus);
+            final String layer = currentProgressStatus.getId();
+            final String status = currentProgressStatus.getStatus();
+            if (layer == null || status == null) {
+                return;
+            }
+            // "Image already exists" for registry v1, "Layer already exists" for v2
+            if (status.endsWith("already exists")) {
+                existingLayers.add(layer);
+            } else if (currentProgressStatus.getProgressDetail() != null && currentProgressStatus.getProgressDetail().getTotal() > 0) {
+                layerSizes.merge(layer, currentProgressStatus.getProgressDetail().getTotal(), Math::max);
+            }
+        }
+
+        long getPushedBytes() {
+            return layerSizes.entrySet()
+                             .stream()
+                             .filter(layer -> !existingLayers.contains(layer.getKey()))
+                             .mapToLong(Map.Entry::getValue)
+                             .sum();
+        }
+
+        int getExistingLayers() {
+            return existingLayers.size();
+        }
+    }
+}
@@ -12,39 +12,32 @@ package org.eclipse.che.plugin.docker.machine;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.InstanceStateEvent;
-import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerEventBus;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.Event;
-import org.eclipse.che.plugin.docker.client.json.Filters;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Track docker containers events to detect containers stop or failure.
  *
+ * <p>Events of tracked containers are received from {@link DockerEventBus} which shares one events stream of docker daemon
+ * between all consumers.
+ *
  * @author Alexander Garagatyi
  */
 @Singleton
 public class DockerInstanceStopDetector {
-    private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceStopDetector.class);
-
     private final EventService          eventService;
-    private final DockerConnector       dockerConnector;
-    private final ExecutorService       executorService;
+    private final DockerEventBus        dockerEventBus;
+    private final EventsProcessor       eventsProcessor;
     private final Map<String, String>   instances;
     /*
        Helps differentiate container main process OOM from other processes OOM
@@ -60,20 +53,15 @@ public class DockerInstanceStopDetector {
     */
     private final Cache<String, String> containersOomTimestamps;
 
-    private long lastProcessedEventDate = 0;
-
     @Inject
-    public DockerInstanceStopDetector(EventService eventService, DockerConnector dockerConnector) {
+    public DockerInstanceStopDetector(EventService eventService, DockerEventBus dockerEventBus) {
         this.eventService = eventService;
-        this.dockerConnector = dockerConnector;
+        this.dockerEventBus = dockerEventBus;
+        this.eventsProcessor = new EventsProcessor();
         this.instances = new ConcurrentHashMap<>();
         this.containersOomTimestamps = CacheBuilder.newBuilder()
                                                    .expireAfterWrite(10, TimeUnit.SECONDS)
                                                    .build();
-        this.executorService = Executors.newSingleThreadExecutor(
-                new ThreadFactoryBuilder().setNameFormat("DockerInstanceStopDetector-%d")
-                                          .setDaemon(true)
-                                          .build());
     }
 
     /**
@@ -85,7 +73,9 @@ public class DockerInstanceStopDetector {
      *         id of a machine which container implements
      */
     public void startDetection(String containerId, String machineId) {
-        instances.put(containerId, machineId);
+        if (instances.put(containerId, machineId) == null) {
+            dockerEventBus.subscribe(containerId, eventsProcessor);
+        }
     }
 
     /**
@@ -95,30 +85,17 @@ public class DockerInstanceStopDetector {
      *         id of a container to start detection for
      */
     public void stopDetection(String containerId) {
-        instances.remove(containerId);
-    }
-
-    @PostConstruct
-    private void detectContainersEvents() {
-        executorService.execute(() -> {
-            //noinspection InfiniteLoopStatement
-            while (true) {
-                try {
-                    dockerConnector.getEvents(lastProcessedEventDate,
-                                              0,
-                                              new Filters().withFilter("event", "die", "oom"),
-                                              new EventsProcessor());
-                } catch (IOException e) {
-                    // usually connection timeout
-                    LOG.debug(e.getLocalizedMessage(), e);
-                }
-            }
-        });
+        if (instances.remove(containerId) != null) {
+            dockerEventBus.unsubscribe(containerId, eventsProcessor);
+        }
     }
 
     private class EventsProcessor implements MessageProcessor<Event> {
         @Override
         public void process(Event message) {
+            if (message.getStatus() == null) {
+                return;
+            }
             switch (message.getStatus()) {
                 case "oom":
                     containersOomTimestamps.put(message.getId(), message.getId());
@@ -134,7 +111,6 @@ public class DockerInstanceStopDetector {
                     final String instanceId = instances.get(message.getId());
                     if (instanceId != null) {
                         eventService.publish(new InstanceStateEvent(instanceId, instanceStateChangeType));
-                        lastProcessedEventDate = message.getTime();
                     }
                     break;
                 default:
@@ -16,7 +16,6 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.ListLineConsumer;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -40,26 +39,29 @@ import static java.lang.String.format;
  * @author Alexander Garagatyi
  */
 public class DockerProcess implements InstanceProcess {
-    private final DockerConnector     docker;
-    private final String              container;
-    private final String              pidFilePath;
-    private final int                 pid;
-    private final String              commandLine;
-    private final String              commandName;
-    private final String              commandType;
-    private final Map<String, String> attributes;
-    private final String              outputChannel;
+    private final DockerConnector                docker;
+    private final DockerProcessesLivenessChecker livenessChecker;
+    private final String                         container;
+    private final String                         pidFilePath;
+    private final int                            pid;
+    private final String                         commandLine;
+    private final String                         commandName;
+    private final String                         commandType;
+    private final Map<String, String>            attributes;
+    private final String                         outputChannel;
 
     private volatile boolean started;
 
     @Inject
     public DockerProcess(DockerConnector docker,
+                         DockerProcessesLivenessChecker livenessChecker,
                          @Assisted Command command,
                          @Assisted("container") String container,
                          @Assisted("outputChannel") String outputChannel,
                          @Assisted("pid_file_path") String pidFilePath,
                          @Assisted int pid) {
         this.docker = docker;
+        this.livenessChecker = livenessChecker;
         this.container = container;
         this.commandLine = command.getCommandLine();
         this.commandName = command.getName();
@@ -140,8 +142,9 @@ public class DockerProcess implements InstanceProcess {
                                               Arrays.toString(command), container, e.getMessage()), e);
         }
         started = true;
+        livenessChecker.processStarted(container, pidFilePath);
         try {
-            docker.startExec(exec.getId(), output == null ? null : new LogMessagePrinter(output));
+            docker.startExec(exec.getId(), output == null ? null : new LogLinePrinter(output));
         } catch (IOException e) {
             if (output != null && e instanceof SocketTimeoutException) {
                 throw new MachineException(getErrorMessage());
@@ -154,25 +157,14 @@ public class DockerProcess implements InstanceProcess {
 
     @Override
     public void checkAlive() throws MachineException, NotFoundException {
-        // Read pid from file and run 'kill -0 [pid]' command.
-        final String isAliveCmd = format("[ -r %1$s ] && kill -0 $(cat %1$s) || echo 'Unable read PID file'", pidFilePath);
-        final ListLineConsumer output = new ListLineConsumer();
-        final String[] command = {"/bin/bash", "-c", isAliveCmd};
-        Exec exec;
-        try {
-            exec = docker.createExec(container, false, command);
-        } catch (IOException e) {
-            throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
-                                              Arrays.toString(command), container, e.getMessage()), e);
-        }
+        final boolean alive;
         try {
-            docker.startExec(exec.getId(), new LogMessagePrinter(output));
+            alive = livenessChecker.isAlive(container, pidFilePath);
         } catch (IOException e) {
-            throw new MachineException(format("Error occurs while executing command %s in docker container %s: %s",
-                                              Arrays.toString(exec.getCommand()), container, e.getMessage()), e);
+            throw new MachineException(format("Error occurs while checking state of process %s in docker container %s: %s",
+                                              pid, container, e.getMessage()), e);
         }
-        // 'kill -0 [pid]' is silent if process is running or print "No such process" message otherwise
-        if (!output.getText().isEmpty()) {
+        if (!alive) {
             throw new NotFoundException(format("Process with pid %s not found", pid));
         }
     }
@@ -195,6 +187,8 @@ public class DockerProcess implements InstanceProcess {
             } catch (IOException e) {
                 throw new MachineException(format("Error occurs while executing command %s in docker container %s: %s",
                                                   Arrays.toString(exec.getCommand()), container, e.getMessage()), e);
+            } finally {
+                livenessChecker.invalidate(container);
             }
         }
     }
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.Exec;
+import org.eclipse.che.plugin.docker.client.LogMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Checks liveness of all processes of a container at once.
+ *
+ * <p>Instead of running {@code kill -0} for each process separately one exec lists pid files of all alive processes of the
+ * container. Result is cached for a short time and shared between {@link DockerInstance#getProcess(int)},
+ * {@link DockerInstance#getProcesses()} and {@link DockerProcess#isAlive()}. Concurrent requests for the same container wait for
+ * the exec that is already in progress instead of starting another one.
+ *
+ * <p>Process saves its pid file only after it is started, so absence of the pid file of just started process isn't cached:
+ * state of container is checked again until the process is seen alive or {@value #PID_FILE_WAIT_MS} ms pass since its start.
+ *
+ * <p>Number of execs issued against number of checks answered is logged for each container when it is forgotten and in total
+ * on stop, it is also available through {@link #getRequestsCount()} and {@link #getExecsCount()}.
+ */
+@Singleton
+public class DockerProcessesLivenessChecker {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerProcessesLivenessChecker.class);
+
+    public static final String CACHE_EXPIRATION_MS_PROPERTY = "machine.docker.processes_liveness_cache_ms";
+
+    /**
+     * Produces output in form:
+     * <pre>
+     * /some/path/pid_file_template-1.pid
+     * /some/path/pid_file_template-3.pid
+     * /some/path/pid_file_template-14.pid
+     * </pre>
+     * Where each line is full path to pid file of <b>process that is running<b/>
+     */
+    private static final String GET_ALIVE_PROCESSES_COMMAND =
+            format("for pidFile in $(find %s -print 2>/dev/null); do kill -0 \"$(cat ${pidFile})\" 2>/dev/null && echo \"${pidFile}\"; done",
+                   format(DockerInstance.PID_FILE_TEMPLATE, "*"));
+
+    /** Max time in milliseconds between start of process and appearance of its pid file. */
+    private static final long PID_FILE_WAIT_MS = 10_000;
+
+    @Inject(optional = true)
+    @Named(CACHE_EXPIRATION_MS_PROPERTY)
+    private long cacheExpirationMs = 1000;
+
+    private final DockerConnector                     docker;
+    private final ConcurrentHashMap<String, Snapshot> snapshots;
+    private final AtomicLong                          requests;
+    private final AtomicLong                          probes;
+
+    @Inject
+    public DockerProcessesLivenessChecker(DockerConnector docker) {
+        this.docker = docker;
+        this.snapshots = new ConcurrentHashMap<>();
+        this.requests = new AtomicLong();
+        this.probes = new AtomicLong();
+    }
+
+    /**
+     * Checks whether process that saves its pid into specified pid file is running in the container.
+     *
+     * @throws IOException
+     *         if error occurs on communication with docker
+     */
+    public boolean isAlive(String container, String pidFilePath) throws IOException {
+        return getAlivePidFiles(container).contains(pidFilePath);
+    }
+
+    /**
+     * Returns paths to pid files of all processes that are running in the container.
+     *
+     * @throws IOException
+     *         if error occurs on communication with docker
+     */
+    public Set<String> getAlivePidFiles(String container) throws IOException {
+        requests.incrementAndGet();
+        final Snapshot snapshot = snapshots.computeIfAbsent(container, key -> new Snapshot());
+        synchronized (snapshot) {
+            snapshot.requests++;
+            final long now = System.currentTimeMillis();
+            snapshot.startedProcesses.values().removeIf(startTime -> now - startTime > PID_FILE_WAIT_MS);
+            if (snapshot.alivePidFiles == null
+                || now - snapshot.timestamp > cacheExpirationMs
+                || !snapshot.startedProcesses.isEmpty()) {
+                snapshot.alivePidFiles = probe(container);
+                snapshot.execs++;
+                snapshot.timestamp = System.currentTimeMillis();
+                snapshot.startedProcesses.keySet().removeAll(snapshot.alivePidFiles);
+            }
+            return snapshot.alivePidFiles;
+        }
+    }
+
+    /**
+     * Notifies that process which saves its pid into specified pid file is started in the container, so it is treated
+     * as not running only when its pid file isn't found after it was seen running or after some time since its start.
+     */
+    public void processStarted(String container, String pidFilePath) {
+        final Snapshot snapshot = snapshots.computeIfAbsent(container, key -> new Snapshot());
+        synchronized (snapshot) {
+            snapshot.startedProcesses.put(pidFilePath, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Drops cached state of processes of the container, e.g. when process is started or killed.
+     */
+    public void invalidate(String container) {
+        final Snapshot snapshot = snapshots.get(container);
+        if (snapshot != null) {
+            synchronized (snapshot) {
+                snapshot.alivePidFiles = null;
+            }
+        }
+    }
+
+    /**
+     * Stops caching state of processes of the container, should be called when container is removed.
+     */
+    public void forget(String container) {
+        final Snapshot snapshot = snapshots.remove(container);
+        if (snapshot != null) {
+            synchronized (snapshot) {
+                LOG.info("Liveness of processes of container {} checked {} times with {} docker execs, {} execs saved",
+                         container, snapshot.requests, snapshot.execs, snapshot.requests - snapshot.execs);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        LOG.info("Liveness of processes checked {} times with {} docker execs, {} execs saved",
+                 getRequestsCount(), getExecsCount(), getCacheHits());
+    }
+
+    /** Returns number of liveness checks requested. */
+    public long getRequestsCount() {
+        return requests.get();
+    }
+
+    /** Returns number of execs issued in containers to check liveness of processes. */
+    public long getExecsCount() {
+        return probes.get();
+    }
+
+    /** Returns number of liveness checks which were answered from cache without exec in container. */
+    public long getCacheHits() {
+        return requests.get() - probes.get();
+    }
+
+    private Set<String> probe(String container) throws IOException {
+        probes.incrementAndGet();
+        final Set<String> alivePidFiles = new HashSet<>();
+        final Exec exec = docker.createExec(container, false, "/bin/bash", "-c", GET_ALIVE_PROCESSES_COMMAND);
+        docker.startExec(exec.getId(), logMessage -> {
+            if (logMessage.getType() != LogMessage.Type.STDERR) {
+                alivePidFiles.add(logMessage.getContent().trim());
+            }
+        });
+        return Collections.unmodifiableSet(alivePidFiles);
+    }
+
+    private static class Snapshot {
+        /** Start times of processes which weren't seen running yet by their pid files. */
+        final Map<String, Long> startedProcesses = new HashMap<>();
+
+        Set<String> alivePidFiles;
+        long        timestamp;
+        long        requests;
+        long        execs;
+    }
+}
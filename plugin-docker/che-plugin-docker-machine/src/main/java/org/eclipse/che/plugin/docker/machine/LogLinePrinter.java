@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.plugin.docker.client.LogLineProcessor;
+import org.eclipse.che.plugin.docker.client.LogMessage;
+import org.eclipse.che.plugin.docker.client.LogMessageFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Writes lines of docker logs to {@link LineConsumer} in the format of {@link LogMessageFormatter#DEFAULT}.
+ * Line is formatted in a reused buffer, so the only object created per line is the string passed to the consumer.
+ * Instance isn't thread-safe, it should be used for one stream.
+ */
+public class LogLinePrinter implements LogLineProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(LogLinePrinter.class);
+
+    private final LineConsumer  output;
+    private final StringBuilder line;
+
+    public LogLinePrinter(LineConsumer output) {
+        this.output = output;
+        this.line = new StringBuilder();
+    }
+
+    @Override
+    public void process(LogMessage.Type type, CharSequence content) {
+        line.setLength(0);
+        switch (type) {
+            case STDOUT:
+                line.append("[STDOUT]");
+                break;
+            case STDERR:
+                line.append("[STDERR]");
+                break;
+            case DOCKER:
+                line.append("[DOCKER]");
+                break;
+        }
+        line.append(' ').append(content);
+        try {
+            output.writeLine(line.toString());
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerException;
+import org.eclipse.che.plugin.docker.client.DockerfileParser;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.plugin.docker.machine.DockerImageCache.CACHE_REPOSITORY;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerImageCacheTest {
+    private static final long MB = 1024 * 1024;
+
+    @Mock
+    private DockerConnector docker;
+
+    private DockerImageCache imageCache;
+    private File             context;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        imageCache = new DockerImageCache(docker, 10);
+        context = Files.createTempDirectory("context").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(context);
+    }
+
+    @Test
+    public void shouldIgnoreFormattingOfDockerfileOnKeyComputation() throws Exception {
+        final String key1 = imageCache.computeKey(DockerfileParser.parse("FROM busybox\nRUN echo hello"));
+        final String key2 = imageCache.computeKey(DockerfileParser.parse("# comment\nfrom busybox\n\n   run echo hello   \n"));
+
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    public void shouldComputeDifferentKeysForDifferentRecipes() throws Exception {
+        final String key1 = imageCache.computeKey(DockerfileParser.parse("FROM busybox\nRUN echo hello"));
+        final String key2 = imageCache.computeKey(DockerfileParser.parse("FROM busybox\nRUN echo Hello"));
+
+        assertNotEquals(key1, key2);
+    }
+
+    @Test
+    public void shouldIncludeContentOfContextFilesIntoKey() throws Exception {
+        final File file = new File(context, "script.sh");
+        Files.write(file.toPath(), "echo hello".getBytes());
+        final String key1 = imageCache.computeKey(DockerfileParser.parse("FROM busybox"), file);
+
+        Files.write(file.toPath(), "echo Hello".getBytes());
+        final String key2 = imageCache.computeKey(DockerfileParser.parse("FROM busybox"), file);
+
+        assertNotEquals(key1, key2);
+    }
+
+    @Test
+    public void shouldTagCachedImageWithMachineImageName() throws Exception {
+        when(docker.inspectImage(CACHE_REPOSITORY + ":key")).thenReturn(imageInfo(MB));
+
+        assertTrue(imageCache.tagCachedImage("key", "eclipse-che/machine"));
+
+        verify(docker).tag(CACHE_REPOSITORY + ":key", "eclipse-che/machine", null);
+        assertEquals(imageCache.getKeys(), Collections.singleton("key"));
+    }
+
+    @Test
+    public void shouldNotTagImageIfItIsNotCached() throws Exception {
+        when(docker.inspectImage(CACHE_REPOSITORY + ":key")).thenThrow(new DockerException("not found", 404));
+
+        assertFalse(imageCache.tagCachedImage("key", "eclipse-che/machine"));
+
+        verify(docker, never()).tag(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void shouldTagBuiltImageWithCacheTag() throws Exception {
+        when(docker.inspectImage("imageId")).thenReturn(imageInfo(MB));
+
+        imageCache.add("key", "imageId", "eclipse-che/machine");
+
+        verify(docker).tag("imageId", CACHE_REPOSITORY, "key");
+        assertEquals(imageCache.getSize(), MB);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedImagesThatAreNotUsedByMachines() throws Exception {
+        when(docker.inspectImage("image1")).thenReturn(imageInfo(4 * MB));
+        when(docker.inspectImage("image2")).thenReturn(imageInfo(4 * MB));
+        when(docker.inspectImage("image3")).thenReturn(imageInfo(4 * MB));
+        when(docker.inspectImage("image4")).thenReturn(imageInfo(4 * MB));
+        imageCache.add("key1", "image1", "eclipse-che/machine1");
+        imageCache.add("key2", "image2", "eclipse-che/machine2");
+        imageCache.release("eclipse-che/machine1");
+        imageCache.release("eclipse-che/machine2");
+
+        // image of running machine can't be evicted
+        imageCache.add("key3", "image3", "eclipse-che/machine3");
+        imageCache.release("eclipse-che/machine3");
+        imageCache.add("key4", "image4", "eclipse-che/machine4");
+
+        verify(docker).removeImage(CACHE_REPOSITORY + ":key1", false);
+        verify(docker).removeImage(CACHE_REPOSITORY + ":key2", false);
+        verify(docker, never()).removeImage(CACHE_REPOSITORY + ":key4", false);
+        assertEquals(imageCache.getKeys(), new HashSet<>(asList("key3", "key4")));
+    }
+
+    @Test
+    public void shouldNotEvictImagesWhileTheyAreUsedByMachines() throws Exception {
+        when(docker.inspectImage("image1")).thenReturn(imageInfo(8 * MB));
+        when(docker.inspectImage("image2")).thenReturn(imageInfo(8 * MB));
+
+        imageCache.add("key1", "image1", "eclipse-che/machine1");
+        imageCache.add("key2", "image2", "eclipse-che/machine2");
+
+        verify(docker, never()).removeImage(anyString(), anyBoolean());
+        assertEquals(imageCache.getKeys(), new HashSet<>(asList("key1", "key2")));
+    }
+
+    @Test
+    public void shouldCountSizeOfLayersSharedByImagesOnce() throws Exception {
+        when(docker.inspectImage("base")).thenReturn(imageInfo("base", null, 4 * MB));
+        when(docker.inspectImage("image1")).thenReturn(imageInfo("image1", "base", 7 * MB));
+        when(docker.inspectImage("image2")).thenReturn(imageInfo("image2", "base", 7 * MB));
+
+        imageCache.add("key1", "image1", "eclipse-che/machine1");
+        imageCache.release("eclipse-che/machine1");
+        imageCache.add("key2", "image2", "eclipse-che/machine2");
+        imageCache.release("eclipse-che/machine2");
+
+        verify(docker, never()).removeImage(anyString(), anyBoolean());
+        assertEquals(imageCache.getSize(), 10 * MB);
+        assertEquals(imageCache.getKeys(), new HashSet<>(asList("key1", "key2")));
+    }
+
+    @Test
+    public void shouldAddImagesCachedBeforeRestartIntoCache() throws Exception {
+        when(docker.listImages()).thenReturn(new Image[] {image(1, CACHE_REPOSITORY + ":key1"),
+                                                          image(2, "eclipse-che/machine"),
+                                                          image(3, CACHE_REPOSITORY + ":key2", "eclipse-che/machine2")});
+        when(docker.inspectImage(CACHE_REPOSITORY + ":key1")).thenReturn(imageInfo(6 * MB));
+        when(docker.inspectImage(CACHE_REPOSITORY + ":key2")).thenReturn(imageInfo(6 * MB));
+
+        imageCache.loadCachedImages();
+
+        // the oldest image is evicted to fit size limit
+        verify(docker).removeImage(CACHE_REPOSITORY + ":key1", false);
+        assertEquals(imageCache.getKeys(), Collections.singleton("key2"));
+        assertEquals(imageCache.getSize(), 6 * MB);
+    }
+
+    private ImageInfo imageInfo(long size) {
+        final ImageInfo imageInfo = new ImageInfo();
+        imageInfo.setSize(size);
+        return imageInfo;
+    }
+
+    private ImageInfo imageInfo(String id, String parent, long virtualSize) {
+        final ImageInfo imageInfo = new ImageInfo();
+        imageInfo.setId(id);
+        imageInfo.setParent(parent);
+        imageInfo.setVirtualSize(virtualSize);
+        return imageInfo;
+    }
+
+    private Image image(long created, String... repoTags) {
+        final Image image = new Image();
+        image.setCreated(created);
+        image.setRepoTags(repoTags);
+        return image;
+    }
+}
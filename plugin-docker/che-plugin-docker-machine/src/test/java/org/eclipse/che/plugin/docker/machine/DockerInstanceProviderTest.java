@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.model.impl.ChannelsImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
@@ -27,6 +28,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.user.UserImpl;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+import org.eclipse.che.plugin.docker.client.Dockerfile;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
@@ -49,6 +51,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static org.mockito.Matchers.any;
@@ -56,9 +63,11 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -85,6 +94,9 @@ public class DockerInstanceProviderTest {
     @Mock
     private DockerInstanceStopDetector dockerInstanceStopDetector;
 
+    @Mock
+    private DockerImageCache dockerImageCache;
+
     @Mock
     private DockerNode dockerNode;
 
@@ -101,6 +113,7 @@ public class DockerInstanceProviderTest {
                                                                 dockerConnectorConfiguration,
                                                                 dockerMachineFactory,
                                                                 dockerInstanceStopDetector,
+                                                                dockerImageCache,
                                                                 Collections.<ServerConf>emptySet(),
                                                                 Collections.<ServerConf>emptySet(),
                                                                 Collections.<String>emptySet(),
@@ -154,6 +167,77 @@ public class DockerInstanceProviderTest {
                                            anyVararg());
     }
 
+    @Test
+    public void shouldNotBuildDockerfileIfImageOfTheSameRecipeIsCached() throws Exception {
+        String generatedContainerId = "genContainerId";
+        doReturn(generatedContainerId).when(dockerInstanceProvider).generateContainerName(eq(WORKSPACE_ID), eq(DISPLAY_NAME));
+        when(dockerImageCache.isEnabled()).thenReturn(true);
+        when(dockerImageCache.computeKey(any(Dockerfile.class), anyVararg())).thenReturn("recipeHash");
+        when(dockerImageCache.tagCachedImage("recipeHash", "eclipse-che/" + generatedContainerId)).thenReturn(true);
+
+
+        createInstanceFromRecipe();
+
+
+        verify(dockerConnector, never()).buildImage(anyString(),
+                                                    any(ProgressMonitor.class),
+                                                    any(AuthConfigs.class),
+                                                    anyBoolean(),
+                                                    anyVararg());
+    }
+
+    @Test
+    public void shouldAddBuiltImageIntoCacheIfImageOfTheSameRecipeIsNotCached() throws Exception {
+        String generatedContainerId = "genContainerId";
+        doReturn(generatedContainerId).when(dockerInstanceProvider).generateContainerName(eq(WORKSPACE_ID), eq(DISPLAY_NAME));
+        when(dockerImageCache.isEnabled()).thenReturn(true);
+        when(dockerImageCache.computeKey(any(Dockerfile.class), anyVararg())).thenReturn("recipeHash");
+        when(dockerConnector.buildImage(anyString(), any(ProgressMonitor.class), any(AuthConfigs.class), anyBoolean(), anyVararg()))
+                .thenReturn("imageId");
+
+
+        createInstanceFromRecipe();
+
+
+        verify(dockerImageCache).add("recipeHash", "imageId", "eclipse-che/" + generatedContainerId);
+    }
+
+    @Test
+    public void shouldNotUseImageCacheIfBaseImageIsPulledOnEachBuild() throws Exception {
+        dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
+                                                                dockerConnectorConfiguration,
+                                                                dockerMachineFactory,
+                                                                dockerInstanceStopDetector,
+                                                                dockerImageCache,
+                                                                Collections.<ServerConf>emptySet(),
+                                                                Collections.<ServerConf>emptySet(),
+                                                                Collections.<String>emptySet(),
+                                                                Collections.<String>emptySet(),
+                                                                null,
+                                                                workspaceFolderPathProvider,
+                                                                PROJECT_FOLDER_PATH,
+                                                                true,
+                                                                Collections.<String>emptySet(),
+                                                                Collections.<String>emptySet()));
+        String generatedContainerId = "genContainerId";
+        doReturn(generatedContainerId).when(dockerInstanceProvider).generateContainerName(eq(WORKSPACE_ID), eq(DISPLAY_NAME));
+        when(dockerImageCache.isEnabled()).thenReturn(true);
+        when(dockerImageCache.computeKey(any(Dockerfile.class), anyVararg())).thenReturn("recipeHash");
+        when(dockerImageCache.tagCachedImage("recipeHash", "eclipse-che/" + generatedContainerId)).thenReturn(true);
+
+
+        createInstanceFromRecipe();
+
+
+        verify(dockerConnector).buildImage(eq("eclipse-che/" + generatedContainerId),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           eq(true),
+                                           anyVararg());
+        verify(dockerImageCache, never()).tagCachedImage(anyString(), anyString());
+        verify(dockerImageCache, never()).add(anyString(), anyString(), anyString());
+    }
+
     @Test
     public void shouldPullDockerImageOnInstanceCreationFromSnapshot() throws Exception {
         String repo = "repo";
@@ -167,6 +251,45 @@ public class DockerInstanceProviderTest {
         verify(dockerConnector).pull(eq(repo), eq(tag), eq(registry), any(ProgressMonitor.class));
     }
 
+    @Test
+    public void shouldPullImageOnceOnConcurrentInstancesCreationFromTheSameSnapshot() throws Exception {
+        final CountDownLatch pullStarted = new CountDownLatch(1);
+        final CountDownLatch secondMachineWaits = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pullStarted.countDown();
+            secondMachineWaits.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(dockerConnector).pull(anyString(), anyString(), anyString(), any(ProgressMonitor.class));
+        final LineConsumer secondMachineLogs = new LineConsumer() {
+            @Override
+            public void writeLine(String line) {
+                secondMachineWaits.countDown();
+            }
+
+            @Override
+            public void close() {}
+        };
+        final DockerInstanceKey snapshot = new DockerInstanceKey("repo", "tag", "imageId", "localhost:1234");
+
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Instance> first = submitCreation(executor, snapshot, "machine1", LineConsumer.DEV_NULL);
+            pullStarted.await(10, TimeUnit.SECONDS);
+            final Future<Instance> second = submitCreation(executor, snapshot, "machine2", secondMachineLogs);
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+
+        verify(dockerConnector).pull(eq("repo"), eq("tag"), eq("localhost:1234"), any(ProgressMonitor.class));
+        verify(dockerConnector, times(2)).tag(eq("localhost:1234/repo:tag"), anyString(), eq(null));
+        verify(dockerConnector).removeImage(eq("localhost:1234/repo:tag"), eq(false));
+        assertEquals(dockerInstanceProvider.getStageTimings().get(DockerInstanceProvider.CreationStage.PULL_IMAGE).getCount(), 2);
+    }
+
     @Test
     public void shouldReTagBuiltImageWithPredictableOnInstanceCreationFromRecipe() throws Exception {
         String generatedContainerId = "genContainerId";
@@ -398,6 +521,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -437,6 +561,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -480,6 +605,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -519,6 +645,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -560,6 +687,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -596,6 +724,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -638,6 +767,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.<String>emptySet(),
@@ -674,6 +804,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -706,6 +837,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -741,6 +873,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -775,6 +908,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -809,6 +943,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -850,6 +985,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -892,6 +1028,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -933,6 +1070,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -972,6 +1110,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1011,6 +1150,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1050,6 +1190,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1089,6 +1230,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1130,6 +1272,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1265,6 +1408,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<String>emptySet(),
@@ -1296,6 +1440,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<String>emptySet(),
@@ -1332,6 +1477,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<String>emptySet(),
@@ -1363,6 +1509,7 @@ public class DockerInstanceProviderTest {
                                                             dockerConnectorConfiguration,
                                                             dockerMachineFactory,
                                                             dockerInstanceStopDetector,
+                                                            dockerImageCache,
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<ServerConf>emptySet(),
                                                             Collections.<String>emptySet(),
@@ -1385,6 +1532,21 @@ public class DockerInstanceProviderTest {
         assertEquals(new HashSet<>(Arrays.asList(argumentCaptor.getValue().getEnv())), commonEnv);
     }
 
+    private Future<Instance> submitCreation(ExecutorService executor,
+                                            DockerInstanceKey snapshot,
+                                            String machineName,
+                                            LineConsumer creationLogs) {
+        final EnvironmentContext context = EnvironmentContext.getCurrent();
+        return executor.submit(() -> {
+            EnvironmentContext.setCurrent(context);
+            try {
+                return dockerInstanceProvider.createInstance(snapshot, createMachineState(machineName), creationLogs);
+            } finally {
+                EnvironmentContext.reset();
+            }
+        });
+    }
+
     private void createInstanceFromRecipe() throws Exception {
         createInstanceFromRecipe(false,
                                  64,
@@ -1543,6 +1705,20 @@ public class DockerInstanceProviderTest {
                                               LineConsumer.DEV_NULL);
     }
 
+    private MachineState createMachineState(String machineId) {
+        return new MachineStateImpl(false,
+                                    "machineType",
+                                    DISPLAY_NAME,
+                                    new MachineSourceImpl("type", "location"),
+                                    new LimitsImpl(64),
+                                    machineId,
+                                    new ChannelsImpl("chan1", "chan2"),
+                                    WORKSPACE_ID,
+                                    "userId",
+                                    "envName",
+                                    MachineStatus.CREATING);
+    }
+
     private void createInstanceFromSnapshot(MachineState machineState)
             throws NotFoundException, MachineException {
 
@@ -79,7 +79,10 @@ public class DockerInstanceReadFileContentTest {
                                                 null,
                                                 null,
                                                 dockerInstanceStopDetector,
-                                                mock(DockerInstanceProcessesCleaner.class)));
+                                                mock(DockerInstanceProcessesCleaner.class),
+                                                mock(DockerProcessesLivenessChecker.class),
+                                                mock(DockerImageCache.class),
+                                                mock(DockerInstanceSnapshotSaver.class)));
     }
 
 
@@ -107,7 +110,7 @@ public class DockerInstanceReadFileContentTest {
             MessageProcessor<LogMessage> processor = (MessageProcessor<LogMessage>)invocationOnMock.getArguments()[1];
             processor.process(logMessage);
             return processor;
-        }).when(dockerConnector).startExec(anyString(), any());
+        }).when(dockerConnector).startExec(anyString(), any(MessageProcessor.class));
 
         dockerInstance.readFileContent(filePath, 1, 10);
     }
@@ -122,7 +125,7 @@ public class DockerInstanceReadFileContentTest {
             MessageProcessor<LogMessage> processor = (MessageProcessor<LogMessage>)invocationOnMock.getArguments()[1];
             processor.process(logMessage);
             return processor;
-        }).when(dockerConnector).startExec(anyString(), any());
+        }).when(dockerConnector).startExec(anyString(), any(MessageProcessor.class));
 
         dockerInstance.readFileContent(filePath, 1, 10);
     }
@@ -138,7 +141,7 @@ public class DockerInstanceReadFileContentTest {
             MessageProcessor<LogMessage> processor = (MessageProcessor<LogMessage>)invocationOnMock.getArguments()[1];
             processor.process(logMessage);
             return processor;
-        }).when(dockerConnector).startExec(anyString(), any());
+        }).when(dockerConnector).startExec(anyString(), any(MessageProcessor.class));
 
         String result = dockerInstance.readFileContent(filePath, 1, 10);
 
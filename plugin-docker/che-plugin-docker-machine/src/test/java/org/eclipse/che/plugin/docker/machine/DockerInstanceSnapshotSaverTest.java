@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerException;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.json.ProgressDetail;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerInstanceSnapshotSaverTest {
+    private static final String CONTAINER  = "container";
+    private static final String REGISTRY   = "localhost:5000";
+    private static final String REPOSITORY = "repo";
+    private static final String IMAGE      = REGISTRY + '/' + REPOSITORY;
+
+    @Mock
+    private DockerConnector docker;
+
+    private DockerInstanceSnapshotSaver snapshotSaver;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        snapshotSaver = new DockerInstanceSnapshotSaver(docker);
+    }
+
+    @Test
+    public void shouldPushSnapshotWhenCommittedImageBecomesVisible() throws Exception {
+        when(docker.inspectImage(IMAGE)).thenThrow(new DockerException("not found", 404))
+                                        .thenThrow(new DockerException("not found", 404))
+                                        .thenReturn(new ImageInfo());
+
+        final DockerInstanceKey key = snapshotSaver.save(CONTAINER, REGISTRY, REPOSITORY, "comment", "owner", ProgressMonitor.DEV_NULL);
+
+        final InOrder inOrder = inOrder(docker);
+        inOrder.verify(docker).commit(CONTAINER, IMAGE, null, "comment", "owner");
+        inOrder.verify(docker, times(3)).inspectImage(IMAGE);
+        inOrder.verify(docker).push(eq(REPOSITORY), eq(null), eq(REGISTRY), any(ProgressMonitor.class));
+        assertEquals(key.getRepository(), REPOSITORY);
+        assertEquals(key.getRegistry(), REGISTRY);
+    }
+
+    @Test
+    public void shouldCountBytesOfLayersUploadedToRegistry() throws Exception {
+        when(docker.inspectImage(IMAGE)).thenReturn(new ImageInfo());
+        doAnswer(invocation -> {
+            final ProgressMonitor progressMonitor = (ProgressMonitor)invocation.getArguments()[3];
+            progressMonitor.updateProgress(status("layer1", "Image already exists", 0));
+            progressMonitor.updateProgress(status("layer2", "Pushing", 1000));
+            progressMonitor.updateProgress(status("layer2", "Pushing", 1000));
+            progressMonitor.updateProgress(status("layer3", "Pushing", 24));
+            progressMonitor.updateProgress(status("layer3", "Image successfully pushed", 0));
+            return null;
+        }).when(docker).push(anyString(), anyString(), anyString(), any(ProgressMonitor.class));
+
+        snapshotSaver.save(CONTAINER, REGISTRY, REPOSITORY, "comment", null, ProgressMonitor.DEV_NULL);
+
+        assertEquals(snapshotSaver.getLastBytesPushed(), 1024);
+        assertEquals(snapshotSaver.getTotalBytesPushed(), 1024);
+        assertEquals(snapshotSaver.getSnapshotsCount(), 1);
+    }
+
+    @Test
+    public void shouldInterruptPushOnInterruptionOfSavingThread() throws Exception {
+        when(docker.inspectImage(IMAGE)).thenReturn(new ImageInfo());
+        final CountDownLatch pushStarted = new CountDownLatch(1);
+        final CountDownLatch pushInterrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pushStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                pushInterrupted.countDown();
+                throw e;
+            }
+            return null;
+        }).when(docker).push(anyString(), anyString(), anyString(), any(ProgressMonitor.class));
+
+        final Thread saving = new Thread(() -> {
+            try {
+                snapshotSaver.save(CONTAINER, REGISTRY, REPOSITORY, "comment", null, ProgressMonitor.DEV_NULL);
+            } catch (Exception ignored) {
+            }
+        });
+        saving.start();
+        assertTrue(pushStarted.await(10, TimeUnit.SECONDS));
+        saving.interrupt();
+
+        assertTrue(pushInterrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(snapshotSaver.getSnapshotsCount(), 0);
+    }
+
+    private ProgressStatus status(String id, String status, long total) {
+        final ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setId(id);
+        progressStatus.setStatus(status);
+        if (total > 0) {
+            final ProgressDetail progressDetail = new ProgressDetail();
+            progressDetail.setTotal(total);
+            progressStatus.setProgressDetail(progressDetail);
+        }
+        return progressStatus;
+    }
+}
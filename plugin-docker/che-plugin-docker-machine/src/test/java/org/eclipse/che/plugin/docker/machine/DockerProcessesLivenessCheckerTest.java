@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.Exec;
+import org.eclipse.che.plugin.docker.client.LogMessage;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerProcessesLivenessCheckerTest {
+    private static final String CONTAINER = "container";
+
+    @Mock
+    private DockerConnector docker;
+    @Mock
+    private Exec            exec;
+
+    private DockerProcessesLivenessChecker checker;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        checker = new DockerProcessesLivenessChecker(docker);
+        when(exec.getId()).thenReturn("execId");
+        when(docker.createExec(anyString(), anyBoolean(), Matchers.<String>anyVararg())).thenReturn(exec);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            final MessageProcessor<LogMessage> processor = (MessageProcessor<LogMessage>)invocation.getArguments()[1];
+            processor.process(logMessage("/tmp/docker-exec-1.pid"));
+            processor.process(logMessage("/tmp/docker-exec-3.pid"));
+            return null;
+        }).when(docker).startExec(anyString(), any(MessageProcessor.class));
+    }
+
+    @Test
+    public void shouldCheckAllProcessesOfContainerWithOneExec() throws Exception {
+        assertTrue(checker.isAlive(CONTAINER, "/tmp/docker-exec-1.pid"));
+        assertFalse(checker.isAlive(CONTAINER, "/tmp/docker-exec-2.pid"));
+        assertTrue(checker.isAlive(CONTAINER, "/tmp/docker-exec-3.pid"));
+
+        verify(docker).createExec(eq(CONTAINER), eq(false), Matchers.<String>anyVararg());
+        verify(docker).startExec(eq("execId"), any(MessageProcessor.class));
+        assertEquals(checker.getCacheHits(), 2);
+        assertEquals(checker.getRequestsCount(), 3);
+        assertEquals(checker.getExecsCount(), 1);
+    }
+
+    @Test
+    public void shouldCheckProcessesAgainAfterInvalidation() throws Exception {
+        checker.isAlive(CONTAINER, "/tmp/docker-exec-1.pid");
+
+        checker.invalidate(CONTAINER);
+        checker.isAlive(CONTAINER, "/tmp/docker-exec-1.pid");
+
+        verify(docker, times(2)).startExec(eq("execId"), any(MessageProcessor.class));
+        assertEquals(checker.getCacheHits(), 0);
+    }
+
+    @Test
+    public void shouldNotCacheAbsenceOfPidFileOfJustStartedProcess() throws Exception {
+        checker.processStarted(CONTAINER, "/tmp/docker-exec-5.pid");
+
+        assertFalse(checker.isAlive(CONTAINER, "/tmp/docker-exec-5.pid"));
+        assertFalse(checker.isAlive(CONTAINER, "/tmp/docker-exec-5.pid"));
+
+        verify(docker, times(2)).startExec(eq("execId"), any(MessageProcessor.class));
+    }
+
+    @Test
+    public void shouldCacheStateOfStartedProcessOnceItIsSeenRunning() throws Exception {
+        checker.processStarted(CONTAINER, "/tmp/docker-exec-3.pid");
+
+        assertTrue(checker.isAlive(CONTAINER, "/tmp/docker-exec-3.pid"));
+        assertTrue(checker.isAlive(CONTAINER, "/tmp/docker-exec-3.pid"));
+
+        verify(docker).startExec(eq("execId"), any(MessageProcessor.class));
+        assertEquals(checker.getCacheHits(), 1);
+    }
+
+    private LogMessage logMessage(String content) {
+        final LogMessage logMessage = mock(LogMessage.class);
+        when(logMessage.getType()).thenReturn(LogMessage.Type.STDOUT);
+        when(logMessage.getContent()).thenReturn(content);
+        return logMessage;
+    }
+}
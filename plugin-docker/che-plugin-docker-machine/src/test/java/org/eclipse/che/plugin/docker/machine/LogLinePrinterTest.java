@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.plugin.docker.client.LogMessage;
+import org.testng.annotations.Test;
+
+import java.nio.CharBuffer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class LogLinePrinterTest {
+    @Test
+    public void shouldPrefixLinesWithTypeOfStream() throws Exception {
+        final LineConsumer output = mock(LineConsumer.class);
+        final LogLinePrinter printer = new LogLinePrinter(output);
+        final CharBuffer line = CharBuffer.allocate(16);
+
+        line.put("first").flip();
+        printer.process(LogMessage.Type.STDOUT, line);
+        line.clear();
+        line.put("second").flip();
+        printer.process(LogMessage.Type.STDERR, line);
+
+        verify(output).writeLine("[STDOUT] first");
+        verify(output).writeLine("[STDERR] second");
+    }
+}
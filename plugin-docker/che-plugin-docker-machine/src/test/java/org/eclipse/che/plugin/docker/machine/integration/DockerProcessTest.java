@@ -22,6 +22,7 @@ import org.eclipse.che.plugin.docker.client.helper.DefaultNetworkFinder;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.machine.DockerProcess;
+import org.eclipse.che.plugin.docker.machine.DockerProcessesLivenessChecker;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -85,6 +86,7 @@ public class DockerProcessTest {
         }
         Command command = new CommandImpl("tailf", "tailf /dev/null", "mvn");
         final DockerProcess dockerProcess = new DockerProcess(docker,
+                                                              new DockerProcessesLivenessChecker(docker),
                                                               command,
                                                               container,
                                                               "outputChannel",
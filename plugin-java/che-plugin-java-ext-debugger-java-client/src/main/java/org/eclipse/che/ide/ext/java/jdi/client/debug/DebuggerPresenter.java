@@ -56,6 +56,7 @@ import org.eclipse.che.ide.ext.java.jdi.client.debug.expression.EvaluateExpressi
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolver;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverFactory;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverObserver;
+import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshaller;
 import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshallerWS;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
@@ -116,6 +117,12 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
 
     protected static final String LOCAL_STORAGE_DEBUGGER_KEY = "che-debugger";
     private static final   String TITLE                      = "Debug";
+    /** Time in milliseconds to wait for debugger events when they can't be received over WebSocket. */
+    private static final   long   EVENTS_WAIT_TIME           = 25000;
+    /** Delay in milliseconds before the first retry of failed request for debugger events, doubled for each next retry. */
+    private static final   int    EVENTS_RETRY_DELAY         = 1000;
+    /** Max number of retries of failed request for debugger events in a row. */
+    private static final   int    EVENTS_MAX_RETRIES         = 5;
 
     private final DtoFactory                             dtoFactory;
     private final DtoUnmarshallerFactory                 dtoUnmarshallerFactory;
@@ -147,6 +154,12 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     private       SubscriptionHandler<Void>              debuggerDisconnectedHandler;
     private       List<DebuggerVariable>                 variables;
     private       Location                               executionPoint;
+    /** Whether debugger events are requested over HTTP since WebSocket subscription failed. */
+    private       boolean                                pollingEvents;
+    /** Number of failed requests for debugger events in a row. */
+    private       int                                    eventsRetries;
+    /** Time in browser when the last step was requested, zero if execution point of the step is already shown. */
+    private       long                                   stepRequestTime;
 
     @Inject
     public DebuggerPresenter(DebuggerView view,
@@ -200,10 +213,16 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                 debuggerInfo = loadDebugInfo();
 
                 if (isDebuggerConnected()) {
-                    service.checkEvents(debuggerInfo.getId(), new AsyncRequestCallback<DebuggerEventList>() {
+                    service.checkEvents(debuggerInfo.getId(),
+                                        new AsyncRequestCallback<DebuggerEventList>(new DebuggerEventListUnmarshaller(dtoFactory)) {
                         @Override
                         protected void onSuccess(DebuggerEventList result) {
-                            onDebuggerConnected();
+                            if (result.isDisconnected()) {
+                                debuggerInfo = EmptyDebuggerInfo.INSTANCE;
+                                preserveDebugInfo();
+                            } else {
+                                onDebuggerConnected();
+                            }
                         }
 
                         @Override
@@ -352,10 +371,12 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
 
             if (activeFile == null || !filePaths.contains(activeFile.getPath())) {
                 final Location finalLocation = location;
+                final DebuggerEvent finalEvent = event;
                 openFile(location, filePaths, 0, new AsyncCallback<VirtualFile>() {
                     @Override
                     public void onSuccess(VirtualFile result) {
                         breakpointManager.setCurrentBreakpoint(finalLocation.getLineNumber() - 1);
+                        logStepLatency(finalEvent);
                     }
 
                     @Override
@@ -365,12 +386,24 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                 });
             } else {
                 breakpointManager.setCurrentBreakpoint(location.getLineNumber() - 1);
+                logStepLatency(event);
             }
             getStackFrameDump();
             changeButtonsEnableState(true);
         }
     }
 
+    /**
+     * Logs time since step was requested until its execution point is shown in editor. Both times are taken in browser,
+     * so the value includes the request, the step in the target JVM and delivery of the event.
+     */
+    private void logStepLatency(DebuggerEvent event) {
+        if (event.getType() == DebuggerEvent.STEP && stepRequestTime > 0) {
+            Log.debug(DebuggerPresenter.class, "Step is shown in " + (System.currentTimeMillis() - stepRequestTime) + " ms");
+            stepRequestTime = 0;
+        }
+    }
+
     /**
      * Breakpoint became active. It might happens because of different reasons:
      * <li>breakpoint was deferred and VM eventually loaded class and added it</li>
@@ -597,6 +630,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     @Override
     public void onStepIntoButtonClicked() {
         breakpointManager.removeCurrentBreakpoint();
+        stepRequestTime = System.currentTimeMillis();
 
         service.stepInto(debuggerInfo.getId(), new AsyncRequestCallback<Void>() {
             @Override
@@ -615,6 +649,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     @Override
     public void onStepOverButtonClicked() {
         breakpointManager.removeCurrentBreakpoint();
+        stepRequestTime = System.currentTimeMillis();
 
         service.stepOver(debuggerInfo.getId(), new AsyncRequestCallback<Void>() {
             @Override
@@ -634,6 +669,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     @Override
     public void onStepReturnButtonClicked() {
         breakpointManager.removeCurrentBreakpoint();
+        stepRequestTime = System.currentTimeMillis();
 
         service.stepReturn(debuggerInfo.getId(), new AsyncRequestCallback<Void>() {
             @Override
@@ -804,7 +840,11 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         try {
             messageBus.subscribe(debuggerEventsChannel, debuggerEventsHandler);
         } catch (WebSocketException e) {
-            Log.error(DebuggerPresenter.class, e);
+            Log.warn(DebuggerPresenter.class, "Can't receive debugger events over WebSocket, events are requested over HTTP. "
+                                              + e.getMessage());
+            pollingEvents = true;
+            eventsRetries = 0;
+            waitEvents(debuggerInfo.getId());
         }
 
         try {
@@ -815,7 +855,53 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         }
     }
 
+    /**
+     * Requests debugger events over HTTP, the request waits for new events and is repeated until server reports that debugger
+     * is disconnected. Failed request is retried with growing delay.
+     */
+    private void waitEvents(final String id) {
+        service.waitEvents(id, EVENTS_WAIT_TIME,
+                           new AsyncRequestCallback<DebuggerEventList>(new DebuggerEventListUnmarshaller(dtoFactory)) {
+                               @Override
+                               protected void onSuccess(DebuggerEventList result) {
+                                   if (!pollingEvents || !id.equals(debuggerInfo.getId())) {
+                                       return;
+                                   }
+                                   eventsRetries = 0;
+                                   onEventListReceived(result);
+                                   if (result.isDisconnected()) {
+                                       pollingEvents = false;
+                                       onDebuggerDisconnected();
+                                   } else {
+                                       waitEvents(id);
+                                   }
+                               }
+
+                               @Override
+                               protected void onFailure(Throwable exception) {
+                                   if (!pollingEvents || !id.equals(debuggerInfo.getId())) {
+                                       return;
+                                   }
+                                   if (eventsRetries == EVENTS_MAX_RETRIES) {
+                                       pollingEvents = false;
+                                       Log.error(DebuggerPresenter.class, exception);
+                                       return;
+                                   }
+                                   Log.warn(DebuggerPresenter.class, "Can't get debugger events, request is retried. " + exception.getMessage());
+                                   new Timer() {
+                                       @Override
+                                       public void run() {
+                                           if (pollingEvents && id.equals(debuggerInfo.getId())) {
+                                               waitEvents(id);
+                                           }
+                                       }
+                                   }.schedule(EVENTS_RETRY_DELAY << eventsRetries++);
+                               }
+                           });
+    }
+
     private void stopCheckingDebugEvents() {
+        pollingEvents = false;
         try {
             if (messageBus.isHandlerSubscribed(debuggerEventsHandler, debuggerEventsChannel)) {
                 messageBus.unsubscribe(debuggerEventsChannel, debuggerEventsHandler);
@@ -86,6 +86,16 @@ public interface DebuggerServiceClient {
      */
     void checkEvents(@NotNull String id, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
 
+    /**
+     * Returns debugger events, waits for new events if there are no events yet. Used when events can't be received over WebSocket.
+     *
+     * @param id
+     * @param timeout
+     *         max time in milliseconds to wait for events
+     * @param callback
+     */
+    void waitEvents(@NotNull String id, long timeout, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
+
     /**
      * Get dump of fields and local variable of current stack frame.
      *
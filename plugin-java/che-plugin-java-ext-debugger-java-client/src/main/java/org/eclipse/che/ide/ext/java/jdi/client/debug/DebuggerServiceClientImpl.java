@@ -109,6 +109,13 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
         asyncRequestFactory.createGetRequest(requestUrl).send(callback);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void waitEvents(@NotNull String id, long timeout, @NotNull AsyncRequestCallback<DebuggerEventList> callback) {
+        final String requestUrl = baseUrl + "/events/" + id + "?timeout=" + timeout;
+        asyncRequestFactory.createGetRequest(requestUrl).send(callback);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void getStackFrameDump(@NotNull String id, @NotNull AsyncRequestCallback<StackFrameDump> callback) {
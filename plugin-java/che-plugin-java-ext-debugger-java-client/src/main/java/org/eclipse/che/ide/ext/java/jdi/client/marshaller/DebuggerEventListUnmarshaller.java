@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.client.marshaller;
+
+import com.google.gwt.http.client.Response;
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONBoolean;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
+import org.eclipse.che.ide.ext.java.jdi.shared.BreakpointActivatedEvent;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
+import org.eclipse.che.ide.ext.java.jdi.shared.StepEvent;
+import org.eclipse.che.ide.rest.Unmarshallable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unmarshaller for deserializing debugger event list, which is received over HTTP.
+ */
+public class DebuggerEventListUnmarshaller implements Unmarshallable<DebuggerEventList> {
+    private DtoFactory        dtoFactory;
+    private DebuggerEventList events;
+
+    public DebuggerEventListUnmarshaller(DtoFactory dtoFactory) {
+        this.dtoFactory = dtoFactory;
+        this.events = dtoFactory.createDto(DebuggerEventList.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unmarshal(Response response) throws UnmarshallerException {
+        this.events.setEvents(parseEvents(dtoFactory, response.getText()));
+        this.events.setDisconnected(parseDisconnected(response.getText()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DebuggerEventList getPayload() {
+        return events;
+    }
+
+    /** Reads flag of terminated debugger session from JSON representation of debugger event list. */
+    static boolean parseDisconnected(String json) {
+        JSONObject jsonObject = JSONParser.parseStrict(json).isObject();
+        if (jsonObject == null || !jsonObject.containsKey("disconnected")) {
+            return false;
+        }
+        JSONBoolean disconnected = jsonObject.get("disconnected").isBoolean();
+        return disconnected != null && disconnected.booleanValue();
+    }
+
+    /** Creates events of the proper types from JSON representation of debugger event list. */
+    static List<DebuggerEvent> parseEvents(DtoFactory dtoFactory, String json) {
+        List<DebuggerEvent> result = new ArrayList<>();
+
+        JSONObject jsonObject = JSONParser.parseStrict(json).isObject();
+        if (jsonObject == null || !jsonObject.containsKey("events")) {
+            return result;
+        }
+
+        JSONArray events = jsonObject.get("events").isArray();
+        for (int i = 0; i < events.size(); i++) {
+            JSONObject event = events.get(i).isObject();
+            if (event.containsKey("type")) {
+                final int type = (int)event.get("type").isNumber().doubleValue();
+                if (DebuggerEvent.BREAKPOINT == type) {
+                    result.add(dtoFactory.createDtoFromJson(event.toString(), BreakPointEvent.class));
+                } else if (DebuggerEvent.STEP == type) {
+                    result.add(dtoFactory.createDtoFromJson(event.toString(), StepEvent.class));
+                } else if (DebuggerEvent.BREAKPOINT_ACTIVATED == type) {
+                    result.add(dtoFactory.createDtoFromJson(event.toString(), BreakpointActivatedEvent.class));
+                }
+            }
+        }
+        return result;
+    }
+}
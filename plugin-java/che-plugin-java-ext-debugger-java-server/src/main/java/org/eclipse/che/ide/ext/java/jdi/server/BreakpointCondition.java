@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import com.sun.jdi.Value;
+
+import org.eclipse.che.ide.ext.java.jdi.server.expression.CompiledExpression;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.Evaluator;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionException;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionParser;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.UnsupportedExpressionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Condition of breakpoint, is attached to the breakpoint request and checked on each hit of the breakpoint.
+ * <p/>
+ * Expression of condition is {@link CompiledExpression compiled} once and evaluated without parsing and name
+ * lookup on each hit. Expressions which can't be compiled or contain names which compiled expression can't resolve
+ * are evaluated with {@link ExpressionParser}. Rate limit restricts number of hits which are processed per second,
+ * other hits are skipped and target JVM is resumed immediately.
+ */
+final class BreakpointCondition {
+    private static final Logger LOG = LoggerFactory.getLogger(BreakpointCondition.class);
+
+    private final String expression;
+    private final int    hitCount;
+    private final int    rateLimit;
+
+    private CompiledExpression compiled;
+    private ExpressionParser   parser;
+
+    private long windowStart;
+    private int  windowHits;
+
+    private long evaluations;
+    private long skippedHits;
+    private long evaluationTime;
+
+    /**
+     * @param expression
+     *         condition expression, may be {@code null} if breakpoint is unconditional
+     * @param hitCount
+     *         number of hit on which breakpoint is activated, zero if breakpoint is activated on each hit
+     * @param rateLimit
+     *         max number of processed hits per second, zero if number of hits isn't limited
+     */
+    BreakpointCondition(String expression, int hitCount, int rateLimit) {
+        this.expression = expression == null || expression.isEmpty() ? null : expression;
+        this.hitCount = hitCount;
+        this.rateLimit = rateLimit;
+        if (this.expression != null) {
+            try {
+                compiled = CompiledExpression.compile(expression);
+            } catch (ExpressionException e) {
+                LOG.debug("Condition '{}' is not compiled, it is interpreted on each hit. {}", expression, e.getMessage());
+                parser = ExpressionParser.newInstance(expression);
+            }
+        }
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    int getHitCount() {
+        return hitCount;
+    }
+
+    int getRateLimit() {
+        return rateLimit;
+    }
+
+    boolean hasExpression() {
+        return expression != null;
+    }
+
+    /**
+     * Registers hit of breakpoint.
+     *
+     * @return {@code false} if hit must be skipped since rate limit is exceeded
+     */
+    boolean hit() {
+        if (rateLimit <= 0) {
+            return true;
+        }
+        final long now = System.nanoTime();
+        if (now - windowStart >= TimeUnit.SECONDS.toNanos(1)) {
+            windowStart = now;
+            windowHits = 0;
+        }
+        if (windowHits >= rateLimit) {
+            skippedHits++;
+            return false;
+        }
+        windowHits++;
+        return true;
+    }
+
+    /**
+     * Evaluates expression of condition.
+     *
+     * @throws ExpressionException
+     *         if expression can't be evaluated
+     */
+    Value evaluate(Evaluator ev) {
+        final long start = System.nanoTime();
+        try {
+            if (compiled != null) {
+                try {
+                    return compiled.evaluate(ev);
+                } catch (UnsupportedExpressionException e) {
+                    // Compiled expression supports less than interpreter, e.g. access to static fields of other class.
+                    // Other failures depend on values of the current hit, e.g. null object, compiled form is kept for them.
+                    LOG.debug("Compiled condition '{}' failed, it is interpreted on next hits. {}", expression, e.getMessage());
+                    compiled = null;
+                    parser = ExpressionParser.newInstance(expression);
+                }
+            }
+            return parser.evaluate(ev);
+        } finally {
+            evaluations++;
+            evaluationTime += System.nanoTime() - start;
+        }
+    }
+
+    /** Returns summary of evaluations of the condition. */
+    String getStatistics() {
+        final double seconds = evaluationTime / (double)TimeUnit.SECONDS.toNanos(1);
+        return String.format("condition '%s' (%s): %d evaluations, %.1f evaluations per second, %d skipped hits",
+                             expression, compiled != null ? "compiled" : "interpreted", evaluations,
+                             seconds > 0 ? evaluations / seconds : 0, skippedHits);
+    }
+}
@@ -15,6 +15,7 @@ import com.sun.jdi.Bootstrap;
 import com.sun.jdi.ClassNotPreparedException;
 import com.sun.jdi.IncompatibleThreadStateException;
 import com.sun.jdi.NativeMethodException;
+import com.sun.jdi.ObjectCollectedException;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.VMCannotBeModifiedException;
@@ -61,6 +62,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import static org.eclipse.che.commons.json.JsonHelper.toJson;
 
@@ -79,6 +81,12 @@ public class Debugger implements EventsHandler {
     private static final ConcurrentMap<String, Debugger> instances            = new ConcurrentHashMap<>();
     private static final String                          EVENTS_CHANNEL       = "debugger:events:";
     private static final String                          DISCONNECTED_CHANNEL = "debugger:disconnected:";
+    /** Max number of events which are kept for clients that poll events. */
+    private static final int                             MAX_QUEUED_EVENTS    = 1000;
+    /** Max number of nested variables which are read at once, larger arrays are split in ranges. */
+    private static final int                             VARIABLES_PAGE_SIZE  = 100;
+    /** Property of breakpoint request which holds its {@link BreakpointCondition}. */
+    private static final String                          CONDITION_PROPERTY   = "org.eclipse.che.ide.java.debug.condition";
 
     public static Debugger newInstance(String host, int port) throws VMConnectException {
         Debugger d = new Debugger(host, port);
@@ -94,10 +102,15 @@ public class Debugger implements EventsHandler {
         return d;
     }
 
+    /** Returns debugger or {@code null} if there is no debugger with such name or it is already disconnected. */
+    public static Debugger findInstance(String name) {
+        return instances.get(name);
+    }
+
     final String id = Long.toString(counter.getAndIncrement());
     private final String host;
     private final int    port;
-    private final List<DebuggerEvent> events = new ArrayList<>();
+    private final DebuggerEventQueue events = new DebuggerEventQueue(MAX_QUEUED_EVENTS);
 
     /**
      * A mapping of source file names to breakpoints. This mapping is used to set
@@ -115,6 +128,11 @@ public class Debugger implements EventsHandler {
     private ThreadReference thread;
     /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
     private JdiStackFrame   stackFrame;
+    /**
+     * Values of variables read since target JVM was suspended, mapped by path of variable. Values which refer objects
+     * aren't changed while JVM is suspended, so cache is cleared on resume, step and change of value.
+     */
+    private final ConcurrentMap<List<String>, JdiValue> values = new ConcurrentHashMap<>();
 
     /**
      * Create debugger and connect it to the JVM which already running at the specified host and port.
@@ -244,9 +262,14 @@ public class Debugger implements EventsHandler {
             EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
             breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
             String expression = breakpoint.getCondition();
-            if (!(expression == null || expression.isEmpty())) {
-                ExpressionParser parser = ExpressionParser.newInstance(expression);
-                breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+            if (!(expression == null || expression.isEmpty()) || breakpoint.getHitCount() > 0 || breakpoint.getRateLimit() > 0) {
+                breakPointRequest.putProperty(CONDITION_PROPERTY, new BreakpointCondition(expression,
+                                                                                          breakpoint.getHitCount(),
+                                                                                          breakpoint.getRateLimit()));
+            }
+            if (breakpoint.getHitCount() > 0) {
+                // Hits are counted by target JVM, request expires after the event is generated.
+                breakPointRequest.addCountFilter(breakpoint.getHitCount());
             }
             breakPointRequest.setEnabled(true);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
@@ -299,11 +322,18 @@ public class Debugger implements EventsHandler {
         for (BreakpointRequest breakpointRequest : breakpointRequests) {
             com.sun.jdi.Location location = breakpointRequest.location();
             // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-            breakPoints.add(DtoFactory.getInstance().createDto(BreakPoint.class)
-                                      .withEnabled(true)
-                                      .withLocation(DtoFactory.getInstance().createDto(Location.class)
-                                                              .withClassName(location.declaringType().name())
-                                                              .withLineNumber(location.lineNumber())));
+            BreakPoint breakPoint = DtoFactory.getInstance().createDto(BreakPoint.class)
+                                              .withEnabled(true)
+                                              .withLocation(DtoFactory.getInstance().createDto(Location.class)
+                                                                      .withClassName(location.declaringType().name())
+                                                                      .withLineNumber(location.lineNumber()));
+            BreakpointCondition condition = (BreakpointCondition)breakpointRequest.getProperty(CONDITION_PROPERTY);
+            if (condition != null) {
+                breakPoint.withCondition(condition.getExpression())
+                          .withHitCount(condition.getHitCount())
+                          .withRateLimit(condition.getRateLimit());
+            }
+            breakPoints.add(breakPoint);
         }
         Collections.sort(breakPoints, BREAKPOINT_COMPARATOR);
         return breakPoints;
@@ -327,6 +357,7 @@ public class Debugger implements EventsHandler {
         for (BreakpointRequest breakpointRequest : snapshot) {
             com.sun.jdi.Location location = breakpointRequest.location();
             if (location.declaringType().name().equals(className) && location.lineNumber() == lineNumber) {
+                logConditionStatistics(breakpointRequest);
                 requestManager.deleteEventRequest(breakpointRequest);
                 LOG.debug("Delete breakpoint: {}", location);
             }
@@ -340,7 +371,18 @@ public class Debugger implements EventsHandler {
      *         when any JDI errors occurs when try to delete break point
      */
     public void deleteAllBreakPoints() throws DebuggerException {
-        getEventManager().deleteAllBreakpoints();
+        EventRequestManager requestManager = getEventManager();
+        for (BreakpointRequest breakpointRequest : requestManager.breakpointRequests()) {
+            logConditionStatistics(breakpointRequest);
+        }
+        requestManager.deleteAllBreakpoints();
+    }
+
+    private void logConditionStatistics(BreakpointRequest breakpointRequest) {
+        BreakpointCondition condition = (BreakpointCondition)breakpointRequest.getProperty(CONDITION_PROPERTY);
+        if (condition != null && condition.hasExpression()) {
+            LOG.debug("Breakpoint {}, {}", breakpointRequest.location(), condition.getStatistics());
+        }
     }
 
     /**
@@ -351,12 +393,38 @@ public class Debugger implements EventsHandler {
      *         when any JDI errors occurs when try to get events
      */
     public List<DebuggerEvent> getEvents() throws DebuggerException {
-        List<DebuggerEvent> eventsSnapshot;
-        synchronized (events) {
-            eventsSnapshot = new ArrayList<>(events);
-            events.clear();
+        return getEvents(0);
+    }
+
+    /**
+     * Get next list of debugger events, waits for events if none occurred after last visit this method.
+     * Events are delivered over WebSocket as soon as they occur, this method is a fallback for clients
+     * which can't receive them.
+     *
+     * @param timeout
+     *         max time in milliseconds to wait for events
+     * @return set of the debugger's events which occurred after last visit this method, consecutive step
+     * events are coalesced and the oldest events may be dropped if events weren't requested for a long time
+     * @throws DebuggerException
+     *         when waiting for events is interrupted
+     */
+    public List<DebuggerEvent> getEvents(long timeout) throws DebuggerException {
+        try {
+            final List<DebuggerEvent> polled = events.poll(timeout);
+            if (!polled.isEmpty()) {
+                LOG.debug("{} debugger events polled, the oldest of them waited {} ms in queue",
+                          polled.size(), System.currentTimeMillis() - polled.get(0).getTime());
+            }
+            return polled;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DebuggerException("Waiting for debugger events is interrupted. ", e);
         }
-        return eventsSnapshot;
+    }
+
+    /** Returns {@code true} if connection to the target JVM is closed, no more events will occur. */
+    public boolean isDisconnected() {
+        return events.isClosed();
     }
 
     /**
@@ -397,32 +465,11 @@ public class Debugger implements EventsHandler {
         }
 
         for (JdiField f : getCurrentFrame().getFields()) {
-            dump.getFields().add((Field)DtoFactory.getInstance().createDto(Field.class)
-                                                  .withIsFinal(f.isFinal())
-                                                  .withIsStatic(f.isStatic())
-                                                  .withIsTransient(f.isTransient())
-                                                  .withIsVolatile(f.isVolatile())
-                                                  .withName(f.getName())
-                                                  .withExistInformation(existInformation)
-                                                  .withValue(f.getValue().getAsString())
-                                                  .withType(f.getTypeName())
-                                                  .withVariablePath(
-                                                          DtoFactory.getInstance().createDto(VariablePath.class)
-                                                                    .withPath(Arrays.asList(f.isStatic() ? "static" : "this", f.getName()))
-                                                                   )
-                                                  .withPrimitive(f.isPrimitive()));
+            List<String> path = Arrays.asList(f.isStatic() ? "static" : "this", f.getName());
+            dump.getFields().add((Field)toDto(f, path, existInformation));
         }
         for (JdiLocalVariable var : variables) {
-            dump.getLocalVariables().add(DtoFactory.getInstance().createDto(Variable.class)
-                                                   .withName(var.getName())
-                                                   .withExistInformation(existInformation)
-                                                   .withValue(var.getValue().getAsString())
-                                                   .withType(var.getTypeName())
-                                                   .withVariablePath(
-                                                           DtoFactory.getInstance().createDto(VariablePath.class)
-                                                                     .withPath(Collections.singletonList(var.getName()))
-                                                                    )
-                                                   .withPrimitive(var.isPrimitive()));
+            dump.getLocalVariables().add(toDto(var, Collections.singletonList(var.getName()), existInformation));
         }
         return dump;
     }
@@ -477,60 +524,142 @@ public class Debugger implements EventsHandler {
         if (path.size() == 0) {
             throw new IllegalArgumentException("Path to value may not be empty. ");
         }
+        int[] range = null;
+        if (path.size() > 1) {
+            range = parseRange(path.get(path.size() - 1));
+            if (range != null) {
+                path = path.subList(0, path.size() - 1);
+            }
+        }
+
+        JdiValue jdiValue = getValue(path);
+        if (jdiValue == null) {
+            return null;
+        }
+
+        Value value = DtoFactory.getInstance().createDto(Value.class).withValue(jdiValue.getAsString());
+        int start = range == null ? 0 : range[0];
+        int end = range == null ? jdiValue.getVariablesCount() - 1 : Math.min(range[1], jdiValue.getVariablesCount() - 1);
+        int count = end - start + 1;
+        if (count > VARIABLES_PAGE_SIZE) {
+            // Too many array elements, group them in ranges which are read when expanded.
+            int rangeSize = VARIABLES_PAGE_SIZE;
+            while (count / rangeSize > VARIABLES_PAGE_SIZE) {
+                rangeSize *= VARIABLES_PAGE_SIZE;
+            }
+            for (int rangeStart = start; rangeStart <= end; rangeStart += rangeSize) {
+                String name = "[" + rangeStart + ".." + Math.min(rangeStart + rangeSize - 1, end) + "]";
+                List<String> rangePath = new ArrayList<>(path);
+                rangePath.add(name);
+                value.getVariables().add(DtoFactory.getInstance().createDto(Variable.class)
+                                                   .withName(name)
+                                                   .withExistInformation(true)
+                                                   .withValue("")
+                                                   .withType("")
+                                                   .withVariablePath(DtoFactory.getInstance().createDto(VariablePath.class)
+                                                                               .withPath(rangePath))
+                                                   .withPrimitive(false));
+            }
+            return value;
+        }
+        for (JdiVariable ch : jdiValue.getVariables(start, count)) {
+            List<String> chPath = new ArrayList<>(path);
+            chPath.add(ch.getName());
+            value.getVariables().add(toDto(ch, chPath, true));
+        }
+        return value;
+    }
+
+    /**
+     * Returns value of variable with specified path, values of the current suspend are cached.
+     *
+     * @return value or <code>null</code> if variable not found
+     */
+    private JdiValue getValue(List<String> path) throws DebuggerException {
+        JdiValue value = values.get(path);
+        if (value != null) {
+            return value;
+        }
         JdiVariable variable;
-        int offset;
         if ("this".equals(path.get(0)) || "static".equals(path.get(0))) {
             if (path.size() < 2) {
                 throw new IllegalArgumentException("Name of field required. ");
             }
-            variable = getCurrentFrame().getFieldByName(path.get(1));
-            offset = 2;
-        } else {
+            if (path.size() == 2) {
+                variable = getCurrentFrame().getFieldByName(path.get(1));
+            } else {
+                variable = getChild(path);
+            }
+        } else if (path.size() == 1) {
             try {
                 variable = getCurrentFrame().getLocalVariableByName(path.get(0));
             } catch (DebuggerAbsentInformationException e) {
                 return null;
             }
-            offset = 1;
-        }
-
-        for (int i = offset; variable != null && i < path.size(); i++) {
-            variable = variable.getValue().getVariableByName(path.get(i));
+        } else {
+            variable = getChild(path);
         }
-
         if (variable == null) {
             return null;
         }
+        value = variable.getValue();
+        values.put(new ArrayList<>(path), value);
+        return value;
+    }
 
-        Value value = DtoFactory.getInstance().createDto(Value.class).withValue(variable.getValue().getAsString());
-        for (JdiVariable ch : variable.getValue().getVariables()) {
-            VariablePath chPath = DtoFactory.getInstance().createDto(VariablePath.class).withPath(new ArrayList<>(path));
-            chPath.getPath().add(ch.getName());
-            if (ch instanceof JdiField) {
-                JdiField f = (JdiField)ch;
-                value.getVariables().add(DtoFactory.getInstance().createDto(Field.class)
-                                                   .withIsFinal(f.isFinal())
-                                                   .withIsStatic(f.isStatic())
-                                                   .withIsTransient(f.isTransient())
-                                                   .withIsVolatile(f.isVolatile())
-                                                   .withName(f.getName())
-                                                   .withExistInformation(true)
-                                                   .withValue(f.getValue().getAsString())
-                                                   .withType(f.getTypeName())
-                                                   .withVariablePath(chPath)
-                                                   .withPrimitive(f.isPrimitive()));
-            } else {
-                // Array element.
-                value.getVariables().add(DtoFactory.getInstance().createDto(Variable.class)
-                                                   .withName(ch.getName())
-                                                   .withExistInformation(true)
-                                                   .withValue(ch.getValue().getAsString())
-                                                   .withType(ch.getTypeName())
-                                                   .withVariablePath(chPath)
-                                                   .withPrimitive(ch.isPrimitive()));
-            }
+    private JdiVariable getChild(List<String> path) throws DebuggerException {
+        JdiValue parent = getValue(path.subList(0, path.size() - 1));
+        return parent == null ? null : parent.getVariableByName(path.get(path.size() - 1));
+    }
+
+    /**
+     * Creates description of variable which contains value of variable only if it is already read from target JVM,
+     * nested variables are read on demand with {@link #getValue(VariablePath)}.
+     */
+    private Variable toDto(JdiVariable variable, List<String> path, boolean existInformation) throws DebuggerException {
+        VariablePath variablePath = DtoFactory.getInstance().createDto(VariablePath.class).withPath(path);
+        JdiValue value = variable.getValue();
+        values.put(path, value);
+        if (variable instanceof JdiField) {
+            JdiField f = (JdiField)variable;
+            return DtoFactory.getInstance().createDto(Field.class)
+                             .withIsFinal(f.isFinal())
+                             .withIsStatic(f.isStatic())
+                             .withIsTransient(f.isTransient())
+                             .withIsVolatile(f.isVolatile())
+                             .withName(f.getName())
+                             .withExistInformation(existInformation)
+                             .withValue(value.getAsString())
+                             .withType(f.getTypeName())
+                             .withVariablePath(variablePath)
+                             .withPrimitive(f.isPrimitive());
+        }
+        // Local variable or array element.
+        return DtoFactory.getInstance().createDto(Variable.class)
+                         .withName(variable.getName())
+                         .withExistInformation(existInformation)
+                         .withValue(value.getAsString())
+                         .withType(variable.getTypeName())
+                         .withVariablePath(variablePath)
+                         .withPrimitive(variable.isPrimitive());
+    }
+
+    /**
+     * Parses name of range of array elements.
+     *
+     * @return first and last index of range in form <i>[first..last]</i> or <code>null</code> if name isn't a range
+     */
+    private static int[] parseRange(String name) {
+        int separator = name.indexOf("..");
+        if (separator < 0 || !name.startsWith("[") || !name.endsWith("]")) {
+            return null;
+        }
+        try {
+            return new int[]{Integer.parseInt(name.substring(1, separator)),
+                             Integer.parseInt(name.substring(separator + 2, name.length() - 1))};
+        } catch (NumberFormatException e) {
+            return null;
         }
-        return value;
     }
 
     /**
@@ -591,34 +720,64 @@ public class Debugger implements EventsHandler {
 
     @Override
     public void handleEvents(com.sun.jdi.event.EventSet eventSet) throws DebuggerException {
+        final long time = System.currentTimeMillis();
+        final List<DebuggerEvent> newEvents = new ArrayList<>();
         boolean resume = true;
         try {
             for (com.sun.jdi.event.Event event : eventSet) {
                 LOG.debug("New event: {}", event);
                 if (event instanceof com.sun.jdi.event.BreakpointEvent) {
-                    resume = processBreakPointEvent((com.sun.jdi.event.BreakpointEvent)event);
+                    resume = processBreakPointEvent((com.sun.jdi.event.BreakpointEvent)event, newEvents);
                 } else if (event instanceof com.sun.jdi.event.StepEvent) {
-                    resume = processStepEvent((com.sun.jdi.event.StepEvent)event);
+                    resume = processStepEvent((com.sun.jdi.event.StepEvent)event, newEvents);
                 } else if (event instanceof com.sun.jdi.event.VMDisconnectEvent) {
                     resume = processDisconnectEvent((com.sun.jdi.event.VMDisconnectEvent)event);
                 } else if (event instanceof com.sun.jdi.event.ClassPrepareEvent) {
-                    resume = processClassPrepareEvent((com.sun.jdi.event.ClassPrepareEvent)event);
+                    resume = processClassPrepareEvent((com.sun.jdi.event.ClassPrepareEvent)event, newEvents);
                 }
             }
         } finally {
+            if (!newEvents.isEmpty()) {
+                publishEvents(newEvents, time);
+            }
             if (resume) {
                 eventSet.resume();
             }
         }
     }
 
-    private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event) throws DebuggerException {
+    /**
+     * Sends all events of one JDI event set to the client in a single message and keeps them for clients
+     * which poll events.
+     *
+     * @param newEvents
+     *         events of the event set
+     * @param time
+     *         time when the event set was received from the target JVM
+     */
+    private void publishEvents(List<DebuggerEvent> newEvents, long time) {
+        final List<DebuggerEvent> coalesced = DebuggerEventQueue.coalesce(newEvents);
+        for (DebuggerEvent event : coalesced) {
+            event.setTime(time);
+        }
+        events.addAll(coalesced);
+        publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(coalesced),
+                                EVENTS_CHANNEL + id);
+        LOG.debug("Published {} debugger events in {} ms", coalesced.size(), System.currentTimeMillis() - time);
+    }
+
+    private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event, List<DebuggerEvent> newEvents)
+            throws DebuggerException {
         setCurrentThread(event.thread());
         boolean hitBreakpoint;
-        ExpressionParser parser =
-                (ExpressionParser)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
-        if (parser != null) {
-            com.sun.jdi.Value result = evaluate(parser);
+        BreakpointCondition condition = (BreakpointCondition)event.request().getProperty(CONDITION_PROPERTY);
+        if (condition == null) {
+            hitBreakpoint = true;
+        } else if (!condition.hit()) {
+            // Rate limit of breakpoint is exceeded.
+            hitBreakpoint = false;
+        } else if (condition.hasExpression()) {
+            com.sun.jdi.Value result = evaluate(condition::evaluate);
             hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
         } else {
             // If there is no expression.
@@ -627,28 +786,16 @@ public class Debugger implements EventsHandler {
 
         if (hitBreakpoint) {
             com.sun.jdi.Location location = event.location();
-            BreakPointEvent breakPointEvent;
-            synchronized (events) {
-                // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-                breakPointEvent = (BreakPointEvent)DtoFactory.getInstance().createDto(BreakPointEvent.class)
-                                                             .withBreakPoint(
-                                                                     DtoFactory.getInstance().createDto(BreakPoint.class)
-                                                                               .withEnabled(true)
-                                                                               .withLocation(
-                                                                                       DtoFactory.getInstance().createDto(Location.class)
-                                                                                                 .withClassName(
-                                                                                                         location.declaringType().name())
-                                                                                                 .withLineNumber(location.lineNumber())
-                                                                                            )
-                                                                            )
-                                                             .withType(DebuggerEvent.BREAKPOINT);
-                events.add(breakPointEvent);
-            }
-
-            List<DebuggerEvent> eventsList = new ArrayList<>();
-            eventsList.add(breakPointEvent);
-            publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(eventsList),
-                                    EVENTS_CHANNEL + id);
+            // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
+            BreakPointEvent breakPointEvent =
+                    (BreakPointEvent)DtoFactory.getInstance().createDto(BreakPointEvent.class)
+                                               .withBreakPoint(DtoFactory.getInstance().createDto(BreakPoint.class)
+                                                                         .withEnabled(true)
+                                                                         .withLocation(DtoFactory.getInstance().createDto(Location.class)
+                                                                                                 .withClassName(location.declaringType().name())
+                                                                                                 .withLineNumber(location.lineNumber())))
+                                               .withType(DebuggerEvent.BREAKPOINT);
+            newEvents.add(breakPointEvent);
         }
 
         // Left target JVM in suspended state if result of evaluation of expression is boolean value and true
@@ -656,54 +803,45 @@ public class Debugger implements EventsHandler {
         return !hitBreakpoint;
     }
 
-    private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
+    private boolean processStepEvent(com.sun.jdi.event.StepEvent event, List<DebuggerEvent> newEvents) throws DebuggerException {
         setCurrentThread(event.thread());
         com.sun.jdi.Location location = event.location();
-        StepEvent stepEvent;
-        synchronized (events) {
-            stepEvent = (StepEvent)DtoFactory.getInstance().createDto(StepEvent.class)
-                                             .withLocation(DtoFactory.getInstance().createDto(Location.class)
-                                                                     .withClassName(location.declaringType().name())
-                                                                     .withLineNumber(location.lineNumber()))
-                                             .withType(DebuggerEvent.STEP);
-            events.add(stepEvent);
-        }
-
-        List<DebuggerEvent> eventsList = new ArrayList<>();
-        eventsList.add(stepEvent);
-        publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(eventsList),
-                                EVENTS_CHANNEL + id);
+        StepEvent stepEvent = (StepEvent)DtoFactory.getInstance().createDto(StepEvent.class)
+                                                   .withLocation(DtoFactory.getInstance().createDto(Location.class)
+                                                                           .withClassName(location.declaringType().name())
+                                                                           .withLineNumber(location.lineNumber()))
+                                                   .withType(DebuggerEvent.STEP);
+        newEvents.add(stepEvent);
         // Lets target JVM to be in suspend state.
         return false;
     }
 
     private boolean processDisconnectEvent(com.sun.jdi.event.VMDisconnectEvent event) {
         publishWebSocketMessage(null, DISCONNECTED_CHANNEL + id);
+        events.close();
+        if (events.getDroppedCount() > 0) {
+            LOG.debug("{} debugger events were dropped since they weren't requested by client", events.getDroppedCount());
+        }
         eventsCollector.stop();
         instances.remove(id);
         return true;
     }
 
-    private boolean processClassPrepareEvent(com.sun.jdi.event.ClassPrepareEvent event) throws DebuggerException {
+    private boolean processClassPrepareEvent(com.sun.jdi.event.ClassPrepareEvent event, List<DebuggerEvent> newEvents)
+            throws DebuggerException {
         setCurrentThread(event.thread());
         final String className = event.referenceType().name();
 
         // add deferred breakpoints
         List<BreakPoint> breakpointsToAdd = deferredBreakpoints.get(className);
         if (breakpointsToAdd != null) {
-            List<DebuggerEvent> eventsList = new ArrayList<>();
-
             for (BreakPoint b : breakpointsToAdd) {
                 addBreakpoint(b);
 
-                BreakpointActivatedEvent breakpointActivatedEvent;
-                synchronized (events) {
-                    breakpointActivatedEvent = DtoFactory.getInstance().createDto(BreakpointActivatedEvent.class);
-                    breakpointActivatedEvent.setType(DebuggerEvent.BREAKPOINT_ACTIVATED);
-                    breakpointActivatedEvent.setBreakPoint(b);
-                    events.add(breakpointActivatedEvent);
-                }
-                eventsList.add(breakpointActivatedEvent);
+                BreakpointActivatedEvent breakpointActivatedEvent = DtoFactory.getInstance().createDto(BreakpointActivatedEvent.class);
+                breakpointActivatedEvent.setType(DebuggerEvent.BREAKPOINT_ACTIVATED);
+                breakpointActivatedEvent.setBreakPoint(b);
+                newEvents.add(breakpointActivatedEvent);
             }
             deferredBreakpoints.remove(className);
 
@@ -713,9 +851,6 @@ public class Debugger implements EventsHandler {
             if (request != null) {
                 getEventManager().deleteEventRequest(request);
             }
-
-            publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(eventsList),
-                                    EVENTS_CHANNEL + id);
         }
         return true;
     }
@@ -774,15 +909,16 @@ public class Debugger implements EventsHandler {
     }
 
     public String expression(String expression) throws DebuggerStateException {
-        com.sun.jdi.Value result = evaluate(ExpressionParser.newInstance(expression));
+        com.sun.jdi.Value result = evaluate(ExpressionParser.newInstance(expression)::evaluate);
         return result == null ? "null" : result.toString();
     }
 
-    private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerStateException {
+    private com.sun.jdi.Value evaluate(Function<Evaluator, com.sun.jdi.Value> expression) throws DebuggerStateException {
         final long startTime = System.currentTimeMillis();
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
-        } catch (ExpressionException e) {
+            return expression.apply(new Evaluator(vm, getCurrentThread()));
+        } catch (ExpressionException | ObjectCollectedException e) {
+            // Object may be garbage collected in target JVM while expression is evaluated.
             throw new DebuggerStateException(e.getMessage());
         } finally {
             final long endTime = System.currentTimeMillis();
@@ -813,15 +949,18 @@ public class Debugger implements EventsHandler {
 
     private void setCurrentThread(ThreadReference t) {
         stackFrame = null;
+        values.clear();
         thread = t;
     }
 
     private void resetCurrentFrame() {
         stackFrame = null;
+        values.clear();
     }
 
     private void resetCurrentThread() {
         this.stackFrame = null;
+        this.values.clear();
         this.thread = null;
     }
 
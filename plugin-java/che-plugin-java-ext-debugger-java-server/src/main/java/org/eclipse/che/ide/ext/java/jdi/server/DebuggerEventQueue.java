@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded queue of debugger events for clients which poll events instead of receiving them over WebSocket.
+ * <p/>
+ * Consecutive step events are coalesced, only the last of them is kept since client shows only the last
+ * location. When client doesn't poll events fast enough the oldest events are dropped.
+ */
+final class DebuggerEventQueue {
+    private final int                       capacity;
+    private final ArrayDeque<DebuggerEvent> events;
+
+    private long    dropped;
+    private boolean closed;
+
+    /**
+     * @param capacity
+     *         max number of events in the queue
+     */
+    DebuggerEventQueue(int capacity) {
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns copy of the events where each run of consecutive step events is replaced with the last event of the run.
+     *
+     * @param events
+     *         events in order of their appearance
+     */
+    static List<DebuggerEvent> coalesce(List<DebuggerEvent> events) {
+        final List<DebuggerEvent> result = new ArrayList<>(events.size());
+        for (DebuggerEvent event : events) {
+            if (isStep(event) && !result.isEmpty() && isStep(result.get(result.size() - 1))) {
+                result.set(result.size() - 1, event);
+            } else {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /** Adds events to the end of the queue and wakes up waiting pollers. */
+    synchronized void addAll(List<DebuggerEvent> newEvents) {
+        for (DebuggerEvent event : newEvents) {
+            if (isStep(event) && isStep(events.peekLast())) {
+                events.pollLast();
+            }
+            events.addLast(event);
+            if (events.size() > capacity) {
+                events.pollFirst();
+                dropped++;
+            }
+        }
+        if (!newEvents.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Removes all events from the queue, waits for new events if the queue is empty.
+     *
+     * @param timeout
+     *         max time in milliseconds to wait for events, zero means do not wait
+     * @return events in order of their appearance, or empty list if there are no events after timeout
+     * or the queue is closed
+     */
+    synchronized List<DebuggerEvent> poll(long timeout) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeout;
+        long remaining = timeout;
+        while (events.isEmpty() && !closed && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        final List<DebuggerEvent> result = new ArrayList<>(events);
+        events.clear();
+        return result;
+    }
+
+    /** Wakes up waiting pollers, further polls don't wait for events. */
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /** Returns {@code true} if the queue is closed, i.e. no more events will be added to it. */
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns number of events which were dropped because the queue was full. */
+    synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    private static boolean isStep(DebuggerEvent event) {
+        return event != null && event.getType() == DebuggerEvent.STEP;
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.ext.java.jdi.server;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointList;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
@@ -28,6 +29,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Provide access to {@link Debugger} through HTTP.
@@ -36,6 +39,9 @@ import javax.ws.rs.core.MediaType;
  */
 @Path("debug-java/{ws-id}")
 public class DebuggerService {
+    /** Max time in milliseconds the request for debugger events may wait for new events. */
+    private static final long MAX_EVENTS_WAIT_TIME = 30_000;
+
     @GET
     @Path("connect")
     @Produces(MediaType.APPLICATION_JSON)
@@ -93,8 +99,17 @@ public class DebuggerService {
     @GET
     @Path("events/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public DebuggerEventList getEvents(@PathParam("id") String id) throws DebuggerException {
-        return DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(Debugger.getInstance(id).getEvents());
+    public DebuggerEventList getEvents(@PathParam("id") String id,
+                                       @QueryParam("timeout") long timeout) throws DebuggerException {
+        final long waitTime = Math.max(0, Math.min(timeout, MAX_EVENTS_WAIT_TIME));
+        final DebuggerEventList eventList = DtoFactory.getInstance().createDto(DebuggerEventList.class);
+        final Debugger debugger = Debugger.findInstance(id);
+        if (debugger == null) {
+            // session is terminated, let polling client know it instead of failing the request
+            return eventList.withEvents(new ArrayList<>()).withDisconnected(true);
+        }
+        final List<DebuggerEvent> events = debugger.getEvents(waitTime);
+        return eventList.withEvents(events).withDisconnected(debugger.isDisconnected());
     }
 
     @GET
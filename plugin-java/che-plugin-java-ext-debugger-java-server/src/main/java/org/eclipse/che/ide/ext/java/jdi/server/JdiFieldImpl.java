@@ -20,17 +20,44 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
     private final Field           field;
     private final ReferenceType   type;
     private final ObjectReference object;
+    /** Value which was read together with values of other fields, {@code null} if value isn't read yet. */
+    private final Value           value;
+    private final boolean         fetched;
 
     public JdiFieldImpl(Field field, ObjectReference object) {
         this.field = field;
         this.object = object;
         this.type = null;
+        this.value = null;
+        this.fetched = false;
     }
 
     public JdiFieldImpl(Field field, ReferenceType type) {
         this.field = field;
         this.type = type;
         this.object = null;
+        this.value = null;
+        this.fetched = false;
+    }
+
+    /**
+     * Creates field which value is already read from target JVM.
+     *
+     * @param field
+     *         field
+     * @param object
+     *         object that contains field or {@code null} if field is static
+     * @param type
+     *         type that contains field
+     * @param value
+     *         value of the field, may be {@code null}
+     */
+    public JdiFieldImpl(Field field, ObjectReference object, ReferenceType type, Value value) {
+        this.field = field;
+        this.object = object;
+        this.type = type;
+        this.value = value;
+        this.fetched = true;
     }
 
     @Override
@@ -70,7 +97,7 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
 
     @Override
     public JdiValue getValue() {
-        Value value = object == null ? type.getValue(field) : object.getValue(field);
+        Value value = fetched ? this.value : object == null ? type.getValue(field) : object.getValue(field);
         if (value == null) {
             return new JdiNullValue();
         }
@@ -18,10 +18,23 @@ import com.sun.jdi.Value;
 public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
+    /** Value which was read together with values of other variables, {@code null} if value isn't read yet. */
+    private final Value         value;
+    private final boolean       fetched;
 
     public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
         this.stackFrame = stackFrame;
         this.variable = variable;
+        this.value = null;
+        this.fetched = false;
+    }
+
+    /** Creates variable which value is already read from target JVM, value may be {@code null}. */
+    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, Value value) {
+        this.stackFrame = stackFrame;
+        this.variable = variable;
+        this.value = value;
+        this.fetched = true;
     }
 
     @Override
@@ -41,7 +54,7 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
+        Value value = fetched ? this.value : stackFrame.getValue(variable);
         if (value == null) {
             return new JdiNullValue();
         }
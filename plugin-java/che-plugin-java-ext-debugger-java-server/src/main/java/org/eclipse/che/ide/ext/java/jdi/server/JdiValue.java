@@ -35,6 +35,29 @@ public interface JdiValue {
      */
     JdiVariable[] getVariables() throws DebuggerException;
 
+    /**
+     * Get part of nested variables. For array only requested members are read from debuggee JVM.
+     *
+     * @param start
+     *         index of the first variable
+     * @param count
+     *         max number of variables
+     * @return nested variables from <i>start</i> to <i>start + count</i> or less if there are not enough variables
+     * @throws DebuggerException
+     *         if an error occurs
+     * @see #getVariables()
+     */
+    JdiVariable[] getVariables(int start, int count) throws DebuggerException;
+
+    /**
+     * Get number of nested variables.
+     *
+     * @return number of nested variables, for array it is length of array
+     * @throws DebuggerException
+     *         if an error occurs
+     */
+    int getVariablesCount() throws DebuggerException;
+
     /**
      * Get nested variable by name.
      *
@@ -19,6 +19,7 @@ import com.sun.jdi.Value;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /** @author andrew00x */
 public class JdiValueImpl implements JdiValue {
@@ -44,20 +45,17 @@ public class JdiValueImpl implements JdiValue {
                 variables = new JdiVariable[0];
             } else {
                 if (isArray()) {
-                    ArrayReference array = (ArrayReference)value;
-                    int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
-                    }
+                    variables = getArrayElements(0, ((ArrayReference)value).length());
                 } else {
                     ObjectReference object = (ObjectReference)value;
                     ReferenceType type = object.referenceType();
                     List<Field> fields = type.allFields();
+                    // Read values of all fields with one request to debuggee JVM.
+                    Map<Field, Value> values = object.getValues(fields);
                     variables = new JdiVariable[fields.size()];
                     int i = 0;
                     for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
+                        variables[i++] = new JdiFieldImpl(f, object, type, values.get(f));
                     }
                     // See JdiFieldImpl#compareTo(JdiFieldImpl).
                     Arrays.sort(variables);
@@ -67,11 +65,38 @@ public class JdiValueImpl implements JdiValue {
         return variables;
     }
 
+    @Override
+    public JdiVariable[] getVariables(int start, int count) {
+        if (variables == null && isArray()) {
+            return getArrayElements(start, count);
+        }
+        JdiVariable[] all = getVariables();
+        int from = Math.min(Math.max(start, 0), all.length);
+        return Arrays.copyOfRange(all, from, Math.min(all.length, from + Math.max(count, 0)));
+    }
+
+    @Override
+    public int getVariablesCount() {
+        if (variables == null && isArray()) {
+            return ((ArrayReference)value).length();
+        }
+        return getVariables().length;
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
+        if (variables == null && isArray()) {
+            // Read only requested element instead of whole array.
+            int index = parseIndex(name);
+            ArrayReference array = (ArrayReference)value;
+            if (index < 0 || index >= array.length()) {
+                return null;
+            }
+            return new JdiArrayElementImpl(index, array.getValue(index));
+        }
         for (JdiVariable variable : getVariables()) {
             if (name.equals(variable.getName())) {
                 return variable;
@@ -80,6 +105,34 @@ public class JdiValueImpl implements JdiValue {
         return null;
     }
 
+    /** Reads elements of array with one request to debuggee JVM. */
+    private JdiVariable[] getArrayElements(int start, int count) {
+        ArrayReference array = (ArrayReference)value;
+        int from = Math.min(Math.max(start, 0), array.length());
+        int length = Math.min(array.length() - from, Math.max(count, 0));
+        if (length == 0) {
+            return new JdiVariable[0];
+        }
+        List<Value> values = array.getValues(from, length);
+        JdiVariable[] elements = new JdiVariable[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = new JdiArrayElementImpl(from + i, values.get(i));
+        }
+        return elements;
+    }
+
+    /** Returns index of array element with name in form <i>[i]</i> or <code>-1</code> if name isn't in such form. */
+    private static int parseIndex(String name) {
+        if (name.length() < 3 || name.charAt(0) != '[' || name.charAt(name.length() - 1) != ']') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(1, name.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private boolean isArray() {
         return value instanceof ArrayReference;
     }
@@ -0,0 +1,537 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.ClassNotLoadedException;
+import com.sun.jdi.ClassType;
+import com.sun.jdi.Field;
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.InvalidStackFrameException;
+import com.sun.jdi.InvalidTypeException;
+import com.sun.jdi.InvocationException;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.NativeMethodException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.Type;
+import com.sun.jdi.Value;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonTokenStream;
+import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Java expression compiled to a tree of nodes for repeated evaluation at the same location, e.g. condition of
+ * breakpoint.
+ * <p/>
+ * {@link ExpressionParser} walks syntax tree on each evaluation and looks up every local variable, field and method
+ * by name. Compiled expression resolves names only when location or type of object is changed since the previous
+ * evaluation, reads the current stack frame and <i>this</i> object at most once per evaluation and doesn't evaluate
+ * right operand of <i>&&</i>, <i>||</i> and not selected branch of <i>?:</i>. Supported are literals, local variables,
+ * fields, array elements, method calls, unary, binary and ternary operators, other expressions are rejected by
+ * {@link #compile(String)}.
+ * <p/>
+ * Names and methods which can't be resolved and unsupported constructions are reported with
+ * {@link UnsupportedExpressionException}, such expression may still be evaluated by {@link ExpressionParser}.
+ * <p/>
+ * Instance of CompiledExpression is not thread-safe.
+ */
+public final class CompiledExpression {
+    private final String expression;
+    private final Node   root;
+
+    private CompiledExpression(String expression, Node root) {
+        this.expression = expression;
+        this.root = root;
+    }
+
+    /**
+     * Compile Java expression.
+     *
+     * @param expression
+     *         Java language expression
+     * @return compiled expression
+     * @throws ExpressionException
+     *         if expression is invalid
+     * @throws UnsupportedExpressionException
+     *         if expression contains constructions which can't be compiled
+     */
+    public static CompiledExpression compile(String expression) {
+        Tree tree;
+        try {
+            JavaLexer lexer = new JavaLexer(new ANTLRStringStream(expression));
+            JavaParser parser = new JavaParser(new CommonTokenStream(lexer));
+            tree = (Tree)parser.expression().getTree();
+        } catch (RecognitionException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+        return new CompiledExpression(expression, compile(tree));
+    }
+
+    /**
+     * Get expression.
+     *
+     * @return expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Evaluate expression.
+     *
+     * @param ev
+     *         Evaluator
+     * @return result of evaluation
+     * @throws UnsupportedExpressionException
+     *         if name or method can't be resolved
+     * @throws ExpressionException
+     *         if an error occurs when try to evaluate expression
+     */
+    public Value evaluate(Evaluator ev) {
+        return root.evaluate(new Context(ev));
+    }
+
+    private static Node compile(Tree tree) {
+        switch (tree.getType()) {
+            case JavaParser.EXPR:
+            case JavaParser.PARENTESIZED_EXPR:
+                return compile(tree.getChild(0));
+            case JavaParser.HEX_LITERAL:
+            case JavaParser.OCTAL_LITERAL:
+            case JavaParser.DECIMAL_LITERAL:
+            case JavaParser.FLOATING_POINT_LITERAL:
+            case JavaParser.CHARACTER_LITERAL:
+            case JavaParser.STRING_LITERAL:
+            case JavaParser.TRUE:
+            case JavaParser.FALSE:
+            case JavaParser.NULL:
+                return new LiteralNode(tree.getType(), tree.getText());
+            case JavaParser.THIS:
+                return new ThisNode();
+            case JavaParser.IDENT:
+                return new NameNode(tree.getText());
+            case JavaParser.DOT:
+                if (tree.getChild(1).getType() != JavaParser.IDENT) {
+                    break;
+                }
+                return new FieldNode(compile(tree.getChild(0)), tree.getChild(1).getText());
+            case JavaParser.METHOD_CALL:
+                return compileMethodCall(tree);
+            case JavaParser.ARRAY_ELEMENT_ACCESS:
+                return new ArrayElementNode(compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.QUESTION:
+                return new TernaryNode(compile(tree.getChild(0)), compile(tree.getChild(1)), compile(tree.getChild(2)));
+            case JavaParser.LOGICAL_AND:
+            case JavaParser.LOGICAL_OR:
+                return new LogicalNode(tree.getType(), compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.OR:
+            case JavaParser.XOR:
+            case JavaParser.AND:
+            case JavaParser.EQUAL:
+            case JavaParser.NOT_EQUAL:
+            case JavaParser.LESS_OR_EQUAL:
+            case JavaParser.GREATER_OR_EQUAL:
+            case JavaParser.LESS_THAN:
+            case JavaParser.GREATER_THAN:
+            case JavaParser.BIT_SHIFT_RIGHT:
+            case JavaParser.SHIFT_RIGHT:
+            case JavaParser.SHIFT_LEFT:
+            case JavaParser.PLUS:
+            case JavaParser.MINUS:
+            case JavaParser.STAR:
+            case JavaParser.DIV:
+            case JavaParser.MOD:
+                return new BinaryNode(tree.getType(), compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.UNARY_PLUS:
+            case JavaParser.UNARY_MINUS:
+            case JavaParser.NOT:
+            case JavaParser.LOGICAL_NOT:
+                return new UnaryNode(tree.getType(), compile(tree.getChild(0)));
+        }
+        throw new UnsupportedExpressionException("Unable to compile expression, unsupported " + JavaParser.tokenNames[tree.getType()]);
+    }
+
+    private static Node compileMethodCall(Tree tree) {
+        Tree method = tree.getChild(0);
+        Node object;
+        String name;
+        if (method.getType() == JavaParser.IDENT) {
+            object = null;
+            name = method.getText();
+        } else if (method.getType() == JavaParser.DOT && method.getChild(1).getType() == JavaParser.IDENT) {
+            object = compile(method.getChild(0));
+            name = method.getChild(1).getText();
+        } else {
+            throw new UnsupportedExpressionException("Unable to compile expression, unsupported method call " + method.toStringTree());
+        }
+        Tree argumentList = tree.getChild(tree.getChildCount() - 1);
+        Node[] arguments = new Node[argumentList.getChildCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = compile(argumentList.getChild(i));
+        }
+        return new MethodCallNode(object, name, arguments);
+    }
+
+    /** State of one evaluation. */
+    private static final class Context {
+        final Evaluator ev;
+
+        StackFrame      frame;
+        ObjectReference thisObject;
+        boolean         thisObjectRead;
+
+        Context(Evaluator ev) {
+            this.ev = ev;
+        }
+
+        StackFrame frame() {
+            if (frame == null) {
+                try {
+                    frame = ev.getThread().frame(0);
+                } catch (IncompatibleThreadStateException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+            }
+            return frame;
+        }
+
+        ObjectReference thisObject() {
+            if (!thisObjectRead) {
+                try {
+                    thisObject = frame().thisObject();
+                } catch (InvalidStackFrameException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+                thisObjectRead = true;
+            }
+            return thisObject;
+        }
+
+        /** Must be called after invocation of method in target JVM since it invalidates stack frames of the thread. */
+        void invalidateFrame() {
+            frame = null;
+        }
+    }
+
+    private interface Node {
+        Value evaluate(Context ctx);
+    }
+
+    private static final class LiteralNode implements Node {
+        private final int    type;
+        private final String text;
+        /** Mirror of primitive literal in target JVM, created on the first evaluation. */
+        private ExpressionValue value;
+
+        LiteralNode(int type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            if (type == JavaParser.STRING_LITERAL) {
+                // String isn't referenced in target JVM after it is resumed and may be garbage collected.
+                return createValue(ctx.ev).getValue();
+            }
+            if (value == null) {
+                value = createValue(ctx.ev);
+            }
+            return value.getValue();
+        }
+
+        private ExpressionValue createValue(Evaluator ev) {
+            switch (type) {
+                case JavaParser.HEX_LITERAL:
+                    return ev.hexValue(text);
+                case JavaParser.OCTAL_LITERAL:
+                    return ev.octalValue(text);
+                case JavaParser.DECIMAL_LITERAL:
+                    return ev.decimalValue(text);
+                case JavaParser.FLOATING_POINT_LITERAL:
+                    return ev.floating_pointValue(text);
+                case JavaParser.CHARACTER_LITERAL:
+                    return ev.charValue(text);
+                case JavaParser.STRING_LITERAL:
+                    return ev.stringValue(text);
+                case JavaParser.TRUE:
+                case JavaParser.FALSE:
+                    return ev.booleanValue(text);
+                default:
+                    return ev.nullValue();
+            }
+        }
+    }
+
+    private static final class ThisNode implements Node {
+        @Override
+        public Value evaluate(Context ctx) {
+            return ctx.thisObject();
+        }
+    }
+
+    /** Local variable or field of <i>this</i> object, resolved once for each location. */
+    private static final class NameNode implements Node {
+        private final String name;
+
+        private Location      location;
+        private LocalVariable variable;
+        private Field         field;
+
+        NameNode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            StackFrame frame = ctx.frame();
+            try {
+                if (!frame.location().equals(location)) {
+                    resolve(frame);
+                }
+                if (variable != null) {
+                    return frame.getValue(variable);
+                }
+                if (field.isStatic()) {
+                    return field.declaringType().getValue(field);
+                }
+                ObjectReference object = ctx.thisObject();
+                if (object == null) {
+                    throw new UnsupportedExpressionException("Field " + name + " is not accessible from static context");
+                }
+                return object.getValue(field);
+            } catch (InvalidStackFrameException e) {
+                throw new ExpressionException(e.getMessage(), e);
+            }
+        }
+
+        private void resolve(StackFrame frame) {
+            variable = null;
+            field = null;
+            try {
+                variable = frame.visibleVariableByName(name);
+            } catch (AbsentInformationException | NativeMethodException ignored) {
+                // Local variables aren't available, try to find field.
+            }
+            if (variable == null) {
+                field = frame.location().declaringType().fieldByName(name);
+                if (field == null) {
+                    throw new UnsupportedExpressionException("Unknown local variable or field " + name);
+                }
+            }
+            location = frame.location();
+        }
+    }
+
+    /** Field of object, resolved once for each type of object. */
+    private static final class FieldNode implements Node {
+        private final Node   object;
+        private final String name;
+
+        private ReferenceType type;
+        private Field         field;
+
+        FieldNode(Node object, String name) {
+            this.object = object;
+            this.name = name;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            Value value = object.evaluate(ctx);
+            if (value instanceof ArrayReference && "length".equals(name)) {
+                return ctx.ev.value(((ArrayReference)value).length()).getValue();
+            }
+            if (!(value instanceof ObjectReference)) {
+                throw new ExpressionException("Value is not object. Cannot get field " + name);
+            }
+            ObjectReference objectReference = (ObjectReference)value;
+            ReferenceType objectType = objectReference.referenceType();
+            if (!objectType.equals(type)) {
+                field = objectType.fieldByName(name);
+                if (field == null) {
+                    throw new UnsupportedExpressionException("Unknown field " + name);
+                }
+                type = objectType;
+            }
+            return objectReference.getValue(field);
+        }
+    }
+
+    /** Method call, method is resolved once for each type of object and types of arguments. */
+    private static final class MethodCallNode implements Node {
+        private final Node   object;
+        private final String name;
+        private final Node[] arguments;
+
+        private ReferenceType type;
+        private List<Type>    argumentTypes;
+        private Method        method;
+
+        MethodCallNode(Node object, String name, Node[] arguments) {
+            this.object = object;
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            Value value = object == null ? ctx.thisObject() : object.evaluate(ctx);
+            ReferenceType objectType;
+            if (value instanceof ObjectReference) {
+                objectType = ((ObjectReference)value).referenceType();
+            } else if (object == null) {
+                // Static context.
+                objectType = ctx.frame().location().declaringType();
+            } else {
+                throw new ExpressionException("Value is not object. Cannot invoke method " + name);
+            }
+
+            List<Value> argumentValues = new ArrayList<>(arguments.length);
+            List<Type> types = new ArrayList<>(arguments.length);
+            for (Node argument : arguments) {
+                Value argumentValue = argument.evaluate(ctx);
+                argumentValues.add(argumentValue);
+                types.add(argumentValue == null ? null : argumentValue.type());
+            }
+            if (!(objectType.equals(type) && types.equals(argumentTypes))) {
+                method = ctx.ev.findMethod(objectType.methodsByName(name), argumentValues);
+                if (method == null) {
+                    throw new UnsupportedExpressionException("No method with name " + name + " matched to specified arguments for "
+                                                  + objectType.name());
+                }
+                type = objectType;
+                argumentTypes = types;
+            }
+
+            try {
+                if (value instanceof ObjectReference) {
+                    return ((ObjectReference)value).invokeMethod(ctx.ev.getThread(), method, argumentValues, 0);
+                }
+                if (method.isStatic() && objectType instanceof ClassType) {
+                    return ((ClassType)objectType).invokeMethod(ctx.ev.getThread(), method, argumentValues, 0);
+                }
+                throw new UnsupportedExpressionException("Method " + name + " is not accessible from static context");
+            } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
+                throw new ExpressionException(e.getMessage(), e);
+            } finally {
+                ctx.invalidateFrame();
+            }
+        }
+    }
+
+    private static final class ArrayElementNode implements Node {
+        private final Node array;
+        private final Node index;
+
+        ArrayElementNode(Node array, Node index) {
+            this.array = array;
+            this.index = index;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            return ctx.ev.getArrayElement(array.evaluate(ctx), index.evaluate(ctx)).getValue();
+        }
+    }
+
+    private static final class TernaryNode implements Node {
+        private final Node test;
+        private final Node value1;
+        private final Node value2;
+
+        TernaryNode(Node test, Node value1, Node value2) {
+            this.test = test;
+            this.value1 = value1;
+            this.value2 = value2;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            return toBoolean(test.evaluate(ctx), "Invalid ternary operator. ") ? value1.evaluate(ctx) : value2.evaluate(ctx);
+        }
+    }
+
+    /** <i>&&</i> and <i>||</i>, right operand is evaluated only if result isn't defined by left operand. */
+    private static final class LogicalNode implements Node {
+        private final int  op;
+        private final Node left;
+        private final Node right;
+
+        LogicalNode(int op, Node left, Node right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            String error = "Unsupported operation " + JavaParser.tokenNames[op] + " for non boolean value. ";
+            boolean result = toBoolean(left.evaluate(ctx), error);
+            if (op == JavaParser.LOGICAL_AND ? result : !result) {
+                result = toBoolean(right.evaluate(ctx), error);
+            }
+            return ctx.ev.value(result).getValue();
+        }
+    }
+
+    private static final class BinaryNode implements Node {
+        private final int  op;
+        private final Node left;
+        private final Node right;
+
+        BinaryNode(int op, Node left, Node right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            Value leftValue = left.evaluate(ctx);
+            Value rightValue = right.evaluate(ctx);
+            return ctx.ev.operation(new ReadOnlyValue(leftValue), new ReadOnlyValue(rightValue), op).getValue();
+        }
+    }
+
+    private static final class UnaryNode implements Node {
+        private final int  op;
+        private final Node operand;
+
+        UnaryNode(int op, Node operand) {
+            this.op = op;
+            this.operand = operand;
+        }
+
+        @Override
+        public Value evaluate(Context ctx) {
+            return ctx.ev.unaryOperation(new ReadOnlyValue(operand.evaluate(ctx)), op).getValue();
+        }
+    }
+
+    private static boolean toBoolean(Value value, String error) {
+        if (!(value instanceof BooleanValue)) {
+            throw new ExpressionException(error);
+        }
+        return ((BooleanValue)value).value();
+    }
+}
@@ -277,7 +277,7 @@ public class Evaluator {
         return new ArrayElement((ArrayReference)arrayValue, ((IntegerValue)indexValue).value());
     }
 
-    private Method findMethod(List<Method> methods, List<Value> arguments) {
+    Method findMethod(List<Method> methods, List<Value> arguments) {
         Method m = null;
         for (Method mm : methods) {
             List<Type> argumentTypes;
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+/**
+ * Thrown by {@link CompiledExpression} if expression contains construction which isn't supported by compiled
+ * expression or name or method which it can't resolve. Such expression may still be evaluated by
+ * {@link ExpressionParser}, unlike failures which depend on values, e.g. access to field of {@code null}.
+ */
+public class UnsupportedExpressionException extends ExpressionException {
+    public UnsupportedExpressionException(String message) {
+        super(message);
+    }
+}
@@ -36,4 +36,18 @@ public interface BreakPoint {
     void setCondition(String condition);
 
     BreakPoint withCondition(String condition);
+
+    /** Number of hit on which breakpoint suspends target JVM, breakpoint expires after that. Zero means every hit. */
+    int getHitCount();
+
+    void setHitCount(int hitCount);
+
+    BreakPoint withHitCount(int hitCount);
+
+    /** Max number of hits processed per second, other hits are ignored. Zero means no limit. */
+    int getRateLimit();
+
+    void setRateLimit(int rateLimit);
+
+    BreakPoint withRateLimit(int rateLimit);
 }
\ No newline at end of file
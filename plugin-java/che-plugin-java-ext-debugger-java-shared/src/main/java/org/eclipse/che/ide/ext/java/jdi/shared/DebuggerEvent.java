@@ -24,4 +24,11 @@ public interface DebuggerEvent {
     void setType(int type);
 
     DebuggerEvent withType(int type);
+
+    /** Returns time in milliseconds when the event was received from the target JVM. */
+    long getTime();
+
+    void setTime(long time);
+
+    DebuggerEvent withTime(long time);
 }
\ No newline at end of file
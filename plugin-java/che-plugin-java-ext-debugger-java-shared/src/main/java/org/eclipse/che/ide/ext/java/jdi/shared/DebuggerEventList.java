@@ -22,4 +22,11 @@ public interface DebuggerEventList {
     void setEvents(List<DebuggerEvent> events);
 
     DebuggerEventList withEvents(List<DebuggerEvent> events);
+
+    /** Returns {@code true} if debugger session is terminated and no more events will be received. */
+    boolean isDisconnected();
+
+    void setDisconnected(boolean disconnected);
+
+    DebuggerEventList withDisconnected(boolean disconnected);
 }
\ No newline at end of file
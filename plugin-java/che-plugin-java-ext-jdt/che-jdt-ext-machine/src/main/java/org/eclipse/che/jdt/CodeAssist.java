@@ -59,6 +59,7 @@ import org.eclipse.jdt.internal.ui.text.java.RelevanceSorter;
 import org.eclipse.jdt.internal.ui.text.java.TemplateCompletionProposalComputer;
 import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 import org.eclipse.jdt.ui.text.java.correction.ChangeCorrectionProposal;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -123,6 +124,7 @@ public class CodeAssist {
             document = new DocumentAdapter(buffer);
         }
         TextViewer viewer = new TextViewer(document, new Point(offset, 0));
+        int tokenStart = findTokenStart(document, offset);
         JavaContentAssistInvocationContext context =
                 new JavaContentAssistInvocationContext(viewer, offset, compilationUnit);
 
@@ -132,10 +134,43 @@ public class CodeAssist {
 
         Collections.sort(proposals, new RelevanceSorter());
 
-        return convertProposals(offset, compilationUnit, viewer, proposals);
+        return convertProposals(offset, tokenStart, compilationUnit, viewer, proposals);
     }
 
-    private Proposals convertProposals(int offset, ICompilationUnit compilationUnit, TextViewer viewer,
+    /**
+     * Narrows proposals of completion session by prefix typed after proposals were computed.
+     *
+     * <p>Document of session is updated with the prefix, so proposals are filtered and then applied by the same rules
+     * as in Eclipse editor while completion popup is open: by prefix or by CamelCase if it is enabled in options.
+     * Proposals keep order of relevance and indexes they have in session.
+     *
+     * @param sessionId
+     *         id of completion session
+     * @param offset
+     *         current offset of cursor in editor
+     * @param prefix
+     *         part of identifier between its start and cursor
+     * @return matched proposals, or proposals without session id if session doesn't exist or prefix left the token
+     * completion was invoked on, in this case proposals should be computed again
+     */
+    public Proposals refineProposals(String sessionId, int offset, String prefix) {
+        Proposals result = DtoFactory.getInstance().createDto(Proposals.class);
+        CodeAssistContext context = cache.getIfPresent(sessionId);
+        List<Integer> matches = context == null ? null : context.refine(offset, prefix);
+        if (matches == null) {
+            result.setProposals(Collections.<ProposalPresentation>emptyList());
+            return result;
+        }
+        result.setSessionId(sessionId);
+        List<ProposalPresentation> presentations = new ArrayList<>(matches.size());
+        for (int index : matches) {
+            presentations.add(createPresentation(index, context.proposals.get(index)));
+        }
+        result.setProposals(presentations);
+        return result;
+    }
+
+    private Proposals convertProposals(int offset, int tokenStart, ICompilationUnit compilationUnit, TextViewer viewer,
                                        List<ICompletionProposal> proposals) {
         Proposals result = DtoFactory.getInstance().createDto(Proposals.class);
         String sessionId = UUID.randomUUID().toString();
@@ -143,28 +178,44 @@ public class CodeAssist {
 
         ArrayList<ProposalPresentation> presentations = new ArrayList<>();
         for (int i = 0; i < proposals.size(); i++) {
-            ProposalPresentation presentation = DtoFactory.getInstance().createDto(ProposalPresentation.class);
-            ICompletionProposal proposal = proposals.get(i);
-            presentation.setIndex(i);
-            presentation.setDisplayString(proposal.getDisplayString());
-            String image = proposal.getImage() == null ? null : proposal.getImage().getImg();
-            presentation.setImage(image);
-            if (proposal instanceof ICompletionProposalExtension4) {
-                presentation.setAutoInsertable(((ICompletionProposalExtension4)proposal).isAutoInsertable());
-            }
-            if (proposal instanceof CheActionAcces) {
-                String actionId = ((CheActionAcces)proposal).getActionId();
-                if (actionId != null) {
-                    presentation.setActionId(actionId);
-                }
-            }
-            presentations.add(presentation);
+            presentations.add(createPresentation(i, proposals.get(i)));
         }
         result.setProposals(presentations);
-        cache.put(sessionId, new CodeAssistContext(viewer, offset, proposals, compilationUnit));
+        cache.put(sessionId, new CodeAssistContext(viewer, offset, tokenStart, proposals, compilationUnit));
         return result;
     }
 
+    private ProposalPresentation createPresentation(int index, ICompletionProposal proposal) {
+        ProposalPresentation presentation = DtoFactory.getInstance().createDto(ProposalPresentation.class);
+        presentation.setIndex(index);
+        presentation.setDisplayString(proposal.getDisplayString());
+        String image = proposal.getImage() == null ? null : proposal.getImage().getImg();
+        presentation.setImage(image);
+        if (proposal instanceof ICompletionProposalExtension4) {
+            presentation.setAutoInsertable(((ICompletionProposalExtension4)proposal).isAutoInsertable());
+        }
+        if (proposal instanceof CheActionAcces) {
+            String actionId = ((CheActionAcces)proposal).getActionId();
+            if (actionId != null) {
+                presentation.setActionId(actionId);
+            }
+        }
+        return presentation;
+    }
+
+    /** Returns start of java identifier that ends at offset. */
+    private int findTokenStart(IDocument document, int offset) {
+        int tokenStart = offset;
+        try {
+            while (tokenStart > 0 && Character.isJavaIdentifierPart(document.getChar(tokenStart - 1))) {
+                tokenStart--;
+            }
+        } catch (BadLocationException e) {
+            return offset;
+        }
+        return tokenStart;
+    }
+
     public ProposalApplyResult applyCompletion(String sessionId, int index, boolean insert) {
         CodeAssistContext context = cache.getIfPresent(sessionId);
         if (context != null) {
@@ -203,7 +254,8 @@ public class CodeAssist {
         AssistContext context = new AssistContext(compilationUnit, offset, 0);
         ArrayList proposals = new ArrayList<>();
         JavaCorrectionProcessor.collectProposals(context, problems, true, true, proposals);
-        return convertProposals(offset, compilationUnit, viewer, proposals);
+        // quick assist works on document of file, so it can't be refined
+        return convertProposals(offset, -1, compilationUnit, viewer, proposals);
     }
 
     public String getJavaDoc(String sessionId, int index) {
@@ -219,17 +271,60 @@ public class CodeAssist {
     private class CodeAssistContext {
         private TextViewer                viewer;
         private int                       offset;
+        /** Start of identifier completion was invoked on or -1 if proposals can't be refined. */
+        private int                       tokenStart;
         private List<ICompletionProposal> proposals;
         private ICompilationUnit          cUnit;
 
-        public CodeAssistContext(TextViewer viewer, int offset,
+        public CodeAssistContext(TextViewer viewer, int offset, int tokenStart,
                                  List<ICompletionProposal> proposals, ICompilationUnit cUnit) {
             this.viewer = viewer;
             this.offset = offset;
+            this.tokenStart = tokenStart;
             this.proposals = proposals;
             this.cUnit = cUnit;
         }
 
+        /** Replaces prefix of token in document and returns indexes of proposals that are still valid. */
+        public synchronized List<Integer> refine(int newOffset, String prefix) {
+            if (tokenStart < 0 || newOffset - prefix.length() != tokenStart || !isIdentifierPart(prefix)) {
+                return null;
+            }
+            IDocument document = viewer.getDocument();
+            try {
+                DocumentEvent event = new DocumentEvent(document, tokenStart, offset - tokenStart, prefix);
+                document.replace(tokenStart, offset - tokenStart, prefix);
+                offset = newOffset;
+                viewer.setSelectedRange(offset, 0);
+                List<Integer> matches = new ArrayList<>();
+                for (int i = 0; i < proposals.size(); i++) {
+                    ICompletionProposal proposal = proposals.get(i);
+                    boolean valid;
+                    if (proposal instanceof ICompletionProposalExtension2) {
+                        valid = ((ICompletionProposalExtension2)proposal).validate(document, offset, event);
+                    } else {
+                        valid = proposal.getDisplayString().regionMatches(true, 0, prefix, 0, prefix.length());
+                    }
+                    if (valid) {
+                        matches.add(i);
+                    }
+                }
+                return matches;
+            } catch (BadLocationException e) {
+                LOG.error("Can't refine completion proposals", e);
+                return null;
+            }
+        }
+
+        private boolean isIdentifierPart(String prefix) {
+            for (int i = 0; i < prefix.length(); i++) {
+                if (!Character.isJavaIdentifierPart(prefix.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public void clean() {
             if (cUnit != null) {
                 try {
@@ -245,7 +340,7 @@ public class CodeAssist {
             }
         }
 
-        public ProposalApplyResult apply(int index, boolean insert) {
+        public synchronized ProposalApplyResult apply(int index, boolean insert) {
             IDocument document = viewer.getDocument();
             final List<Change> changes = new ArrayList<>();
             document.addDocumentListener(new IDocumentListener() {
@@ -130,10 +130,20 @@ public class JavaNavigation {
     private              Gson                 gson          = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
     private              boolean              fFoldPackages = true;
     private SourcesFromBytecodeGenerator sourcesGenerator;
+    private LibraryContentCache          contentCache;
 
-    @Inject
     public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator) {
+        this(sourcesGenerator, null);
+    }
+
+    /**
+     * @param contentCache
+     *         cache of sources generated for binary types or {@code null} if sources shouldn't be cached
+     */
+    @Inject
+    public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator, LibraryContentCache contentCache) {
         this.sourcesGenerator = sourcesGenerator;
+        this.contentCache = contentCache;
     }
 
     /**
@@ -728,6 +738,8 @@ public class JavaNavigation {
                 IClassFile classFile = type.getClassFile();
                 if (classFile.getSourceRange() != null) {
                     return classFile.getSource();
+                } else if (contentCache != null) {
+                    return contentCache.getSource(classFile.getType(), () -> sourcesGenerator.generateSource(classFile.getType()));
                 } else {
                     return sourcesGenerator.generateSource(classFile.getType());
                 }
@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.jdt;
 
+import com.google.inject.Inject;
+
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.JavaModelException;
 
 import javax.ws.rs.GET;
@@ -32,6 +35,9 @@ public class JavadocService {
     @PathParam("wsId")
     private String wsId;
 
+    @Inject
+    private LibraryContentCache contentCache;
+
 
     @Path("find")
     @GET
@@ -40,16 +46,24 @@ public class JavadocService {
                               @QueryParam("offset") int offset, @Context UriInfo uriInfo) throws JavaModelException {
         IJavaProject project = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
         String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
-        return new JavadocFinder(urlPart).findJavadoc(project, fqn, offset);
+        return getJavadoc(new JavadocFinder(urlPart).findMember(project, fqn, offset), urlPart);
     }
 
     @Path("get")
     @Produces("text/html")
     @GET
-    public String get(@QueryParam("handle") String handle, @QueryParam("projectpath") String projectPath, @Context UriInfo uriInfo) {
+    public String get(@QueryParam("handle") String handle, @QueryParam("projectpath") String projectPath, @Context UriInfo uriInfo)
+            throws JavaModelException {
         IJavaProject project = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
         String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
-        return new JavadocFinder(urlPart).findJavadoc4Handle(project, handle);
+        return getJavadoc(new JavadocFinder(urlPart).findMember4Handle(project, handle), urlPart);
+    }
+
+    private String getJavadoc(IMember member, String urlPart) throws JavaModelException {
+        if (member == null) {
+            return null;
+        }
+        return contentCache.getJavadoc(member, urlPart, urlPrefix -> new JavadocFinder(urlPrefix).getJavadoc(member));
     }
 
     private String getUrlPart(String projectPath, UriBuilder uriBuilder) {
@@ -0,0 +1,513 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.jdt.javadoc.JavaDocLocations;
+import org.eclipse.che.jdt.javadoc.JavaElementLinks;
+import org.eclipse.che.jdt.util.FileChecksums;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of content generated for types and members of libraries: sources generated from bytecode and
+ * rendered Javadoc. Generating such content requires reading of class files and attached sources,
+ * while the result depends only on the library, so it is cached on two levels.
+ *
+ * <p>The most recently used entries are kept in memory, up to {@link #MAX_HEAP_SIZE} characters. All
+ * entries are also stored on disk, one file per entry. The disk store is limited to {@link #DEFAULT_MAX_DISK_SIZE}
+ * bytes, the least recently used entries are removed in background on start and whenever a quarter of the limit
+ * is written. Entries are keyed by the SHA-1 of the library content and the member, Javadoc also by the attached
+ * Javadoc location, so the same jar is shared by all projects and, if the cache directory is shared, by all
+ * workspaces. Links of cached Javadoc are bound to the project of the request after lookup. Keys of entries used
+ * in the previous session are saved on stop and their content is loaded into memory in background on start.
+ */
+@Singleton
+public class LibraryContentCache {
+    private static final Logger LOG = LoggerFactory.getLogger(LibraryContentCache.class);
+
+    /** Version of the disk format, must be increased when cached content changes. */
+    private static final int    FORMAT_VERSION   = 1;
+    private static final String RECENT_KEYS_FILE = "recent.keys";
+    private static final int    MAX_HEAP_SIZE    = 8 * 1024 * 1024;
+    private static final int    MAX_RECENT_KEYS  = 500;
+
+    static final long DEFAULT_MAX_DISK_SIZE = 256 * 1024 * 1024;
+
+    /** Link prefix used to render cached Javadoc, it is replaced with link prefix of the request. */
+    private static final String LINK_PLACEHOLDER         = "che-javadoc-link:";
+    /** Replaces prefix of links to elements of the project which Javadoc was rendered for. */
+    private static final String PROJECT_LINK_PLACEHOLDER = "che-javadoc-project-link:";
+
+    private final LinkedHashMap<String, String> heap;
+    private final AtomicLong                    heapHits;
+    private final AtomicLong                    diskHits;
+    private final AtomicLong                    misses;
+    private final AtomicLong                    charsServed;
+    private final AtomicLong                    bytesWritten;
+    private final AtomicBoolean                 trimScheduled;
+    private final ExecutorService               trimmer;
+    private final long                          maxDiskSize;
+
+    private volatile File entriesDir;
+    private          int  heapSize;
+
+    @Inject
+    public LibraryContentCache(@Named("che.jdt.workspace.index.dir") String indexDir) {
+        this(new File(new File(indexDir).getParentFile(), "library-cache"));
+    }
+
+    /**
+     * @param rootDir
+     *         root directory of the cache, entries of different format versions are kept in its subdirectories
+     */
+    public LibraryContentCache(File rootDir) {
+        this(rootDir, DEFAULT_MAX_DISK_SIZE);
+    }
+
+    /**
+     * @param rootDir
+     *         root directory of the cache, entries of different format versions are kept in its subdirectories
+     * @param maxDiskSize
+     *         maximal size in bytes of entries stored on disk
+     */
+    public LibraryContentCache(File rootDir, long maxDiskSize) {
+        this.maxDiskSize = maxDiskSize;
+        this.bytesWritten = new AtomicLong();
+        this.trimScheduled = new AtomicBoolean();
+        this.trimmer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("LibraryContentCacheTrimmer")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+        this.heap = new LinkedHashMap<>(64, 0.75f, true);
+        this.heapHits = new AtomicLong();
+        this.diskHits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.charsServed = new AtomicLong();
+        setRootDir(rootDir);
+    }
+
+    /** Sets directory of the cache shared between workspaces, cache of the workspace is used by default. */
+    @Inject(optional = true)
+    public void setSharedDir(@Named("che.jdt.library.cache.dir") String sharedDir) {
+        setRootDir(new File(sharedDir));
+    }
+
+    /**
+     * Returns sources of the binary type, sources are generated by the loader only if they aren't cached.
+     *
+     * @param type
+     *         binary type
+     * @param loader
+     *         generates sources of the type
+     */
+    public String getSource(IType type, Loader loader) throws JavaModelException {
+        final String library = getLibraryKey(type);
+        if (library == null) {
+            return loader.load();
+        }
+        return get("source/" + SourcesFromBytecodeGenerator.FORMAT_VERSION + '/' + library + '/' + type.getFullyQualifiedName(),
+                   loader);
+    }
+
+    /**
+     * Returns Javadoc of the member, Javadoc is rendered by the renderer only if it isn't cached.
+     * Members of source folders aren't cached.
+     *
+     * @param member
+     *         member of a library or a source folder
+     * @param urlPrefix
+     *         prefix of links to other elements which are rendered in Javadoc
+     * @param renderer
+     *         renders Javadoc of the member with links that start with the given prefix
+     */
+    public String getJavadoc(IMember member, String urlPrefix, JavadocRenderer renderer) throws JavaModelException {
+        final String library = member.isBinary() ? getLibraryKey(member) : null;
+        if (library == null) {
+            return renderer.render(urlPrefix);
+        }
+        // links contain handles of elements which start with the handle of the project
+        final String projectLink = encodeLink(JavaElementLinks.LINK_SEPARATOR + member.getJavaProject().getHandleIdentifier() + '/');
+        // Javadoc of members without attached sources is read from the attached Javadoc location
+        final URL javadocLocation = JavaDocLocations.getJavadocBaseLocation(member);
+        final String key = "javadoc/" + library + '/' + getSignature(member)
+                           + (javadocLocation == null ? "" : '@' + javadocLocation.toExternalForm());
+        final String javadoc = get(key,
+                                   () -> {
+                                       final String rendered = renderer.render(LINK_PLACEHOLDER);
+                                       return rendered == null ? null : rendered.replace(LINK_PLACEHOLDER + projectLink,
+                                                                                         PROJECT_LINK_PLACEHOLDER);
+                                   });
+        if (javadoc == null) {
+            return null;
+        }
+        return javadoc.replace(PROJECT_LINK_PLACEHOLDER, urlPrefix + projectLink).replace(LINK_PLACEHOLDER, urlPrefix);
+    }
+
+    /** Returns statistics of the cache since start. */
+    public Statistics getStatistics() {
+        return new Statistics(heapHits.get(), diskHits.get(), misses.get(), charsServed.get());
+    }
+
+    /** Loads entries used in the previous session into memory. */
+    @PostConstruct
+    public void start() {
+        final File recentKeysFile = new File(entriesDir, RECENT_KEYS_FILE);
+        scheduleTrim();
+        final Thread warmer = new Thread(() -> {
+            if (!recentKeysFile.isFile()) {
+                return;
+            }
+            try {
+                int loaded = 0;
+                for (String key : Files.readAllLines(recentKeysFile.toPath(), StandardCharsets.UTF_8)) {
+                    final String content = readEntry(key);
+                    if (content != null) {
+                        putInHeap(key, content);
+                        loaded++;
+                    }
+                }
+                LOG.debug("Loaded {} entries of library content cache", loaded);
+            } catch (IOException e) {
+                LOG.warn("Can't load recently used entries of library content cache", e);
+            }
+        }, "LibraryContentCacheWarmer");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /** Saves keys of the recently used entries to load them on the next start, waits for removal of entries from disk. */
+    @PreDestroy
+    public void stop() {
+        final List<String> keys;
+        synchronized (heap) {
+            keys = new ArrayList<>(heap.keySet());
+        }
+        final List<String> recentKeys = keys.subList(Math.max(0, keys.size() - MAX_RECENT_KEYS), keys.size());
+        try {
+            writeAtomically(new File(entriesDir, RECENT_KEYS_FILE).toPath(), String.join("\n", recentKeys));
+        } catch (IOException e) {
+            LOG.warn("Can't save recently used entries of library content cache", e);
+        }
+        trimmer.shutdown();
+        try {
+            trimmer.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.info("Library content cache: {}", getStatistics());
+    }
+
+    private void setRootDir(File rootDir) {
+        this.entriesDir = new File(rootDir, "v" + FORMAT_VERSION);
+    }
+
+    private String get(String key, Loader loader) throws JavaModelException {
+        String content;
+        synchronized (heap) {
+            content = heap.get(key);
+        }
+        if (content != null) {
+            heapHits.incrementAndGet();
+        } else {
+            content = readEntry(key);
+            if (content != null) {
+                diskHits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                content = loader.load();
+                if (content == null) {
+                    return null;
+                }
+                writeEntry(key, content);
+            }
+            putInHeap(key, content);
+        }
+        charsServed.addAndGet(content.length());
+        return content;
+    }
+
+    private void putInHeap(String key, String content) {
+        if (content.length() > MAX_HEAP_SIZE / 4) {
+            return;
+        }
+        synchronized (heap) {
+            final String previous = heap.put(key, content);
+            heapSize += content.length() - (previous == null ? 0 : previous.length());
+            for (Iterator<String> it = heap.values().iterator(); heapSize > MAX_HEAP_SIZE && it.hasNext(); ) {
+                heapSize -= it.next().length();
+                it.remove();
+            }
+        }
+    }
+
+    private String readEntry(String key) {
+        final Path entry = getEntryFile(key);
+        try {
+            final String content = new String(Files.readAllBytes(entry), StandardCharsets.UTF_8);
+            // modification time orders entries by use when disk store is trimmed, it isn't updated in read-only cache
+            entry.toFile().setLastModified(System.currentTimeMillis());
+            return content;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Can't read entry of library content cache " + entry, e);
+            return null;
+        }
+    }
+
+    private void writeEntry(String key, String content) {
+        final Path entry = getEntryFile(key);
+        try {
+            writeAtomically(entry, content);
+        } catch (IOException e) {
+            // cache may be read-only, content is generated again next time
+            LOG.debug("Can't write entry of library content cache " + entry, e);
+            return;
+        }
+        if (bytesWritten.addAndGet(content.length()) > maxDiskSize / 4) {
+            bytesWritten.set(0);
+            scheduleTrim();
+        }
+    }
+
+    /** Trims disk store in background, so requests don't wait for listing of entries. */
+    private void scheduleTrim() {
+        if (!trimScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            trimmer.execute(() -> {
+                trimScheduled.set(false);
+                trimDiskStore();
+            });
+        } catch (RejectedExecutionException e) {
+            // cache is stopped
+            trimScheduled.set(false);
+        }
+    }
+
+    /** Removes the least recently used entries if disk store is bigger than allowed. */
+    private void trimDiskStore() {
+        final File[] dirs = entriesDir.listFiles(File::isDirectory);
+        if (dirs == null) {
+            return;
+        }
+        final List<DiskEntry> entries = new ArrayList<>();
+        long size = 0;
+        for (File dir : dirs) {
+            final File[] files = dir.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                if (file.getName().endsWith(".tmp")) {
+                    // entry is being written
+                    continue;
+                }
+                final DiskEntry entry = new DiskEntry(file);
+                entries.add(entry);
+                size += entry.size;
+            }
+        }
+        if (size <= maxDiskSize) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+        int removed = 0;
+        // trim with a margin, so the store isn't trimmed again after a few writes
+        for (Iterator<DiskEntry> it = entries.iterator(); size > maxDiskSize * 3 / 4 && it.hasNext(); ) {
+            final DiskEntry entry = it.next();
+            if (entry.file.delete()) {
+                size -= entry.size;
+                removed++;
+            }
+        }
+        LOG.debug("Removed {} entries of library content cache", removed);
+    }
+
+    private Path getEntryFile(String key) {
+        final String sha1 = FileChecksums.sha1(key);
+        return new File(new File(entriesDir, sha1.substring(0, 2)), sha1).toPath();
+    }
+
+    /** Returns signature of the member which doesn't depend on the project the member is found in. */
+    private static String getSignature(IMember member) {
+        if (member instanceof IType) {
+            return ((IType)member).getFullyQualifiedName('$');
+        }
+        final String signature = getSignature(member.getDeclaringType()) + '#' + member.getElementName();
+        if (member instanceof IMethod) {
+            return signature + '(' + String.join(",", ((IMethod)member).getParameterTypes()) + ')';
+        }
+        return signature;
+    }
+
+    private static String encodeLink(String link) {
+        try {
+            return URLEncoder.encode(link, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns part of the key which identifies content of library of the element and of its attached sources.
+     *
+     * @return key or {@code null} if element doesn't belong to an archive
+     */
+    private String getLibraryKey(IJavaElement element) throws JavaModelException {
+        final IPackageFragmentRoot root = (IPackageFragmentRoot)element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+        if (root == null || !root.isArchive()) {
+            return null;
+        }
+        final File library;
+        if (root.isExternal()) {
+            library = root.getPath().toFile();
+        } else {
+            final IResource resource = root.getResource();
+            library = resource == null || resource.getLocation() == null ? null : resource.getLocation().toFile();
+        }
+        if (library == null || !library.isFile()) {
+            return null;
+        }
+        final String checksum;
+        try {
+            checksum = FileChecksums.getDefault().checksum(library);
+        } catch (IOException e) {
+            LOG.debug("Can't compute checksum of library " + library, e);
+            return null;
+        }
+        final IPath sourceAttachment = root.getSourceAttachmentPath();
+        final File sources = sourceAttachment == null ? null : sourceAttachment.toFile();
+        if (sources == null || !sources.isFile()) {
+            return checksum;
+        }
+        try {
+            return checksum + '/' + FileChecksums.getDefault().checksum(sources);
+        } catch (IOException e) {
+            LOG.debug("Can't compute checksum of sources " + sources, e);
+            return null;
+        }
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        final Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Creates content which isn't cached yet. */
+    public interface Loader {
+        String load() throws JavaModelException;
+    }
+
+    /** Renders Javadoc which isn't cached yet. */
+    public interface JavadocRenderer {
+        String render(String urlPrefix) throws JavaModelException;
+    }
+
+    private static class DiskEntry {
+        final File file;
+        final long size;
+        final long lastUsed;
+
+        DiskEntry(File file) {
+            this.file = file;
+            this.size = file.length();
+            this.lastUsed = file.lastModified();
+        }
+    }
+
+    /** Numbers of requests served by the cache. */
+    public static class Statistics {
+        private final long heapHits;
+        private final long diskHits;
+        private final long misses;
+        private final long charsServed;
+
+        Statistics(long heapHits, long diskHits, long misses, long charsServed) {
+            this.heapHits = heapHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.charsServed = charsServed;
+        }
+
+        public long getHeapHits() {
+            return heapHits;
+        }
+
+        public long getDiskHits() {
+            return diskHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /** Returns total length of content returned by the cache, both cached and loaded. */
+        public long getCharsServed() {
+            return charsServed;
+        }
+
+        /** Returns part of requests served from memory or disk. */
+        public double getHitRate() {
+            final long requests = heapHits + diskHits + misses;
+            return requests == 0 ? 0 : (double)(heapHits + diskHits) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("heap hits %d, disk hits %d, misses %d, hit rate %.2f, chars served %d",
+                                 heapHits, diskHits, misses, getHitRate(), charsServed);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.ProjectCreatedEvent;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
+import org.eclipse.che.jdt.core.resources.ResourceDeltaImpl;
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
@@ -30,20 +31,36 @@ import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * Updates java model when project items are changed. Changes are coalesced and processed in batches
+ * by {@link ResourceChangesBatcher}, so bulk changes, e.g. checkout of a branch, don't block the event thread.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class ProjectListeners {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProjectListeners.class);
-    private final File workspace;
+
+    private static final long QUIET_PERIOD_MS     = 100;
+    private static final long MAX_DELAY_MS        = 1000;
+    private static final int  MAX_PENDING_CHANGES = 10_000;
+
+    private final File                   workspace;
+    private final ResourceChangesBatcher batcher;
 
     @Inject
     public ProjectListeners(@Named("che.user.workspaces.storage") String workspacePath, EventService eventService) {
         workspace = new File(workspacePath);
+        batcher = new ResourceChangesBatcher("JavaModelDeltaProcessor", this::processChanges, QUIET_PERIOD_MS, MAX_DELAY_MS,
+                                             MAX_PENDING_CHANGES);
+        batcher.start();
         eventService.subscribe(new ProjectCreated());
         eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>(){
             @Override
@@ -54,25 +71,41 @@ public class ProjectListeners {
     }
 
     public void handleEvent(ProjectItemModifiedEvent event) {
-        final String eventPath = event.getPath();
+        batcher.add(event.getPath(), event.getType());
+    }
+
+    /** Returns statistics of processing of project item changes. */
+    public ResourceChangesBatcher.Statistics getStatistics() {
+        return batcher.getStatistics();
+    }
+
+    @PreDestroy
+    public void stop() {
+        batcher.stop();
+    }
+
+    private void processChanges(Map<String, ProjectItemModifiedEvent.EventType> changes) {
+        List<ResourceDeltaImpl> deltas = new ArrayList<>(changes.size());
+        changes.forEach((path, type) -> deltas.add(new ResourceDeltaImpl(workspace, path, type)));
         try {
-            JavaModelManager.getJavaModelManager().deltaState.resourceChanged(
-                    new ResourceChangedEvent(workspace, event));
+            JavaModelManager.getJavaModelManager().deltaState.resourceChanged(new ResourceChangedEvent(workspace, deltas));
         } catch (Throwable t) {
             //catch all exceptions that may be happened
-            LOG.error("Can't update java model in " + eventPath, t);
+            LOG.error("Can't update java model, " + changes.size() + " changed items", t);
         }
-        if (event.getType() == ProjectItemModifiedEvent.EventType.UPDATED) {
-            ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
-            ITextFileBuffer fileBuffer = manager.getTextFileBuffer(new Path(eventPath), LocationKind.IFILE);
-            if (fileBuffer != null) {
-                try {
-                    fileBuffer.revert(new NullProgressMonitor());
-                } catch (CoreException e) {
-                    LOG.error("Can't read file content: " + eventPath, e);
+        ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
+        changes.forEach((path, type) -> {
+            if (type == ProjectItemModifiedEvent.EventType.UPDATED) {
+                ITextFileBuffer fileBuffer = manager.getTextFileBuffer(new Path(path), LocationKind.IFILE);
+                if (fileBuffer != null) {
+                    try {
+                        fileBuffer.revert(new NullProgressMonitor());
+                    } catch (CoreException e) {
+                        LOG.error("Can't read file content: " + path, e);
+                    }
                 }
             }
-        }
+        });
     }
 
     private class ProjectCreated implements EventSubscriber<ProjectCreatedEvent> {
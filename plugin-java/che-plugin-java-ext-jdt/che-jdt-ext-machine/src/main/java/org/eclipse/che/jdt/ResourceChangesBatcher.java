@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.CREATED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+
+/**
+ * Collects changes of project items and passes them to the processor in batches on a dedicated thread.
+ *
+ * <p>Changes are collected until no new changes arrive for the quiet period, but at most for the max delay
+ * after the first change of a batch, e.g. a checkout of a branch which touches thousands of files is processed
+ * in a few batches instead of a pass per file. Changes of the same path are coalesced: a created and then
+ * deleted item is dropped, a deleted and then created item is updated. Number of paths which wait for
+ * processing is bounded, when the limit is reached the batch is processed immediately and producers wait
+ * until it is taken.
+ */
+public class ResourceChangesBatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceChangesBatcher.class);
+
+    private final Consumer<Map<String, EventType>> processor;
+    private final long                             quietPeriod;
+    private final long                             maxDelay;
+    private final int                              capacity;
+    private final Thread                           worker;
+
+    private LinkedHashMap<String, EventType> pending;
+    private long                             firstChangeTime;
+    private long                             lastChangeTime;
+    private boolean                          stopped;
+
+    private long received;
+    private long coalesced;
+    private long blocked;
+    private long batches;
+    private long processed;
+    private long maxBatchSize;
+    private long processingTime;
+
+    /**
+     * @param name
+     *         name of the worker thread
+     * @param processor
+     *         processes batch of changes, map of paths to types of changes in order of their appearance
+     * @param quietPeriod
+     *         time in milliseconds without new changes after which batch is processed
+     * @param maxDelay
+     *         max time in milliseconds between the first change of batch and its processing
+     * @param capacity
+     *         max number of paths which wait for processing
+     */
+    public ResourceChangesBatcher(String name, Consumer<Map<String, EventType>> processor, long quietPeriod, long maxDelay,
+                                  int capacity) {
+        this.processor = processor;
+        this.quietPeriod = quietPeriod;
+        this.maxDelay = maxDelay;
+        this.capacity = capacity;
+        this.pending = new LinkedHashMap<>();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+    }
+
+    /** Returns type of change which is equal to the consecutive changes of the same item, or {@code null} if there is no change. */
+    static EventType merge(EventType previous, EventType next) {
+        if (previous == CREATED) {
+            return next == DELETED ? null : CREATED;
+        }
+        if (previous == DELETED && next == CREATED) {
+            return UPDATED;
+        }
+        return next;
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    /** Processes collected changes and stops the worker thread. */
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+            notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.debug("Resource changes: {}", getStatistics());
+    }
+
+    /**
+     * Adds change of project item, waits if too many changes wait for processing.
+     *
+     * @param path
+     *         path of the item
+     * @param type
+     *         type of change
+     */
+    public synchronized void add(String path, EventType type) {
+        boolean waited = false;
+        while (pending.size() >= capacity && !stopped && !pending.containsKey(path)) {
+            waited = true;
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                // change must not be lost, the limit is exceeded
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (waited) {
+            blocked++;
+        }
+
+        received++;
+        final long now = System.currentTimeMillis();
+        if (pending.isEmpty()) {
+            firstChangeTime = now;
+            notifyAll();
+        }
+        lastChangeTime = now;
+        final EventType previous = pending.get(path);
+        if (previous == null) {
+            pending.put(path, type);
+        } else {
+            coalesced++;
+            final EventType merged = merge(previous, type);
+            if (merged == null) {
+                pending.remove(path);
+            } else {
+                pending.put(path, merged);
+            }
+        }
+        if (pending.size() >= capacity) {
+            notifyAll();
+        }
+    }
+
+    /** Returns statistics since start. */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(received, coalesced, blocked, batches, processed, maxBatchSize, processingTime, pending.size());
+    }
+
+    private void run() {
+        Map<String, EventType> batch;
+        while ((batch = takeBatch()) != null) {
+            final long start = System.currentTimeMillis();
+            try {
+                processor.accept(batch);
+            } catch (RuntimeException e) {
+                LOG.error("Can't process " + batch.size() + " changed items", e);
+            }
+            final long time = System.currentTimeMillis() - start;
+            synchronized (this) {
+                batches++;
+                processed += batch.size();
+                maxBatchSize = Math.max(maxBatchSize, batch.size());
+                processingTime += time;
+            }
+        }
+    }
+
+    /** Waits for the next batch, returns {@code null} if the batcher is stopped and all changes are processed. */
+    private synchronized Map<String, EventType> takeBatch() {
+        try {
+            while (true) {
+                while (pending.isEmpty() && !stopped) {
+                    wait();
+                }
+                if (pending.isEmpty()) {
+                    return null;
+                }
+                long now = System.currentTimeMillis();
+                long deadline = Math.min(lastChangeTime + quietPeriod, firstChangeTime + maxDelay);
+                while (!stopped && !pending.isEmpty() && pending.size() < capacity && now < deadline) {
+                    wait(deadline - now);
+                    now = System.currentTimeMillis();
+                    deadline = Math.min(lastChangeTime + quietPeriod, firstChangeTime + maxDelay);
+                }
+                if (!pending.isEmpty()) {
+                    final Map<String, EventType> batch = pending;
+                    pending = new LinkedHashMap<>();
+                    notifyAll();
+                    return batch;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /** Numbers of changes handled by the batcher. */
+    public static class Statistics {
+        private final long received;
+        private final long coalesced;
+        private final long blocked;
+        private final long batches;
+        private final long processed;
+        private final long maxBatchSize;
+        private final long processingTime;
+        private final int  pending;
+
+        Statistics(long received, long coalesced, long blocked, long batches, long processed, long maxBatchSize,
+                   long processingTime, int pending) {
+            this.received = received;
+            this.coalesced = coalesced;
+            this.blocked = blocked;
+            this.batches = batches;
+            this.processed = processed;
+            this.maxBatchSize = maxBatchSize;
+            this.processingTime = processingTime;
+            this.pending = pending;
+        }
+
+        public long getReceived() {
+            return received;
+        }
+
+        /** Returns number of changes which were merged with previous changes of the same item. */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        /** Returns number of times producer waited since too many changes weren't processed yet. */
+        public long getBlocked() {
+            return blocked;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        /** Returns total time in milliseconds spent to process batches. */
+        public long getProcessingTime() {
+            return processingTime;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("received %d, coalesced %d, blocked %d, batches %d, processed %d, max batch %d, " +
+                                 "processing time %d ms, pending %d",
+                                 received, coalesced, blocked, batches, processed, maxBatchSize, processingTime, pending);
+        }
+    }
+}
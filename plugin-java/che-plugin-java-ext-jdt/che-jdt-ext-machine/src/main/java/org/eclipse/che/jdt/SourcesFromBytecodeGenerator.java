@@ -37,10 +37,12 @@ import java.util.List;
 @Singleton
 public class SourcesFromBytecodeGenerator {
 
-    public static final  String METHOD_BODY = " /* compiled code */ ";
-    private static final String COMMENT     = new String(
+    /** Version of generated sources, must be increased when generated sources change, so cached sources aren't used. */
+    public static final  int    FORMAT_VERSION = 1;
+    public static final  String METHOD_BODY    = " /* compiled code */ ";
+    private static final String COMMENT        = new String(
             "\n // Failed to get sources. Instead, stub sources have been generated.\n // Implementation of methods is unavailable.\n");
-    private static final String TAB         = "    ";
+    private static final String TAB            = "    ";
 
     public String generateSource(IType type) throws JavaModelException {
         StringBuilder builder = new StringBuilder();
@@ -64,6 +64,15 @@ public class CodeAssistService {
         return codeAssist.applyCompletion(sessionId, index, insert);
     }
 
+    @GET
+    @Path("refine/completion")
+    @Produces("application/json")
+    public Proposals refineCompletionProposals(@QueryParam("sessionid") String sessionId,
+                                               @QueryParam("offset") int offset,
+                                               @DefaultValue("") @QueryParam("prefix") String prefix) {
+        return codeAssist.refineProposals(sessionId, offset, prefix);
+    }
+
     @POST
     @Path("compute/assist")
     @Produces("application/json")
@@ -40,13 +40,15 @@ public class JavaClasspathService {
      *
      * @param projectPath
      *         the path to the current project
+     * @param force
+     *         update dependencies even if configuration of the project isn't changed since the previous update
      * @return information about updating dependencies
      */
     @Path("update")
     @Produces(MediaType.APPLICATION_JSON)
     @GET
-    public ClassPathBuilderResult update(@QueryParam("projectpath") final String projectPath) throws ExecutionException,
-                                                                                                     InterruptedException {
-        return classPathBuilder.buildClassPath(workspaceId, projectPath);
+    public ClassPathBuilderResult update(@QueryParam("projectpath") final String projectPath,
+                                         @QueryParam("force") boolean force) throws ExecutionException, InterruptedException {
+        return classPathBuilder.buildClassPath(workspaceId, projectPath, force);
     }
 }
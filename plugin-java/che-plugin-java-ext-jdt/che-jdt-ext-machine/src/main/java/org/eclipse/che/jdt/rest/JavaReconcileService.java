@@ -13,6 +13,7 @@ package org.eclipse.che.jdt.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.jdt.core.IJavaProject;
@@ -20,11 +21,17 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
 /**
  * @author Evgen Vidolob
  */
@@ -43,4 +50,18 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    @POST
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    public ReconcileResult reconcile(ReconcileRequest request) throws JavaModelException {
+        IJavaProject javaProject = model.getJavaProject(request.getProjectPath());
+        return reconciler.reconcile(javaProject, request);
+    }
+
+    @DELETE
+    @Path("{sessionId}")
+    public void closeSession(@PathParam("sessionId") String sessionId) {
+        reconciler.closeSession(sessionId);
+    }
 }
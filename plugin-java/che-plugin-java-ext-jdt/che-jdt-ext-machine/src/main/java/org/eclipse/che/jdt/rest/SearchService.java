@@ -13,17 +13,21 @@ package org.eclipse.che.jdt.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
 import org.eclipse.che.jdt.search.SearchException;
 import org.eclipse.che.jdt.search.SearchManager;
+import org.eclipse.che.jdt.search.WebSocketFindUsagesListener;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
@@ -48,4 +52,32 @@ public class SearchService {
         IJavaProject javaProject = javaModel.getJavaProject(request.getProjectPath());
         return manager.findUsage(javaProject, request.getFQN(), request.getOffset());
     }
+
+    /**
+     * Starts find usages search, matches are sent to the websocket channel of the search while they are found.
+     *
+     * @return response which contains only label of the element which usages are searched
+     */
+    @POST
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    @Path("find/usages/async")
+    public FindUsagesResponse startFindUsages(FindUsagesRequest request) throws SearchException {
+        if (request.getSearchId() == null) {
+            throw new SearchException("Search id required");
+        }
+        JavaModel javaModel = JavaModelManager.getJavaModelManager().getJavaModel();
+        IJavaProject javaProject = javaModel.getJavaProject(request.getProjectPath());
+        String label = manager.startFindUsages(javaProject, request.getFQN(), request.getOffset(), request.getSearchId(),
+                                               new WebSocketFindUsagesListener(request.getSearchId()));
+        FindUsagesResponse response = DtoFactory.newDto(FindUsagesResponse.class);
+        response.setSearchElementLabel(label);
+        return response;
+    }
+
+    @DELETE
+    @Path("find/usages/{searchId}")
+    public void cancelFindUsages(@PathParam("searchId") String searchId) {
+        manager.cancelFindUsages(searchId);
+    }
 }
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.search;
+
+import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
+
+/**
+ * Receives results of asynchronous find usages search.
+ * Methods are called from the thread of the search.
+ */
+public interface FindUsagesListener {
+
+    /**
+     * Called when new matches are found.
+     *
+     * @param matches
+     *         matches of files found since the previous call with the part of project hierarchy that contains these files,
+     *         matches of one file are passed only once
+     */
+    void onMatches(FindUsagesResponse matches);
+
+    /** Called when search is finished or cancelled. */
+    void onCompleted();
+
+    /** Called when search is stopped because of error. */
+    void onFailed(String message);
+}
@@ -11,21 +11,25 @@
 
 package org.eclipse.che.jdt.search;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.Region;
-import org.eclipse.che.ide.ext.java.shared.dto.model.JavaProject;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
-import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IImportDeclaration;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ILocalVariable;
-import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.IPackageDeclaration;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
@@ -33,26 +37,33 @@ import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
-import org.eclipse.jdt.internal.core.DocumentAdapter;
 import org.eclipse.jdt.internal.ui.search.JavaSearchQuery;
 import org.eclipse.jdt.internal.ui.search.JavaSearchResult;
 import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
 import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.search.ElementQuerySpecification;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.Document;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
 import org.eclipse.search.NewSearchUI;
 import org.eclipse.search.ui.ISearchResult;
+import org.eclipse.search.ui.ISearchResultListener;
+import org.eclipse.search.ui.SearchResultEvent;
 import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Performs all Java related search.
@@ -74,7 +85,92 @@ public class SearchManager {
                                                                         ITypeParameter.class};
 
 
+    /** Number of files whose line tables are kept while matches are converted. */
+    private static final int SOURCE_LINES_CACHE_SIZE = 16;
+    /** Maximal number of files sent in one portion of matches of asynchronous search. */
+    private static final int FILES_PER_PORTION       = 50;
+    /** Maximal time in milliseconds found matches wait before they are sent. */
+    private static final int PORTION_DELAY_MS        = 500;
+
+    private final ExecutorService               executor;
+    private final ScheduledExecutorService      portionSender;
+    private final Map<String, IProgressMonitor> runningSearches;
+
+    public SearchManager() {
+        executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("FindUsagesSearch-%d")
+                                                                           .setDaemon(true)
+                                                                           .build());
+        portionSender = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("FindUsagesPortionSender")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        runningSearches = new ConcurrentHashMap<>();
+    }
+
+    @PreDestroy
+    void stop() {
+        runningSearches.values().forEach(monitor -> monitor.setCanceled(true));
+        executor.shutdownNow();
+        portionSender.shutdownNow();
+    }
+
     public FindUsagesResponse findUsage(IJavaProject javaProject, String fqn, int offset) throws SearchException {
+        IJavaElement element = findElement(javaProject, fqn, offset);
+        try {
+            return performFindUsageSearch(element);
+        } catch (JavaModelException e) {
+            LOG.error(e.getMessage(), e);
+            throw new SearchException(String.format("Can't find project: %s or file for FQN: %s", javaProject.getPath().toOSString(), fqn),
+                                      e);
+        }
+    }
+
+    /**
+     * Starts find usages search in background. Found matches are passed to the listener grouped by files
+     * as soon as they are found, so client doesn't wait until the whole workspace is searched.
+     *
+     * @param searchId
+     *         id of the search, it is used to cancel the search
+     * @return label of the element which usages are searched
+     * @throws SearchException
+     *         if element to search can't be found or search with the same id is running
+     */
+    public String startFindUsages(IJavaProject javaProject, String fqn, int offset, final String searchId,
+                                  final FindUsagesListener listener) throws SearchException {
+        final IJavaElement element = findElement(javaProject, fqn, offset);
+        final IProgressMonitor monitor = new NullProgressMonitor();
+        if (runningSearches.putIfAbsent(searchId, monitor) != null) {
+            throw new SearchException("Search " + searchId + " is already running");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    performFindUsageSearch(element, searchId, monitor, listener);
+                } finally {
+                    runningSearches.remove(searchId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            runningSearches.remove(searchId);
+            throw new SearchException("Can't start search", e);
+        }
+        return JavaElementLabels.getElementLabel(element, JavaElementLabels.ALL_DEFAULT);
+    }
+
+    /**
+     * Cancels search started with {@link #startFindUsages}. Does nothing if search is already finished.
+     *
+     * @return {@code true} if search was running, {@code false} otherwise
+     */
+    public boolean cancelFindUsages(String searchId) {
+        IProgressMonitor monitor = runningSearches.get(searchId);
+        if (monitor == null) {
+            return false;
+        }
+        monitor.setCanceled(true);
+        return true;
+    }
+
+    private IJavaElement findElement(IJavaProject javaProject, String fqn, int offset) throws SearchException {
         try {
             ICompilationUnit compilationUnit;
             IType type = javaProject.findType(fqn);
@@ -93,7 +189,7 @@ public class SearchManager {
             if (elements != null && elements.length == 1) {
                 IJavaElement element = elements[0];
                 if (isTypeValid(element, TYPES_FOR_FIND_USAGE)) {
-                    return performFindUsageSearch(element);
+                    return element;
                 } else {
                     throw new SearchException("Find usage can't search for element: " + element.getElementName());
                 }
@@ -106,82 +202,146 @@ public class SearchManager {
             LOG.error(e.getMessage(), e);
             throw new SearchException(String.format("Can't find project: %s or file for FQN: %s", javaProject.getPath().toOSString(), fqn),
                                       e);
-        } catch (BadLocationException e) {
-            LOG.error(e.getMessage(), e);
-            throw new SearchException("Some error happened when formatting search result", e);
         }
     }
 
-    private FindUsagesResponse performFindUsageSearch(IJavaElement element) throws JavaModelException, BadLocationException {
+    private JavaSearchQuery createQuery(IJavaElement element) {
         JavaSearchScopeFactory factory = JavaSearchScopeFactory.getInstance();
         boolean isInsideJRE = factory.isInsideJRE(element);
-        JavaSearchQuery
-                query = new JavaSearchQuery(new ElementQuerySpecification(element, IJavaSearchConstants.REFERENCES,
-                                                                          factory.createWorkspaceScope(isInsideJRE),
-                                                                          "workspace scope"));
+        return new JavaSearchQuery(new ElementQuerySpecification(element, IJavaSearchConstants.REFERENCES,
+                                                                 factory.createWorkspaceScope(isInsideJRE),
+                                                                 "workspace scope"));
+    }
+
+    private FindUsagesResponse performFindUsageSearch(IJavaElement element) throws JavaModelException {
+        JavaSearchQuery query = createQuery(element);
         NewSearchUI.runQueryInForeground(null, query);
         ISearchResult result = query.getSearchResult();
         JavaSearchResult javaResult = ((JavaSearchResult)result);
-        FindUsagesResponse response = DtoFactory.newDto(FindUsagesResponse.class);
-        Map<String, List<org.eclipse.che.ide.ext.java.shared.dto.search.Match>> mapMaches = new HashMap<>();
         JavaElementToDtoConverter converter = new JavaElementToDtoConverter(javaResult);
+        Map<String, List<org.eclipse.che.ide.ext.java.shared.dto.search.Match>> mapMaches = new HashMap<>();
+        Map<IOpenable, SourceLines> sourceLinesCache = newSourceLinesCache();
         for (Object o : javaResult.getElements()) {
             IJavaElement javaElement = (IJavaElement)o;
-            IDocument document = null;
-            if (javaElement instanceof IMember) {
-                IMember member = ((IMember)javaElement);
-                if (member.isBinary()) {
-                    if (member.getClassFile().getSource() != null) {
-                        document = new Document(member.getClassFile().getSource());
-                    }
-                } else {
-                    document = getDocument(member.getCompilationUnit());
-                }
-            } else if (javaElement instanceof IPackageDeclaration) {
-                ICompilationUnit ancestor = (ICompilationUnit)(javaElement).getAncestor(IJavaElement.COMPILATION_UNIT);
-                document = getDocument(ancestor);
+            converter.addElementToProjectHierarchy(javaElement);
+            mapMaches.put(javaElement.getHandleIdentifier(), convertMatches(javaElement, javaResult.getMatches(o), sourceLinesCache));
+        }
+        return createResponse(element, converter, mapMaches);
+    }
 
+    /**
+     * Runs search and passes found matches to the listener. Search is unregistered before the listener is notified
+     * about the end of the search, so search can't be cancelled once the listener knows that it is finished.
+     */
+    private void performFindUsageSearch(IJavaElement element, String searchId, IProgressMonitor monitor, FindUsagesListener listener) {
+        try {
+            JavaSearchQuery query = createQuery(element);
+            JavaSearchResult javaResult = (JavaSearchResult)query.getSearchResult();
+            MatchStreamer streamer = new MatchStreamer(element, javaResult, listener, monitor);
+            javaResult.addListener(streamer);
+            // files that are already searched aren't held back when search doesn't find anything for a long time
+            ScheduledFuture<?> sending = portionSender.scheduleWithFixedDelay(streamer::sendIfDelayed,
+                                                                              PORTION_DELAY_MS,
+                                                                              PORTION_DELAY_MS,
+                                                                              TimeUnit.MILLISECONDS);
+            try {
+                IStatus status = query.run(monitor);
+                if (!monitor.isCanceled() && status.getSeverity() == IStatus.ERROR) {
+                    runningSearches.remove(searchId);
+                    listener.onFailed(status.getMessage());
+                    return;
+                }
+            } catch (OperationCanceledException e) {
+                // matches found before cancellation are sent
+            } finally {
+                sending.cancel(false);
+                javaResult.removeListener(streamer);
             }
-            converter.addElementToProjectHierarchy(javaElement);
+            if (streamer.getFailure() != null) {
+                runningSearches.remove(searchId);
+                listener.onFailed(streamer.getFailure());
+                return;
+            }
+            streamer.flush();
+            runningSearches.remove(searchId);
+            listener.onCompleted();
+        } catch (JavaModelException | RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+            runningSearches.remove(searchId);
+            listener.onFailed(getErrorMessage(e));
+        }
+    }
 
-            Match[] matches = javaResult.getMatches(o);
+    private static String getErrorMessage(Exception e) {
+        return e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+    }
 
-            List<org.eclipse.che.ide.ext.java.shared.dto.search.Match> matchList = new ArrayList<>();
-            for (Match match : matches) {
-                org.eclipse.che.ide.ext.java.shared.dto.search.Match dtoMatch = DtoFactory.newDto(
-                        org.eclipse.che.ide.ext.java.shared.dto.search.Match.class);
-                if (document != null) {
-                    IRegion lineInformation = document.getLineInformationOfOffset(match.getOffset());
+    private FindUsagesResponse createResponse(IJavaElement element, JavaElementToDtoConverter converter,
+                                              Map<String, List<org.eclipse.che.ide.ext.java.shared.dto.search.Match>> matches)
+            throws JavaModelException {
+        FindUsagesResponse response = DtoFactory.newDto(FindUsagesResponse.class);
+        response.setProjects(converter.getProjects());
+        response.setMatches(matches);
+        response.setSearchElementLabel(JavaElementLabels.getElementLabel(element, JavaElementLabels.ALL_DEFAULT));
+        return response;
+    }
 
-                    int offsetInLine = match.getOffset() - lineInformation.getOffset();
-                    Region matchInLine = DtoFactory.newDto(Region.class).withOffset(offsetInLine).withLength(match.getLength());
-                    dtoMatch.setMatchInLine(matchInLine);
-                    dtoMatch.setMatchLineNumber(document.getLineOfOffset(match.getOffset()));
-                    dtoMatch.setMatchedLine(document.get(lineInformation.getOffset(), lineInformation.getLength()));
-                }
-                dtoMatch.setFileMatchRegion(
-                        DtoFactory.newDto(Region.class).withOffset(match.getOffset()).withLength(match.getLength()));
-                matchList.add(dtoMatch);
+    private List<org.eclipse.che.ide.ext.java.shared.dto.search.Match> convertMatches(IJavaElement javaElement, Match[] matches,
+                                                                                      Map<IOpenable, SourceLines> sourceLinesCache)
+            throws JavaModelException {
+        SourceLines lines = getSourceLines(javaElement, sourceLinesCache);
+        List<org.eclipse.che.ide.ext.java.shared.dto.search.Match> matchList = new ArrayList<>(matches.length);
+        for (Match match : matches) {
+            org.eclipse.che.ide.ext.java.shared.dto.search.Match dtoMatch = DtoFactory.newDto(
+                    org.eclipse.che.ide.ext.java.shared.dto.search.Match.class);
+            if (lines != null) {
+                int line = lines.getLineOfOffset(match.getOffset());
 
+                int offsetInLine = match.getOffset() - lines.getLineOffset(line);
+                Region matchInLine = DtoFactory.newDto(Region.class).withOffset(offsetInLine).withLength(match.getLength());
+                dtoMatch.setMatchInLine(matchInLine);
+                dtoMatch.setMatchLineNumber(line);
+                dtoMatch.setMatchedLine(lines.getLine(line));
             }
-            mapMaches.put(javaElement.getHandleIdentifier(), matchList);
+            dtoMatch.setFileMatchRegion(
+                    DtoFactory.newDto(Region.class).withOffset(match.getOffset()).withLength(match.getLength()));
+            matchList.add(dtoMatch);
+
         }
-        List<JavaProject> projects = converter.getProjects();
-        response.setProjects(projects);
-        response.setMatches(mapMaches);
-        response.setSearchElementLabel(JavaElementLabels.getElementLabel(element, JavaElementLabels.ALL_DEFAULT));
-        return response;
+        return matchList;
     }
 
-    private IDocument getDocument(ICompilationUnit ancestor) throws JavaModelException {
-        IDocument document;
-        IBuffer buffer = ancestor.getBuffer();
-        if (buffer instanceof org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter) {
-            document = ((org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter)buffer).getDocument();
-        } else {
-            document = new DocumentAdapter(buffer);
+    /** Returns line table of the file that contains the element or {@code null} if source of the file isn't available. */
+    private SourceLines getSourceLines(IJavaElement javaElement, Map<IOpenable, SourceLines> sourceLinesCache)
+            throws JavaModelException {
+        IOpenable openable = javaElement.getOpenable();
+        if (openable == null) {
+            return null;
+        }
+        SourceLines lines = sourceLinesCache.get(openable);
+        if (lines == null) {
+            String source = null;
+            if (openable instanceof IClassFile) {
+                source = ((IClassFile)openable).getSource();
+            } else if (openable instanceof ICompilationUnit) {
+                source = ((ICompilationUnit)openable).getSource();
+            }
+            if (source == null) {
+                return null;
+            }
+            lines = new SourceLines(source);
+            sourceLinesCache.put(openable, lines);
         }
-        return document;
+        return lines;
+    }
+
+    private static Map<IOpenable, SourceLines> newSourceLinesCache() {
+        return new LinkedHashMap<IOpenable, SourceLines>(SOURCE_LINES_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IOpenable, SourceLines> eldest) {
+                return size() > SOURCE_LINES_CACHE_SIZE;
+            }
+        };
     }
 
     private boolean isTypeValid(IJavaElement element, Class<?>[] classes) {
@@ -208,4 +368,117 @@ public class SearchManager {
             return false;
         }
     }
+
+    /**
+     * Collects matches while search is running and passes them to listener by portions.
+     * Search reports all matches of a file one after another, so file is complete when match from another file is reported.
+     * Matches are reported by the search thread while complete files are also sent by timer, so access is synchronized.
+     * If matches can't be sent from the search thread, search is cancelled and the failure is reported when it stops.
+     */
+    private class MatchStreamer implements ISearchResultListener {
+        private final IJavaElement                         element;
+        private final JavaSearchResult                     javaResult;
+        private final FindUsagesListener                   listener;
+        private final IProgressMonitor                     monitor;
+        private final Map<IOpenable, SourceLines>          sourceLinesCache;
+        private final Map<IJavaElement, List<Match>>       currentFileMatches;
+        private final List<Map<IJavaElement, List<Match>>> completedFiles;
+
+        private IOpenable currentFile;
+        private long      lastSendTime;
+        private String    failure;
+
+        MatchStreamer(IJavaElement element, JavaSearchResult javaResult, FindUsagesListener listener, IProgressMonitor monitor) {
+            this.element = element;
+            this.javaResult = javaResult;
+            this.listener = listener;
+            this.monitor = monitor;
+            this.sourceLinesCache = newSourceLinesCache();
+            this.currentFileMatches = new LinkedHashMap<>();
+            this.completedFiles = new ArrayList<>();
+            this.lastSendTime = System.currentTimeMillis();
+        }
+
+        @Override
+        public synchronized void searchResultChanged(SearchResultEvent event) {
+            if (failure != null || !(event instanceof MatchEvent) || ((MatchEvent)event).getKind() != MatchEvent.ADDED) {
+                return;
+            }
+            try {
+                for (Match match : ((MatchEvent)event).getMatches()) {
+                    IJavaElement javaElement = (IJavaElement)match.getElement();
+                    IOpenable file = javaElement.getOpenable();
+                    if (currentFile != null && !currentFile.equals(file)) {
+                        completeFile();
+                        if (completedFiles.size() >= FILES_PER_PORTION || System.currentTimeMillis() - lastSendTime >= PORTION_DELAY_MS) {
+                            send();
+                        }
+                    }
+                    currentFile = file;
+                    List<Match> elementMatches = currentFileMatches.get(javaElement);
+                    if (elementMatches == null) {
+                        elementMatches = new ArrayList<>();
+                        currentFileMatches.put(javaElement, elementMatches);
+                    }
+                    elementMatches.add(match);
+                }
+            } catch (JavaModelException | RuntimeException e) {
+                // exception thrown from here would be swallowed by search, so search is stopped and failure is reported after it
+                LOG.error(e.getMessage(), e);
+                failure = getErrorMessage(e);
+                monitor.setCanceled(true);
+            }
+        }
+
+        /** Returns message of failure that stopped search or {@code null} if matches were passed to listener successfully. */
+        synchronized String getFailure() {
+            return failure;
+        }
+
+        /** Sends all collected matches. */
+        synchronized void flush() throws JavaModelException {
+            completeFile();
+            send();
+        }
+
+        /** Sends complete files if they wait longer than {@link #PORTION_DELAY_MS}. */
+        synchronized void sendIfDelayed() {
+            if (System.currentTimeMillis() - lastSendTime < PORTION_DELAY_MS) {
+                return;
+            }
+            try {
+                send();
+            } catch (JavaModelException | RuntimeException e) {
+                // the same files are sent again with the next portion
+                LOG.warn(e.getMessage(), e);
+            }
+        }
+
+        private void completeFile() {
+            if (!currentFileMatches.isEmpty()) {
+                completedFiles.add(new LinkedHashMap<>(currentFileMatches));
+                currentFileMatches.clear();
+            }
+        }
+
+        private void send() throws JavaModelException {
+            lastSendTime = System.currentTimeMillis();
+            if (completedFiles.isEmpty()) {
+                return;
+            }
+            JavaElementToDtoConverter converter = new JavaElementToDtoConverter(javaResult);
+            Map<String, List<org.eclipse.che.ide.ext.java.shared.dto.search.Match>> mapMatches = new HashMap<>();
+            for (Map<IJavaElement, List<Match>> fileMatches : completedFiles) {
+                for (Map.Entry<IJavaElement, List<Match>> entry : fileMatches.entrySet()) {
+                    IJavaElement javaElement = entry.getKey();
+                    converter.addElementToProjectHierarchy(javaElement);
+                    List<Match> matches = entry.getValue();
+                    mapMatches.put(javaElement.getHandleIdentifier(),
+                                   convertMatches(javaElement, matches.toArray(new Match[matches.size()]), sourceLinesCache));
+                }
+            }
+            completedFiles.clear();
+            listener.onMatches(createResponse(element, converter, mapMatches));
+        }
+    }
 }
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.search;
+
+import java.util.Arrays;
+
+/**
+ * Line table of a source.
+ * Used to find lines of search matches without creating a document for each matched file.
+ */
+class SourceLines {
+    private final String source;
+    private final int[]  lineOffsets;
+    private final int    lineCount;
+
+    SourceLines(String source) {
+        this.source = source;
+        int[] offsets = new int[16];
+        int count = 1;
+        for (int i = 0, length = source.length(); i < length; i++) {
+            final char c = source.charAt(i);
+            if (c == '\r' && i + 1 < length && source.charAt(i + 1) == '\n') {
+                i++;
+            } else if (c != '\r' && c != '\n') {
+                continue;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = i + 1;
+        }
+        this.lineOffsets = offsets;
+        this.lineCount = count;
+    }
+
+    /** Returns zero based number of the line which contains the offset. */
+    int getLineOfOffset(int offset) {
+        final int index = Arrays.binarySearch(lineOffsets, 0, lineCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /** Returns offset of the first character of the line. */
+    int getLineOffset(int line) {
+        return lineOffsets[line];
+    }
+
+    /** Returns content of the line without line delimiter. */
+    String getLine(int line) {
+        int end = line + 1 < lineCount ? lineOffsets[line + 1] : source.length();
+        while (end > lineOffsets[line] && (source.charAt(end - 1) == '\n' || source.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return source.substring(lineOffsets[line], end);
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.search;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesEvent;
+import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.eclipse.che.ide.ext.java.shared.Constants.FIND_USAGES_CHANNEL;
+
+/**
+ * Sends results of asynchronous find usages search to the channel of the search.
+ */
+public class WebSocketFindUsagesListener implements FindUsagesListener {
+    private static final Logger LOG = LoggerFactory.getLogger(WebSocketFindUsagesListener.class);
+
+    private final String searchId;
+
+    public WebSocketFindUsagesListener(String searchId) {
+        this.searchId = searchId;
+    }
+
+    @Override
+    public void onMatches(FindUsagesResponse matches) {
+        send(newEvent().withResponse(matches));
+    }
+
+    @Override
+    public void onCompleted() {
+        send(newEvent().withDone(true));
+    }
+
+    @Override
+    public void onFailed(String message) {
+        send(newEvent().withDone(true).withError(message));
+    }
+
+    private FindUsagesEvent newEvent() {
+        return DtoFactory.newDto(FindUsagesEvent.class).withSearchId(searchId);
+    }
+
+    private void send(FindUsagesEvent event) {
+        final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+        message.setChannel(FIND_USAGES_CHANNEL + searchId);
+        message.setBody(DtoFactory.getInstance().toJson(event));
+        try {
+            WSConnectionContext.sendMessage(message);
+        } catch (Exception e) {
+            LOG.error("Can't send results of search " + searchId, e);
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java;
 
+import org.eclipse.che.ide.ext.java.shared.dto.ProposalPresentation;
 import org.eclipse.che.ide.ext.java.shared.dto.Proposals;
 import org.eclipse.che.jdt.CodeAssist;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
@@ -38,4 +39,43 @@ public class CodeAssistantTest  extends BaseTest{
         assertThat(proposals).isNotNull();
         assertThat(proposals.getProposals()).isNotEmpty();
     }
+
+    @Test
+    public void testRefineProposalsByTypedPrefix() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  public void foo() {\n" +
+                         "    S\n" +
+                         "  }\n" +
+                         "}";
+        int offset = content.indexOf("    S") + 5;
+        CodeAssist codeAssist = new CodeAssist();
+        Proposals proposals = codeAssist.computeProposals(project, "p1.X", offset, content);
+
+        Proposals refined = codeAssist.refineProposals(proposals.getSessionId(), offset + 2, "Str");
+
+        assertThat(refined.getSessionId()).isEqualTo(proposals.getSessionId());
+        assertThat(refined.getProposals()).isNotEmpty();
+        assertThat(refined.getProposals().size()).isLessThan(proposals.getProposals().size());
+        for (ProposalPresentation presentation : refined.getProposals()) {
+            assertThat(presentation.getDisplayString().toLowerCase()).startsWith("str");
+        }
+    }
+
+    @Test
+    public void testRefineRequiresComputationWhenPrefixLeavesToken() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  public void foo() {\n" +
+                         "    S\n" +
+                         "  }\n" +
+                         "}";
+        int offset = content.indexOf("    S") + 5;
+        CodeAssist codeAssist = new CodeAssist();
+        Proposals proposals = codeAssist.computeProposals(project, "p1.X", offset, content);
+
+        Proposals refined = codeAssist.refineProposals(proposals.getSessionId(), offset + 2, "S.t");
+
+        assertThat(refined.getSessionId()).isNull();
+    }
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.ide.ext.java;
 
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
+import org.eclipse.che.jdt.core.resources.ResourceDeltaImpl;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
@@ -21,6 +22,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.Arrays;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -74,6 +76,29 @@ public class DeltaProcessingTest extends BaseTest {
         assertThat(answer).isNull();
     }
 
+    @Test
+    public void testAggregatedDelta() throws Exception {
+        File workspace = new File(BaseTest.class.getResource("/projects").getFile());
+        ResourceChangedEvent event = new ResourceChangedEvent(workspace, Arrays.asList(
+                new ResourceDeltaImpl(workspace, "/test/src/main/java/com/codenvy/test/NewClass.java",
+                                      ProjectItemModifiedEvent.EventType.CREATED),
+                new ResourceDeltaImpl(workspace, "/test/src/main/java/com/codenvy/test/MyClass.java",
+                                      ProjectItemModifiedEvent.EventType.DELETED)));
+
+        FileOutputStream outputStream = new FileOutputStream(new File(workspace, "/test/src/main/java/com/codenvy/test/NewClass.java"));
+        outputStream.write("packagecom.codenvy.test;\n public class NewClass{}\n".getBytes());
+        outputStream.close();
+
+        JavaModelManager.getJavaModelManager().deltaState.resourceChanged(event);
+        project.creteNewNameEnvironment();
+        NameEnvironmentAnswer answer =
+                project.newSearchableNameEnvironment(DefaultWorkingCopyOwner.PRIMARY).findType(CharOperation.splitOn('.', "com.codenvy.test.NewClass".toCharArray()));
+        assertThat(answer).isNotNull();
+        answer =
+                project.newSearchableNameEnvironment(DefaultWorkingCopyOwner.PRIMARY).findType(CharOperation.splitOn('.', "com.codenvy.test.MyClass".toCharArray()));
+        assertThat(answer).isNull();
+    }
+
     @Test
     public void testAddClass() throws Exception {
 
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.internal.core.builder.JarPackageIndex;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JarPackageIndexTest {
+
+    private final File indexFile = new File("target/jar-packages-test.index");
+    private final File zipfs     = new File(System.getProperty("java.home") + "/lib/ext/zipfs.jar");
+    private final File dnsns     = new File(System.getProperty("java.home") + "/lib/ext/dnsns.jar");
+
+    @After
+    public void cleanUp() throws Exception {
+        indexFile.delete();
+    }
+
+    @Test
+    public void testPackagesOfJar() throws Exception {
+        String[] packages = new JarPackageIndex(null).getPackages(zipfs, null);
+
+        assertThat(packages).contains("", "com", "com/sun", "com/sun/nio", "com/sun/nio/zipfs").excludes("META-INF");
+        assertThat(packages[0]).isEqualTo("");
+    }
+
+    @Test
+    public void testIndexIsRestoredFromDisk() throws Exception {
+        JarPackageIndex index = new JarPackageIndex(indexFile);
+        String[] packages = index.getPackages(zipfs, null);
+        index.save();
+
+        assertThat(indexFile.isFile()).isTrue();
+        assertThat(new JarPackageIndex(indexFile).getPackages(zipfs, null)).isEqualTo(packages);
+    }
+
+    @Test
+    public void testChangedJarIsScannedAgain() throws Exception {
+        File jar = Files.createTempFile("library", ".jar").toFile();
+        Files.copy(zipfs.toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        JarPackageIndex index = new JarPackageIndex(null);
+        assertThat(index.getPackages(jar, null)).contains("com/sun/nio/zipfs");
+
+        Files.copy(dnsns.toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        jar.setLastModified(jar.lastModified() + 10000);
+
+        assertThat(index.getPackages(jar, null)).contains("sun/net/spi/nameservice/dns").excludes("com/sun/nio/zipfs");
+        jar.delete();
+    }
+}
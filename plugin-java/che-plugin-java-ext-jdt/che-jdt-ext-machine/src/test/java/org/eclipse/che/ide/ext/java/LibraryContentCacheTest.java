@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.jdt.LibraryContentCache;
+import org.eclipse.che.jdt.SourcesFromBytecodeGenerator;
+import org.eclipse.jdt.core.IType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class LibraryContentCacheTest extends BaseTest {
+
+    private final File                         cacheDir  = new File("target/library-cache-test");
+    private final SourcesFromBytecodeGenerator generator = new SourcesFromBytecodeGenerator();
+
+    @After
+    public void cleanUp() throws Exception {
+        IoUtil.deleteRecursive(cacheDir);
+    }
+
+    @Test
+    public void testSourcesAreGeneratedOnlyOnce() throws Exception {
+        IType type = project.findType("java.util.ArrayList");
+        AtomicInteger generated = new AtomicInteger();
+        LibraryContentCache cache = new LibraryContentCache(cacheDir);
+
+        String source = cache.getSource(type, () -> {
+            generated.incrementAndGet();
+            return generator.generateSource(type);
+        });
+        String cached = cache.getSource(type, () -> {
+            generated.incrementAndGet();
+            return generator.generateSource(type);
+        });
+
+        assertThat(cached).isEqualTo(source);
+        assertThat(generated.get()).isEqualTo(1);
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHeapHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSourcesAreReadFromDiskByNewCache() throws Exception {
+        IType type = project.findType("java.util.ArrayList");
+        String source = new LibraryContentCache(cacheDir).getSource(type, () -> generator.generateSource(type));
+
+        LibraryContentCache cache = new LibraryContentCache(cacheDir);
+        String cached = cache.getSource(type, () -> {
+            throw new AssertionError("Cached sources should be used");
+        });
+
+        assertThat(cached).isEqualTo(source);
+        assertThat(cache.getStatistics().getDiskHits()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testJavadocIsRenderedOnceForAllUrlPrefixes() throws Exception {
+        IType type = project.findType("java.util.ArrayList");
+        LibraryContentCache cache = new LibraryContentCache(cacheDir);
+        String first = cache.getJavadoc(type, "http://localhost/a?handle=", urlPrefix -> "<a href='" + urlPrefix + "List'>List</a>");
+        String second = cache.getJavadoc(type, "http://localhost/b?handle=", urlPrefix -> {
+            throw new AssertionError("Cached Javadoc should be used");
+        });
+
+        assertThat(first).isEqualTo("<a href='http://localhost/a?handle=List'>List</a>");
+        assertThat(second).isEqualTo("<a href='http://localhost/b?handle=List'>List</a>");
+    }
+
+    @Test
+    public void testSourceMembersAreNotCached() throws Exception {
+        IType type = project.findType("com.codenvy.test.MyClass");
+        LibraryContentCache cache = new LibraryContentCache(cacheDir);
+        cache.getJavadoc(type, "", urlPrefix -> "first");
+
+        assertThat(cache.getJavadoc(type, "", urlPrefix -> "second")).isEqualTo("second");
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreRemovedFromDisk() throws Exception {
+        IType type = project.findType("java.util.ArrayList");
+        LibraryContentCache small = new LibraryContentCache(cacheDir, 1);
+        small.getSource(type, () -> generator.generateSource(type));
+        // entries are removed in background, stop waits for removal
+        small.stop();
+
+        AtomicInteger generated = new AtomicInteger();
+        new LibraryContentCache(cacheDir).getSource(type, () -> {
+            generated.incrementAndGet();
+            return generator.generateSource(type);
+        });
+
+        assertThat(generated.get()).isEqualTo(1);
+    }
+}
@@ -11,9 +11,13 @@
 package org.eclipse.che.ide.ext.java;
 
 
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.ide.ext.java.shared.dto.SemanticHighlightingDelta;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.che.jdt.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.core.runtime.IPath;
@@ -30,9 +34,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * @author Evgen Vidolob
@@ -95,6 +102,221 @@ public class ReconcileTest extends BaseTest {
         assertThat(reconcile.getProblems()).onProperty("error").containsSequence(true);
     }
 
+    @Test
+    public void testReconcileSessionAppliesChangesToContentOfEditor() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  public void foo() {\n" +
+                         "  }\n" +
+                         "}";
+        setWorkingCopyContents(content);
+        ReconcileResult first = reconciler.reconcile(project, request(null).withContent(content));
+        assertThat(first.getSessionId()).isNotNull();
+        assertThat(first.getProblems()).isEmpty();
+
+        String duplicate = "  public void foo() {\n  }\n";
+        Change change = DtoFactory.getInstance().createDto(Change.class)
+                                  .withOffset(content.lastIndexOf('}'))
+                                  .withLength(0)
+                                  .withText(duplicate);
+        ReconcileResult second = reconciler.reconcile(project, request(first.getSessionId())
+                                                                       .withChanges(Collections.singletonList(change)));
+        assertThat(second.getSessionId()).isEqualTo(first.getSessionId());
+        assertThat(second.getProblems()).onProperty("message").containsSequence("Duplicate method foo() in type X");
+
+        // content of file isn't changed by reconcile session
+        ReconcileResult fromFile = reconciler.reconcile(project, "p1.X");
+        assertThat(fromFile.getProblems()).onProperty("message").excludes("Duplicate method foo() in type X");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReconcileOfClosedSessionRequiresContent() throws Exception {
+        ReconcileResult result = reconciler.reconcile(project, request(null).withContent("package p1;\npublic class X {}"));
+        reconciler.closeSession(result.getSessionId());
+
+        reconciler.reconcile(project, request(result.getSessionId()).withChanges(Collections.<Change>emptyList()));
+    }
+
+    @Test
+    public void testSessionIsClosedIfChangesCanNotBeApplied() throws Exception {
+        ReconcileResult result = reconciler.reconcile(project, request(null).withContent("package p1;\npublic class X {}"));
+        Change change = DtoFactory.getInstance().createDto(Change.class)
+                                  .withOffset(1000)
+                                  .withLength(0)
+                                  .withText("}");
+        try {
+            reconciler.reconcile(project, request(result.getSessionId()).withChanges(Collections.singletonList(change)));
+            fail("Change out of content of session must be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        try {
+            reconciler.reconcile(project, request(result.getSessionId()).withChanges(Collections.<Change>emptyList()));
+            fail("Session must be closed after failure");
+        } catch (IllegalArgumentException expected) {
+            assertThat(expected.getMessage()).isEqualTo("Reconcile session doesn't exist or was expired");
+        }
+    }
+
+    @Test
+    public void testReconcileSessionSendsChangesOfHighlighting() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  private int field;\n" +
+                         "  public void foo() {\n" +
+                         "    field = 1;\n" +
+                         "  }\n" +
+                         "  public void bar() {\n" +
+                         "    field = 2;\n" +
+                         "  }\n" +
+                         "}";
+        setWorkingCopyContents(content);
+        ReconcileResult first = reconciler.reconcile(project, request(null).withContent(content));
+        SemanticHighlightingDelta full = first.getHighlightingDelta();
+        assertThat(full.getBaseVersion()).isEqualTo(0);
+        assertThat(full.getStart()).isEqualTo(0);
+        assertThat(full.getTypes()).contains(HighlightedPosition.FIELD, HighlightedPosition.METHOD_DECLARATION);
+        assertThat(full.getData()).isNotEmpty();
+
+        // change inside of method body
+        String insertion = "    field++;\n";
+        int offset = content.indexOf("  }\n  public void bar()");
+        String changed = content.substring(0, offset) + insertion + content.substring(offset);
+        SemanticHighlightingDelta delta = reconciler.reconcile(project, request(first.getSessionId()).withChanges(
+                Collections.singletonList(change(offset, 0, insertion)))).getHighlightingDelta();
+        assertThat(delta.getBaseVersion()).isEqualTo(full.getVersion());
+        assertThat(delta.getData().size()).isLessThan(full.getData().size());
+        List<Integer> data = apply(full.getData(), delta);
+        List<Integer> expected = reconciler.reconcile(project, request(null).withContent(changed)).getHighlightingDelta().getData();
+        assertThat(data).isEqualTo(expected);
+        List<Integer> markers = applyToMarkers(moveMarkers(toMarkers(full.getData()), change(offset, 0, insertion)),
+                                               full.getData(), delta);
+        assertThat(markers).isEqualTo(toMarkers(expected));
+
+        // change outside of method bodies
+        String declaration = "  private static int other;\n";
+        offset = changed.indexOf("  public void foo()");
+        String changedAgain = changed.substring(0, offset) + declaration + changed.substring(offset);
+        SemanticHighlightingDelta secondDelta = reconciler.reconcile(project, request(first.getSessionId()).withChanges(
+                Collections.singletonList(change(offset, 0, declaration)))).getHighlightingDelta();
+        assertThat(secondDelta.getBaseVersion()).isEqualTo(delta.getVersion());
+        expected = reconciler.reconcile(project, request(null).withContent(changedAgain)).getHighlightingDelta().getData();
+        assertThat(apply(data, secondDelta)).isEqualTo(expected);
+        assertThat(applyToMarkers(moveMarkers(markers, change(offset, 0, declaration)), data, secondDelta))
+                .isEqualTo(toMarkers(expected));
+    }
+
+    @Test
+    public void testHighlightingOfTokensTouchedByChangeIsReplaced() throws Exception {
+        String statements = "field = 1; field = 1; field = 1;";
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  private int field;\n" +
+                         "  public void foo() {\n" +
+                         "    " + statements + "\n" +
+                         "  }\n" +
+                         "}";
+        setWorkingCopyContents(content);
+        ReconcileResult first = reconciler.reconcile(project, request(null).withContent(content));
+        List<Integer> data = first.getHighlightingDelta().getData();
+
+        // removes end of the first statement and start of the second one, encoding of the new second token
+        // is the same as encoding of the old third token
+        int offset = content.indexOf(statements) + 3;
+        Change change = change(offset, 11, "");
+        String changed = content.substring(0, offset) + content.substring(offset + 11);
+        SemanticHighlightingDelta delta = reconciler.reconcile(project, request(first.getSessionId()).withChanges(
+                Collections.singletonList(change))).getHighlightingDelta();
+
+        List<Integer> expected = reconciler.reconcile(project, request(null).withContent(changed)).getHighlightingDelta().getData();
+        assertThat(apply(data, delta)).isEqualTo(expected);
+        assertThat(applyToMarkers(moveMarkers(toMarkers(data), change), data, delta)).isEqualTo(toMarkers(expected));
+    }
+
+    @Test
+    public void testWholeHighlightingIsSentIfChangeIsUnknown() throws Exception {
+        String content = "package p1;\n" +
+                         "public class X {\n" +
+                         "  private int field;\n" +
+                         "  public void foo() {\n" +
+                         "    field = 1;\n" +
+                         "  }\n" +
+                         "}";
+        setWorkingCopyContents(content);
+        ReconcileResult first = reconciler.reconcile(project, request(null).withContent(content));
+
+        int offset = content.indexOf("    field = 1;");
+        List<Change> changes = new ArrayList<>();
+        changes.add(change(offset, 0, "    field = 2;\n"));
+        changes.add(change(offset, 0, "    field = 3;\n"));
+        SemanticHighlightingDelta delta = reconciler.reconcile(project, request(first.getSessionId()).withChanges(changes))
+                                                    .getHighlightingDelta();
+
+        assertThat(delta.getBaseVersion()).isEqualTo(0);
+        assertThat(delta.getStart()).isEqualTo(0);
+        assertThat(delta.getDeleteCount()).isEqualTo(0);
+        assertThat(delta.getData().size()).isGreaterThan(first.getHighlightingDelta().getData().size());
+    }
+
+    private Change change(int offset, int length, String text) {
+        return DtoFactory.getInstance().createDto(Change.class).withOffset(offset).withLength(length).withText(text);
+    }
+
+    private List<Integer> apply(List<Integer> data, SemanticHighlightingDelta delta) {
+        List<Integer> result = new ArrayList<>(data);
+        result.subList(delta.getStart() * 3, (delta.getStart() + delta.getDeleteCount()) * 3).clear();
+        result.addAll(delta.getStart() * 3, delta.getData());
+        return result;
+    }
+
+    /** Converts tokens to positions of markers in editor, start and end offsets per token. */
+    private List<Integer> toMarkers(List<Integer> data) {
+        List<Integer> markers = new ArrayList<>();
+        int offset = 0;
+        for (int i = 0; i < data.size(); i += 3) {
+            offset += data.get(i);
+            markers.add(offset);
+            markers.add(offset + data.get(i + 1));
+        }
+        return markers;
+    }
+
+    /** Moves markers the same way as editor does when content is edited, markers in removed text are collapsed. */
+    private List<Integer> moveMarkers(List<Integer> markers, Change change) {
+        int start = change.getOffset();
+        int end = change.getOffset() + change.getLength();
+        int shift = change.getText().length() - change.getLength();
+        List<Integer> result = new ArrayList<>(markers.size());
+        for (int position : markers) {
+            result.add(position <= start ? position : position >= end ? position + shift : start);
+        }
+        return result;
+    }
+
+    /** Applies delta to markers the same way as editor does, positions of new markers are computed from tokens. */
+    private List<Integer> applyToMarkers(List<Integer> markers, List<Integer> data, SemanticHighlightingDelta delta) {
+        int offset = 0;
+        for (int i = 0; i < delta.getStart(); i++) {
+            offset += data.get(i * 3);
+        }
+        List<Integer> added = new ArrayList<>();
+        for (int i = 0; i < delta.getData().size(); i += 3) {
+            offset += delta.getData().get(i);
+            added.add(offset);
+            added.add(offset + delta.getData().get(i + 1));
+        }
+        List<Integer> result = new ArrayList<>(markers);
+        result.subList(delta.getStart() * 2, (delta.getStart() + delta.getDeleteCount()) * 2).clear();
+        result.addAll(delta.getStart() * 2, added);
+        return result;
+    }
+
+    private ReconcileRequest request(String sessionId) {
+        return DtoFactory.getInstance().createDto(ReconcileRequest.class)
+                         .withProjectPath(project.getPath().toOSString())
+                         .withFQN("p1.X")
+                         .withSessionId(sessionId);
+    }
 
     @Test
     public void testSemanticHighlight() throws Exception {
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType;
+import org.eclipse.che.jdt.ResourceChangesBatcher;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ResourceChangesBatcherTest {
+    private final BlockingQueue<Map<String, EventType>> batches = new LinkedBlockingQueue<>();
+
+    private ResourceChangesBatcher batcher;
+
+    @After
+    public void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    public void testChangesAreProcessedInOneBatch() throws Exception {
+        batcher = new ResourceChangesBatcher("test", batches::add, 200, 10_000, 1000);
+        batcher.start();
+        for (int i = 0; i < 100; i++) {
+            batcher.add("/test/src/A" + i + ".java", EventType.UPDATED);
+        }
+
+        Map<String, EventType> batch = batches.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).hasSize(100);
+        assertThat(batches.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(batcher.getStatistics().getBatches()).isEqualTo(1);
+    }
+
+    @Test
+    public void testChangesOfTheSameItemAreCoalesced() throws Exception {
+        batcher = new ResourceChangesBatcher("test", batches::add, 200, 10_000, 1000);
+        batcher.start();
+        batcher.add("/test/src/Created.java", EventType.CREATED);
+        batcher.add("/test/src/Created.java", EventType.UPDATED);
+        batcher.add("/test/src/Temp.java", EventType.CREATED);
+        batcher.add("/test/src/Temp.java", EventType.DELETED);
+        batcher.add("/test/src/Replaced.java", EventType.DELETED);
+        batcher.add("/test/src/Replaced.java", EventType.CREATED);
+        batcher.add("/test/src/Removed.java", EventType.UPDATED);
+        batcher.add("/test/src/Removed.java", EventType.DELETED);
+
+        Map<String, EventType> batch = batches.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).hasSize(3);
+        assertThat(batch.get("/test/src/Created.java")).isEqualTo(EventType.CREATED);
+        assertThat(batch.get("/test/src/Replaced.java")).isEqualTo(EventType.UPDATED);
+        assertThat(batch.get("/test/src/Removed.java")).isEqualTo(EventType.DELETED);
+        assertThat(batcher.getStatistics().getCoalesced()).isEqualTo(4);
+    }
+
+    @Test
+    public void testBatchIsProcessedWhenCapacityIsReached() throws Exception {
+        batcher = new ResourceChangesBatcher("test", batches::add, 60_000, 60_000, 10);
+        batcher.start();
+        for (int i = 0; i < 25; i++) {
+            batcher.add("/test/src/A" + i + ".java", EventType.UPDATED);
+        }
+
+        assertThat(batches.poll(5, TimeUnit.SECONDS)).hasSize(10);
+        assertThat(batches.poll(5, TimeUnit.SECONDS)).hasSize(10);
+        batcher.stop();
+        assertThat(batches.poll(5, TimeUnit.SECONDS)).hasSize(5);
+        assertThat(batcher.getStatistics().getProcessed()).isEqualTo(25);
+    }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.jdt.internal.core.index.SharedIndexBuilder;
+import org.eclipse.che.jdt.internal.core.index.SharedIndexStore;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SharedIndexStoreTest extends BaseTest {
+
+    private final File             storeDir = new File("target/shared-index");
+    private final File             workDir  = new File("target/shared-index-work");
+    private final SharedIndexStore store    = new SharedIndexStore(storeDir);
+
+    @After
+    public void cleanUp() throws Exception {
+        IoUtil.deleteRecursive(storeDir);
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void testLibraryIsFoundByContent() throws Exception {
+        File jar = new File(System.getProperty("java.home") + "/lib/ext/zipfs.jar");
+        File index = Files.createTempFile("zipfs", ".index").toFile();
+        File copy = new File(workDir, "copy/zipfs.jar");
+        copy.getParentFile().mkdirs();
+        Files.copy(jar.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        assertThat(store.find(jar)).isNull();
+        assertThat(store.publish(jar, index)).isTrue();
+        assertThat(store.publish(jar, index)).isFalse();
+        assertThat(store.find(jar)).isNotNull().isEqualTo(store.find(copy));
+        index.delete();
+    }
+
+    @Test
+    public void testNonLibraryIsIgnored() throws Exception {
+        File file = Files.createTempFile("library", ".txt").toFile();
+
+        assertThat(store.publish(file, file)).isFalse();
+        assertThat(store.find(file)).isNull();
+        file.delete();
+    }
+
+    @Test
+    public void testPrebuiltIndexIsUsed() throws Exception {
+        File jar = new File(System.getProperty("java.home") + "/lib/ext/zipfs.jar");
+        int failed = new SharedIndexBuilder(store, new File(workDir, "builder")).index(Collections.singletonList(jar));
+
+        assertThat(failed).isEqualTo(0);
+        File indexFile = store.find(jar);
+        assertThat(indexFile).isNotNull();
+
+        IndexManager indexManager = new IndexManager(new File(workDir, "manager").getAbsolutePath(), store);
+        Path containerPath = new Path(jar.getAbsolutePath());
+        assertThat(indexManager.computeIndexLocation(containerPath).getIndexFile()).isEqualTo(indexFile);
+        Index index = indexManager.getIndex(containerPath, true, false);
+        assertThat(index).isNotNull();
+        assertThat(index.queryDocumentNames("")).isNotEmpty();
+    }
+}
@@ -16,6 +16,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.model.CompilationUnit;
 import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragment;
 import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragmentRoot;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
+import org.eclipse.che.ide.ext.java.shared.dto.search.Match;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -28,7 +29,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -173,4 +177,59 @@ public class FindReferencesTest extends BaseTest {
         assertThat(compilationUnit.getTypes()).hasSize(2);
 
     }
+
+    @Test
+    public void testSearchManagerStreamsFoundUsages() throws Exception {
+        IPackageFragmentRoot root = ((JavaProject)JUnitSourceSetup.getProject()).getPackageFragmentRoot(
+                new Path(JUnitSourceSetup.SRC_CONTAINER));
+        IPackageFragment packageFragment = root.createPackageFragment("che", true, null);
+        StringBuilder a = new StringBuilder();
+        a.append("package che;\n");
+        a.append("public class A{}\n");
+        ICompilationUnit compilationUnitA = packageFragment.createCompilationUnit("A.java", a.toString(), true, null);
+        StringBuilder b = new StringBuilder();
+        b.append("package che;\n");
+        b.append("public class B extends A {\r\n");
+        b.append("   private A a = null;\n");
+        b.append("}\n");
+        packageFragment.createCompilationUnit("B.java", b.toString(), true, null);
+
+        final List<FindUsagesResponse> portions = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        SearchManager manager = new SearchManager();
+        String label = manager.startFindUsages(JUnitSourceSetup.getProject(), compilationUnitA.getResource().getFullPath().toOSString(),
+                                               26, "search-1", new FindUsagesListener() {
+                    @Override
+                    public void onMatches(FindUsagesResponse matches) {
+                        portions.add(matches);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onFailed(String message) {
+                        errors.add(message);
+                        completed.countDown();
+                    }
+                });
+
+        assertThat(label).isEqualTo("A");
+        assertThat(completed.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(portions).hasSize(1);
+        assertThat(manager.cancelFindUsages("search-1")).isFalse();
+
+        List<String> lines = new ArrayList<>();
+        for (List<Match> matches : portions.get(0).getMatches().values()) {
+            for (Match match : matches) {
+                lines.add(match.getMatchLineNumber() + ":" + match.getMatchedLine());
+            }
+        }
+        assertThat(lines).containsOnly("1:public class B extends A {", "2:   private A a = null;");
+        manager.stop();
+    }
 }
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.search;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SourceLinesTest {
+
+    @Test
+    public void testLinesWithDifferentDelimiters() throws Exception {
+        SourceLines lines = new SourceLines("a\nbc\r\nd\re");
+
+        assertThat(lines.getLineOfOffset(0)).isEqualTo(0);
+        assertThat(lines.getLineOfOffset(1)).isEqualTo(0);
+        assertThat(lines.getLineOfOffset(2)).isEqualTo(1);
+        assertThat(lines.getLineOfOffset(5)).isEqualTo(1);
+        assertThat(lines.getLineOfOffset(6)).isEqualTo(2);
+        assertThat(lines.getLineOfOffset(8)).isEqualTo(3);
+        assertThat(lines.getLineOffset(2)).isEqualTo(6);
+        assertThat(lines.getLine(0)).isEqualTo("a");
+        assertThat(lines.getLine(1)).isEqualTo("bc");
+        assertThat(lines.getLine(2)).isEqualTo("d");
+        assertThat(lines.getLine(3)).isEqualTo("e");
+    }
+
+    @Test
+    public void testSourceEndsWithDelimiter() throws Exception {
+        SourceLines lines = new SourceLines("a\n");
+
+        assertThat(lines.getLineOfOffset(2)).isEqualTo(1);
+        assertThat(lines.getLine(1)).isEqualTo("");
+    }
+}
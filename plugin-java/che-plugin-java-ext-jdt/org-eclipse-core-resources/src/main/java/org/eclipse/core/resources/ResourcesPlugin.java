@@ -190,6 +190,7 @@ public class ResourcesPlugin {
      */
     private static Workspace workspace = null;
     private static String indexPath;
+    private static String sharedIndexPath;
     private static String workspacePath;
     private ProjectManager projectManager;
     private static String pluginId;
@@ -212,6 +213,20 @@ public class ResourcesPlugin {
         return indexPath;
     }
 
+    /**
+     * Sets root directory of the store of library indexes shared between workspaces.
+     * Libraries are indexed only into {@link #getIndexPath()} if it isn't configured.
+     */
+    @Inject(optional = true)
+    public void setSharedIndexPath(@Named("che.jdt.shared.index.dir") String sharedIndexPath) {
+        ResourcesPlugin.sharedIndexPath = sharedIndexPath;
+    }
+
+    /** Returns root directory of the shared index store or {@code null} if it isn't configured. */
+    public static String getSharedIndexPath() {
+        return sharedIndexPath;
+    }
+
     public static String getPluginId() {
         return pluginId;
     }
@@ -146,14 +146,32 @@ public class JavadocFinder {
     }
 
     public String findJavadoc4Handle(IJavaProject project, String handle) {
+        IMember member = findMember4Handle(project, handle);
+        if (member == null) {
+            return null;
+        }
+        return getJavadoc(member);
+    }
+
+    public String findJavadoc(IJavaProject project, String fqn, int offset) throws JavaModelException {
+        IMember member = findMember(project, fqn, offset);
+        if (member == null) {
+            return null;
+        }
+        return getJavadoc(member);
+    }
+
+    /** Returns member with the handle or {@code null} if handle doesn't point to a member. */
+    public IMember findMember4Handle(IJavaProject project, String handle) {
         IJavaElement javaElement = JavaElementLinks.parseURI(handle, (JavaProject)project);
         if (javaElement == null || !(javaElement instanceof IMember)) {
             return null;
         }
-        return getJavadoc((IMember)javaElement);
+        return (IMember)javaElement;
     }
 
-    public String findJavadoc(IJavaProject project, String fqn, int offset) throws JavaModelException {
+    /** Returns member selected at the offset of the type or {@code null} if there is no member at the offset. */
+    public IMember findMember(IJavaProject project, String fqn, int offset) throws JavaModelException {
 
         IMember member = null;
         IType type = project.findType(fqn);
@@ -176,13 +194,11 @@ public class JavadocFinder {
         if(element != null && element instanceof IMember) {
             member = ((IMember)element);
         }
-        if (member == null) {
-            return null;
-        }
-        return getJavadoc(member);
+        return member;
     }
 
-    private String getJavadoc(IMember element) {
+    /** Renders Javadoc of the member as HTML. */
+    public String getJavadoc(IMember element) {
         StringBuffer buffer = new StringBuffer();
         boolean hasContents = false;
         if (element instanceof IPackageFragment || element instanceof IMember) {
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.core.resources;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta of the workspace root which aggregates deltas of several resources. Java model processes all of them
+ * in one pass, see {@link org.eclipse.jdt.internal.core.DeltaProcessor}.
+ */
+public class CompositeResourceDelta implements IResourceDelta {
+
+    private final File             workspace;
+    private final IResourceDelta[] children;
+
+    public CompositeResourceDelta(File workspace, List<? extends IResourceDelta> children) {
+        this.workspace = workspace;
+        this.children = children.toArray(new IResourceDelta[children.size()]);
+    }
+
+    @Override
+    public File getFile() {
+        return workspace;
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor) throws CoreException {
+        accept(visitor, IResource.NONE);
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor, boolean includePhantoms) throws CoreException {
+        accept(visitor, includePhantoms ? IContainer.INCLUDE_PHANTOMS : IResource.NONE);
+    }
+
+    @Override
+    public void accept(IResourceDeltaVisitor visitor, int memberFlags) throws CoreException {
+        for (IResourceDelta child : children) {
+            child.accept(visitor, memberFlags);
+        }
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta findMember(IPath iPath) {
+        return null;
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren() {
+        return children.clone();
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren(int kindMask) {
+        return getAffectedChildren(kindMask, IResource.NONE);
+    }
+
+    @Override
+    public org.eclipse.core.resources.IResourceDelta[] getAffectedChildren(int kindMask, int memberFlags) {
+        List<IResourceDelta> result = new ArrayList<>(children.length);
+        for (IResourceDelta child : children) {
+            if ((child.getKind() & kindMask) != 0) {
+                result.add(child);
+            }
+        }
+        return result.toArray(new IResourceDelta[result.size()]);
+    }
+
+    @Override
+    public int getFlags() {
+        return 0;
+    }
+
+    @Override
+    public IPath getFullPath() {
+        return Path.ROOT;
+    }
+
+    @Override
+    public int getKind() {
+        return CHANGED;
+    }
+
+    @Override
+    public IMarkerDelta[] getMarkerDeltas() {
+        return new IMarkerDelta[0];
+    }
+
+    @Override
+    public IPath getMovedFromPath() {
+        return null;
+    }
+
+    @Override
+    public IPath getMovedToPath() {
+        return null;
+    }
+
+    @Override
+    public IPath getProjectRelativePath() {
+        return Path.EMPTY;
+    }
+
+    @Override
+    public IResource getResource() {
+        return ResourcesPlugin.getWorkspace().getRoot();
+    }
+
+    @Override
+    public Object getAdapter(Class aClass) {
+        return null;
+    }
+}
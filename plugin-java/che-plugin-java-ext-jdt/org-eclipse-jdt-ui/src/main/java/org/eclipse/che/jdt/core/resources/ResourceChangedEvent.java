@@ -16,9 +16,9 @@ import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceDelta;
 
 import java.io.File;
+import java.util.List;
 
 /**
  * @author Evgen Vidolob
@@ -26,7 +26,7 @@ import java.io.File;
 public class ResourceChangedEvent implements IResourceChangeEvent {
 
 
-    private ResourceDeltaImpl resourceDelta;
+    private IResourceDelta resourceDelta;
 
     public ResourceChangedEvent(File workspace, ProjectItemModifiedEvent event) {
         resourceDelta = new ResourceDeltaImpl(workspace, event);
@@ -38,6 +38,11 @@ public class ResourceChangedEvent implements IResourceChangeEvent {
 
     }
 
+    /** Creates event which contains changes of several resources, they are processed in one pass. */
+    public ResourceChangedEvent(File workspace, List<? extends IResourceDelta> deltas) {
+        resourceDelta = new CompositeResourceDelta(workspace, deltas);
+    }
+
     @Override
     public IMarkerDelta[] findMarkerDeltas(String s, boolean b) {
         return new IMarkerDelta[0];
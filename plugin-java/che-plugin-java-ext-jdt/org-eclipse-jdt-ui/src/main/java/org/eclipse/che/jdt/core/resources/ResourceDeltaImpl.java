@@ -35,10 +35,14 @@ public class ResourceDeltaImpl implements IResourceDelta {
     protected int status;
 
     public ResourceDeltaImpl(File workspace, ProjectItemModifiedEvent event) {
+        this(workspace, event.getPath(), event.getType());
+    }
+
+    public ResourceDeltaImpl(File workspace, String path, ProjectItemModifiedEvent.EventType type) {
         this.workspace = workspace;
-        path = event.getPath();
+        this.path = path;
 //        status|= KIND_MASK;
-        switch (event.getType()) {
+        switch (type) {
             case UPDATED:
                 status |= CHANGED | CONTENT;
                 break;
@@ -18,16 +18,14 @@ import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
-import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.Set;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 public class ClasspathJar extends CodenvyClasspathLocation {
@@ -38,7 +36,7 @@ public class ClasspathJar extends CodenvyClasspathLocation {
     ZipFile       zipFile;
     long          lastModified;
     boolean       closeZipFileAtEnd;
-    volatile SimpleSet     knownPackageNames;
+    volatile String[]      knownPackageNames;
     AccessRuleSet accessRuleSet;
     Set<String[]> packageNames;
 
@@ -77,52 +75,10 @@ public class ClasspathJar extends CodenvyClasspathLocation {
         this.accessRuleSet = accessRuleSet;
     }
 
-    /**
-     * Calculate and cache the package list available in the zipFile.
-     *
-     * @param jar
-     *         The ClasspathJar to use
-     * @return A SimpleSet with the all the package names in the zipFile.
-     */
-    static SimpleSet findPackageSet(ClasspathJar jar) {
-        String zipFileName = jar.zipFilename;
-
-        SimpleSet packageSet = new SimpleSet(41);
-        packageSet.add(""); //$NON-NLS-1$
-        nextEntry:
-        for (Enumeration e = jar.zipFile.entries(); e.hasMoreElements(); ) {
-            String fileName = ((ZipEntry)e.nextElement()).getName();
-
-            // add the package name & all of its parent packages
-            int last = fileName.lastIndexOf('/');
-            while (last > 0) {
-                // extract the package name
-                String packageName = fileName.substring(0, last);
-                String[] splittedName = Util.splitOn('/', packageName, 0, packageName.length());
-                for (String s : splittedName) {
-                    if (!org.eclipse.jdt.internal.core.util.Util.isValidFolderNameForPackage(s, "1.7", "1.7")) {
-                        continue nextEntry;
-                    }
-                }
-
-                if (packageSet.addIfNotIncluded(packageName) == null)
-                    continue nextEntry; // already existed
-
-                last = packageName.lastIndexOf('/');
-            }
-        }
-
-        return packageSet;
-    }
-
     @Override
     public void findPackages(String[] name, ISearchRequestor requestor) {
-        SimpleSet knownPackageNames = getKnownPackages();
-        for (Object value : knownPackageNames.values) {
-            if (value == null) {
-                continue;
-            }
-            String pkg = value.toString();
+        String[] knownPackageNames = getKnownPackages();
+        for (String pkg : knownPackageNames) {
             String[] pkgName = Util.splitOn('/', pkg, 0, pkg.length());
 
 
@@ -133,8 +89,8 @@ public class ClasspathJar extends CodenvyClasspathLocation {
         }
     }
 
-    private SimpleSet getKnownPackages() {
-        SimpleSet packageNames = knownPackageNames;
+    private String[] getKnownPackages() {
+        String[] packageNames = knownPackageNames;
         if (packageNames == null) {
             synchronized (this){
                 packageNames = knownPackageNames;
@@ -174,7 +130,7 @@ public class ClasspathJar extends CodenvyClasspathLocation {
         if (!isPackage(qualifiedPackageName)) return null; // most common case
 
         try {
-            ClassFileReader reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+            ClassFileReader reader = ClassFileReader.read(getZipFile(), qualifiedBinaryFileName);
             if (reader != null) {
                 if (this.accessRuleSet == null)
                     return new NameEnvironmentAnswer(reader, null);
@@ -197,26 +153,31 @@ public class ClasspathJar extends CodenvyClasspathLocation {
     }
 
     public boolean isPackage(String qualifiedPackageName) {
-        SimpleSet knownPackages = getKnownPackages();
-        return knownPackages.includes(qualifiedPackageName);
+        String[] knownPackages = getKnownPackages();
+        return Arrays.binarySearch(knownPackages, qualifiedPackageName) >= 0;
     }
 
-    private SimpleSet readPackages() {
+    private String[] readPackages() {
         try {
-            if (this.zipFile == null) {
-                if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
-                    System.out.println(
-                            "(" + Thread.currentThread() + ") [ClasspathJar.isPackage(String)] Creating ZipFile on " +
-                            this.zipFilename
-                                      ); //$NON-NLS-1$	//$NON-NLS-2$
-                }
-                this.zipFile = new ZipFile(this.zipFilename);
-                this.closeZipFileAtEnd = true;
-            }
-           return findPackageSet(this);
+            // jar is opened only if it isn't in the index yet, most of jars are never opened if they don't have required classes
+            return JarPackageIndex.getDefault().getPackages(new File(this.zipFilename), this.zipFile);
         } catch (Exception e) {
-            return new SimpleSet(); // assume for this build the zipFile is empty
+            return new String[0]; // assume for this build the zipFile is empty
+        }
+    }
+
+    private synchronized ZipFile getZipFile() throws IOException {
+        if (this.zipFile == null) {
+            if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
+                System.out.println(
+                        "(" + Thread.currentThread() + ") [ClasspathJar.findClass(String)] Creating ZipFile on " +
+                        this.zipFilename
+                                  ); //$NON-NLS-1$	//$NON-NLS-2$
+            }
+            this.zipFile = new ZipFile(this.zipFilename);
+            this.closeZipFileAtEnd = true;
         }
+        return this.zipFile;
     }
 
     public long lastModified() {
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.builder;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.internal.core.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Process-wide index of packages contained in jars, shared by all {@link ClasspathJar}s.
+ *
+ * <p>Jar is scanned only once while its size and modification time stay the same, no matter how many projects
+ * have it in classpath or how many times their classpath is rebuilt. Packages are kept as sorted array,
+ * which is looked up with binary search. Index is saved to disk, so jars aren't scanned again after restart.
+ */
+public class JarPackageIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(JarPackageIndex.class);
+
+    private static final int    FORMAT_VERSION = 1;
+    private static final String INDEX_FILE     = "jarPackages.index";
+
+    private static JarPackageIndex defaultIndex;
+
+    private final File               indexFile;
+    private final Map<String, Entry> entries;
+
+    private boolean loaded;
+    private boolean changed;
+
+    /**
+     * @param indexFile
+     *         file where index is saved or {@code null} if index shouldn't be saved
+     */
+    public JarPackageIndex(File indexFile) {
+        this.indexFile = indexFile;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /** Returns index which is saved to the index directory of the workspace. */
+    public static synchronized JarPackageIndex getDefault() {
+        if (defaultIndex == null) {
+            final String indexPath = ResourcesPlugin.getIndexPath();
+            defaultIndex = new JarPackageIndex(indexPath == null ? null : new File(indexPath, INDEX_FILE));
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Returns packages of the jar, jar is scanned if it isn't indexed yet or was changed since it was indexed.
+     *
+     * @param jar
+     *         jar file
+     * @param zipFile
+     *         opened jar or {@code null}, then jar is opened only if it should be scanned
+     * @return sorted names of packages in the form {@code java/util/concurrent}, including the default package
+     * @throws IOException
+     *         if jar can't be read
+     */
+    public String[] getPackages(File jar, ZipFile zipFile) throws IOException {
+        load();
+        final String path = jar.getAbsolutePath();
+        final long length = jar.length();
+        final long lastModified = jar.lastModified();
+        final Entry entry = entries.get(path);
+        if (entry != null && entry.length == length && entry.lastModified == lastModified) {
+            return entry.packages;
+        }
+
+        final String[] packages;
+        if (zipFile != null) {
+            packages = readPackages(zipFile);
+        } else {
+            try (ZipFile newZipFile = new ZipFile(jar)) {
+                packages = readPackages(newZipFile);
+            }
+        }
+        entries.put(path, new Entry(length, lastModified, packages));
+        synchronized (this) {
+            changed = true;
+        }
+        return packages;
+    }
+
+    /** Saves index to disk if it was changed, entries of jars which don't exist anymore are dropped. */
+    public synchronized void save() {
+        if (indexFile == null || !changed) {
+            return;
+        }
+        final File tmp = new File(indexFile.getPath() + ".tmp");
+        try {
+            Files.createDirectories(indexFile.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(FORMAT_VERSION);
+                for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                    if (!new File(mapEntry.getKey()).exists()) {
+                        continue;
+                    }
+                    final Entry entry = mapEntry.getValue();
+                    out.writeBoolean(true);
+                    out.writeUTF(mapEntry.getKey());
+                    out.writeLong(entry.length);
+                    out.writeLong(entry.lastModified);
+                    out.writeInt(entry.packages.length);
+                    for (String pkg : entry.packages) {
+                        out.writeUTF(pkg);
+                    }
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            changed = false;
+        } catch (IOException e) {
+            LOG.warn("Can't save index of jar packages to " + indexFile, e);
+            tmp.delete();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (indexFile == null || !indexFile.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            while (in.readBoolean()) {
+                final String path = in.readUTF();
+                final long length = in.readLong();
+                final long lastModified = in.readLong();
+                final String[] packages = new String[in.readInt()];
+                for (int i = 0; i < packages.length; i++) {
+                    packages[i] = in.readUTF();
+                }
+                entries.putIfAbsent(path, new Entry(length, lastModified, packages));
+            }
+        } catch (IOException e) {
+            // index is only a cache, jars are scanned again
+            LOG.warn("Can't read index of jar packages from " + indexFile, e);
+        }
+    }
+
+    /** Collects names of packages, including parent packages, of all entries of the jar. */
+    static String[] readPackages(ZipFile zipFile) {
+        final Set<String> packageSet = new HashSet<>();
+        packageSet.add(""); //$NON-NLS-1$
+        nextEntry:
+        for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+            String fileName = e.nextElement().getName();
+
+            // add the package name & all of its parent packages
+            int last = fileName.lastIndexOf('/');
+            while (last > 0) {
+                // extract the package name
+                String packageName = fileName.substring(0, last);
+                String[] splittedName = Util.splitOn('/', packageName, 0, packageName.length());
+                for (String s : splittedName) {
+                    if (!Util.isValidFolderNameForPackage(s, "1.7", "1.7")) {
+                        continue nextEntry;
+                    }
+                }
+
+                if (!packageSet.add(packageName))
+                    continue nextEntry; // already existed
+
+                last = packageName.lastIndexOf('/');
+            }
+        }
+        final String[] packages = packageSet.toArray(new String[packageSet.size()]);
+        Arrays.sort(packages);
+        return packages;
+    }
+
+    private static class Entry {
+        private final long     length;
+        private final long     lastModified;
+        private final String[] packages;
+
+        Entry(long length, long lastModified, String[] packages) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.packages = packages;
+        }
+    }
+}
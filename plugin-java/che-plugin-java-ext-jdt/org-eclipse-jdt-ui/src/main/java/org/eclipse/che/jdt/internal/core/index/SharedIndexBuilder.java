@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.index;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.search.indexing.AddJarFileToIndex;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line tool that pre-indexes jars of a local maven repository into the {@link SharedIndexStore}.
+ *
+ * <p>Usage: {@code SharedIndexBuilder <maven repository dir> <shared index store dir>}.
+ * Jars which already have index in the store are skipped, so the tool may be re-run on the updated repository.
+ */
+public class SharedIndexBuilder {
+
+    private final SharedIndexStore store;
+    private final IndexManager     indexManager;
+
+    public SharedIndexBuilder(SharedIndexStore store, File workDir) {
+        this.store = store;
+        this.indexManager = new IndexManager(workDir.getAbsolutePath(), store);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SharedIndexBuilder <maven repository dir> <shared index store dir>");
+            System.exit(1);
+        }
+        final File repository = new File(args[0]);
+        final SharedIndexStore store = new SharedIndexStore(new File(args[1]));
+        if (!repository.isDirectory()) {
+            System.err.println("Maven repository " + repository + " doesn't exist");
+            System.exit(1);
+        }
+        if (!store.isWritable()) {
+            System.err.println("Shared index store " + args[1] + " isn't writable");
+            System.exit(1);
+        }
+        final File workDir = Files.createTempDirectory("che-index").toFile();
+        final int failed;
+        try {
+            failed = new SharedIndexBuilder(store, workDir).index(findJars(repository));
+        } finally {
+            IoUtil.deleteRecursive(workDir);
+        }
+        System.exit(failed == 0 ? 0 : 2);
+    }
+
+    /**
+     * Indexes given jars and writes their indexes to the store.
+     *
+     * @return number of jars which failed to be indexed
+     */
+    public int index(List<File> jars) {
+        int indexed = 0;
+        int failed = 0;
+        for (File jar : jars) {
+            if (store.find(jar) != null) {
+                continue;
+            }
+            if (index(jar)) {
+                indexed++;
+            } else {
+                failed++;
+                System.err.println("Failed to index " + jar);
+            }
+        }
+        System.out.println("Indexed " + indexed + " of " + jars.size() + " jars into " + store.getIndexesDir() +
+                           (failed == 0 ? "" : ", " + failed + " failed"));
+        return failed;
+    }
+
+    private boolean index(File jar) {
+        final IPath containerPath = new Path(jar.getAbsolutePath());
+        final AddJarFileToIndex request = new AddJarFileToIndex(containerPath, null, indexManager);
+        // runs the request in this thread, index is written to the store when it is saved by the request
+        request.ensureReadyToRun();
+        final boolean succeeded = request.execute(null);
+        // drop local copy of the index, it isn't needed any more
+        indexManager.removeIndex(containerPath);
+        return succeeded && store.find(jar) != null;
+    }
+
+    /** Finds jars with classes in the repository, jars with sources and javadoc are skipped. */
+    public static List<File> findJars(File repository) throws IOException {
+        final List<File> jars = new ArrayList<>();
+        Files.walkFileTree(repository.toPath(), new SimpleFileVisitor<java.nio.file.Path>() {
+            @Override
+            public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attrs) {
+                final String name = file.getFileName().toString();
+                if (name.endsWith(".jar") && !name.endsWith("-sources.jar") && !name.endsWith("-javadoc.jar")) {
+                    jars.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return jars;
+    }
+}
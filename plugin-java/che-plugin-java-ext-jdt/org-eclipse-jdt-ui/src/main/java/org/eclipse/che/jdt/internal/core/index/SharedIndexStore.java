@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.index;
+
+import org.eclipse.che.jdt.util.FileChecksums;
+import org.eclipse.jdt.internal.compiler.util.Util;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Store of library indexes shared between workspaces.
+ *
+ * <p>Index of a library is kept under the SHA-1 of the library content in the directory of the current
+ * index format version, e.g. {@code <root>/INDEX_VERSION_1.126/ab/ab01...ef.index}, so the same jar is indexed
+ * only once for all workspaces whatever its location is. Store may be mounted read-only into machines,
+ * then indexes are only looked up, otherwise indexes built by machines are written back to the store.
+ */
+public class SharedIndexStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexStore.class);
+
+    private static final String INDEX_FILE_EXTENSION = ".index";
+
+    private final File indexesDir;
+
+    /**
+     * @param rootDir
+     *         root directory of the store, indexes of different format versions are kept in its subdirectories
+     */
+    public SharedIndexStore(File rootDir) {
+        this.indexesDir = new File(rootDir, DiskIndex.SIGNATURE.replaceAll("[^\\w.-]", "_"));
+    }
+
+    /**
+     * Finds index of the library in the store.
+     *
+     * @param library
+     *         jar or zip file
+     * @return index file or {@code null} if file isn't a library or store doesn't contain its index
+     */
+    public File find(File library) {
+        if (!isLibrary(library)) {
+            return null;
+        }
+        try {
+            final File indexFile = getIndexFile(library);
+            return indexFile.isFile() ? indexFile : null;
+        } catch (IOException e) {
+            LOG.warn("Can't compute checksum of library " + library, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes index of the library built locally to the store. Does nothing if store is read-only,
+     * file isn't a library or store already contains its index.
+     *
+     * @param library
+     *         jar or zip file
+     * @param indexFile
+     *         index of the library
+     * @return {@code true} if index was written to the store, {@code false} otherwise
+     */
+    public boolean publish(File library, File indexFile) {
+        if (!isLibrary(library) || !indexFile.isFile() || !isWritable()) {
+            return false;
+        }
+        try {
+            final File storedFile = getIndexFile(library);
+            if (storedFile.exists()) {
+                return false;
+            }
+            final Path dir = Files.createDirectories(storedFile.getParentFile().toPath());
+            // copy to temporary file first, so others never see partially written index
+            final Path tmp = Files.createTempFile(dir, storedFile.getName(), ".tmp");
+            try {
+                Files.copy(indexFile.toPath(), tmp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmp, storedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Can't write index of library " + library + " to shared index store", e);
+            return false;
+        }
+    }
+
+    /** Returns {@code true} if indexes built locally can be written to the store. */
+    public boolean isWritable() {
+        File dir = indexesDir;
+        while (dir != null && !dir.exists()) {
+            dir = dir.getParentFile();
+        }
+        return dir != null && Files.isWritable(dir.toPath());
+    }
+
+    /** Returns directory where indexes of the current format version are kept. */
+    public File getIndexesDir() {
+        return indexesDir;
+    }
+
+    private boolean isLibrary(File file) {
+        return Util.isArchiveFileName(file.getName()) && file.isFile();
+    }
+
+    private File getIndexFile(File library) throws IOException {
+        final String sha1 = FileChecksums.getDefault().checksum(library);
+        return new File(new File(indexesDir, sha1.substring(0, 2)), sha1 + INDEX_FILE_EXTENSION);
+    }
+}
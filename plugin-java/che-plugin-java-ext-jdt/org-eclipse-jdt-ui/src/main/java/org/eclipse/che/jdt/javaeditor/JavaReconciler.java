@@ -15,8 +15,10 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jdt.core.IBuffer;
@@ -33,23 +35,129 @@ import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Reconciles java classes opened in editors.
+ *
+ * <p>Each editor has its own reconcile session that keeps working copy of the class open between requests.
+ * Editor sends its content only once, when session is opened, and then sends only changes of the content,
+ * so file isn't read and working copy isn't created on each request. Sessions that aren't used for
+ * {@link #SESSION_IDLE_TIMEOUT_MS} are closed periodically. Requests that come while session is being reconciled
+ * are coalesced, all of them get result of the next reconcile that includes their changes, or its failure.
+ * Semantic highlighting of a session is sent as changes against the highlighting of the previous reconcile.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
+    static final long SESSION_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(15);
+
+    private static final long IDLE_SESSIONS_CHECK_PERIOD_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<String, ReconcileSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService      sessionsCleaner;
 
     private SemanticHighlightingReconciler semanticHighlighting;
 
     @Inject
     public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting) {
         this.semanticHighlighting = semanticHighlighting;
+        this.sessionsCleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "JavaReconcileSessionsCleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessionsCleaner.scheduleWithFixedDelay(this::closeIdleSessions,
+                                               IDLE_SESSIONS_CHECK_PERIOD_MS,
+                                               IDLE_SESSIONS_CHECK_PERIOD_MS,
+                                               TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sessionsCleaner.shutdownNow();
+        for (String sessionId : sessions.keySet()) {
+            closeSession(sessionId);
+        }
+    }
+
+    /**
+     * Reconciles content of editor.
+     *
+     * @param javaProject
+     *         project of reconciled class
+     * @param request
+     *         content of editor or its changes since the previous request of the same session
+     * @return result of reconcile with id of session which should be used for the next requests,
+     * or {@code null} if class isn't found
+     * @throws IllegalArgumentException
+     *         if session doesn't exist or was expired and request doesn't contain full content of editor,
+     *         or if changes can't be applied to content of session
+     */
+    public ReconcileResult reconcile(IJavaProject javaProject, ReconcileRequest request) throws JavaModelException {
+        ReconcileSession session = request.getSessionId() == null ? null : sessions.get(request.getSessionId());
+        if (session == null) {
+            if (request.getContent() == null) {
+                throw new IllegalArgumentException("Reconcile session doesn't exist or was expired");
+            }
+            final ICompilationUnit compilationUnit = findCompilationUnit(javaProject, request.getFQN());
+            if (compilationUnit == null) {
+                return null;
+            }
+            session = new ReconcileSession(UUID.randomUUID().toString(), compilationUnit);
+            sessions.put(session.id, session);
+        }
+        try {
+            return session.reconcile(request.getContent(), request.getChanges());
+        } catch (JavaModelException | RuntimeException e) {
+            // content of session may be inconsistent with editor, editor will open new session.
+            // Coalesced requests get the same failure, so only the first of them closes the session
+            if (sessions.remove(session.id, session)) {
+                session.close();
+                LOG.error("Can't reconcile class: " + request.getFQN() + " in project:" + javaProject.getPath().toOSString(), e);
+            }
+            throw e;
+        }
+    }
+
+    /** Closes reconcile session and discards its working copy. Does nothing if session doesn't exist. */
+    public void closeSession(String sessionId) {
+        final ReconcileSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    void closeIdleSessions() {
+        final long idleSince = System.currentTimeMillis() - SESSION_IDLE_TIMEOUT_MS;
+        for (ReconcileSession session : sessions.values()) {
+            if (session.lastAccessTime < idleSince && sessions.remove(session.id, session)) {
+                session.close();
+            }
+        }
+    }
+
+    private ICompilationUnit findCompilationUnit(IJavaProject javaProject, String fqn) throws JavaModelException {
+        IType type = javaProject.findType(fqn);
+        if (type == null) {
+            return null;
+        }
+        if (type.isBinary()) {
+            throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
+        }
+        return type.getCompilationUnit();
     }
 
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
@@ -101,8 +209,12 @@ public class JavaReconciler {
             }
         }
 
+        return createResult(requestor.problems, positions);
+    }
+
+    private ReconcileResult createResult(List<IProblem> problems, List<HighlightedPosition> positions) {
         ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
+        result.setProblems(convertProblems(problems));
         result.setHighlightedPositions(positions);
         return result;
     }
@@ -131,6 +243,118 @@ public class JavaReconciler {
         return result;
     }
 
+    /** Working copy of the class opened in editor. */
+    private class ReconcileSession {
+        private final String                    id;
+        private final ProblemRequestor          requestor;
+        private final WorkingCopyOwner          wcOwner;
+        private final ICompilationUnit          workingCopy;
+        private final Object                    reconcileLock;
+        private final List<Change>              pendingChanges;
+        private final SemanticHighlightingState highlighting;
+
+        private String          pendingContent;
+        private long            version;
+        private long            reconciledVersion;
+        private ReconcileResult result;
+        private Exception       failure;
+        private volatile long   lastAccessTime;
+
+        ReconcileSession(String id, ICompilationUnit compilationUnit) throws JavaModelException {
+            this.id = id;
+            this.requestor = new ProblemRequestor();
+            this.wcOwner = new WorkingCopyOwner() {
+                public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                    return requestor;
+                }
+
+                @Override
+                public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                    return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, workingCopy.getPath(), "");
+                }
+            };
+            this.workingCopy = compilationUnit.getWorkingCopy(wcOwner, null);
+            this.reconcileLock = new Object();
+            this.pendingChanges = new ArrayList<>();
+            this.highlighting = new SemanticHighlightingState(semanticHighlighting);
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        ReconcileResult reconcile(String content, List<Change> changes) throws JavaModelException {
+            final long requestVersion;
+            synchronized (this) {
+                lastAccessTime = System.currentTimeMillis();
+                if (content != null) {
+                    pendingContent = content;
+                    pendingChanges.clear();
+                }
+                if (changes != null) {
+                    pendingChanges.addAll(changes);
+                }
+                requestVersion = ++version;
+            }
+            synchronized (reconcileLock) {
+                if (failure != null) {
+                    // content of working copy is unknown after failure, session is closed by the first failed request
+                    if (failure instanceof JavaModelException) {
+                        throw (JavaModelException)failure;
+                    }
+                    throw (RuntimeException)failure;
+                }
+                if (reconciledVersion >= requestVersion) {
+                    // changes of this request were reconciled together with changes of the request that came before
+                    return result;
+                }
+                final String newContent;
+                final List<Change> newChanges;
+                final long newVersion;
+                synchronized (this) {
+                    newContent = pendingContent;
+                    newChanges = new ArrayList<>(pendingChanges);
+                    newVersion = version;
+                    pendingContent = null;
+                    pendingChanges.clear();
+                }
+                try {
+                    final IBuffer buffer = workingCopy.getBuffer();
+                    if (newContent != null) {
+                        buffer.setContents(newContent);
+                    }
+                    for (Change change : newChanges) {
+                        final int offset = change.getOffset();
+                        final int length = change.getLength();
+                        if (offset < 0 || length < 0 || offset + length > buffer.getLength()) {
+                            throw new IllegalArgumentException("Change [" + offset + ", " + length + "] is out of session content");
+                        }
+                        buffer.replace(offset, length, change.getText() == null ? "" : change.getText());
+                    }
+                    requestor.reset();
+                    CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+                    result = createResult(requestor.problems, null);
+                    result.setHighlightingDelta(highlighting.update(unit, newContent == null && newChanges.size() == 1
+                                                                          ? newChanges.get(0) : null));
+                    result.setSessionId(id);
+                    reconciledVersion = newVersion;
+                    return result;
+                } catch (JavaModelException | RuntimeException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (reconcileLock) {
+                try {
+                    workingCopy.getBuffer().close();
+                    workingCopy.discardWorkingCopy();
+                } catch (JavaModelException e) {
+                    //ignore
+                }
+            }
+        }
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
@@ -28,6 +28,7 @@ import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -43,9 +44,6 @@ public class SemanticHighlightingReconciler {
      */
     private SemanticHighlighting[] fJobSemanticHighlightings;
 
-    /** Background job's added highlighted positions */
-    private ThreadLocal<List<HighlightedPosition>> fAddedPositions = new ThreadLocal<>();
-
     private SemanticHighlighting fJobDeprecatedMemberHighlighting;
 
     public SemanticHighlightingReconciler() {
@@ -59,10 +57,48 @@ public class SemanticHighlightingReconciler {
     }
 
     public List<HighlightedPosition> reconcileSemanticHighlight(CompilationUnit ast) {
-        fAddedPositions.set(new ArrayList<HighlightedPosition>());
+        int[] tokens = collectTokens(ast);
+        List<HighlightedPosition> positions = new ArrayList<>(tokens.length / 3);
+        for (int i = 0; i < tokens.length; i += 3) {
+            HighlightedPosition highlightedPosition = DtoFactory.getInstance().createDto(HighlightedPosition.class);
+            highlightedPosition.setOffset(tokens[i]);
+            highlightedPosition.setLength(tokens[i + 1]);
+            highlightedPosition.setType(fJobSemanticHighlightings[tokens[i + 2]].getType());
+            positions.add(highlightedPosition);
+        }
+        return positions;
+    }
+
+    /**
+     * Collects highlighted positions of the node and its children.
+     *
+     * @param node
+     *         the node, usually compilation unit
+     * @return positions in the order they appear in the source, three elements per position: offset, length
+     * and index of the highlighting type in {@link #getHighlightingTypes()}
+     */
+    public int[] collectTokens(ASTNode node) {
         PositionCollector collector = new PositionCollector();
-        ast.accept(collector);
-        return fAddedPositions.get();
+        node.accept(collector);
+        return Arrays.copyOf(collector.fTokens, collector.fSize);
+    }
+
+    /** Returns types of highlightings, index of the type is used in positions returned by {@link #collectTokens(ASTNode)}. */
+    public List<String> getHighlightingTypes() {
+        List<String> types = new ArrayList<>(fJobSemanticHighlightings.length);
+        for (SemanticHighlighting highlighting : fJobSemanticHighlightings) {
+            types.add(highlighting.getType());
+        }
+        return types;
+    }
+
+    private int indexOf(SemanticHighlighting highlighting) {
+        for (int i = 0; i < fJobSemanticHighlightings.length; i++) {
+            if (fJobSemanticHighlightings[i] == highlighting) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown highlighting: " + highlighting.getType());
     }
 
     /**
@@ -73,6 +109,10 @@ public class SemanticHighlightingReconciler {
         /** The semantic token */
         private SemanticToken fToken = new SemanticToken();
 
+        /** Collected positions, three elements per position */
+        private int[] fTokens = new int[3 * 64];
+        private int   fSize;
+
         /*
          * @see org.eclipse.jdt.internal.corext.dom.GenericVisitor#visitNode(org.eclipse.jdt.core.dom.ASTNode)
          */
@@ -194,11 +234,12 @@ public class SemanticHighlightingReconciler {
          *         The highlighting
          */
         private void addPosition(int offset, int length, SemanticHighlighting highlighting) {
-            HighlightedPosition highlightedPosition = DtoFactory.getInstance().createDto(HighlightedPosition.class);
-            highlightedPosition.setLength(length);
-            highlightedPosition.setOffset(offset);
-            highlightedPosition.setType(highlighting.getType());
-            fAddedPositions.get().add(highlightedPosition);
+            if (fSize == fTokens.length) {
+                fTokens = Arrays.copyOf(fTokens, fSize * 2);
+            }
+            fTokens[fSize++] = offset;
+            fTokens[fSize++] = length;
+            fTokens[fSize++] = indexOf(highlighting);
         }
 
     }
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.javaeditor;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.SemanticHighlightingDelta;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Semantic highlighting of a reconcile session, which is kept between reconciles to send to the editor
+ * only changes of highlighting.
+ *
+ * <p>When the only change since the previous reconcile is inside of a method or initializer body and
+ * bodies of all members keep their places, only the changed body is visited, positions of the rest of
+ * the class are taken from the previous highlighting. Declarations outside of the body can't be affected
+ * by such change.
+ */
+class SemanticHighlightingState {
+
+    private final SemanticHighlightingReconciler reconciler;
+
+    private int   version;
+    /** Positions of the last highlighting, three elements per position: offset, length and type index. */
+    private int[] tokens;
+    /** Tokens of the last highlighting encoded with offsets relative to the previous token. */
+    private int[] data;
+    /** Start and end offsets of member bodies of the last reconciled AST. */
+    private int[] bodies;
+
+    SemanticHighlightingState(SemanticHighlightingReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    /**
+     * Updates highlighting with the new AST of the class.
+     *
+     * @param ast
+     *         reconciled AST
+     * @param change
+     *         the only change of the content since the previous update or {@code null} if it is unknown
+     * @return changes of highlighting since the previous update, or the whole highlighting if the change is unknown
+     */
+    SemanticHighlightingDelta update(CompilationUnit ast, Change change) {
+        final List<Block> newBodyNodes = new ArrayList<>();
+        ast.accept(new BodyCollector(newBodyNodes));
+        final int[] newBodies = new int[newBodyNodes.size() * 2];
+        for (int i = 0; i < newBodyNodes.size(); i++) {
+            newBodies[i * 2] = newBodyNodes.get(i).getStartPosition();
+            newBodies[i * 2 + 1] = newBodyNodes.get(i).getStartPosition() + newBodyNodes.get(i).getLength();
+        }
+
+        int[] newTokens = null;
+        if (tokens != null && change != null) {
+            newTokens = updateChangedBody(change, newBodyNodes, newBodies);
+        }
+        if (newTokens == null) {
+            newTokens = reconciler.collectTokens(ast);
+        }
+        final int[] newData = encode(newTokens);
+
+        final SemanticHighlightingDelta delta = DtoFactory.getInstance().createDto(SemanticHighlightingDelta.class)
+                                                          .withVersion(version + 1)
+                                                          .withTypes(reconciler.getHighlightingTypes());
+        if (tokens == null || change == null) {
+            // editor can't tell which of its markers were moved by the edits, whole highlighting is sent
+            delta.withBaseVersion(0).withStart(0).withDeleteCount(0).withData(toList(newData, 0, newData.length / 3));
+        } else {
+            // Markers of tokens which touch the change are moved or resized by editor. They are replaced even if
+            // encoding of the token is the same, only tokens before the change and tokens after the change which
+            // are moved by editor to their new places are kept.
+            final int changeStart = change.getOffset();
+            final int changeEnd = change.getOffset() + change.getLength();
+            final int shift = (change.getText() == null ? 0 : change.getText().length()) - change.getLength();
+            final int oldCount = data.length / 3;
+            final int newCount = newData.length / 3;
+            int prefix = 0;
+            while (prefix < oldCount && prefix < newCount
+                   && tokens[prefix * 3] + tokens[prefix * 3 + 1] < changeStart
+                   && sameToken(data, prefix, newData, prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < oldCount - prefix && suffix < newCount - prefix
+                   && tokens[(oldCount - 1 - suffix) * 3] > changeEnd
+                   && tokens[(oldCount - 1 - suffix) * 3] + shift == newTokens[(newCount - 1 - suffix) * 3]
+                   && sameToken(data, oldCount - 1 - suffix, newData, newCount - 1 - suffix)) {
+                suffix++;
+            }
+            delta.withBaseVersion(version)
+                 .withStart(prefix)
+                 .withDeleteCount(oldCount - prefix - suffix)
+                 .withData(toList(newData, prefix, newCount - suffix));
+        }
+
+        version++;
+        tokens = newTokens;
+        data = newData;
+        bodies = newBodies;
+        return delta;
+    }
+
+    /**
+     * Visits only the body that contains the change.
+     *
+     * @return positions of the whole class or {@code null} if the change isn't inside one body
+     * or if bodies of members were moved not only by the change
+     */
+    private int[] updateChangedBody(Change change, List<Block> newBodyNodes, int[] newBodies) {
+        if (bodies.length != newBodies.length) {
+            return null;
+        }
+        final int changeStart = change.getOffset();
+        final int changeEnd = change.getOffset() + change.getLength();
+        final int shift = (change.getText() == null ? 0 : change.getText().length()) - change.getLength();
+        int changed = -1;
+        for (int i = 0; i < bodies.length; i += 2) {
+            if (bodies[i] < changeStart && changeEnd < bodies[i + 1]) {
+                changed = i;
+            } else {
+                final int expectedShift = changed < 0 ? 0 : shift;
+                if (newBodies[i] != bodies[i] + expectedShift || newBodies[i + 1] != bodies[i + 1] + expectedShift) {
+                    return null;
+                }
+            }
+        }
+        if (changed < 0 || newBodies[changed] != bodies[changed] || newBodies[changed + 1] != bodies[changed + 1] + shift) {
+            return null;
+        }
+
+        final int bodyStart = bodies[changed];
+        final int bodyEnd = bodies[changed + 1];
+        final int[] bodyTokens = reconciler.collectTokens(newBodyNodes.get(changed / 2));
+        int before = 0;
+        while (before < tokens.length && tokens[before] < bodyStart) {
+            before += 3;
+        }
+        int after = before;
+        while (after < tokens.length && tokens[after] < bodyEnd) {
+            after += 3;
+        }
+        final int[] result = new int[before + bodyTokens.length + tokens.length - after];
+        System.arraycopy(tokens, 0, result, 0, before);
+        System.arraycopy(bodyTokens, 0, result, before, bodyTokens.length);
+        for (int i = after, j = before + bodyTokens.length; i < tokens.length; i += 3, j += 3) {
+            result[j] = tokens[i] + shift;
+            result[j + 1] = tokens[i + 1];
+            result[j + 2] = tokens[i + 2];
+        }
+        return result;
+    }
+
+    private static int[] encode(int[] tokens) {
+        final int[] encoded = Arrays.copyOf(tokens, tokens.length);
+        int previousOffset = 0;
+        for (int i = 0; i < encoded.length; i += 3) {
+            encoded[i] = tokens[i] - previousOffset;
+            previousOffset = tokens[i];
+        }
+        return encoded;
+    }
+
+    private static List<Integer> toList(int[] data, int fromToken, int toToken) {
+        final List<Integer> list = new ArrayList<>((toToken - fromToken) * 3);
+        for (int i = fromToken * 3; i < toToken * 3; i++) {
+            list.add(data[i]);
+        }
+        return list;
+    }
+
+    private static boolean sameToken(int[] data, int index, int[] newData, int newIndex) {
+        return data[index * 3] == newData[newIndex * 3]
+               && data[index * 3 + 1] == newData[newIndex * 3 + 1]
+               && data[index * 3 + 2] == newData[newIndex * 3 + 2];
+    }
+
+    /**
+     * Collects bodies of methods and initializers in source order. Malformed nodes are skipped
+     * the same way as semantic highlighting skips them.
+     */
+    private static class BodyCollector extends ASTVisitor {
+        private final List<Block> bodies;
+
+        BodyCollector(List<Block> bodies) {
+            this.bodies = bodies;
+        }
+
+        @Override
+        public boolean preVisit2(ASTNode node) {
+            return (node.getFlags() & ASTNode.MALFORMED) != ASTNode.MALFORMED;
+        }
+
+        @Override
+        public boolean visit(MethodDeclaration node) {
+            addBody(node.getBody());
+            return false;
+        }
+
+        @Override
+        public boolean visit(Initializer node) {
+            addBody(node.getBody());
+            return false;
+        }
+
+        private void addBody(Block body) {
+            if (body != null && (body.getFlags() & ASTNode.MALFORMED) != ASTNode.MALFORMED) {
+                bodies.add(body);
+            }
+        }
+    }
+}
@@ -53,4 +53,8 @@ public class TextViewer implements ITextViewer {
     public Point getSelectedRange() {
         return point;
     }
+
+    public void setSelectedRange(int offset, int length) {
+        point = new Point(offset, length);
+    }
 }
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes SHA-1 checksums of files, e.g. to recognize the same library whatever its location is.
+ * Checksum of a file is recomputed only if size or modification time of the file is changed.
+ */
+public class FileChecksums {
+    private static final FileChecksums DEFAULT = new FileChecksums();
+
+    private final Map<String, Checksum> checksums = new ConcurrentHashMap<>();
+
+    /** Returns process-wide instance, so each file is read only once whoever needs its checksum. */
+    public static FileChecksums getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns SHA-1 of the file content as hex string.
+     *
+     * @throws IOException
+     *         if file can't be read
+     */
+    public String checksum(File file) throws IOException {
+        final String path = file.getAbsolutePath();
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+        Checksum checksum = checksums.get(path);
+        if (checksum == null || checksum.length != length || checksum.lastModified != lastModified) {
+            checksum = new Checksum(sha1(file), length, lastModified);
+            checksums.put(path, checksum);
+        }
+        return checksum.value;
+    }
+
+    /** Returns SHA-1 of UTF-8 bytes of the text as hex string. */
+    public static String sha1(String text) {
+        final MessageDigest digest = newDigest();
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    private static String sha1(File file) throws IOException {
+        final MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            final byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // digest is updated while content is read
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static class Checksum {
+        private final String value;
+        private final long   length;
+        private final long   lastModified;
+
+        Checksum(String value, long length, long lastModified) {
+            this.value = value;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import org.eclipse.che.jdt.core.resources.CompositeResourceDelta;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.core.resources.IResourceDelta;
@@ -1845,7 +1846,18 @@ public class DeltaProcessor {
 //
 //				// traverse delta
 //				traverseDelta(changes, IJavaElement.JAVA_PROJECT, null, null);
-            updateCurrentDeltaAndIndex(changes, IJavaElement.COMPILATION_UNIT, null);
+            if (!(changes instanceof CompositeResourceDelta)) {
+                updateCurrentDeltaAndIndex(changes, IJavaElement.COMPILATION_UNIT, null);
+            } else {
+                // aggregated changes of several resources, a failed change doesn't stop the others
+                for (IResourceDelta child : changes.getAffectedChildren()) {
+                    try {
+                        updateCurrentDeltaAndIndex(child, IJavaElement.COMPILATION_UNIT, null);
+                    } catch (RuntimeException e) {
+                        Util.log(e, "Exception occurred while processing resource delta"); //$NON-NLS-1$
+                    }
+                }
+            }
 //
 //				if (elementType == NON_JAVA_RESOURCE
 //						|| (wasJavaProject != isJavaProject && (delta.getKind()) == IResourceDelta.CHANGED)) { // project has changed
@@ -12,6 +12,7 @@
 package org.eclipse.jdt.internal.core;
 
 import org.eclipse.che.jdt.core.launching.JREContainerInitializer;
+import org.eclipse.che.jdt.internal.core.index.SharedIndexStore;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -272,7 +273,9 @@ public class JavaModelManager {
         this.cache = new JavaModelCache();
         optionsCache = new Hashtable<>(defaultOptions);
         javaModel = new org.eclipse.jdt.internal.core.JavaModel();
-        this.indexManager = new IndexManager(ResourcesPlugin.getIndexPath());
+        String sharedIndexPath = ResourcesPlugin.getSharedIndexPath();
+        this.indexManager = new IndexManager(ResourcesPlugin.getIndexPath(),
+                                             sharedIndexPath == null ? null : new SharedIndexStore(new File(sharedIndexPath)));
         deltaState = new DeltaProcessingState(this);
         this.nonChainingJars = new HashSet();//loadClasspathListCache(NON_CHAINING_JARS_CACHE);
         this.invalidArchives = new HashSet(); //loadClasspathListCache(INVALID_ARCHIVES_CACHE);
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.search.indexing;
 
+import org.eclipse.che.jdt.internal.core.index.SharedIndexStore;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -53,8 +54,10 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.zip.CRC32;
 
 public class IndexManager extends JobManager implements IIndexConstants {
@@ -91,9 +94,18 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    // store of library indexes shared between workspaces, may be null
+    private SharedIndexStore sharedIndexStore;
+    // libraries whose indexes from the shared store can't be used, they are indexed locally
+    private Set<IPath>       rejectedSharedIndexes = new HashSet<>();
 
     public IndexManager(String indexLocation) {
+        this(indexLocation, null);
+    }
+
+    public IndexManager(String indexLocation, SharedIndexStore sharedIndexStore) {
         this.indexLocation = indexLocation;
+        this.sharedIndexStore = sharedIndexStore;
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -204,6 +216,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
     public synchronized IndexLocation computeIndexLocation(IPath containerPath) {
         IndexLocation indexLocation = (IndexLocation)this.indexLocations.get(containerPath);
         if (indexLocation == null) {
+            indexLocation = computeSharedIndexLocation(containerPath);
+            if (indexLocation != null) return indexLocation;
+
             String pathString = containerPath.toOSString();
             CRC32 checksumCalculator = new CRC32();
             checksumCalculator.update(pathString.getBytes());
@@ -217,6 +232,28 @@ public class IndexManager extends JobManager implements IIndexConstants {
         return indexLocation;
     }
 
+    /*
+     * Resolves a library to its prebuilt index from the shared index store.
+     * Returns null if there is no shared index for the container, then index is built locally.
+     */
+    private IndexLocation computeSharedIndexLocation(IPath containerPath) {
+        if (this.sharedIndexStore == null || this.rejectedSharedIndexes.contains(containerPath)) return null;
+        File indexFile = this.sharedIndexStore.find(containerPath.toFile());
+        if (indexFile == null) return null;
+
+        if (JobManager.VERBOSE)
+            Util.verbose("-> shared index for " + containerPath + " is " + indexFile); //$NON-NLS-1$ //$NON-NLS-2$
+        IndexLocation indexLocation = (IndexLocation)getIndexStates().getKey(new FileIndexLocation(indexFile));
+        // if the shared index can't be read, addIndex computes the location again to rebuild the index locally
+        this.rejectedSharedIndexes.add(containerPath);
+        if (addIndex(containerPath, indexLocation)) {
+            this.rejectedSharedIndexes.remove(containerPath);
+            return indexLocation;
+        }
+        getIndexStates().removeKey(indexLocation);
+        return null;
+    }
+
     public void deleteIndexFiles() {
         if (DEBUG)
             Util.verbose("Deleting index files"); //$NON-NLS-1$
@@ -948,6 +985,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
             IndexLocation indexLocation = computeIndexLocation(containerPath);
             updateIndexState(indexLocation, SAVED_STATE);
         }
+        // caller holds the write lock of the index, so the saved file is complete
+        if (this.sharedIndexStore != null && index.getIndexFile() != null)
+            this.sharedIndexStore.publish(new File(index.containerPath), index.getIndexFile());
     }
 
     /**
@@ -14,6 +14,7 @@ package org.eclipse.jdt.internal.ui;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import org.eclipse.che.jdt.internal.core.builder.JarPackageIndex;
 import org.eclipse.che.jface.text.templates.ContextTypeRegistry;
 import org.eclipse.che.jface.text.templates.persistence.TemplateStore;
 import org.eclipse.core.runtime.CoreException;
@@ -220,6 +221,7 @@ public class JavaPlugin {
         }
 
         QualifiedTypeNameHistory.getDefault().save();
+        JarPackageIndex.getDefault().save();
     }
 
     /**
@@ -74,6 +74,19 @@ public class DependenciesUpdater {
     }
 
     public void updateDependencies(ProjectConfig config) {
+        updateDependencies(config, false);
+    }
+
+    /**
+     * Updates dependencies of the project.
+     *
+     * @param config
+     *         configuration of the project
+     * @param force
+     *         {@code true} if dependencies should be resolved even if configuration of the project isn't changed
+     *         since the previous update, otherwise previously resolved dependencies may be reused
+     */
+    public void updateDependencies(ProjectConfig config, boolean force) {
         if (appContext.getCurrentProject() == null) {
             return;
         }
@@ -91,7 +104,7 @@ public class DependenciesUpdater {
 
         final LogsOutputHandler logsOutputHandler = outputHandlerProvider.get();
 
-        classpathServiceClient.updateDependencies(path, new RequestCallback<ClassPathBuilderResult>(unmarshaller) {
+        classpathServiceClient.updateDependencies(path, force, new RequestCallback<ClassPathBuilderResult>(unmarshaller) {
             @Override
             protected void onSuccess(ClassPathBuilderResult result) {
                 String updatedChannel = result.getChannel();
@@ -25,8 +25,10 @@ public interface JavaClasspathServiceClient {
      *
      * @param projectPath
      *         path to the project to update its dependencies
+     * @param force
+     *         {@code true} if dependencies should be resolved even if configuration of the project isn't changed
      * @param callback
      *         the callback to use for the response
      */
-    void updateDependencies(String projectPath, RequestCallback<ClassPathBuilderResult> callback);
+    void updateDependencies(String projectPath, boolean force, RequestCallback<ClassPathBuilderResult> callback);
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.client.editor;
 
+import com.google.gwt.http.client.URL;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -66,6 +67,16 @@ public class JavaCodeAssistClient {
         asyncRequestFactory.createPostRequest(url, null).data(contents).send(callback);
     }
 
+    /**
+     * Narrows proposals of completion session by prefix typed after proposals were computed.
+     * If returned proposals have no session id, proposals should be computed again.
+     */
+    public void refineProposals(String sessionId, int offset, String prefix, AsyncRequestCallback<Proposals> callback) {
+        String url = machineExtPath + "/jdt/" + workspaceId + "/code-assist/refine/completion/?sessionid=" + sessionId +
+                     "&offset=" + offset + "&prefix=" + URL.encodeQueryString(prefix);
+        asyncRequestFactory.createGetRequest(url).send(callback);
+    }
+
     public void computeAssistProposals(String projectPath, String fqn, int offset, List<Problem> problems,
                                        AsyncRequestCallback<Proposals> callback) {
         String url = machineExtPath + "/jdt/" + workspaceId + "/code-assist/compute/assist" + "/?projectpath=" +
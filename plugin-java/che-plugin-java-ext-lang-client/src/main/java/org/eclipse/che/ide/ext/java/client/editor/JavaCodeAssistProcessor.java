@@ -56,6 +56,12 @@ public class JavaCodeAssistProcessor implements CodeAssistProcessor {
 
     private String errorMessage;
 
+    /** Completion session which proposals can be narrowed while identifier is typed. */
+    private String completionSessionId;
+    private int    completionTokenStart;
+    private String contentBeforeToken;
+    private String contentAfterCursor;
+
     @AssistedInject
     public JavaCodeAssistProcessor(@Assisted final EditorPartPresenter editor,
                                    final JavaCodeAssistClient client,
@@ -155,15 +161,30 @@ public class JavaCodeAssistProcessor implements CodeAssistProcessor {
         if (errorMessage != null) {
             return;
         }
+        final String content = textEditor.getDocument().getContents();
+        final int tokenStart = findTokenStart(content, offset);
+        if (canRefine(content, offset, tokenStart)) {
+            refineProposals(offset, content, tokenStart, callback);
+        } else {
+            computeProposals(offset, content, tokenStart, callback);
+        }
+    }
+
+    private void computeProposals(final int offset, final String content, final int tokenStart, final CodeAssistCallback callback) {
+        completionSessionId = null;
         this.eventLogger.log(this, "Autocompleting");
         final VirtualFile file = editor.getEditorInput().getFile();
         final String projectPath = file.getProject().getProjectConfig().getPath();
         String fqn = JavaSourceFolderUtil.getFQNForFile(file);
         Unmarshallable<Proposals> unmarshaller = unmarshallerFactory.newUnmarshaller(Proposals.class);
-        client.computeProposals(projectPath, fqn, offset, textEditor.getDocument().getContents(),
+        client.computeProposals(projectPath, fqn, offset, content,
                                 new AsyncRequestCallback<Proposals>(unmarshaller) {
                                     @Override
                                     protected void onSuccess(Proposals proposals) {
+                                        completionSessionId = proposals.getSessionId();
+                                        completionTokenStart = tokenStart;
+                                        contentBeforeToken = content.substring(0, tokenStart);
+                                        contentAfterCursor = content.substring(offset);
                                         showProposals(callback, proposals);
                                     }
 
@@ -174,6 +195,48 @@ public class JavaCodeAssistProcessor implements CodeAssistProcessor {
         });
     }
 
+    /** Narrows proposals computed for the same token on server instead of computing them again. */
+    private void refineProposals(final int offset, final String content, final int tokenStart, final CodeAssistCallback callback) {
+        Unmarshallable<Proposals> unmarshaller = unmarshallerFactory.newUnmarshaller(Proposals.class);
+        client.refineProposals(completionSessionId, offset, content.substring(tokenStart, offset),
+                               new AsyncRequestCallback<Proposals>(unmarshaller) {
+                                   @Override
+                                   protected void onSuccess(Proposals proposals) {
+                                       if (proposals.getSessionId() == null) {
+                                           computeProposals(offset, content, tokenStart, callback);
+                                       } else {
+                                           showProposals(callback, proposals);
+                                       }
+                                   }
+
+                                   @Override
+                                   protected void onFailure(Throwable throwable) {
+                                       computeProposals(offset, content, tokenStart, callback);
+                                   }
+                               });
+    }
+
+    /** Checks that only identifier completion was computed for was changed since proposals were computed. */
+    private boolean canRefine(String content, int offset, int tokenStart) {
+        return completionSessionId != null
+               && tokenStart == completionTokenStart
+               && content.length() - offset == contentAfterCursor.length()
+               && content.startsWith(contentBeforeToken)
+               && content.endsWith(contentAfterCursor);
+    }
+
+    private int findTokenStart(String content, int offset) {
+        int tokenStart = offset;
+        while (tokenStart > 0 && isIdentifierPart(content.charAt(tokenStart - 1))) {
+            tokenStart--;
+        }
+        return tokenStart;
+    }
+
+    private boolean isIdentifierPart(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$';
+    }
+
     private void showProposals(final CodeAssistCallback callback, final Proposals respons) {
         List<ProposalPresentation> presentations = respons.getProposals();
         final List<CompletionProposal> proposals = new ArrayList<>(presentations.size());
@@ -15,6 +15,7 @@ import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
@@ -52,6 +53,44 @@ public class JavaReconcileClient {
                                    callback.onReconcile(result);
                                }
 
+                               @Override
+                               protected void onFailure(Throwable exception) {
+                                   Log.error(JavaReconcileClient.class, exception);
+                                   callback.onFailure(exception);
+                               }
+                           });
+    }
+
+    /**
+     * Reconciles content of editor in reconcile session.
+     * Session keeps content of editor on server, so only changes of the content may be sent.
+     */
+    public void reconcile(ReconcileRequest request, final ReconcileCallback callback) {
+        String url = javaCAPath + "/jdt/" + workspaceId + "/reconcile";
+        asyncRequestFactory.createPostRequest(url, request)
+                           .send(new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
+                               @Override
+                               protected void onSuccess(ReconcileResult result) {
+                                   callback.onReconcile(result);
+                               }
+
+                               @Override
+                               protected void onFailure(Throwable exception) {
+                                   Log.error(JavaReconcileClient.class, exception);
+                                   callback.onFailure(exception);
+                               }
+                           });
+    }
+
+    /** Closes reconcile session, e.g. when editor is closed. */
+    public void closeSession(String sessionId) {
+        String url = javaCAPath + "/jdt/" + workspaceId + "/reconcile/" + sessionId;
+        asyncRequestFactory.createDeleteRequest(url)
+                           .send(new AsyncRequestCallback<Void>() {
+                               @Override
+                               protected void onSuccess(Void result) {
+                               }
+
                                @Override
                                protected void onFailure(Throwable exception) {
                                    Log.error(JavaReconcileClient.class, exception);
@@ -61,5 +100,7 @@ public class JavaReconcileClient {
 
     public interface ReconcileCallback {
         void onReconcile(ReconcileResult result);
+
+        void onFailure(Throwable exception);
     }
 }
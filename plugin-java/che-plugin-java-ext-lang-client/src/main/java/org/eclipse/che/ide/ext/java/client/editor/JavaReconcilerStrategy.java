@@ -18,10 +18,13 @@ import com.google.web.bindery.event.shared.HandlerRegistration;
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
 import org.eclipse.che.ide.api.project.tree.VirtualFile;
 import org.eclipse.che.ide.api.text.Region;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEvent;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEventHandler;
 import org.eclipse.che.ide.ext.java.client.projecttree.JavaSourceFolderUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.jseditor.client.annotation.AnnotationModel;
 import org.eclipse.che.ide.jseditor.client.document.Document;
@@ -31,8 +34,17 @@ import org.eclipse.che.ide.jseditor.client.texteditor.EmbeddedTextEditorPresente
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Reconciles java editor.
+ *
+ * <p>Editor content is reconciled in reconcile session on server. The first request of session sends
+ * full content, next requests send only the region of content that was changed since the previous
+ * request. Only one request is sent at a time, edits made while request is being processed are sent
+ * together with the next request. Semantic highlighting of the session also comes as changes.
+ */
 public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
 
@@ -40,23 +52,34 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
     private final JavaCodeAssistProcessor        codeAssistProcessor;
     private final AnnotationModel                annotationModel;
     private final HandlerRegistration            handlerRegistration;
+    private final DtoFactory                     dtoFactory;
     private       SemanticHighlightRenderer      highlighter;
     private       JavaReconcileClient            client;
     private       VirtualFile                    file;
+    private       Document                       document;
     private boolean first = true;
 
+    /** Id of reconcile session on server. */
+    private String  sessionId;
+    /** Content that session on server has, {@code null} if full content should be sent. */
+    private String  sessionContent;
+    private boolean reconcileInProgress;
+    private boolean reconcileRequested;
+
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final EmbeddedTextEditorPresenter<?> editor,
                                   @Assisted final JavaCodeAssistProcessor codeAssistProcessor,
                                   @Assisted final AnnotationModel annotationModel,
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
+                                  final DtoFactory dtoFactory,
                                   EventBus eventBus) {
         this.editor = editor;
         this.client = client;
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
         this.highlighter = highlighter;
+        this.dtoFactory = dtoFactory;
 
         handlerRegistration = eventBus.addHandler(DependencyUpdatedEvent.TYPE, new DependencyUpdatedEventHandler() {
             @Override
@@ -68,6 +91,7 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
     @Override
     public void setDocument(final Document document) {
+        this.document = document;
         file = editor.getEditorInput().getFile();
         highlighter.init(editor.getHasTextMarkers(), document);
     }
@@ -83,20 +107,83 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
             first = false;
         }
 
+        if (reconcileInProgress) {
+            reconcileRequested = true;
+            return;
+        }
+        reconcileInProgress = true;
 
+        final String content = document.getContents();
         String fqn = JavaSourceFolderUtil.getFQNForFile(file);
-        client.reconcile(file.getProject().getProjectConfig().getPath(), fqn, new JavaReconcileClient.ReconcileCallback() {
+        ReconcileRequest request = dtoFactory.createDto(ReconcileRequest.class)
+                                             .withProjectPath(file.getProject().getProjectConfig().getPath())
+                                             .withFQN(fqn)
+                                             .withSessionId(sessionId);
+        if (sessionContent == null) {
+            request.setContent(content);
+        } else {
+            request.setChanges(computeChanges(sessionContent, content));
+        }
+        client.reconcile(request, new JavaReconcileClient.ReconcileCallback() {
             @Override
             public void onReconcile(ReconcileResult result) {
-                if (result == null) {
-                    return;
+                reconcileInProgress = false;
+                if (result != null) {
+                    sessionId = result.getSessionId();
+                    sessionContent = content;
+                    doReconcile(result.getProblems());
+                    if (!highlighter.reconcile(result.getHighlightingDelta())) {
+                        // highlighting is out of sync with session, open new session to get whole highlighting
+                        client.closeSession(sessionId);
+                        sessionId = null;
+                        sessionContent = null;
+                        highlighter.clear();
+                        reconcileRequested = true;
+                    }
                 }
-                doReconcile(result.getProblems());
-                highlighter.reconcile(result.getHighlightedPositions());
+                reconcileRequestedChanges();
+            }
+
+            @Override
+            public void onFailure(Throwable exception) {
+                reconcileInProgress = false;
+                // session may be expired, the next request opens new one
+                sessionId = null;
+                sessionContent = null;
+                highlighter.clear();
+                reconcileRequestedChanges();
             }
         });
     }
 
+    private void reconcileRequestedChanges() {
+        if (reconcileRequested) {
+            reconcileRequested = false;
+            parse();
+        }
+    }
+
+    /** Returns single change that replaces the region between common prefix and common suffix of contents. */
+    private List<Change> computeChanges(String oldContent, String newContent) {
+        final int minLength = Math.min(oldContent.length(), newContent.length());
+        int prefix = 0;
+        while (prefix < minLength && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == oldContent.length() && prefix == newContent.length()) {
+            return Collections.emptyList();
+        }
+        int suffix = 0;
+        while (suffix < minLength - prefix
+               && oldContent.charAt(oldContent.length() - 1 - suffix) == newContent.charAt(newContent.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return Collections.singletonList(dtoFactory.createDto(Change.class)
+                                                   .withOffset(prefix)
+                                                   .withLength(oldContent.length() - prefix - suffix)
+                                                   .withText(newContent.substring(prefix, newContent.length() - suffix)));
+    }
+
 
     @Override
     public void reconcile(final Region partition) {
@@ -155,5 +242,10 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
         if (handlerRegistration != null) {
             handlerRegistration.removeHandler();
         }
+        if (sessionId != null) {
+            client.closeSession(sessionId);
+            sessionId = null;
+            sessionContent = null;
+        }
     }
 }
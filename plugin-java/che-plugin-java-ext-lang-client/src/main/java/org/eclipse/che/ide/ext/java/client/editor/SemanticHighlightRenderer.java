@@ -13,6 +13,7 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.inject.Inject;
 
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
+import org.eclipse.che.ide.ext.java.shared.dto.SemanticHighlightingDelta;
 import org.eclipse.che.ide.jseditor.client.document.Document;
 import org.eclipse.che.ide.jseditor.client.text.TextPosition;
 import org.eclipse.che.ide.jseditor.client.text.TextRange;
@@ -27,6 +28,9 @@ import java.util.Map;
 /**
  * Render semantic highlight for java files.
  *
+ * <p>Highlighting comes as changes of tokens since the previous reconcile, see {@link SemanticHighlightingDelta}.
+ * Only markers of changed tokens are replaced, markers of other tokens are moved by editor together with the text.
+ *
  * @author Evgen Vidolob
  */
 public class SemanticHighlightRenderer {
@@ -35,6 +39,9 @@ public class SemanticHighlightRenderer {
     private Document       document;
     private Map<String, String>                     styleMap = new HashMap<>();
     private List<HasTextMarkers.MarkerRegistration> markers  = new ArrayList<>();
+    /** Tokens of the current highlighting, three numbers per token, see {@link SemanticHighlightingDelta}. */
+    private List<Integer>                           data     = new ArrayList<>();
+    private int                                     version;
 
     @Inject
     public SemanticHighlightRenderer(Resources resources) {
@@ -53,20 +60,65 @@ public class SemanticHighlightRenderer {
         this.document = document;
     }
 
-    public void reconcile(List<HighlightedPosition> positions) {
-        for (HasTextMarkers.MarkerRegistration marker : markers) {
-            marker.clearMark();
+    /**
+     * Applies changes of highlighting.
+     *
+     * @return {@code false} if the changes don't belong to the current highlighting and can't be applied,
+     * highlighting should be requested again from scratch
+     */
+    public boolean reconcile(SemanticHighlightingDelta delta) {
+        if (delta.getBaseVersion() == 0) {
+            clear();
+        } else if (delta.getVersion() == version) {
+            // the same result was received for coalesced requests
+            return true;
+        } else if (delta.getBaseVersion() != version) {
+            return false;
+        }
+        final int start = delta.getStart();
+        final int end = start + delta.getDeleteCount();
+        if (end > markers.size()) {
+            return false;
         }
-        markers.clear();
 
-        for (HighlightedPosition position : positions) {
-            final TextPosition from = this.document.getPositionFromIndex(position.getOffset());
-            final TextPosition to = this.document.getPositionFromIndex(position.getOffset() + position.getLength());
-            HasTextMarkers.MarkerRegistration registration =
-                    editor.addMarker(new TextRange(from, to), styleMap.get(position.getType()));
-            if(registration != null) {
-                markers.add(registration);
+        int offset = 0;
+        for (int i = 0; i < start; i++) {
+            offset += data.get(i * 3);
+        }
+        final List<HasTextMarkers.MarkerRegistration> deleted = markers.subList(start, end);
+        for (HasTextMarkers.MarkerRegistration marker : deleted) {
+            if (marker != null) {
+                marker.clearMark();
             }
         }
+        deleted.clear();
+        data.subList(start * 3, end * 3).clear();
+
+        final List<Integer> newData = delta.getData();
+        final List<String> types = delta.getTypes();
+        final List<HasTextMarkers.MarkerRegistration> added = new ArrayList<>(newData.size() / 3);
+        for (int i = 0; i < newData.size(); i += 3) {
+            offset += newData.get(i);
+            final TextPosition from = this.document.getPositionFromIndex(offset);
+            final TextPosition to = this.document.getPositionFromIndex(offset + newData.get(i + 1));
+            // null registrations are kept to keep indexes of markers the same as indexes of tokens
+            added.add(editor.addMarker(new TextRange(from, to), styleMap.get(types.get(newData.get(i + 2)))));
+        }
+        markers.addAll(start, added);
+        data.addAll(start * 3, newData);
+        version = delta.getVersion();
+        return true;
+    }
+
+    /** Removes all highlighting. */
+    public void clear() {
+        for (HasTextMarkers.MarkerRegistration marker : markers) {
+            if (marker != null) {
+                marker.clearMark();
+            }
+        }
+        markers.clear();
+        data.clear();
+        version = 0;
     }
 }
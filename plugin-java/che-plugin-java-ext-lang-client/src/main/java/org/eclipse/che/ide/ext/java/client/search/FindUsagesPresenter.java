@@ -30,14 +30,30 @@ import org.eclipse.che.ide.commons.exception.ServerException;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
 import org.eclipse.che.ide.ext.java.client.projecttree.JavaSourceFolderUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.model.JavaProject;
+import org.eclipse.che.ide.ext.java.shared.dto.model.Openable;
+import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragment;
+import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragmentRoot;
+import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesEvent;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
+import org.eclipse.che.ide.ext.java.shared.dto.search.Match;
 import org.eclipse.che.ide.jseditor.client.texteditor.TextEditor;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.rest.HTTPStatus;
+import org.eclipse.che.ide.util.UUID;
 import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
+import static org.eclipse.che.ide.ext.java.shared.Constants.FIND_USAGES_CHANNEL;
 
 /**
  * Presenter for Find Usages tree
@@ -54,7 +70,15 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
     private JavaSearchService        searchService;
     private DtoFactory               dtoFactory;
     private NotificationManager      manager;
-    private final Resources resources;
+    private final Resources              resources;
+    private final MessageBusProvider     messageBusProvider;
+    private final DtoUnmarshallerFactory unmarshallerFactory;
+
+    /** Id of the running search or {@code null} if there is no running search. */
+    private String                               searchId;
+    private SubscriptionHandler<FindUsagesEvent> searchHandler;
+    /** Matches of the running search received so far. */
+    private FindUsagesResponse                   usages;
 
     @Inject
     public FindUsagesPresenter(WorkspaceAgent workspaceAgent,
@@ -63,7 +87,9 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
                                JavaSearchService searchService,
                                DtoFactory dtoFactory,
                                NotificationManager manager,
-                               Resources resources) {
+                               Resources resources,
+                               MessageBusProvider messageBusProvider,
+                               DtoUnmarshallerFactory unmarshallerFactory) {
         this.workspaceAgent = workspaceAgent;
         this.localizationConstant = localizationConstant;
         this.view = view;
@@ -71,6 +97,8 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
         this.dtoFactory = dtoFactory;
         this.manager = manager;
         this.resources = resources;
+        this.messageBusProvider = messageBusProvider;
+        this.unmarshallerFactory = unmarshallerFactory;
         view.setDelegate(this);
     }
 
@@ -104,25 +132,54 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
         container.setWidget(view);
     }
 
+    /**
+     * Starts search of usages of the element under cursor. Search which is still running is cancelled.
+     * Matches are shown as soon as they come from the server.
+     */
     public void findUsages(TextEditor activeEditor) {
+        cancelSearch();
 
         VirtualFile virtualFile = activeEditor.getEditorInput().getFile();
 
         String projectPath = virtualFile.getProject().getProjectConfig().getPath();
+        final String id = UUID.uuid();
         FindUsagesRequest request = dtoFactory.createDto(FindUsagesRequest.class);
         request.setFQN(JavaSourceFolderUtil.getFQNForFile(virtualFile));
         request.setProjectPath(projectPath);
         request.setOffset(activeEditor.getCursorOffset());
+        request.setSearchId(id);
 
-        Promise<FindUsagesResponse> promise = searchService.findUsages(request);
+        usages = dtoFactory.createDto(FindUsagesResponse.class);
+        usages.setProjects(new ArrayList<JavaProject>());
+        usages.setMatches(new HashMap<String, List<Match>>());
+        searchId = id;
+        if (!subscribe(id)) {
+            searchId = null;
+            manager.notify(localizationConstant.failedToProcessFindUsage(), FAIL, true);
+            return;
+        }
+
+        final FindUsagesResponse searchUsages = usages;
+        Promise<FindUsagesResponse> promise = searchService.startFindUsages(request);
         promise.then(new Operation<FindUsagesResponse>() {
             @Override
             public void apply(FindUsagesResponse arg) throws OperationException {
-                handleResponse(arg);
+                if (searchUsages != usages) {
+                    // another search is started
+                    return;
+                }
+                usages.setSearchElementLabel(arg.getSearchElementLabel());
+                workspaceAgent.openPart(FindUsagesPresenter.this, PartStackType.INFORMATION);
+                workspaceAgent.setActivePart(FindUsagesPresenter.this);
+                view.showUsages(usages);
             }
         }).catchError(new Operation<PromiseError>() {
             @Override
             public void apply(PromiseError arg) throws OperationException {
+                if (id.equals(searchId)) {
+                    unsubscribe(id);
+                    searchId = null;
+                }
                 Throwable cause = arg.getCause();
                 if (cause instanceof ServerException) {
                     handleError(((ServerException)cause).getHTTPStatus(), cause.getMessage());
@@ -140,6 +197,100 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
 
     }
 
+    private boolean subscribe(final String id) {
+        searchHandler = new SubscriptionHandler<FindUsagesEvent>(unmarshallerFactory.newWSUnmarshaller(FindUsagesEvent.class)) {
+            @Override
+            protected void onMessageReceived(FindUsagesEvent event) {
+                if (!id.equals(searchId)) {
+                    return;
+                }
+                if (event.getResponse() != null) {
+                    mergeUsages(event.getResponse());
+                    view.showUsages(usages);
+                }
+                if (event.isDone()) {
+                    unsubscribe(id);
+                    searchId = null;
+                    if (event.getError() != null) {
+                        manager.notify(localizationConstant.failedToProcessFindUsage(), event.getError(), FAIL, true);
+                    }
+                }
+            }
+
+            @Override
+            protected void onErrorReceived(Throwable exception) {
+                Log.error(getClass(), exception);
+            }
+        };
+        try {
+            messageBusProvider.getMachineMessageBus().subscribe(FIND_USAGES_CHANNEL + id, searchHandler);
+            return true;
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String id) {
+        try {
+            messageBusProvider.getMachineMessageBus().unsubscribe(FIND_USAGES_CHANNEL + id, searchHandler);
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+        }
+    }
+
+    private void cancelSearch() {
+        if (searchId != null) {
+            searchService.cancelFindUsages(searchId);
+            unsubscribe(searchId);
+            searchId = null;
+        }
+    }
+
+    /** Adds matches of the files from the portion to the matches received before. Each file comes only in one portion. */
+    private void mergeUsages(FindUsagesResponse portion) {
+        usages.setSearchElementLabel(portion.getSearchElementLabel());
+        usages.getMatches().putAll(portion.getMatches());
+        for (JavaProject project : portion.getProjects()) {
+            JavaProject existingProject = null;
+            for (JavaProject candidate : usages.getProjects()) {
+                if (candidate.getPath().equals(project.getPath())) {
+                    existingProject = candidate;
+                    break;
+                }
+            }
+            if (existingProject == null) {
+                usages.getProjects().add(project);
+                continue;
+            }
+            for (PackageFragmentRoot root : project.getPackageFragmentRoots()) {
+                PackageFragmentRoot existingRoot = findByPath(existingProject.getPackageFragmentRoots(), root.getPath());
+                if (existingRoot == null) {
+                    existingProject.getPackageFragmentRoots().add(root);
+                    continue;
+                }
+                for (PackageFragment fragment : root.getPackageFragments()) {
+                    PackageFragment existingFragment = findByPath(existingRoot.getPackageFragments(), fragment.getPath());
+                    if (existingFragment == null) {
+                        existingRoot.getPackageFragments().add(fragment);
+                        continue;
+                    }
+                    existingFragment.getCompilationUnits().addAll(fragment.getCompilationUnits());
+                    existingFragment.getClassFiles().addAll(fragment.getClassFiles());
+                }
+            }
+        }
+    }
+
+    private static <T extends Openable> T findByPath(List<T> openables, String path) {
+        for (T openable : openables) {
+            if (openable.getPath().equals(path)) {
+                return openable;
+            }
+        }
+        return null;
+    }
+
     private void handleError(int statusCode, String message) {
         if (statusCode == HTTPStatus.BAD_REQUEST) {
             manager.notify(localizationConstant.failedToProcessFindUsage(),
@@ -148,10 +299,4 @@ public class FindUsagesPresenter extends BasePresenter implements FindUsagesView
             manager.notify(localizationConstant.failedToProcessFindUsage(), message, FAIL, true);
         }
     }
-
-    private void handleResponse(FindUsagesResponse response) {
-        workspaceAgent.openPart(this, PartStackType.INFORMATION);
-        workspaceAgent.setActivePart(this);
-        view.showUsages(response);
-    }
 }
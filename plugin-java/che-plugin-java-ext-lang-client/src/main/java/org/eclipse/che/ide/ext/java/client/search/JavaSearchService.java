@@ -29,4 +29,22 @@ public interface JavaSearchService {
      * @return find usages response
      */
     Promise<FindUsagesResponse> findUsages(FindUsagesRequest request);
+
+    /**
+     * Starts find usages search, found matches are sent to the channel
+     * {@link org.eclipse.che.ide.ext.java.shared.Constants#FIND_USAGES_CHANNEL} + search id while the search is running.
+     *
+     * @param request
+     *          the request parameters, must contain id of the search
+     * @return response which contains only label of the searched element
+     */
+    Promise<FindUsagesResponse> startFindUsages(FindUsagesRequest request);
+
+    /**
+     * Cancels search started with {@link #startFindUsages(FindUsagesRequest)}.
+     *
+     * @param searchId
+     *          id of the search
+     */
+    void cancelFindUsages(String searchId);
 }
@@ -20,10 +20,12 @@ import org.eclipse.che.api.promises.client.callback.AsyncPromiseHelper;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesRequest;
 import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
 import org.eclipse.che.ide.ui.loaders.request.MessageLoader;
+import org.eclipse.che.ide.util.loging.Log;
 
 import static org.eclipse.che.api.promises.client.callback.PromiseHelper.newCallback;
 import static org.eclipse.che.api.promises.client.callback.PromiseHelper.newPromise;
@@ -68,4 +70,32 @@ public class JavaSearchServiceRest implements JavaSearchService {
             }
         });
     }
+
+    @Override
+    public Promise<FindUsagesResponse> startFindUsages(final FindUsagesRequest request) {
+        return newPromise(new AsyncPromiseHelper.RequestCall<FindUsagesResponse>() {
+            @Override
+            public void makeCall(AsyncCallback<FindUsagesResponse> callback) {
+
+                asyncRequestFactory.createPostRequest(pathToService + "find/usages/async", request)
+                                   .header(CONTENT_TYPE, APPLICATION_JSON)
+                                   .send(newCallback(callback, unmarshallerFactory.newUnmarshaller(FindUsagesResponse.class)));
+            }
+        });
+    }
+
+    @Override
+    public void cancelFindUsages(String searchId) {
+        asyncRequestFactory.createDeleteRequest(pathToService + "find/usages/" + searchId)
+                           .send(new AsyncRequestCallback<Void>() {
+                               @Override
+                               protected void onSuccess(Void result) {
+                               }
+
+                               @Override
+                               protected void onFailure(Throwable exception) {
+                                   Log.error(JavaSearchServiceRest.class, exception);
+                               }
+                           });
+    }
 }
@@ -25,6 +25,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.search.FindUsagesResponse;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
 import org.eclipse.che.ide.ui.loaders.request.MessageLoader;
+import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.MessageBuilder;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
@@ -96,4 +97,54 @@ public class JavaSearchServiceWS implements JavaSearchService {
             }
         });
     }
+
+    @Override
+    public Promise<FindUsagesResponse> startFindUsages(final FindUsagesRequest request) {
+        final MessageBus messageBus = provider.getMachineMessageBus();
+
+        return PromiseHelper.newPromise(new AsyncPromiseHelper.RequestCall<FindUsagesResponse>() {
+            @Override
+            public void makeCall(final AsyncCallback<FindUsagesResponse> callback) {
+                MessageBuilder builder = new MessageBuilder(RequestBuilder.POST, pathToService + "find/usages/async");
+                builder.data(dtoFactory.toJson(request))
+                       .header(CONTENTTYPE, APPLICATION_JSON)
+                       .header(ACCEPT, APPLICATION_JSON);
+                try {
+                    messageBus.send(builder.build(), new RequestCallback<FindUsagesResponse>(
+                            unmarshallerFactory.newWSUnmarshaller(FindUsagesResponse.class)) {
+                        @Override
+                        protected void onSuccess(FindUsagesResponse result) {
+                            callback.onSuccess(result);
+                        }
+
+                        @Override
+                        protected void onFailure(Throwable exception) {
+                            callback.onFailure(exception);
+                        }
+                    });
+                } catch (WebSocketException e) {
+                    callback.onFailure(e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cancelFindUsages(String searchId) {
+        MessageBuilder builder = new MessageBuilder(RequestBuilder.DELETE, pathToService + "find/usages/" + searchId);
+        try {
+            provider.getMachineMessageBus().send(builder.build(), new RequestCallback<Void>() {
+                @Override
+                protected void onSuccess(Void result) {
+                }
+
+                @Override
+                protected void onFailure(Throwable exception) {
+                    Log.error(JavaSearchServiceWS.class, exception);
+                }
+            });
+        } catch (WebSocketException e) {
+            Log.error(JavaSearchServiceWS.class, e);
+        }
+    }
 }
@@ -36,4 +36,25 @@ public interface ClassPathBuilder {
      *         if the current thread was interrupted
      */
     ClassPathBuilderResult buildClassPath(String workspaceId, String projectPath) throws ExecutionException, InterruptedException;
+
+    /**
+     * Builds classpath for the current project. Implementations may reuse classpath which was built before
+     * if configuration of the project isn't changed, unless {@code force} is set.
+     *
+     * @param workspaceId
+     *         id of current workspace
+     * @param projectPath
+     *         relative path to current project from the workspace
+     * @param force
+     *         {@code true} if classpath should be built even if configuration of the project isn't changed
+     * @return information about building project classpath
+     * @throws ExecutionException
+     *         if the computation threw an exception
+     * @throws InterruptedException
+     *         if the current thread was interrupted
+     */
+    default ClassPathBuilderResult buildClassPath(String workspaceId, String projectPath, boolean force) throws ExecutionException,
+                                                                                                                 InterruptedException {
+        return buildClassPath(workspaceId, projectPath);
+    }
 }
@@ -18,4 +18,6 @@ public interface Constants {
     final String LANGUAGE         = "language";
     final String LANGUAGE_VERSION = "languageVersion";
     final String FRAMEWORK        = "framework";
+    // prefix of websocket channel where matches of asynchronous find usages search are sent, followed by id of search
+    final String FIND_USAGES_CHANNEL = "jdt:find-usages:";
 }
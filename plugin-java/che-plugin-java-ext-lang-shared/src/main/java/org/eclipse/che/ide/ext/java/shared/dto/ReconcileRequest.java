@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * DTO for requesting reconcile of the content of an opened editor.
+ *
+ * <p>The first request of a reconcile session carries full content of the editor,
+ * next requests carry only changes made to the content since the previous request.
+ */
+@DTO
+public interface ReconcileRequest {
+
+    /** @return the project path */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    ReconcileRequest withProjectPath(String projectPath);
+
+    /** @return FQN of the reconciled class */
+    String getFQN();
+
+    void setFQN(String fqn);
+
+    ReconcileRequest withFQN(String fqn);
+
+    /** @return id of the reconcile session or {@code null} if new session should be opened */
+    String getSessionId();
+
+    void setSessionId(String sessionId);
+
+    ReconcileRequest withSessionId(String sessionId);
+
+    /** @return full content of the editor or {@code null} if content of the session should be updated with changes */
+    String getContent();
+
+    void setContent(String content);
+
+    ReconcileRequest withContent(String content);
+
+    /** @return changes made to the content since the previous request, in order they should be applied */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    ReconcileRequest withChanges(List<Change> changes);
+}
@@ -29,4 +29,19 @@ public interface ReconcileResult {
 
     void setHighlightedPositions(List<HighlightedPosition> positions);
 
+    /**
+     * Semantic highlighting of reconcile session, it is used instead of {@link #getHighlightedPositions()}
+     * to send only changes of highlighting since the previous reconcile of the session.
+     *
+     * @return changes of highlighting or {@code null} if result doesn't belong to reconcile session
+     */
+    SemanticHighlightingDelta getHighlightingDelta();
+
+    void setHighlightingDelta(SemanticHighlightingDelta delta);
+
+    /** @return id of the reconcile session, next changes of the editor content should be sent to this session */
+    String getSessionId();
+
+    void setSessionId(String sessionId);
+
 }
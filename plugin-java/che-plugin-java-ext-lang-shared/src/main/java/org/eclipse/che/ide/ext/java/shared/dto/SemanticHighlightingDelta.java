@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of semantic highlighting of an editor since the previous reconcile of its reconcile session.
+ *
+ * <p>Highlighting is a sequence of tokens, each token is encoded with three numbers: offset relative to
+ * the offset of the previous token (or to the start of the document for the first token), length and
+ * index of highlighting type in {@link #getTypes()}. Changes replace {@link #getDeleteCount()} tokens
+ * starting from token {@link #getStart()} with tokens of {@link #getData()}. Relative offsets of the tokens
+ * that follow the replaced ones stay the same, so their positions move together with the edited text.
+ */
+@DTO
+public interface SemanticHighlightingDelta {
+
+    /** @return version of highlighting after the changes are applied */
+    int getVersion();
+
+    void setVersion(int version);
+
+    SemanticHighlightingDelta withVersion(int version);
+
+    /** @return version of highlighting the changes should be applied to, {@code 0} if the changes contain the whole highlighting */
+    int getBaseVersion();
+
+    void setBaseVersion(int baseVersion);
+
+    SemanticHighlightingDelta withBaseVersion(int baseVersion);
+
+    /** @return index of the first replaced token */
+    int getStart();
+
+    void setStart(int start);
+
+    SemanticHighlightingDelta withStart(int start);
+
+    /** @return number of replaced tokens */
+    int getDeleteCount();
+
+    void setDeleteCount(int deleteCount);
+
+    SemanticHighlightingDelta withDeleteCount(int deleteCount);
+
+    /** @return new tokens, three numbers per token */
+    List<Integer> getData();
+
+    void setData(List<Integer> data);
+
+    SemanticHighlightingDelta withData(List<Integer> data);
+
+    /** @return types of highlighting, e.g. {@link HighlightedPosition#FIELD}, indexed by type indexes of tokens */
+    List<String> getTypes();
+
+    void setTypes(List<String> types);
+
+    SemanticHighlightingDelta withTypes(List<String> types);
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto.search;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Event of asynchronous find usages search.
+ * Carries matches of files found since the previous event of the same search.
+ */
+@DTO
+public interface FindUsagesEvent {
+
+    /** @return id of the search */
+    String getSearchId();
+
+    void setSearchId(String searchId);
+
+    FindUsagesEvent withSearchId(String searchId);
+
+    /**
+     * Matches of files found since the previous event, with part of project hierarchy that contains these files.
+     * Each file is sent only in one event.
+     *
+     * @return the matches or {@code null} if event only reports end of the search
+     */
+    FindUsagesResponse getResponse();
+
+    void setResponse(FindUsagesResponse response);
+
+    FindUsagesEvent withResponse(FindUsagesResponse response);
+
+    /** @return {@code true} if this is the last event of the search, search is finished or was cancelled */
+    boolean isDone();
+
+    void setDone(boolean done);
+
+    FindUsagesEvent withDone(boolean done);
+
+    /** @return message of the error which stopped the search or {@code null} if there was no error */
+    String getError();
+
+    void setError(String error);
+
+    FindUsagesEvent withError(String error);
+}
@@ -46,4 +46,16 @@ public interface FindUsagesRequest {
      * @param offset the cursor position in file
      */
     void setOffset(int offset);
+
+    /**
+     * @return id of asynchronous search, matches of the search are sent
+     * to the websocket channel {@code Constants.FIND_USAGES_CHANNEL + searchId}
+     */
+    String getSearchId();
+
+    /**
+     * Set id of asynchronous search.
+     * @param searchId the id generated by client, it should subscribe to the channel of search before search is started
+     */
+    void setSearchId(String searchId);
 }
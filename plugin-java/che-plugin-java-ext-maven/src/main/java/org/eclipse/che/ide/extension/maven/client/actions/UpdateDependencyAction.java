@@ -52,7 +52,7 @@ public class UpdateDependencyAction extends AbstractPerspectiveAction {
     @Override
     public void actionPerformed(ActionEvent e) {
         eventLogger.log(this);
-        dependenciesUpdater.updateDependencies(appContext.getCurrentProject().getProjectConfig());
+        dependenciesUpdater.updateDependencies(appContext.getCurrentProject().getProjectConfig(), true);
     }
 
     /** {@inheritDoc} */
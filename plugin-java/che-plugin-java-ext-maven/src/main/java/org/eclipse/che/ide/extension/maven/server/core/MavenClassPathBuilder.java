@@ -14,6 +14,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.util.CancellableProcessWrapper;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.api.core.util.StreamPump;
 import org.eclipse.che.api.core.util.Watchdog;
@@ -22,6 +23,7 @@ import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.ide.ext.java.server.classpath.ClassPathBuilder;
 import org.eclipse.che.ide.ext.java.shared.dto.ClassPathBuilderResult;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenClassPathConfigurator;
+import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.ide.maven.tools.MavenUtils;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.jdt.core.IClasspathContainer;
@@ -35,42 +37,88 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.Callable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * Implementation of classpath building for the Maven.
  *
+ * <p>Resolved classpath of a project is kept in {@code .codenvy/classpath.maven} together with the fingerprint
+ * of the project poms, see {@link MavenPomFingerprint}. If the fingerprint isn't changed since the last
+ * resolution the kept classpath is applied without running Maven. Concurrent requests for the same project
+ * share one resolution. Requests for modules of the same multi-module project which arrive together are
+ * resolved with one Maven invocation in the reactor root, the modules whose classpath isn't written by this
+ * invocation are resolved one by one. Sources of dependencies are downloaded in background after classpath
+ * is applied, the classpath for which sources were requested is saved in {@code .codenvy/classpath.maven.sources}
+ * so sources which aren't published aren't requested again.
+ *
  * @author Valeriy Svydenko
  */
 public class MavenClassPathBuilder implements ClassPathBuilder {
     private static final Logger LOG = LoggerFactory.getLogger(MavenClassPathBuilder.class);
 
-    private final ExecutorService executorService;
-    private final ProjectManager  projectManager;
+    private static final String CLASSPATH_FILE   = ".codenvy/classpath.maven";
+    private static final String FINGERPRINT_FILE = ".codenvy/classpath.maven.fingerprint";
+    private static final String SOURCES_FILE     = ".codenvy/classpath.maven.sources";
+    /** Time to wait for requests of other modules of the same reactor before resolution is started. */
+    private static final long   BATCH_DELAY_MS   = 300;
+
+    private final ScheduledExecutorService                               executorService;
+    private final ExecutorService                                        sourcesExecutor;
+    private final ProjectManager                                         projectManager;
+    private final OutputBroadcaster                                      outputBroadcaster;
+    private final Map<String, CompletableFuture<ClassPathBuilderResult>> resolutions;
+    private final Map<String, List<String>>                              pendingByReactor;
+    private final Set<String>                                            pendingSources;
 
     private String workspaceId;
 
     @Inject
-    public MavenClassPathBuilder(ResourcesPlugin resourcesPlugin, ProjectManager projectManager) {
+    public MavenClassPathBuilder(ResourcesPlugin resourcesPlugin, ProjectManager projectManager, OutputBroadcaster outputBroadcaster) {
         this.projectManager = projectManager;
+        this.outputBroadcaster = outputBroadcaster;
         JavaModelManager.getJavaModelManager().containerInitializersCache.put(MavenClasspathContainer.CONTAINER_ID,
                                                                               new MavenClasspathContainerInitializer());
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat(MavenClassPathBuilder.class.getSimpleName() + "-%d").build();
-
-        executorService = Executors.newFixedThreadPool(5, threadFactory);
+        ThreadFactory sourcesThreadFactory = new ThreadFactoryBuilder().setNameFormat(MavenClassPathBuilder.class.getSimpleName() + "-Sources-%d")
+                                                                       .setDaemon(true)
+                                                                       .build();
+
+        executorService = Executors.newScheduledThreadPool(5, threadFactory);
+        sourcesExecutor = Executors.newSingleThreadExecutor(sourcesThreadFactory);
+        resolutions = new HashMap<>();
+        pendingByReactor = new HashMap<>();
+        pendingSources = new HashSet<>();
     }
 
     /** {@inheritDoc} */
     @Override
     public ClassPathBuilderResult buildClassPath(String workspaceId, String projectPath) throws ExecutionException, InterruptedException {
+        return buildClassPath(workspaceId, projectPath, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ClassPathBuilderResult buildClassPath(String workspaceId, String projectPath, boolean force)
+            throws ExecutionException, InterruptedException {
         this.workspaceId = workspaceId;
 
         //TODO Temporary solution for IDEX-4270
@@ -83,53 +131,317 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
             LOG.error(e.getMessage(), e);
         }
 
-        Callable<ClassPathBuilderResult> callable = () -> {
+        if (force) {
+            deleteSettingsFile(projectPath, SOURCES_FILE);
+        } else if (isClasspathUpToDate(projectPath)) {
+            ClassPathBuilderResult result = newDto(ClassPathBuilderResult.class);
+            result.setChannel(getChannel(projectPath));
+            result.setStatus(ClassPathBuilderResult.Status.SUCCESS);
+            applyClasspath(projectPath);
+            scheduleSourcesDownload(projectPath, projectPath);
+            return result;
+        }
 
-            ClassPathBuilderResult result = dependencyUpdateProcessor(projectPath);
+        return scheduleResolution(projectPath).get();
+    }
 
-            IJavaProject javaProject = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
+    /** Adds project to the pending resolution of its reactor, or returns resolution of the project which isn't finished yet. */
+    private CompletableFuture<ClassPathBuilderResult> scheduleResolution(String projectPath) {
+        String reactorRoot = findReactorRoot(projectPath);
+        synchronized (this) {
+            CompletableFuture<ClassPathBuilderResult> resolution = resolutions.get(projectPath);
+            if (resolution != null) {
+                return resolution;
+            }
+            resolution = new CompletableFuture<>();
+            resolutions.put(projectPath, resolution);
+
+            List<String> pending = pendingByReactor.get(reactorRoot);
+            if (pending == null) {
+                pending = new ArrayList<>();
+                pendingByReactor.put(reactorRoot, pending);
+                executorService.schedule(() -> resolve(reactorRoot), BATCH_DELAY_MS, MILLISECONDS);
+            }
+            pending.add(projectPath);
+            return resolution;
+        }
+    }
 
-            if (ClassPathBuilderResult.Status.SUCCESS.equals(result.getStatus())) {
-                IClasspathContainer container = MavenClasspathUtil.readMavenClasspath(javaProject);
-                try {
-                    JavaCore.setClasspathContainer(container.getPath(), new IJavaProject[]{javaProject},
-                                                   new IClasspathContainer[]{container},
-                                                   null);
-                } catch (JavaModelException e) {
-                    LOG.error(e.getMessage(), e);
+    private void resolve(String reactorRoot) {
+        final List<String> projects;
+        synchronized (this) {
+            projects = pendingByReactor.remove(reactorRoot);
+        }
+        final List<String> resolved = new ArrayList<>();
+        try {
+            final Map<String, String> fingerprints = new HashMap<>();
+            final Map<String, Long> modified = new HashMap<>();
+            for (String projectPath : projects) {
+                fingerprints.put(projectPath, computeFingerprint(projectPath, reactorRoot));
+                modified.put(projectPath, new File(toFile(projectPath), CLASSPATH_FILE).lastModified());
+            }
+
+            ClassPathBuilderResult.Status status = buildClasspath(reactorRoot, projects);
+            for (String projectPath : projects) {
+                if (ClassPathBuilderResult.Status.SUCCESS.equals(status)
+                    || new File(toFile(projectPath), CLASSPATH_FILE).lastModified() != modified.get(projectPath)) {
+                    resolved.add(projectPath);
+                }
+            }
+            if (projects.size() > 1) {
+                // exit status of the reactor build doesn't tell which modules are failed
+                for (String projectPath : projects) {
+                    if (!resolved.contains(projectPath)
+                        && ClassPathBuilderResult.Status.SUCCESS.equals(buildClasspath(reactorRoot, singletonList(projectPath)))) {
+                        resolved.add(projectPath);
+                    }
                 }
             }
 
-            return result;
+            for (String projectPath : resolved) {
+                writeFingerprint(projectPath, fingerprints.get(projectPath));
+                applyClasspath(projectPath);
+            }
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+            resolved.clear();
+        } finally {
+            for (String projectPath : projects) {
+                ClassPathBuilderResult projectResult = newDto(ClassPathBuilderResult.class);
+                projectResult.setChannel(getChannel(projectPath));
+                projectResult.setStatus(resolved.contains(projectPath) ? ClassPathBuilderResult.Status.SUCCESS
+                                                                       : ClassPathBuilderResult.Status.ERROR);
+                final CompletableFuture<ClassPathBuilderResult> resolution;
+                synchronized (this) {
+                    resolution = resolutions.remove(projectPath);
+                }
+                resolution.complete(projectResult);
+            }
+        }
+        if (!resolved.isEmpty()) {
+            scheduleSourcesDownload(reactorRoot, resolved.toArray(new String[resolved.size()]));
+        }
+    }
 
-        };
+    private ClassPathBuilderResult.Status buildClasspath(String reactorRoot, List<String> projects) {
+        return executeBuilderProcess(projects, createProcessBuilder(reactorRoot, projects, "dependency:build-classpath",
+                                                                    "-Dmdep.outputFile=" + CLASSPATH_FILE)).getStatus();
+    }
 
-        return executorService.submit(callable).get();
+    /** Downloads sources of the dependencies in background if some of them aren't downloaded yet. */
+    private void scheduleSourcesDownload(String reactorRoot, String... projectPaths) {
+        final List<String> projects = new ArrayList<>();
+        synchronized (pendingSources) {
+            for (String projectPath : projectPaths) {
+                if (hasMissingSources(projectPath) && pendingSources.add(projectPath)) {
+                    projects.add(projectPath);
+                }
+            }
+        }
+        if (projects.isEmpty()) {
+            return;
+        }
+        sourcesExecutor.execute(() -> {
+            synchronized (pendingSources) {
+                pendingSources.removeAll(projects);
+            }
+            try {
+                final Map<String, String> classpaths = new HashMap<>();
+                for (String projectPath : projects) {
+                    classpaths.put(projectPath, readSettingsFile(projectPath, CLASSPATH_FILE));
+                }
+                ClassPathBuilderResult result = executeBuilderProcess(projects, createProcessBuilder(reactorRoot, projects, "dependency:sources",
+                                                                                                     "-Dclassifier=sources"));
+                if (ClassPathBuilderResult.Status.SUCCESS.equals(result.getStatus())) {
+                    for (String projectPath : projects) {
+                        // sources which are still missing aren't published, don't request them until classpath is changed
+                        writeSettingsFile(projectPath, SOURCES_FILE, classpaths.get(projectPath));
+                    }
+                    // source attachments are checked when classpath is set
+                    projects.forEach(this::applyClasspath);
+                }
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        });
     }
 
-    private ClassPathBuilderResult dependencyUpdateProcessor(String projectPath) {
-        String command = MavenUtils.getMavenExecCommand();
-        File projectDir = new File(ResourcesPlugin.getPathToWorkspace() + projectPath);
+    /**
+     * Creates Maven process for the projects. Single project is processed in its own directory,
+     * modules of a multi-module project are processed with one invocation in the reactor root.
+     */
+    private ProcessBuilder createProcessBuilder(String reactorRoot, List<String> projects, String... goals) {
+        List<String> command = new ArrayList<>();
+        command.add(MavenUtils.getMavenExecCommand());
+        for (String goal : goals) {
+            command.add(goal);
+        }
+        File directory;
+        if (projects.size() == 1) {
+            directory = toFile(projects.get(0));
+        } else {
+            directory = toFile(reactorRoot);
+            StringBuilder modules = new StringBuilder();
+            for (String projectPath : projects) {
+                if (modules.length() > 0) {
+                    modules.append(',');
+                }
+                modules.append(projectPath.equals(reactorRoot) ? "." : projectPath.substring(reactorRoot.length() + 1));
+            }
+            command.add("-pl");
+            command.add(modules.toString());
+            command.add("--fail-at-end");
+        }
+        return new ProcessBuilder().command(command).directory(directory).redirectErrorStream(true);
+    }
 
-        ProcessBuilder classPathProcessBuilder = new ProcessBuilder().command(command, "dependency:build-classpath",
-                                                                              "-Dmdep.outputFile=.codenvy/classpath.maven")
-                                                                     .directory(projectDir)
-                                                                     .redirectErrorStream(true);
-        ClassPathBuilderResult result = executeBuilderProcess(projectPath, classPathProcessBuilder);
+    /**
+     * Finds root of the reactor which contains the project, i.e. the topmost parent directory whose pom
+     * lists the project as module, directly or through other modules.
+     */
+    private String findReactorRoot(String projectPath) {
+        String root = projectPath;
+        String parent = getParentPath(root);
+        while (parent != null && isModule(toFile(parent), toFile(root))) {
+            root = parent;
+            parent = getParentPath(root);
+        }
+        return root;
+    }
 
-        if (ClassPathBuilderResult.Status.SUCCESS.equals(result.getStatus())) {
-            ProcessBuilder sourcesProcessBuilder = new ProcessBuilder().command(command, "dependency:sources", "-Dclassifier=sources")
-                                                                       .directory(projectDir)
-                                                                       .redirectErrorStream(true);
-            result = executeBuilderProcess(projectPath, sourcesProcessBuilder);
+    private boolean isModule(File parentDir, File moduleDir) {
+        File pom = new File(parentDir, "pom.xml");
+        if (!pom.isFile()) {
+            return false;
+        }
+        try {
+            File module = moduleDir.getCanonicalFile();
+            for (String name : Model.readFrom(pom).getModules()) {
+                if (new File(parentDir, name).getCanonicalFile().equals(module)) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't read modules of " + pom, e);
         }
+        return false;
+    }
 
-        return result;
+    private boolean isClasspathUpToDate(String projectPath) {
+        File fingerprintFile = new File(toFile(projectPath), FINGERPRINT_FILE);
+        File classpathFile = new File(toFile(projectPath), CLASSPATH_FILE);
+        if (!fingerprintFile.isFile() || !classpathFile.isFile()) {
+            return false;
+        }
+        try {
+            String fingerprint = computeFingerprint(projectPath, findReactorRoot(projectPath));
+            if (fingerprint == null) {
+                return false;
+            }
+            List<String> classpath = readClasspath(classpathFile);
+            for (String jar : classpath) {
+                if (!new File(jar).exists()) {
+                    return false;
+                }
+            }
+            String saved = new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8);
+            return saved.equals(fingerprint + ':' + MavenPomFingerprint.stampSnapshots(classpath));
+        } catch (IOException e) {
+            LOG.debug("Can't check classpath of " + projectPath, e);
+            return false;
+        }
     }
 
-    private ClassPathBuilderResult executeBuilderProcess(final String projectPath, ProcessBuilder processBuilder) {
+    private boolean hasMissingSources(String projectPath) {
+        try {
+            File classpathFile = new File(toFile(projectPath), CLASSPATH_FILE);
+            String requested = readSettingsFile(projectPath, SOURCES_FILE);
+            if (requested != null && requested.equals(readSettingsFile(projectPath, CLASSPATH_FILE))) {
+                return false;
+            }
+            for (String jar : readClasspath(classpathFile)) {
+                if (jar.endsWith(".jar") && !new File(jar.substring(0, jar.lastIndexOf('.')) + "-sources.jar").exists()) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't read classpath of " + projectPath, e);
+        }
+        return false;
+    }
+
+    private String computeFingerprint(String projectPath, String reactorRoot) {
+        try {
+            return MavenPomFingerprint.compute(toFile(projectPath), toFile(reactorRoot));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Can't compute fingerprint of " + projectPath, e);
+            return null;
+        }
+    }
+
+    /** Saves fingerprint of the poms together with stamp of the SNAPSHOT jars of just resolved classpath. */
+    private void writeFingerprint(String projectPath, String fingerprint) {
+        if (fingerprint == null) {
+            deleteSettingsFile(projectPath, FINGERPRINT_FILE);
+            return;
+        }
+        try {
+            List<String> classpath = readClasspath(new File(toFile(projectPath), CLASSPATH_FILE));
+            writeSettingsFile(projectPath, FINGERPRINT_FILE, fingerprint + ':' + MavenPomFingerprint.stampSnapshots(classpath));
+        } catch (IOException e) {
+            LOG.warn("Can't save fingerprint of " + projectPath, e);
+            deleteSettingsFile(projectPath, FINGERPRINT_FILE);
+        }
+    }
+
+    private String readSettingsFile(String projectPath, String name) {
+        File file = new File(toFile(projectPath), name);
+        try {
+            return file.isFile() ? new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            LOG.debug("Can't read " + file, e);
+            return null;
+        }
+    }
+
+    private void writeSettingsFile(String projectPath, String name, String content) {
+        if (content == null) {
+            deleteSettingsFile(projectPath, name);
+            return;
+        }
+        File file = new File(toFile(projectPath), name);
+        try {
+            Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Can't save " + file, e);
+        }
+    }
+
+    private void deleteSettingsFile(String projectPath, String name) {
+        File file = new File(toFile(projectPath), name);
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOG.warn("Can't delete " + file, e);
+        }
+    }
+
+    private void applyClasspath(String projectPath) {
+        IJavaProject javaProject = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
+        IClasspathContainer container = MavenClasspathUtil.readMavenClasspath(javaProject);
+        try {
+            JavaCore.setClasspathContainer(container.getPath(), new IJavaProject[]{javaProject},
+                                           new IClasspathContainer[]{container},
+                                           null);
+        } catch (JavaModelException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private ClassPathBuilderResult executeBuilderProcess(List<String> projects, ProcessBuilder processBuilder) {
         StreamPump output = null;
         Watchdog watcher = null;
+        LineConsumer outputConsumer = null;
 
         ClassPathBuilderResult classPathBuilderResult = newDto(ClassPathBuilderResult.class);
         int timeout = 10; //10 minutes
@@ -140,16 +452,17 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
             watcher = new Watchdog("Maven classpath" + "-WATCHDOG", timeout, TimeUnit.MINUTES);
             watcher.start(new CancellableProcessWrapper(process,
                                                         cancellable -> LOG.warn("Update dependency process has been shutdown "
-                                                                                + "due to timeout. Project: "
-                                                                                + projectPath)));
-
-            String channel = "dependencyUpdate:output:" + workspaceId + ':' + projectPath;
+                                                                                + "due to timeout. Projects: "
+                                                                                + projects)));
 
-            classPathBuilderResult.setChannel(channel);
+            List<String> channels = new ArrayList<>(projects.size());
+            for (String projectPath : projects) {
+                channels.add(getChannel(projectPath));
+            }
 
-            BufferOutputFixedRateSender fixedRateSender = new BufferOutputFixedRateSender(channel, 2_000);
+            outputConsumer = outputBroadcaster.open(channels);
             output = new StreamPump();
-            output.start(process, fixedRateSender);
+            output.start(process, outputConsumer);
             try {
                 result = process.waitFor();
             } catch (InterruptedException e) {
@@ -158,8 +471,6 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
             }
             try {
                 output.await(); // wait for logger
-
-                fixedRateSender.close();
             } catch (InterruptedException e) {
                 Thread.interrupted(); // we interrupt thread when cancel task, NOTE: logs may be incomplete
             }
@@ -172,6 +483,13 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
             if (output != null) {
                 output.stop();
             }
+            if (outputConsumer != null) {
+                try {
+                    outputConsumer.close();
+                } catch (IOException e) {
+                    LOG.error("", e);
+                }
+            }
         }
 
         classPathBuilderResult.setStatus(result == 0 ? ClassPathBuilderResult.Status.SUCCESS : ClassPathBuilderResult.Status.ERROR);
@@ -179,8 +497,33 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
         return classPathBuilderResult;
     }
 
+    private String getChannel(String projectPath) {
+        return "dependencyUpdate:output:" + workspaceId + ':' + projectPath;
+    }
+
+    private static List<String> readClasspath(File classpathFile) throws IOException {
+        String content = new String(Files.readAllBytes(classpathFile.toPath()), StandardCharsets.UTF_8).trim();
+        List<String> jars = new ArrayList<>();
+        if (!content.isEmpty()) {
+            for (String jar : content.split(":")) {
+                jars.add(jar);
+            }
+        }
+        return jars;
+    }
+
+    private static File toFile(String projectPath) {
+        return new File(ResourcesPlugin.getPathToWorkspace() + projectPath);
+    }
+
+    private static String getParentPath(String projectPath) {
+        int index = projectPath.lastIndexOf('/');
+        return index > 0 ? projectPath.substring(0, index) : null;
+    }
+
     @PreDestroy
     public void destroy() {
         executorService.shutdown();
+        sourcesExecutor.shutdownNow();
     }
 }
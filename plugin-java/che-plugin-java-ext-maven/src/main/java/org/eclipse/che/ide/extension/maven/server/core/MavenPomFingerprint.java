@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.core;
+
+import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.ide.maven.tools.Parent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fingerprint of the Maven configuration which determines classpath of a project: the pom of the project,
+ * poms of its parents which can be found by relative path, poms of all modules of its reactor and user settings.
+ * While the fingerprint stays the same, previously resolved classpath of the project can be used without running Maven.
+ *
+ * <p>Poms which declare version ranges have no fingerprint, since the same poms may resolve to other versions.
+ * SNAPSHOT dependencies may be updated without changes of the poms as well, so the resolved SNAPSHOT jars
+ * are stamped separately, see {@link #stampSnapshots(Collection)}.
+ */
+public class MavenPomFingerprint {
+    private static final int     MAX_POMS      = 1024;
+    private static final Pattern VERSION_RANGE = Pattern.compile("<version>\\s*[\\[(]");
+
+    private MavenPomFingerprint() {
+    }
+
+    /**
+     * Computes fingerprint of the project which isn't a module of other project.
+     *
+     * @see #compute(File, File)
+     */
+    public static String compute(File projectDir) throws IOException {
+        return compute(projectDir, projectDir);
+    }
+
+    /**
+     * Computes fingerprint of the project.
+     *
+     * @param projectDir
+     *         directory of the project
+     * @param reactorDir
+     *         directory of the root project of the reactor which contains the project
+     * @return SHA-1 of the configuration as hex string or {@code null} if project doesn't have pom
+     * or some of the poms declare version range
+     * @throws IOException
+     *         if pom can't be read
+     */
+    public static String compute(File projectDir, File reactorDir) throws IOException {
+        File pom = new File(projectDir, "pom.xml");
+        if (!pom.isFile()) {
+            return null;
+        }
+        final MessageDigest digest = newDigest();
+        final Set<File> visited = new HashSet<>();
+        while (pom != null && pom.isFile() && visited.size() < MAX_POMS && visited.add(pom.getCanonicalFile())) {
+            final Model model = Model.readFrom(pom);
+            if (!update(digest, pom)) {
+                return null;
+            }
+            pom = getParentPom(pom, model);
+        }
+        final Deque<File> modules = new ArrayDeque<>();
+        modules.add(reactorDir);
+        while (!modules.isEmpty() && visited.size() < MAX_POMS) {
+            final File moduleDir = modules.poll();
+            final File modulePom = new File(moduleDir, "pom.xml");
+            if (!modulePom.isFile()) {
+                continue;
+            }
+            final Model model = Model.readFrom(modulePom);
+            if (visited.add(modulePom.getCanonicalFile()) && !update(digest, modulePom)) {
+                return null;
+            }
+            for (String module : model.getModules()) {
+                modules.add(new File(moduleDir, module));
+            }
+        }
+        final File settings = new File(System.getProperty("user.home"), ".m2/settings.xml");
+        if (settings.isFile()) {
+            digest.update(Files.readAllBytes(settings.toPath()));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes stamp of the SNAPSHOT jars of the resolved classpath, which is changed when some of the jars are
+     * downloaded or installed once again.
+     *
+     * @param classpath
+     *         resolved classpath
+     * @return SHA-1 of the paths, sizes and modification times of the SNAPSHOT jars as hex string
+     */
+    public static String stampSnapshots(Collection<String> classpath) {
+        final MessageDigest digest = newDigest();
+        for (String path : classpath) {
+            if (path.contains("-SNAPSHOT")) {
+                final File jar = new File(path);
+                digest.update((path + ':' + jar.length() + ':' + jar.lastModified() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /** Adds content of the pom to the digest, returns {@code false} if pom declares version range. */
+    private static boolean update(MessageDigest digest, File pom) throws IOException {
+        final byte[] content = Files.readAllBytes(pom.toPath());
+        if (VERSION_RANGE.matcher(new String(content, StandardCharsets.UTF_8)).find()) {
+            return false;
+        }
+        digest.update(content);
+        return true;
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    private static File getParentPom(File pom, Model model) {
+        final Parent parent = model.getParent();
+        if (parent == null || parent.getRelativePath().isEmpty()) {
+            return null;
+        }
+        final File parentPom = new File(pom.getParentFile(), parent.getRelativePath());
+        return parentPom.isDirectory() ? new File(parentPom, "pom.xml") : parentPom;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Sends output of processes to websocket channels. All channels are served by one thread.
+ * <p/>
+ * Lines are buffered per channel and sent as one message when {@link #FLUSH_LINES} lines are buffered or at
+ * least every {@link #FLUSH_PERIOD_MS} milliseconds. Each channel buffers at most {@link #MAX_LINES} lines, when
+ * output is produced faster than it can be sent the oldest lines are dropped. Closing an output doesn't wait
+ * until its lines are sent.
+ */
+@Singleton
+public class OutputBroadcaster {
+    private static final Logger LOG = LoggerFactory.getLogger(OutputBroadcaster.class);
+
+    static final int  MAX_LINES       = 1000;
+    static final int  FLUSH_LINES     = 200;
+    static final long FLUSH_PERIOD_MS = 1000;
+
+    private final Consumer<ChannelBroadcastMessage> sender;
+    private final ScheduledExecutorService          executor;
+    private final Map<String, Channel>              channels;
+
+    public OutputBroadcaster() {
+        this(OutputBroadcaster::sendMessageToWS, FLUSH_PERIOD_MS);
+    }
+
+    OutputBroadcaster(Consumer<ChannelBroadcastMessage> sender, long flushPeriod) {
+        this.sender = sender;
+        this.channels = new HashMap<>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(OutputBroadcaster.class.getSimpleName() + "-%d")
+                                          .setDaemon(true)
+                                          .build());
+        executor.scheduleWithFixedDelay(this::flushAll, flushPeriod, flushPeriod, MILLISECONDS);
+    }
+
+    /**
+     * Opens output which sends the same lines to each of the channels. Output must be closed when process ends.
+     *
+     * @param channels
+     *         websocket channels
+     */
+    public LineConsumer open(List<String> channels) {
+        synchronized (this) {
+            for (String name : channels) {
+                this.channels.computeIfAbsent(name, n -> new Channel()).outputs++;
+            }
+        }
+        return new Output(new ArrayList<>(channels));
+    }
+
+    /** Returns approximate size in bytes of lines which are buffered for the channel and aren't sent yet. */
+    public synchronized long getQueuedBytes(String channel) {
+        final Channel c = channels.get(channel);
+        return c == null ? 0 : c.queuedBytes;
+    }
+
+    /** Returns number of lines of the channel which were dropped since the channel buffer was full. */
+    public synchronized long getDroppedLines(String channel) {
+        final Channel c = channels.get(channel);
+        return c == null ? 0 : c.dropped;
+    }
+
+    /** Sends buffered lines and stops the broadcaster. */
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        flushAll();
+    }
+
+    private void flushAll() {
+        final List<String> names;
+        synchronized (this) {
+            names = new ArrayList<>(channels.keySet());
+        }
+        for (String name : names) {
+            flush(name);
+        }
+    }
+
+    private void flush(String name) {
+        final String text;
+        synchronized (this) {
+            final Channel channel = channels.get(name);
+            if (channel == null) {
+                return;
+            }
+            channel.flushScheduled = false;
+            text = channel.drain();
+            if (channel.outputs == 0) {
+                if (channel.dropped > 0) {
+                    LOG.debug("{} lines of output were dropped from channel {}", channel.dropped, name);
+                }
+                channels.remove(name);
+            }
+        }
+        if (text != null) {
+            final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+            message.setChannel(name);
+            message.setBody(text);
+            sender.accept(message);
+        }
+    }
+
+    private void scheduleFlush(String name) {
+        try {
+            executor.execute(() -> flush(name));
+        } catch (RejectedExecutionException e) {
+            // broadcaster is stopped, lines are sent by stop()
+        }
+    }
+
+    private static void sendMessageToWS(ChannelBroadcastMessage message) {
+        try {
+            WSConnectionContext.sendMessage(message);
+        } catch (Exception exception) {
+            LOG.error("A problem occurred while sending websocket message to channel " + message.getChannel(), exception);
+        }
+    }
+
+    private static class Channel {
+        final ArrayDeque<String> lines = new ArrayDeque<>();
+
+        int     outputs;
+        long    queuedBytes;
+        long    dropped;
+        boolean flushScheduled;
+
+        /** Adds line and returns {@code true} if enough lines are buffered to send them before the next period. */
+        boolean add(String line) {
+            lines.addLast(line);
+            queuedBytes += line.length() + 1;
+            if (lines.size() > MAX_LINES) {
+                queuedBytes -= lines.pollFirst().length() + 1;
+                dropped++;
+            }
+            if (lines.size() >= FLUSH_LINES && !flushScheduled) {
+                flushScheduled = true;
+                return true;
+            }
+            return false;
+        }
+
+        /** Removes buffered lines and returns them joined or {@code null} if there are no lines. */
+        String drain() {
+            if (lines.isEmpty()) {
+                return null;
+            }
+            final String text = String.join("\n", lines);
+            lines.clear();
+            queuedBytes = 0;
+            return text;
+        }
+    }
+
+    private class Output implements LineConsumer {
+        private final List<String> names;
+
+        private boolean closed;
+
+        Output(List<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public void writeLine(String line) {
+            final String value = line == null ? "" : line;
+            List<String> toFlush = null;
+            synchronized (OutputBroadcaster.this) {
+                if (closed) {
+                    return;
+                }
+                for (String name : names) {
+                    if (channels.get(name).add(value)) {
+                        if (toFlush == null) {
+                            toFlush = new ArrayList<>(names.size());
+                        }
+                        toFlush.add(name);
+                    }
+                }
+            }
+            if (toFlush != null) {
+                toFlush.forEach(OutputBroadcaster.this::scheduleFlush);
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (OutputBroadcaster.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (String name : names) {
+                    channels.get(name).outputs--;
+                }
+            }
+            names.forEach(OutputBroadcaster.this::scheduleFlush);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.vfs.server.VirtualFileFilter;
 import org.eclipse.che.ide.ext.java.server.classpath.ClassPathBuilder;
 import org.eclipse.che.ide.extension.maven.server.core.MavenClassPathBuilder;
+import org.eclipse.che.ide.extension.maven.server.projecttype.MavenModelCacheInvalidator;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenProjectType;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenTargetFilter;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenValueProviderFactory;
@@ -55,6 +56,7 @@ public class MavenModule extends AbstractModule {
 
         newSetBinder(binder(), GeneratorStrategy.class).addBinding().to(ArchetypeGenerationStrategy.class);
         bind(ClassPathBuilder.class).to(MavenClassPathBuilder.class).in(Singleton.class);
+        bind(MavenModelCacheInvalidator.class).asEagerSingleton();
 
         Multibinder<VirtualFileFilter> multibinder = newSetBinder(binder(), VirtualFileFilter.class, Names.named("vfs.index_filter"));
         multibinder.addBinding().to(MavenTargetFilter.class);
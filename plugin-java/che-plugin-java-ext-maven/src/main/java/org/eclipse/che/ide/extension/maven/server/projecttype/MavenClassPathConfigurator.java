@@ -39,6 +39,11 @@ public class MavenClassPathConfigurator {
 
     public static void configure(FolderEntry projectFolder)
             throws ServerException, ForbiddenException, ConflictException {
+        VirtualFileEntry classpath = projectFolder.getChild(CODENVY_DIR + "/classpath");
+        if (classpath != null) {
+            // nothing to configure, don't read pom
+            return;
+        }
         try {
             VirtualFileEntry pom = projectFolder.getChild("pom.xml");
             if (pom != null) {
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.projecttype;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.ide.maven.tools.ModelCache;
+
+/**
+ * Removes parsed poms from {@link ModelCache} when poms or their folders are changed through the project API,
+ * so changes which keep modification date and length of a pom aren't missed.
+ */
+@Singleton
+public class MavenModelCacheInvalidator implements EventSubscriber<ProjectItemModifiedEvent> {
+
+    @Inject
+    public MavenModelCacheInvalidator(EventService eventService) {
+        eventService.subscribe(this);
+    }
+
+    @Override
+    public void onEvent(ProjectItemModifiedEvent event) {
+        final String path = event.getPath();
+        if (path.endsWith("/pom.xml") || event.getType() != ProjectItemModifiedEvent.EventType.UPDATED) {
+            ModelCache.getDefault().invalidate(path);
+        }
+    }
+}
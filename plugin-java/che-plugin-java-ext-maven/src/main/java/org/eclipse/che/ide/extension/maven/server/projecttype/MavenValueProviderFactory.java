@@ -25,12 +25,14 @@ import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.xml.XMLTreeException;
 import org.eclipse.che.ide.maven.tools.Build;
 import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.ide.maven.tools.ModelCache;
 import org.eclipse.che.ide.maven.tools.Resource;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static org.eclipse.che.ide.extension.maven.shared.MavenAttributes.ARTIFACT_ID;
@@ -58,7 +60,7 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return ModelCache.getDefault().get(pomFile.getVirtualFile());
     }
 
     @Nullable
@@ -158,22 +160,30 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
                     model.writeTo(pom);
                 }
 
+                // pom is written only if value is changed
+                final ModelCache cache = ModelCache.getDefault();
+                final Model model = cache.get(pom);
                 switch (attributeName) {
                     case ARTIFACT_ID:
-                        Model.readFrom(pom).setArtifactId(value.get(0)).writeTo(pom);
+                        if (!Objects.equals(model.getArtifactId(), value.get(0))) {
+                            cache.update(pom, copy -> copy.setArtifactId(value.get(0)));
+                        }
                         break;
                     case GROUP_ID:
-                        Model.readFrom(pom).setGroupId(value.get(0)).writeTo(pom);
+                        if (!Objects.equals(model.getGroupId(), value.get(0))) {
+                            cache.update(pom, copy -> copy.setGroupId(value.get(0)));
+                        }
                         break;
                     case PACKAGING:
-                        String packaging = value.get(0);
-                        if (packaging.isEmpty()) {
-                            packaging = null;
+                        final String packaging = value.get(0).isEmpty() ? null : value.get(0);
+                        if (!Objects.equals(model.getPackaging(), packaging)) {
+                            cache.update(pom, copy -> copy.setPackaging(packaging));
                         }
-                        Model.readFrom(pom).setPackaging(packaging).writeTo(pom);
                         break;
                     case VERSION:
-                        Model.readFrom(pom).setVersion(value.get(0)).writeTo(pom);
+                        if (!Objects.equals(model.getVersion(), value.get(0))) {
+                            cache.update(pom, copy -> copy.setVersion(value.get(0)));
+                        }
                         break;
                 }
             } catch (ForbiddenException | ServerException | IOException | ConflictException e) {
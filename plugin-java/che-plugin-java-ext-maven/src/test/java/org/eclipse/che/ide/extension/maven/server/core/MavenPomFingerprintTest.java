@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.core;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MavenPomFingerprintTest {
+    private static final String PARENT_POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                             "<project>\n" +
+                                             "    <modelVersion>4.0.0</modelVersion>\n" +
+                                             "    <groupId>test</groupId>\n" +
+                                             "    <artifactId>parent</artifactId>\n" +
+                                             "    <version>%s</version>\n" +
+                                             "    <packaging>pom</packaging>\n" +
+                                             "    <modules>\n" +
+                                             "        <module>module</module>\n" +
+                                             "        <module>other</module>\n" +
+                                             "    </modules>\n" +
+                                             "</project>";
+    private static final String MODULE_POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                             "<project>\n" +
+                                             "    <modelVersion>4.0.0</modelVersion>\n" +
+                                             "    <parent>\n" +
+                                             "        <groupId>test</groupId>\n" +
+                                             "        <artifactId>parent</artifactId>\n" +
+                                             "        <version>1.0</version>\n" +
+                                             "    </parent>\n" +
+                                             "    <artifactId>%s</artifactId>\n" +
+                                             "%s" +
+                                             "</project>";
+
+    private File parentDir;
+    private File moduleDir;
+    private File otherDir;
+
+    @Before
+    public void setUp() throws Exception {
+        parentDir = Files.createTempDirectory("fingerprint").toFile();
+        moduleDir = new File(parentDir, "module");
+        moduleDir.mkdirs();
+        otherDir = new File(parentDir, "other");
+        otherDir.mkdirs();
+        writePom(parentDir, String.format(PARENT_POM, "1.0"));
+        writePom(moduleDir, String.format(MODULE_POM, "module", ""));
+        writePom(otherDir, String.format(MODULE_POM, "other", ""));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(parentDir);
+    }
+
+    @Test
+    public void fingerprintShouldBeTheSameForUnchangedPoms() throws Exception {
+        String fingerprint = MavenPomFingerprint.compute(moduleDir);
+
+        assertNotNull(fingerprint);
+        assertEquals(fingerprint, MavenPomFingerprint.compute(moduleDir));
+    }
+
+    @Test
+    public void fingerprintShouldBeChangedWhenParentPomIsChanged() throws Exception {
+        String fingerprint = MavenPomFingerprint.compute(moduleDir);
+
+        writePom(parentDir, String.format(PARENT_POM, "1.1"));
+
+        assertFalse(fingerprint.equals(MavenPomFingerprint.compute(moduleDir)));
+    }
+
+    @Test
+    public void fingerprintShouldBeChangedWhenOtherModuleOfReactorIsChanged() throws Exception {
+        String fingerprint = MavenPomFingerprint.compute(moduleDir, parentDir);
+
+        writePom(otherDir, String.format(MODULE_POM, "other", "    <packaging>war</packaging>\n"));
+
+        assertFalse(fingerprint.equals(MavenPomFingerprint.compute(moduleDir, parentDir)));
+    }
+
+    @Test
+    public void fingerprintShouldNotBeComputedIfVersionRangeIsUsed() throws Exception {
+        writePom(otherDir, String.format(MODULE_POM, "other", "    <dependencies>\n" +
+                                                              "        <dependency>\n" +
+                                                              "            <groupId>junit</groupId>\n" +
+                                                              "            <artifactId>junit</artifactId>\n" +
+                                                              "            <version>[4.0,5.0)</version>\n" +
+                                                              "        </dependency>\n" +
+                                                              "    </dependencies>\n"));
+
+        assertNull(MavenPomFingerprint.compute(moduleDir, parentDir));
+    }
+
+    @Test
+    public void snapshotStampShouldBeChangedWhenSnapshotIsUpdated() throws Exception {
+        File snapshot = new File(parentDir, "lib-1.0-SNAPSHOT.jar");
+        Files.write(snapshot.toPath(), new byte[]{1});
+        List<String> classpath = Arrays.asList(new File(parentDir, "lib-1.0.jar").getPath(), snapshot.getPath());
+        String stamp = MavenPomFingerprint.stampSnapshots(classpath);
+
+        Files.write(snapshot.toPath(), new byte[]{1, 2});
+
+        assertFalse(stamp.equals(MavenPomFingerprint.stampSnapshots(classpath)));
+    }
+
+    @Test
+    public void fingerprintShouldNotBeComputedWithoutPom() throws Exception {
+        assertNull(MavenPomFingerprint.compute(new File(parentDir, "absent")));
+    }
+
+    private void writePom(File dir, String content) throws Exception {
+        Files.write(new File(dir, "pom.xml").toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
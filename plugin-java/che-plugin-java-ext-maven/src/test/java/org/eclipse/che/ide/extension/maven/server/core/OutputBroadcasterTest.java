@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.core;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class OutputBroadcasterTest {
+    private BlockingQueue<ChannelBroadcastMessage> messages;
+    private OutputBroadcaster                      broadcaster;
+
+    @Before
+    public void setUp() {
+        messages = new LinkedBlockingQueue<>();
+        // long period, messages are sent only on close or when buffer is large enough
+        broadcaster = new OutputBroadcaster(messages::add, TimeUnit.HOURS.toMillis(1));
+    }
+
+    @After
+    public void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    public void sendsBufferedLinesToEachChannelOnClose() throws Exception {
+        LineConsumer output = broadcaster.open(Arrays.asList("a", "b"));
+        output.writeLine("line 1");
+        output.writeLine("line 2");
+
+        assertEquals(14, broadcaster.getQueuedBytes("a"));
+        assertNull(messages.poll(100, TimeUnit.MILLISECONDS));
+
+        output.close();
+
+        ChannelBroadcastMessage first = messages.poll(5, TimeUnit.SECONDS);
+        ChannelBroadcastMessage second = messages.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("line 1\nline 2", first.getBody());
+        assertEquals("line 1\nline 2", second.getBody());
+        assertEquals(0, broadcaster.getQueuedBytes("a"));
+    }
+
+    @Test
+    public void sendsLinesWhenEnoughLinesAreBuffered() throws Exception {
+        LineConsumer output = broadcaster.open(Collections.singletonList("a"));
+        for (int i = 0; i < OutputBroadcaster.FLUSH_LINES; i++) {
+            output.writeLine("line");
+        }
+
+        ChannelBroadcastMessage message = messages.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals(OutputBroadcaster.FLUSH_LINES, message.getBody().split("\n").length);
+        output.close();
+    }
+
+    @Test
+    public void dropsOldestLinesWhenBufferIsFull() throws Exception {
+        BlockingQueue<ChannelBroadcastMessage> blocked = new LinkedBlockingQueue<>();
+        Object lock = new Object();
+        OutputBroadcaster slowBroadcaster = new OutputBroadcaster(message -> {
+            synchronized (lock) {
+                blocked.add(message);
+            }
+        }, TimeUnit.HOURS.toMillis(1));
+        try {
+            LineConsumer output = slowBroadcaster.open(Collections.singletonList("a"));
+            synchronized (lock) {
+                // sender is blocked, next lines are accumulated in buffer
+                for (int i = 0; i < OutputBroadcaster.FLUSH_LINES; i++) {
+                    output.writeLine("old");
+                }
+                // wait until the flush triggered by the lines above blocks in sender
+                long deadline = System.currentTimeMillis() + 5000;
+                while (slowBroadcaster.getQueuedBytes("a") != 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                for (int i = 0; i < OutputBroadcaster.MAX_LINES + 10; i++) {
+                    output.writeLine(i < 10 ? "dropped" : "new");
+                }
+                assertEquals(10, slowBroadcaster.getDroppedLines("a"));
+            }
+            output.close();
+
+            List<String> lines = null;
+            for (ChannelBroadcastMessage message = blocked.poll(5, TimeUnit.SECONDS);
+                 message != null;
+                 message = blocked.poll(1, TimeUnit.SECONDS)) {
+                lines = Arrays.asList(message.getBody().split("\n"));
+            }
+            assertNotNull(lines);
+            assertEquals(OutputBroadcaster.MAX_LINES, lines.size());
+            assertEquals("new", lines.get(0));
+        } finally {
+            slowBroadcaster.stop();
+        }
+    }
+}
@@ -212,12 +212,12 @@ public class MavenUtils {
 
     /** Get source directories. */
     public static List<String> getSourceDirectories(VirtualFile pom) throws ServerException, IOException, ForbiddenException {
-        return getSourceDirectories(Model.readFrom(pom));
+        return getSourceDirectories(ModelCache.getDefault().get(pom));
     }
 
     /** Get source directories. */
     public static List<String> getSourceDirectories(java.io.File pom) throws IOException {
-        return getSourceDirectories(Model.readFrom(pom));
+        return getSourceDirectories(ModelCache.getDefault().get(pom));
     }
 
     /** Get resource directories. */
@@ -240,12 +240,12 @@ public class MavenUtils {
 
     /** Get resource directories. */
     public static List<String> getResourceDirectories(VirtualFile pom) throws ServerException, IOException, ForbiddenException {
-        return getResourceDirectories(Model.readFrom(pom));
+        return getResourceDirectories(ModelCache.getDefault().get(pom));
     }
 
     /** Get resource directories. */
     public static List<String> getResourceDirectories(java.io.File pom) throws IOException {
-        return getResourceDirectories(Model.readFrom(pom));
+        return getResourceDirectories(ModelCache.getDefault().get(pom));
     }
 
     public static Map<String, String> getMavenVersionInformation() throws IOException {
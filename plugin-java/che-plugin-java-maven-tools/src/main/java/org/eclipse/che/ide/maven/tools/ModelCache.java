@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.maven.tools;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.server.VirtualFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cache of parsed pom models.
+ * <p/>
+ * Model is parsed again only when modification date or length of the pom is changed, or when
+ * the pom is {@link #invalidate(String) invalidated}, e.g. on project events. Models returned by the cache
+ * are shared and <b>must not be modified</b>, use {@link #update(VirtualFile, Consumer)} to change the pom.
+ */
+public class ModelCache {
+    private static final int        MAX_SIZE        = 1024;
+    /** Prefix of keys of local files, which separates them from virtual files. */
+    private static final String     FILE_KEY_PREFIX = "file:";
+    private static final ModelCache DEFAULT         = new ModelCache(MAX_SIZE);
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param maxSize
+     *         max number of cached models, least recently used models are evicted
+     */
+    public ModelCache(final int maxSize) {
+        this.entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /** Returns cache shared by all pom readers of the machine. */
+    public static ModelCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns model of the pom, pom is parsed only if it isn't cached or was changed since it was cached.
+     *
+     * @param pom
+     *         virtual pom file
+     * @return shared model which must not be modified
+     */
+    public Model get(VirtualFile pom) throws ServerException, ForbiddenException, IOException {
+        final String key = pom.getPath();
+        final long modified = pom.getLastModificationDate();
+        final long length = pom.getLength();
+        Model model = lookup(key, modified, length);
+        if (model == null) {
+            model = Model.readFrom(pom);
+            store(key, modified, length, model);
+        }
+        return model;
+    }
+
+    /**
+     * Returns model of the pom, pom is parsed only if it isn't cached or was changed since it was cached.
+     *
+     * @param pom
+     *         pom file or its parent directory
+     * @return shared model which must not be modified
+     */
+    public Model get(File pom) throws IOException {
+        if (pom.isDirectory()) {
+            pom = new File(pom, "pom.xml");
+        }
+        final String key = FILE_KEY_PREFIX + pom.getAbsolutePath();
+        final long modified = pom.lastModified();
+        final long length = pom.length();
+        Model model = lookup(key, modified, length);
+        if (model == null) {
+            model = Model.readFrom(pom);
+            store(key, modified, length, model);
+        }
+        return model;
+    }
+
+    /**
+     * Applies changes to a copy of the model and writes the pom once, the written model is cached.
+     *
+     * @param pom
+     *         virtual pom file
+     * @param edit
+     *         changes of the model
+     * @return updated model which must not be modified
+     */
+    public Model update(VirtualFile pom, Consumer<Model> edit) throws ServerException, ForbiddenException, IOException {
+        final Model copy = Model.readFrom(pom);
+        edit.accept(copy);
+        copy.writeTo(pom);
+        store(pom.getPath(), pom.getLastModificationDate(), pom.getLength(), copy);
+        return copy;
+    }
+
+    /**
+     * Removes cached models of the pom or of all poms under the directory.
+     *
+     * @param file
+     *         pom file or a directory
+     */
+    public void invalidate(File file) {
+        invalidate(FILE_KEY_PREFIX + file.getAbsolutePath());
+    }
+
+    /**
+     * Removes cached models of the virtual pom or of all virtual poms under the folder.
+     *
+     * @param path
+     *         path of the virtual pom or of a folder
+     */
+    public synchronized void invalidate(String path) {
+        final String folderPrefix = path.endsWith("/") ? path : path + '/';
+        for (Iterator<String> it = entries.keySet().iterator(); it.hasNext(); ) {
+            final String key = it.next();
+            if (key.equals(path) || key.startsWith(folderPrefix)) {
+                it.remove();
+            }
+        }
+    }
+
+    /** Removes all cached models. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized Model lookup(String key, long modified, long length) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.modified == modified && entry.length == length) {
+            return entry.model;
+        }
+        return null;
+    }
+
+    private synchronized void store(String key, long modified, long length, Model model) {
+        entries.put(key, new Entry(modified, length, model));
+    }
+
+    private static class Entry {
+        final long  modified;
+        final long  length;
+        final Model model;
+
+        Entry(long modified, long length, Model model) {
+            this.modified = modified;
+            this.length = length;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.maven.tools;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class ModelCacheTest {
+    private static final String POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                      "<project>\n" +
+                                      "    <modelVersion>4.0.0</modelVersion>\n" +
+                                      "    <groupId>test</groupId>\n" +
+                                      "    <artifactId>%s</artifactId>\n" +
+                                      "    <version>1.0</version>\n" +
+                                      "</project>";
+
+    private File       workspace;
+    private ModelCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspace = Files.createTempDirectory("model-cache").toFile();
+        cache = new ModelCache(1024);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        for (File dir : workspace.listFiles()) {
+            new File(dir, "pom.xml").delete();
+            dir.delete();
+        }
+        workspace.delete();
+    }
+
+    @Test
+    public void shouldParseEachPomOnceForRepeatedReads() throws Exception {
+        final List<File> poms = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            poms.add(createPom("module" + i));
+        }
+        final List<Model> models = new ArrayList<>();
+        for (File pom : poms) {
+            models.add(cache.get(pom));
+        }
+
+        // listing asks for each attribute of each project
+        for (int attribute = 0; attribute < 10; attribute++) {
+            for (int i = 0; i < poms.size(); i++) {
+                assertSame(cache.get(poms.get(i)), models.get(i));
+            }
+        }
+        assertEquals(models.get(42).getArtifactId(), "module42");
+    }
+
+    @Test
+    public void shouldParsePomAgainWhenItIsChanged() throws Exception {
+        final File pom = createPom("module");
+        final Model model = cache.get(pom);
+
+        Files.write(pom.toPath(), String.format(POM, "renamed-module").getBytes());
+
+        final Model changed = cache.get(pom);
+        assertNotSame(changed, model);
+        assertEquals(changed.getArtifactId(), "renamed-module");
+    }
+
+    @Test
+    public void shouldParsePomAgainWhenItIsInvalidated() throws Exception {
+        final File pom = createPom("module");
+        final Model model = cache.get(pom);
+
+        cache.invalidate(pom.getParentFile());
+
+        assertNotSame(cache.get(pom), model);
+    }
+
+    @Test
+    public void shouldReadPomFromDirectory() throws Exception {
+        final File pom = createPom("module");
+
+        assertSame(cache.get(pom.getParentFile()), cache.get(pom));
+    }
+
+    private File createPom(String artifactId) throws Exception {
+        final File dir = new File(workspace, artifactId);
+        dir.mkdirs();
+        final File pom = new File(dir, "pom.xml");
+        Files.write(pom.toPath(), String.format(POM, artifactId).getBytes());
+        return pom;
+    }
+}
@@ -38,8 +38,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
-import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -156,7 +156,7 @@ public class KeysInjectorTest {
         verify(docker).createExec(anyString(), anyBoolean(), eq("/bin/bash"), eq("-c"), eq("mkdir ~/.ssh/ -p" +
                                                                                            "&& echo 'publicKey1' >> ~/.ssh/authorized_keys" +
                                                                                            "&& echo 'publicKey2' >> ~/.ssh/authorized_keys"));
-        verify(docker).startExec(eq(EXEC_ID), anyObject());
+        verify(docker).startExec(eq(EXEC_ID), any(MessageProcessor.class));
         verifyZeroInteractions(docker, machineManager, sshManager);
     }
 